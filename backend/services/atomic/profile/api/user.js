@@ -92,6 +92,23 @@ router.get("/departments", async (_req, res) => {
   }
 });
 
+// Bulk lookup by IDs
+// POST /user/bulk  { "ids": ["<uuid>", ...] }
+router.post("/bulk", async (req, res) => {
+  const { ids } = req.body || {};
+
+  if (!Array.isArray(ids)) {
+    return res.status(400).json({ error: "ids must be an array of user IDs" });
+  }
+
+  try {
+    const rows = await user.getUsersByIds([...new Set(ids)]);
+    res.status(200).json(rows);
+  } catch (error) {
+    res.status(500).json({ error: error.message });
+  }
+});
+
 // By ID
 router.get("/:userId", async (req, res) => {
   const { userId } = req.params;
@@ -90,6 +90,33 @@ async function getUserDetailsWithId(user_id) {
   return result;
 }
 
+// Many users by id in one query (used by the composites to enrich task lists).
+// Unknown ids are simply absent from the result.
+async function getUsersByIds(user_ids) {
+  if (!Array.isArray(user_ids) || user_ids.length === 0) return [];
+
+  const { data, error } = await supabase
+    .from(PROFILE_TABLE)
+    .select(`
+      id,
+      display_name,
+      role,
+      team_id,
+      department_id,
+      department:${DEPT_TABLE}(name),
+      team:${TEAM_TABLE}(name)
+    `)
+    .in("id", user_ids);
+
+  if (error) throw new Error(error.message);
+
+  return (data || []).map(({ department, team, ...user }) => ({
+    ...user,
+    department_name: department?.name || null,
+    team_name: team?.name || null,
+  }));
+}
+
 // Fetch users based on the current user's role, team_id, and department_id
 async function getUsersByRoleScope({ role, team_id, department_id }) {
   console.log("getUsersByRoleScope called with:", { role, team_id, department_id });
@@ -151,6 +178,7 @@ module.exports = {
   getAllUsers,
   getStaffByScope,
   getUserDetailsWithId,
+  getUsersByIds,
   getUsersByRoleScope,
   getAllTeams,
   getAllDepartments,
@@ -0,0 +1,53 @@
+const request = require('supertest');
+
+jest.mock('../../model/user', () => ({
+  getUsersByIds: jest.fn(),
+}));
+
+const { getUsersByIds } = require('../../model/user');
+const app = require('../../app');
+
+describe('POST /user/bulk', () => {
+  beforeEach(() => {
+    jest.clearAllMocks();
+  });
+
+  test('should return 200 with the matching users', async () => {
+    const fakeUsers = [
+      { id: 'u1', display_name: 'Alice', department_name: 'Engineering', team_name: 'Alpha' },
+      { id: 'u2', display_name: 'Bob', department_name: 'Sales', team_name: 'Beta' },
+    ];
+    getUsersByIds.mockResolvedValue(fakeUsers);
+
+    const res = await request(app).post('/user/bulk').send({ ids: ['u1', 'u2'] });
+
+    expect(getUsersByIds).toHaveBeenCalledWith(['u1', 'u2']);
+    expect(res.status).toBe(200);
+    expect(res.body).toEqual(fakeUsers);
+  });
+
+  test('should de-duplicate ids before querying', async () => {
+    getUsersByIds.mockResolvedValue([]);
+
+    await request(app).post('/user/bulk').send({ ids: ['u1', 'u1', 'u2'] });
+
+    expect(getUsersByIds).toHaveBeenCalledWith(['u1', 'u2']);
+  });
+
+  test('should return 400 when ids is not an array', async () => {
+    const res = await request(app).post('/user/bulk').send({ ids: 'u1' });
+
+    expect(res.status).toBe(400);
+    expect(res.body).toEqual({ error: 'ids must be an array of user IDs' });
+    expect(getUsersByIds).not.toHaveBeenCalled();
+  });
+
+  test('should return 500 when the model throws', async () => {
+    getUsersByIds.mockRejectedValue(new Error('Database error'));
+
+    const res = await request(app).post('/user/bulk').send({ ids: ['u1'] });
+
+    expect(res.status).toBe(500);
+    expect(res.body).toEqual({ error: 'Database error' });
+  });
+});
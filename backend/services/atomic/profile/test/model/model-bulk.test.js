@@ -0,0 +1,93 @@
+const mockIn = jest.fn();
+const mockSelect = jest.fn().mockReturnValue({ in: mockIn });
+const mockFrom = jest.fn().mockReturnValue({ select: mockSelect });
+
+jest.mock('@supabase/supabase-js', () => ({
+  createClient: jest.fn(() => ({
+    from: mockFrom,
+  })),
+}));
+
+let getUsersByIds;
+
+beforeEach(() => {
+  jest.resetModules();
+  mockFrom.mockClear();
+  mockSelect.mockClear();
+  mockIn.mockClear();
+  ({ getUsersByIds } = require('../../model/user'));
+});
+
+describe('getUsersByIds', () => {
+  test('should query all ids at once and flatten department and team', async () => {
+    mockIn.mockResolvedValue({
+      data: [
+        {
+          id: 'u1',
+          display_name: 'Alice',
+          role: 'Staff',
+          team_id: 't1',
+          department_id: 'd1',
+          department: { name: 'Engineering' },
+          team: { name: 'Alpha' },
+        },
+        {
+          id: 'u2',
+          display_name: 'Bob',
+          role: 'Manager',
+          team_id: null,
+          department_id: null,
+          department: null,
+          team: null,
+        },
+      ],
+      error: null,
+    });
+
+    const result = await getUsersByIds(['u1', 'u2']);
+
+    expect(mockFrom).toHaveBeenCalledWith('revamped_profiles');
+    expect(mockIn).toHaveBeenCalledWith('id', ['u1', 'u2']);
+    expect(result).toEqual([
+      {
+        id: 'u1',
+        display_name: 'Alice',
+        role: 'Staff',
+        team_id: 't1',
+        department_id: 'd1',
+        department_name: 'Engineering',
+        team_name: 'Alpha',
+      },
+      {
+        id: 'u2',
+        display_name: 'Bob',
+        role: 'Manager',
+        team_id: null,
+        department_id: null,
+        department_name: null,
+        team_name: null,
+      },
+    ]);
+  });
+
+  test('should return empty array without querying when no ids are given', async () => {
+    const result = await getUsersByIds([]);
+
+    expect(result).toEqual([]);
+    expect(mockFrom).not.toHaveBeenCalled();
+  });
+
+  test('should return empty array when data is null', async () => {
+    mockIn.mockResolvedValue({ data: null, error: null });
+
+    const result = await getUsersByIds(['u1']);
+
+    expect(result).toEqual([]);
+  });
+
+  test('should throw error when database query fails', async () => {
+    mockIn.mockResolvedValue({ data: null, error: { message: 'Database error' } });
+
+    await expect(getUsersByIds(['u1'])).rejects.toThrow('Database error');
+  });
+});
@@ -11,9 +11,27 @@ const ERROR_MESSAGES = {
   MISSING_UPDATE_DATA: "Update data is required",
   INVALID_COLLABORATORS: "Collaborators must be an array of UUIDs",
   PROJECT_NOT_FOUND: "Project not found",
-  NO_COLLABORATORS: "No collaborators found for this project"
+  NO_COLLABORATORS: "No collaborators found for this project",
+  INVALID_LIMIT: "limit must be an integer between 1 and 1000",
+  AFTER_WITHOUT_LIMIT: "limit is required when after is given"
 };
 
+const MAX_PAGE_SIZE = 1000;
+
+// Keyset page from ?limit=&after=; null when the caller wants every project
+function parsePage(query) {
+  const { limit, after } = query || {};
+  if (limit === undefined || limit === "") {
+    if (after) return { error: ERROR_MESSAGES.AFTER_WITHOUT_LIMIT };
+    return { page: null };
+  }
+  const size = Number(limit);
+  if (!Number.isInteger(size) || size < 1 || size > MAX_PAGE_SIZE) {
+    return { error: ERROR_MESSAGES.INVALID_LIMIT };
+  }
+  return { page: { limit: size, after: after || null } };
+}
+
 // ============================================
 // Health Check
 // ============================================
@@ -31,7 +49,11 @@ router.get("/", async (req, res) => {
 // Get all projects
 router.get("/all", async (req, res) => {
   try {
-    const allProjects = await project.getAllProjects();
+    const { page, error } = parsePage(req.query);
+    if (error) {
+      return res.status(400).json({ error });
+    }
+    const allProjects = await project.getAllProjects(page);
     res.status(200).json(allProjects);
   } catch (error) {
     res.status(500).json({ error: error.message });
@@ -9,11 +9,21 @@ const ERROR_CODES = {
 };
 
 module.exports = {
-  // Get all projects
-  async getAllProjects() {
-    const { data, error } = await supabase
+  // Get all projects; with page = { limit, after } only the next `limit` projects ordered by id after `after`
+  async getAllProjects(page = null) {
+    let query = supabase
       .from(PROJECT_TABLE)
       .select("*");
+
+    if (page) {
+      query = query.order("id", { ascending: true });
+      if (page.after) {
+        query = query.gt("id", page.after);
+      }
+      query = query.limit(page.limit);
+    }
+
+    const { data, error } = await query;
     
     if (error) {
       throw new Error(error.message);
@@ -0,0 +1,48 @@
+const request = require('supertest');
+
+jest.mock('../../model/project2', () => ({
+  getAllProjects: jest.fn(),
+}));
+
+const { getAllProjects } = require('../../model/project2');
+const app = require('../../app');
+
+describe('GET /project/all - keyset paging', () => {
+  beforeEach(() => {
+    jest.clearAllMocks();
+  });
+
+  test('200: without limit returns every project', async () => {
+    getAllProjects.mockResolvedValue([{ id: 'proj-1' }, { id: 'proj-2' }]);
+
+    const res = await request(app).get('/project/all');
+
+    expect(res.status).toBe(200);
+    expect(getAllProjects).toHaveBeenCalledWith(null);
+  });
+
+  test('200: passes limit and after to the model', async () => {
+    getAllProjects.mockResolvedValue([{ id: 'proj-2' }]);
+
+    const res = await request(app).get('/project/all?limit=1&after=proj-1');
+
+    expect(res.status).toBe(200);
+    expect(res.body).toEqual([{ id: 'proj-2' }]);
+    expect(getAllProjects).toHaveBeenCalledWith({ limit: 1, after: 'proj-1' });
+  });
+
+  test('400: rejects an out of range limit', async () => {
+    const res = await request(app).get('/project/all?limit=5000');
+
+    expect(res.status).toBe(400);
+    expect(res.body).toEqual({ error: 'limit must be an integer between 1 and 1000' });
+    expect(getAllProjects).not.toHaveBeenCalled();
+  });
+
+  test('400: rejects after without limit', async () => {
+    const res = await request(app).get('/project/all?after=proj-1');
+
+    expect(res.status).toBe(400);
+    expect(getAllProjects).not.toHaveBeenCalled();
+  });
+});
@@ -45,6 +45,23 @@ describe('getAllProjects function', () => {
     await expect(model.getAllProjects()).rejects.toThrow('Database error');
   });
 
+  test('should fetch one keyset page ordered by id when a page is given', async () => {
+    const query = {};
+    query.order = jest.fn().mockReturnValue(query);
+    query.gt = jest.fn().mockReturnValue(query);
+    query.limit = jest.fn().mockResolvedValue({ data: [{ id: 'proj-2' }], error: null });
+    supabase.from = jest.fn().mockReturnValue({
+      select: jest.fn().mockReturnValue(query),
+    });
+
+    const result = await model.getAllProjects({ limit: 1, after: 'proj-1' });
+
+    expect(result).toEqual([{ id: 'proj-2' }]);
+    expect(query.order).toHaveBeenCalledWith('id', { ascending: true });
+    expect(query.gt).toHaveBeenCalledWith('id', 'proj-1');
+    expect(query.limit).toHaveBeenCalledWith(1);
+  });
+
   test('should return empty array when data is null', async () => {
     supabase.from = jest.fn().mockReturnValue({
       select: jest.fn().mockResolvedValue({
@@ -33,9 +33,14 @@ module.exports = {
 
     async getAllTasks(req, res){
         try {
-            const tasks = await Task.getAllTasks();
+            const { limit, after } = req.query || {};
+            const page = Task.parsePage(limit, after);
+            const tasks = await Task.getAllTasks(page);
             res.status(200).json(tasks);
         } catch (error) {
+            if (error instanceof ValidationError) {
+                return res.status(error.statusCode).json({ error: error.message });
+            }
             if (error instanceof DatabaseError) {
                 return res.status(error.statusCode).json({ error: error.message });
             }
@@ -40,13 +40,39 @@ class Task {
         return input;
     }
 
-    static async getAllTasks(){
-        const { data, error } = await supabase
+    static MAX_PAGE_SIZE = 1000;
+
+    // Parses ?limit=&after= into a keyset page, or null when the caller wants everything
+    static parsePage(limit, after) {
+        if (limit === undefined || limit === null || limit === "") {
+            if (after) throw new ValidationError("limit is required when after is given");
+            return null;
+        }
+        const size = Number(limit);
+        if (!Number.isInteger(size) || size < 1 || size > Task.MAX_PAGE_SIZE) {
+            throw new ValidationError(`limit must be an integer between 1 and ${Task.MAX_PAGE_SIZE}`);
+        }
+        return { limit: size, after: after || null };
+    }
+
+    // page = { limit, after }: the next `limit` tasks ordered by id, starting after id `after`
+    static async getAllTasks(page = null){
+        let query = supabase
             .from(Task.taskTable)
             .select(`
                 *,
                 participants:${Task.taskParticipantTable}(profile_id, is_owner)
             `);
+
+        if (page) {
+            query = query.order('id', { ascending: true });
+            if (page.after) {
+                query = query.gt('id', page.after);
+            }
+            query = query.limit(page.limit);
+        }
+
+        const { data, error } = await query;
         
         if (error){
             console.error("Error executing getAllTasks: ", error);
@@ -343,6 +343,41 @@ describe('Task Class Test', () => {
                 expect(error.message).toContain("Failed to retrieve tasks");
             }
         });
+
+        test('Should fetch one keyset page ordered by id when a page is given', async () => {
+            const query = {};
+            query.order = jest.fn().mockReturnValue(query);
+            query.gt = jest.fn().mockReturnValue(query);
+            query.limit = jest.fn().mockResolvedValue({ data: [{ id: 'task-456' }], error: null });
+            supabase.from = jest.fn().mockReturnValue({
+                select: jest.fn().mockReturnValue(query)
+            });
+
+            const res = await Task.getAllTasks({ limit: 1, after: 'task-123' });
+
+            expect(res).toEqual([{ id: 'task-456' }]);
+            expect(query.order).toHaveBeenCalledWith('id', { ascending: true });
+            expect(query.gt).toHaveBeenCalledWith('id', 'task-123');
+            expect(query.limit).toHaveBeenCalledWith(1);
+        });
+    });
+
+    describe('parsePage()',()=>{
+        test('Should return null when no limit is given', ()=>{
+            expect(Task.parsePage(undefined, undefined)).toBeNull();
+        });
+
+        test('Should parse limit and after', ()=>{
+            expect(Task.parsePage('50', 'task-123')).toEqual({ limit: 50, after: 'task-123' });
+            expect(Task.parsePage('50')).toEqual({ limit: 50, after: null });
+        });
+
+        test('Should reject out of range limits and after without limit', ()=>{
+            expect(() => Task.parsePage('0')).toThrow(ValidationError);
+            expect(() => Task.parsePage('abc')).toThrow(ValidationError);
+            expect(() => Task.parsePage(String(Task.MAX_PAGE_SIZE + 1))).toThrow(ValidationError);
+            expect(() => Task.parsePage(undefined, 'task-123')).toThrow(ValidationError);
+        });
     });
 
     describe('getTasksByUsers()', () => {
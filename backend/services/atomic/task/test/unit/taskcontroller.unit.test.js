@@ -167,6 +167,32 @@ describe('TaskController', () => {
             expect(res.status).toHaveBeenCalledWith(500);
             expect(res.json).toHaveBeenCalledWith({ error: genericError.message });
         });
+
+        test('Should pass the parsed page to the model', async () => {
+            const page = { limit: 2, after: 'task-1' };
+            req.query = { limit: '2', after: 'task-1' };
+            Task.parsePage.mockReturnValue(page);
+            Task.getAllTasks.mockResolvedValue([{ id: 'task-2', title: 'Task 2', priority: 5 }]);
+
+            await TaskController.getAllTasks(req, res);
+
+            expect(Task.parsePage).toHaveBeenCalledWith('2', 'task-1');
+            expect(Task.getAllTasks).toHaveBeenCalledWith(page);
+            expect(res.status).toHaveBeenCalledWith(200);
+        });
+
+        test('Should return 400 on invalid page parameters', async () => {
+            req.query = { limit: '0' };
+            Task.parsePage.mockImplementation(() => {
+                throw new ValidationError('limit must be an integer between 1 and 1000');
+            });
+
+            await TaskController.getAllTasks(req, res);
+
+            expect(Task.getAllTasks).not.toHaveBeenCalled();
+            expect(res.status).toHaveBeenCalledWith(400);
+            expect(res.json).toHaveBeenCalledWith({ error: 'limit must be an integer between 1 and 1000' });
+        });
     });
 
     describe('getTaskDetail', () => {
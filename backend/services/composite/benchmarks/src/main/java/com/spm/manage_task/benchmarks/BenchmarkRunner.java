@@ -0,0 +1,41 @@
+package com.spm.manage_task.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: the usual JMH command line, with the GC profiler always on and
+ * results written as JSON (jmh-result.json unless -rff says otherwise).
+ *
+ * The GC profiler adds gc.alloc.rate.norm (bytes allocated per operation) to every benchmark; divide
+ * by the tasks/collaborators parameter for bytes per item.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli);
+        options.addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
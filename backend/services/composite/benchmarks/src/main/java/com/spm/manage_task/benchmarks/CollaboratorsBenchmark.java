@@ -0,0 +1,53 @@
+package com.spm.manage_task.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spm.manage_task.dto.TaskPostRequestDto;
+import com.spm.manage_task.factory.Participant;
+
+// TaskPostRequestDto.processCollaborators, run on every create/update and again when the body is serialized
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollaboratorsBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int collaborators;
+
+    private TaskPostRequestDto request;
+
+    @Setup
+    public void setUp() {
+        ArrayList<String> ids = new ArrayList<>(collaborators + 1);
+        for (int i = 0; i < collaborators; i++) {
+            ids.add(Fixtures.userId(i + 1));
+        }
+        // The owner is often listed as a collaborator too; it must collapse into one participant
+        String owner = Fixtures.userId(0);
+        ids.add(owner);
+        request = new TaskPostRequestDto("Task", "2026-12-31T00:00:00Z", "project-1", "Description",
+            "Ongoing", ids, owner, null, 5);
+    }
+
+    @Benchmark
+    public List<Participant> processCollaborators() {
+        return request.processCollaborators();
+    }
+}
@@ -0,0 +1,87 @@
+package com.spm.manage_task.benchmarks;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.UserDto;
+import com.spm.manage_task.factory.Participant;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+import com.spm.manage_task.services.ProfileService;
+
+// Deterministic inputs shaped like what task:3031 and profile:3030 return
+final class Fixtures {
+
+    static final int OWNERS = 500;
+    static final int COLLABORATORS_PER_TASK = 3;
+
+    private Fixtures() {
+    }
+
+    static String userId(int i) {
+        return String.format("00000000-0000-4000-8000-%012d", i);
+    }
+
+    static UserDto user(String id) {
+        return new UserDto(id, "dept-1", "team-1", "User " + id.substring(id.length() - 4), "Staff", "Engineering", "Platform");
+    }
+
+    // Answers from memory instead of calling profile:3030
+    static final class StubProfileService extends ProfileService {
+        @Override
+        public UserDto getUserById(String userId) {
+            return user(userId);
+        }
+
+        @Override
+        public Map<String, UserDto> getUsersByIds(Collection<String> userIds) {
+            Map<String, UserDto> users = new HashMap<>();
+            for (String id : userIds) {
+                users.put(id, user(id));
+            }
+            return users;
+        }
+    }
+
+    // The wrapper as Spring wires it: owner lookups go through the Caffeine profile cache
+    static TaskDTOWrapperComponent wrapper() {
+        ProfileCacheComponent profileCache = new ProfileCacheComponent(
+            new StubProfileService(), 5_000_000, Duration.ofMinutes(5), Duration.ofHours(12));
+        TaskDTOWrapperComponent wrapper = new TaskDTOWrapperComponent();
+        try {
+            Field field = TaskDTOWrapperComponent.class.getDeclaredField("profileCache");
+            field.setAccessible(true);
+            field.set(wrapper, profileCache);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot wire TaskDTOWrapperComponent", e);
+        }
+        return wrapper;
+    }
+
+    static TaskMicroserviceResponse[] rawTasks(int count) {
+        TaskMicroserviceResponse[] tasks = new TaskMicroserviceResponse[count];
+        for (int i = 0; i < count; i++) {
+            List<Participant> participants = new ArrayList<>(COLLABORATORS_PER_TASK + 1);
+            participants.add(new Participant(true, userId(i % OWNERS)));
+            for (int c = 1; c <= COLLABORATORS_PER_TASK; c++) {
+                participants.add(new Participant(false, userId((i + c * 7) % OWNERS)));
+            }
+            tasks[i] = new TaskMicroserviceResponse(
+                "task-" + i, i % 10 == 0 ? null : "task-" + (i - i % 10), "project-" + (i % 20),
+                "Task " + i, "2026-12-31T00:00:00Z", "Description of task " + i, "Ongoing",
+                "2026-01-01T00:00:00Z", "2026-01-02T00:00:00Z", participants, i % 10 + 1);
+        }
+        return tasks;
+    }
+
+    static List<TaskDto> taskDtos(int count) {
+        return wrapper().toTaskDtoList(rawTasks(count));
+    }
+}
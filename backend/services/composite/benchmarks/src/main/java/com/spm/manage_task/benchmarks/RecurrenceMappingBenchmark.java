@@ -0,0 +1,47 @@
+package com.spm.manage_task.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.factory.Recurrence;
+
+// Recurrence.fromAtomicResponse for one recurrence row as task:3031 returns it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecurrenceMappingBenchmark {
+
+    private Map<String, Object> response;
+
+    @Setup
+    public void setUp() {
+        response = new HashMap<>();
+        response.put("id", "recurrence-1");
+        response.put("task_id", "task-1");
+        response.put("frequency", "Week");
+        response.put("interval", 2);
+        response.put("next_occurrence", "2026-11-02T09:30:00");
+        response.put("end_date", "2027-06-30");
+    }
+
+    @Benchmark
+    public RecurrenceDto fromAtomicResponse() {
+        return Recurrence.fromAtomicResponse(response);
+    }
+}
@@ -0,0 +1,48 @@
+package com.spm.manage_task.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+// TaskDTOWrapperComponent.toTaskDtoList over a whole listing, owners served from a warm profile cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDtoMappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int tasks;
+
+    private TaskDTOWrapperComponent wrapper;
+    private TaskMicroserviceResponse[] rawTasks;
+
+    @Setup
+    public void setUp() {
+        wrapper = Fixtures.wrapper();
+        rawTasks = Fixtures.rawTasks(tasks);
+        wrapper.toTaskDtoList(rawTasks);
+    }
+
+    @Benchmark
+    public List<TaskDto> toTaskDtoList() {
+        return wrapper.toTaskDtoList(rawTasks);
+    }
+}
@@ -0,0 +1,61 @@
+package com.spm.manage_task.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spm.manage_task.dto.TaskDto;
+
+/**
+ * Jackson serialization of a List<TaskDto> response body, with the same mapper setup Spring MVC uses.
+ *
+ * toBytes buffers the whole body, as a plain ResponseEntity<List<TaskDto>> does; toStream writes
+ * through to the output as the export endpoint does, so the difference is the cost of buffering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDtoSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int tasks;
+
+    private List<TaskDto> taskDtos;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+        taskDtos = Fixtures.taskDtos(tasks);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(taskDtos);
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), taskDtos);
+    }
+}
@@ -0,0 +1,81 @@
+package com.spm.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * State of one job as stored after every chunk and as shown by the service's jobs endpoint.
+ *
+ * @param total          items in the job's work list; -1 until the list has been taken
+ * @param processed      items done, successfully or not; the job resumes after these after a restart
+ * @param failedItems    the first {@link #MAX_FAILED_ITEMS} items that failed, each with its error
+ * @param itemsPerSecond processed items over the time spent running
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Job(@JsonProperty("id") String id,
+                  @JsonProperty("type") String type,
+                  @JsonProperty("params") Map<String, String> params,
+                  @JsonProperty("status") Status status,
+                  @JsonProperty("total") int total,
+                  @JsonProperty("processed") int processed,
+                  @JsonProperty("failed") int failed,
+                  @JsonProperty("failed_items") List<String> failedItems,
+                  @JsonProperty("error") String error,
+                  @JsonProperty("created_at") Instant createdAt,
+                  @JsonProperty("started_at") Instant startedAt,
+                  @JsonProperty("finished_at") Instant finishedAt,
+                  @JsonProperty("running_millis") long runningMillis) {
+
+    public static final int MAX_FAILED_ITEMS = 100;
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean finished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    public static Job queued(String id, String type, Map<String, String> params, Instant now) {
+        return new Job(id, type, Map.copyOf(params), Status.QUEUED, -1, 0, 0, List.of(), null, now, null, null, 0);
+    }
+
+    @JsonProperty("items_per_second")
+    public double itemsPerSecond() {
+        return runningMillis == 0 ? 0 : processed * 1000.0 / runningMillis;
+    }
+
+    @JsonIgnore
+    public boolean finished() {
+        return status.finished();
+    }
+
+    Job started(int total, Instant now) {
+        return new Job(id, type, params, Status.RUNNING, total, processed, failed, failedItems, null, createdAt,
+            startedAt == null ? now : startedAt, null, runningMillis);
+    }
+
+    // A chunk is done: its items are counted and its time added to the running time
+    Job chunkDone(int done, List<String> failures, Duration took) {
+        List<String> kept = new ArrayList<>(failedItems);
+        for (String failure : failures) {
+            if (kept.size() < MAX_FAILED_ITEMS) {
+                kept.add(failure);
+            }
+        }
+        return new Job(id, type, params, status, total, processed + done, failed + failures.size(), List.copyOf(kept),
+            error, createdAt, startedAt, finishedAt, runningMillis + took.toMillis());
+    }
+
+    Job finished(Status status, String error, Instant now) {
+        return new Job(id, type, params, status, total, processed, failed, failedItems, error, createdAt, startedAt,
+            now, runningMillis);
+    }
+}
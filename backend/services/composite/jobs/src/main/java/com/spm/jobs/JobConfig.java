@@ -0,0 +1,43 @@
+package com.spm.jobs;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(JobProperties.class)
+public class JobConfig {
+
+    @Bean
+    public JobStore jobStore(JobProperties props) {
+        return new JobStore(Path.of(props.directory()));
+    }
+
+    // Jobs outlive the request that submitted them, so unlike the fan-out executor no request deadline
+    // is carried over. Past jobs.max-queued, submit() throws and the job is refused. Running jobs are
+    // not waited for at shutdown; they resume from their last checkpoint on the next start
+    @Bean
+    public ThreadPoolTaskExecutor jobExecutor(JobProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.workers());
+        executor.setMaxPoolSize(props.workers());
+        executor.setQueueCapacity(props.maxQueued());
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean
+    public JobService jobService(JobProperties props, JobStore jobStore, ObjectProvider<JobHandler> handlers,
+                                 @Qualifier("jobExecutor") Executor jobExecutor, MeterRegistry registry) {
+        return new JobService(props, jobStore, handlers.orderedStream().toList(), jobExecutor, registry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.spm.jobs;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One kind of job, found by {@link #type()} when a job is submitted or resumed. Its work list is taken
+ * once when the job first starts and stored with it, so a resumed job carries on with the same items.
+ * Items are processed one at a time on a job worker, so handlers may block.
+ */
+public interface JobHandler {
+
+    String type();
+
+    // Throws IllegalArgumentException when the job can't be run with these parameters
+    default void validate(Map<String, String> params) {
+    }
+
+    // The items to process, e.g. task ids
+    List<String> items(Map<String, String> params);
+
+    // Throws to record the item as failed; the job carries on with the next one
+    void process(Map<String, String> params, String item);
+
+    // Runs once every item has succeeded; throwing fails the job
+    default void complete(Map<String, String> params) {
+    }
+}
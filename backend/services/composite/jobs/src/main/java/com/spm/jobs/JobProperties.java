@@ -0,0 +1,25 @@
+package com.spm.jobs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for background jobs ({@code jobs.*}), see JobService.
+ *
+ * @param directory  where jobs and their progress are kept; jobs still queued or running there at startup
+ *                   are resumed, so it must survive restarts
+ * @param workers    jobs run at once
+ * @param maxQueued  jobs waiting for a worker before submissions are refused with 503
+ * @param chunkSize  items processed between two checkpoints
+ * @param retention  time a finished job can still be looked up
+ */
+@ConfigurationProperties(prefix = "jobs")
+public record JobProperties(
+        @DefaultValue("data/jobs") String directory,
+        @DefaultValue("2") int workers,
+        @DefaultValue("100") int maxQueued,
+        @DefaultValue("50") int chunkSize,
+        @DefaultValue("7d") Duration retention) {
+}
@@ -0,0 +1,327 @@
+package com.spm.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import com.spm.jobs.Job.Status;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs long operations in the background: a submitted job is answered with its id at once and runs on
+ * one of {@code jobs.workers} workers, {@code jobs.chunk-size} items at a time. After every chunk its
+ * progress is written to the {@link JobStore}, so a job interrupted by a restart resumes after the last
+ * completed chunk; items of that chunk done before the restart are run again, so handlers must tolerate
+ * repeats. A running job stops at the next item once cancelled.
+ *
+ * Metrics: jobs.items (per type and outcome), jobs.chunk (time per chunk), jobs.finished (per type and
+ * status), jobs.throughput (items per second of each finished job) and jobs.running.
+ */
+public class JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private final JobProperties props;
+    private final JobStore store;
+    private final Map<String, JobHandler> handlers;
+    private final Executor workers;
+    private final MeterRegistry registry;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Set<String> cancelled = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<Consumer<Job>>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Announcer> announcers = new ConcurrentHashMap<>();
+    private long version;
+    private final AtomicInteger running = new AtomicInteger();
+
+    public JobService(JobProperties props, JobStore store, List<JobHandler> handlers, Executor workers,
+                      MeterRegistry registry) {
+        this.props = props;
+        this.store = store;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, handler -> handler));
+        this.workers = workers;
+        this.registry = registry;
+        Gauge.builder("jobs.running", running, AtomicInteger::get)
+            .description("Jobs being worked on")
+            .register(registry);
+    }
+
+    // Picks up the jobs a restart interrupted and forgets finished ones past retention
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<Job> stored = store.loadAll();
+        stored.sort(Comparator.comparing(Job::createdAt));
+        for (Job job : stored) {
+            if (job.finished() && expired(job)) {
+                store.delete(job.id());
+            } else if (!handlers.containsKey(job.type())) {
+                log.warn("Not resuming job {}: no handler for type {}", job.id(), job.type());
+            } else {
+                jobs.put(job.id(), job);
+                if (!job.finished()) {
+                    log.info("Resuming job {} ({}) after {} of {} items", job.id(), job.type(), job.processed(),
+                        job.total());
+                    try {
+                        workers.execute(() -> run(job.id()));
+                    } catch (RejectedExecutionException e) {
+                        update(job.id(), j -> j.finished(Status.FAILED, "Not resumed: too many jobs", Instant.now()));
+                    }
+                }
+            }
+        }
+    }
+
+    // Throws IllegalArgumentException for an unknown type or bad parameters, RejectedExecutionException when full
+    public Job submit(String type, Map<String, String> params) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown job type: " + type);
+        }
+        handler.validate(params);
+        prune();
+
+        Job job = Job.queued(UUID.randomUUID().toString(), type, params, Instant.now());
+        jobs.put(job.id(), job);
+        store.save(job);
+        try {
+            workers.execute(() -> run(job.id()));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            store.delete(job.id());
+            throw e;
+        }
+        return job;
+    }
+
+    public Job get(String id) {
+        return jobs.get(id);
+    }
+
+    // Newest first
+    public List<Job> list() {
+        List<Job> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparing(Job::createdAt).reversed());
+        return all;
+    }
+
+    // A queued job is cancelled at once, a running one at its next item; null when there is no such job
+    public Job cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null || job.finished()) {
+            return job;
+        }
+        cancelled.add(id);
+        return update(id, j -> j.status() == Status.QUEUED ? j.finished(Status.CANCELLED, null, Instant.now()) : j);
+    }
+
+    // Calls the listener with every change of the job until it finishes; run the returned Runnable to stop earlier
+    public Runnable subscribe(String id, Consumer<Job> listener) {
+        listeners.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> listeners.computeIfPresent(id, (k, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    void run(String id) {
+        Job job = jobs.get(id);
+        if (job == null || job.finished()) {
+            cancelled.remove(id);
+            return;
+        }
+        JobHandler handler = handlers.get(job.type());
+        running.incrementAndGet();
+        try {
+            List<String> items;
+            if (job.total() < 0) {
+                items = handler.items(job.params());
+                store.saveItems(id, items);
+            } else {
+                items = store.loadItems(id);
+            }
+            job = update(id, j -> j.finished() ? j : j.started(items.size(), Instant.now()));
+            if (job.finished()) {
+                return;
+            }
+
+            Timer chunkTimer = Timer.builder("jobs.chunk")
+                .description("Time to process one chunk of a job")
+                .tag("type", job.type())
+                .register(registry);
+            for (int from = job.processed(); from < items.size() && !cancelled.contains(id); from += props.chunkSize()) {
+                List<String> chunk = items.subList(from, Math.min(from + props.chunkSize(), items.size()));
+                job = update(id, runChunk(handler, job, chunk, chunkTimer));
+            }
+
+            if (cancelled.contains(id)) {
+                finish(id, Status.CANCELLED, null);
+            } else if (job.failed() > 0) {
+                finish(id, Status.FAILED, job.failed() + " of " + job.total() + " items failed");
+            } else {
+                handler.complete(job.params());
+                finish(id, Status.SUCCEEDED, null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Job {} ({}) failed", id, job.type(), e);
+            finish(id, Status.FAILED, e.getMessage());
+        } finally {
+            running.decrementAndGet();
+            cancelled.remove(id);
+        }
+    }
+
+    private UnaryOperator<Job> runChunk(JobHandler handler, Job job, List<String> chunk, Timer chunkTimer) {
+        long start = System.nanoTime();
+        int done = 0;
+        List<String> failures = new ArrayList<>();
+        for (String item : chunk) {
+            if (cancelled.contains(job.id())) {
+                break;
+            }
+            try {
+                handler.process(job.params(), item);
+                itemCounter(job.type(), "succeeded").increment();
+            } catch (RuntimeException e) {
+                failures.add(item + ": " + e.getMessage());
+                itemCounter(job.type(), "failed").increment();
+            }
+            done++;
+        }
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        chunkTimer.record(took);
+        int chunkDone = done;
+        return j -> j.chunkDone(chunkDone, failures, took);
+    }
+
+    private void finish(String id, Status status, String error) {
+        Job job = update(id, j -> j.finished(status, error, Instant.now()));
+        Counter.builder("jobs.finished")
+            .description("Jobs finished, by final status")
+            .tags("type", job.type(), "status", status.name())
+            .register(registry)
+            .increment();
+        DistributionSummary.builder("jobs.throughput")
+            .description("Items per second of each finished job")
+            .baseUnit("items/s")
+            .tag("type", job.type())
+            .register(registry)
+            .record(job.itemsPerSecond());
+        log.info("Job {} ({}) {} after {} of {} items in {} ms", id, job.type(), status, job.processed(), job.total(),
+            job.runningMillis());
+    }
+
+    // Changes, stores and announces the job. Only the change and the save are serialized, so the stored file
+    // always has the latest state, and a change is saved before get() returns it; listeners, which may write to
+    // slow clients, are called outside the lock by the job's Announcer, in the order the changes were made
+    private Job update(String id, UnaryOperator<Job> change) {
+        Job job;
+        long changeVersion;
+        synchronized (this) {
+            job = jobs.computeIfPresent(id, (k, j) -> {
+                Job changed = change.apply(j);
+                store.save(changed);
+                return changed;
+            });
+            changeVersion = ++version;
+        }
+        announcers.computeIfAbsent(id, k -> new Announcer(id)).announce(job, changeVersion);
+        return job;
+    }
+
+    // Calls one job's listeners, one change at a time and never with a change older than one already handed
+    // over. The first updater to find it idle calls the listeners, then goes on with whatever newer change
+    // came in meanwhile; other updaters only leave their change and return, so a slow listener holds up
+    // neither them nor other jobs. Changes overtaken while the listeners were busy are skipped, as is one
+    // that lost the race to the lock-free part of update(), e.g. cancel() re-announcing RUNNING after the
+    // worker's next chunk
+    private final class Announcer {
+        private final String id;
+        private long latest;
+        private Job pending;
+        private boolean busy;
+
+        Announcer(String id) {
+            this.id = id;
+        }
+
+        void announce(Job job, long changeVersion) {
+            synchronized (this) {
+                if (changeVersion <= latest) {
+                    return;
+                }
+                latest = changeVersion;
+                pending = job;
+                if (busy) {
+                    return;
+                }
+                busy = true;
+            }
+            while (true) {
+                Job next;
+                synchronized (this) {
+                    next = pending;
+                    pending = null;
+                    if (next == null) {
+                        busy = false;
+                        return;
+                    }
+                }
+                for (Consumer<Job> listener : listeners.getOrDefault(id, List.of())) {
+                    try {
+                        listener.accept(next);
+                    } catch (RuntimeException e) {
+                        log.debug("Job listener failed", e);
+                    }
+                }
+                if (next.finished()) {
+                    listeners.remove(id);
+                    announcers.remove(id, this);
+                }
+            }
+        }
+    }
+
+    private void prune() {
+        for (Job job : jobs.values()) {
+            if (job.finished() && expired(job)) {
+                jobs.remove(job.id());
+                store.delete(job.id());
+            }
+        }
+    }
+
+    private boolean expired(Job job) {
+        Instant finishedAt = job.finishedAt() == null ? job.createdAt() : job.finishedAt();
+        return finishedAt.plus(props.retention()).isBefore(Instant.now());
+    }
+
+    private Counter itemCounter(String type, String outcome) {
+        return Counter.builder("jobs.items")
+            .description("Job items processed, by outcome")
+            .tags("type", type, "outcome", outcome)
+            .register(registry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.spm.jobs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Jobs on local disk, so they survive a restart: {@code <id>.json} holds the job's state and is replaced
+ * atomically after every chunk, {@code <id>.items} its work list, one item per line.
+ */
+public class JobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JobStore.class);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        // items_per_second is derived; files written by other versions may have more
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    public JobStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't create job directory " + directory, e);
+        }
+    }
+
+    public void save(Job job) {
+        try {
+            write(directory.resolve(job.id() + ".json"), objectMapper.writeValueAsBytes(job));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't store job " + job.id(), e);
+        }
+    }
+
+    public void saveItems(String id, List<String> items) {
+        try {
+            write(directory.resolve(id + ".items"), String.join("\n", items).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't store the items of job " + id, e);
+        }
+    }
+
+    public List<String> loadItems(String id) {
+        try {
+            String items = Files.readString(directory.resolve(id + ".items"));
+            return items.isEmpty() ? List.of() : List.of(items.split("\n"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the items of job " + id, e);
+        }
+    }
+
+    // Every stored job; an unreadable file is logged and left alone
+    public List<Job> loadAll() {
+        List<Job> jobs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".json"))::iterator) {
+                try {
+                    jobs.add(objectMapper.readValue(file.toFile(), Job.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable job file {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't list job directory " + directory, e);
+        }
+        return jobs;
+    }
+
+    public void delete(String id) {
+        try {
+            Files.deleteIfExists(directory.resolve(id + ".json"));
+            Files.deleteIfExists(directory.resolve(id + ".items"));
+        } catch (IOException e) {
+            log.warn("Can't delete job {}", id, e);
+        }
+    }
+
+    // Written beside the target and moved over it, so a crash leaves the old or the new file, never half of one
+    private void write(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
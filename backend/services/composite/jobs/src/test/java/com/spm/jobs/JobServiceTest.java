@@ -0,0 +1,297 @@
+package com.spm.jobs;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class JobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TestHandler handler = new TestHandler();
+    private ExecutorService workers;
+    private JobStore store;
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        workers = Executors.newSingleThreadExecutor();
+        store = new JobStore(directory);
+        jobService = newJobService();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        handler.release.countDown();
+        workers.shutdownNow();
+        // A job seen finished may still be writing its file into the temporary directory
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private JobService newJobService() {
+        return new JobService(new JobProperties(directory.toString(), 1, 10, 2, Duration.ofDays(1)), store,
+            List.of(handler), workers, registry);
+    }
+
+    // Items "a".."e"; "bad" fails; "slow" waits for release
+    private static class TestHandler implements JobHandler {
+        final List<String> processed = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        List<String> items = List.of("a", "b", "c", "d", "e");
+        int completed;
+
+        @Override
+        public String type() {
+            return "test";
+        }
+
+        @Override
+        public List<String> items(Map<String, String> params) {
+            return items;
+        }
+
+        @Override
+        public void process(Map<String, String> params, String item) {
+            if (item.equals("slow")) {
+                slowStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            processed.add(item);
+            if (item.equals("bad")) {
+                throw new IllegalStateException("boom");
+            }
+        }
+
+        @Override
+        public void complete(Map<String, String> params) {
+            completed++;
+        }
+    }
+
+    private Job awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!jobService.get(id).finished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return jobService.get(id);
+    }
+
+    @Test
+    void testJob_RunsEveryItemAndIsStored() throws Exception {
+        // Arrange
+        List<Job> changes = new CopyOnWriteArrayList<>();
+        CountDownLatch announced = new CountDownLatch(1);
+
+        // Act
+        Job submitted = jobService.submit("test", Map.of());
+        jobService.subscribe(submitted.id(), change -> {
+            changes.add(change);
+            if (change.finished()) {
+                announced.countDown();
+            }
+        });
+        Job job = awaitFinished(submitted.id());
+
+        // Assert
+        assertEquals(Job.Status.SUCCEEDED, job.status());
+        assertEquals(5, job.total());
+        assertEquals(5, job.processed());
+        assertEquals(List.of("a", "b", "c", "d", "e"), handler.processed);
+        assertEquals(1, handler.completed);
+        assertEquals(Job.Status.SUCCEEDED, store.loadAll().get(0).status());
+        // Listeners are called after the change is visible
+        assertTrue(announced.await(5, TimeUnit.SECONDS));
+        assertEquals(Job.Status.SUCCEEDED, changes.get(changes.size() - 1).status());
+        assertEquals(5, registry.get("jobs.items").tag("outcome", "succeeded").counter().count());
+    }
+
+    @Test
+    void testFailedItem_OthersRunAndJobFails() throws Exception {
+        // Arrange
+        handler.items = List.of("a", "bad", "c");
+
+        // Act
+        Job job = awaitFinished(jobService.submit("test", Map.of()).id());
+
+        // Assert
+        assertEquals(Job.Status.FAILED, job.status());
+        assertEquals(3, job.processed());
+        assertEquals(1, job.failed());
+        assertEquals(List.of("bad: boom"), job.failedItems());
+        assertEquals("1 of 3 items failed", job.error());
+        assertEquals(0, handler.completed);
+    }
+
+    @Test
+    void testRestart_ResumesAfterLastCheckpoint() throws Exception {
+        // Arrange
+        Job interrupted = Job.queued("job1", "test", Map.of(), Instant.now())
+            .started(4, Instant.now())
+            .chunkDone(2, List.of(), Duration.ofMillis(10));
+        store.save(interrupted);
+        store.saveItems("job1", List.of("a", "b", "c", "d"));
+
+        // Act
+        JobService restarted = newJobService();
+        restarted.resume();
+        jobService = restarted;
+        Job job = awaitFinished("job1");
+
+        // Assert
+        assertEquals(Job.Status.SUCCEEDED, job.status());
+        assertEquals(4, job.processed());
+        assertEquals(List.of("c", "d"), handler.processed);
+    }
+
+    @Test
+    void testCancel_RunningJobStopsAtNextItem() throws Exception {
+        // Arrange
+        handler.items = List.of("a", "slow", "c", "d");
+        Job submitted = jobService.submit("test", Map.of());
+        assertTrue(handler.slowStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        jobService.cancel(submitted.id());
+        handler.release.countDown();
+        Job job = awaitFinished(submitted.id());
+
+        // Assert
+        assertEquals(Job.Status.CANCELLED, job.status());
+        assertEquals(2, job.processed());
+        assertEquals(List.of("a", "slow"), handler.processed);
+    }
+
+    @Test
+    void testSlowListener_DoesNotHoldUpOtherJobs() throws Exception {
+        // Arrange: the listener of the first job blocks, like an SSE send to a client that stopped reading
+        handler.items = List.of("slow", "a");
+        Job first = jobService.submit("test", Map.of());
+        assertTrue(handler.slowStarted.await(5, TimeUnit.SECONDS));
+        CountDownLatch listenerEntered = new CountDownLatch(1);
+        CountDownLatch listenerRelease = new CountDownLatch(1);
+        jobService.subscribe(first.id(), job -> {
+            listenerEntered.countDown();
+            try {
+                listenerRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        handler.release.countDown();
+        assertTrue(listenerEntered.await(5, TimeUnit.SECONDS));
+        Job second = jobService.submit("test", Map.of());
+
+        // Act
+        Job cancelled = CompletableFuture.supplyAsync(() -> jobService.cancel(second.id())).get(2, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Job.Status.CANCELLED, cancelled.status());
+        listenerRelease.countDown();
+        assertEquals(Job.Status.SUCCEEDED, awaitFinished(first.id()).status());
+    }
+
+    // Processed never goes back and nothing follows the finished state
+    private static void assertInOrder(List<Job> changes) {
+        for (int i = 1; i < changes.size(); i++) {
+            Job before = changes.get(i - 1);
+            Job after = changes.get(i);
+            assertTrue(after.processed() >= before.processed(), "processed went back: " + changes);
+            assertTrue(!before.finished(), "announced after finishing: " + changes);
+        }
+    }
+
+    @Test
+    void testSlowListener_CancelHandsOverAndIsAnnouncedInOrder() throws Exception {
+        // Arrange: the worker is held in the listener while announcing its chunk
+        handler.items = List.of("slow", "a", "b", "c");
+        Job submitted = jobService.submit("test", Map.of());
+        assertTrue(handler.slowStarted.await(5, TimeUnit.SECONDS));
+        List<Job> changes = new CopyOnWriteArrayList<>();
+        CountDownLatch listenerEntered = new CountDownLatch(1);
+        CountDownLatch listenerRelease = new CountDownLatch(1);
+        jobService.subscribe(submitted.id(), job -> {
+            changes.add(job);
+            listenerEntered.countDown();
+            try {
+                listenerRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        handler.release.countDown();
+        assertTrue(listenerEntered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture.runAsync(() -> jobService.cancel(submitted.id())).get(2, TimeUnit.SECONDS);
+        listenerRelease.countDown();
+        Job job = awaitFinished(submitted.id());
+
+        // Assert
+        assertEquals(Job.Status.CANCELLED, job.status());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!changes.get(changes.size() - 1).finished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Job.Status.CANCELLED, changes.get(changes.size() - 1).status());
+        assertInOrder(changes);
+    }
+
+    @Test
+    void testCancelRacingWorker_ChangesAnnouncedInOrder() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            // Arrange
+            List<Job> changes = new CopyOnWriteArrayList<>();
+            CountDownLatch announced = new CountDownLatch(1);
+            Job submitted = jobService.submit("test", Map.of());
+            jobService.subscribe(submitted.id(), change -> {
+                changes.add(change);
+                if (change.finished()) {
+                    announced.countDown();
+                }
+            });
+
+            // Act
+            Thread.sleep(i % 3);
+            jobService.cancel(submitted.id());
+            awaitFinished(submitted.id());
+
+            // Assert
+            if (!changes.isEmpty()) {
+                assertTrue(announced.await(5, TimeUnit.SECONDS));
+            }
+            assertInOrder(changes);
+        }
+    }
+
+    @Test
+    void testUnknownType_Rejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit("other", Map.of()));
+        assertTrue(jobService.list().isEmpty());
+    }
+}
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Starts the stand-in atomic services and both composites on this machine, pointed at each other.
+# Extra arguments go to the stand-ins, e.g. ./run-local.sh --latency lognormal:5ms,40ms
+# Ctrl-C stops everything. Build the three jars first (see README.md).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null || true' EXIT
+
+java -jar loadtest/target/loadtest.jar stand-in "$@" &
+pids+=($!)
+
+# MANAGE_TASK_WEB=reactive runs manage-task on WebFlux/Reactor Netty instead of Tomcat
+java -jar manage-task/target/manage_task-0.0.1-SNAPSHOT.jar \
+  --spring.main.web-application-type="${MANAGE_TASK_WEB:-servlet}" \
+  --task.base.url=http://127.0.0.1:13031 \
+  --profile.base.url=http://127.0.0.1:13030 &
+pids+=($!)
+
+# organise-project targets Java 21; set JAVA21_HOME if the default java is older
+"${JAVA21_HOME:+$JAVA21_HOME/bin/}java" -jar organise-project/target/spm-0.0.1-SNAPSHOT.jar \
+  --project.base.url=http://127.0.0.1:13040 &
+pids+=($!)
+
+wait
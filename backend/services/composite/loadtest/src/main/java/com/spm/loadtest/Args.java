@@ -0,0 +1,72 @@
+package com.spm.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal {@code --key value} / {@code --key=value} command-line options. A key may be repeated;
+ * {@link #all(String)} returns every value given for it.
+ */
+public final class Args {
+
+    private final Map<String, List<String>> values = new LinkedHashMap<>();
+
+    public Args(String[] argv) {
+        for (int i = 0; i < argv.length; i++) {
+            String arg = argv[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String key = arg.substring(2);
+            String value;
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                value = key.substring(eq + 1);
+                key = key.substring(0, eq);
+            } else if (i + 1 < argv.length && !argv[i + 1].startsWith("--")) {
+                value = argv[++i];
+            } else {
+                value = "true";
+            }
+            values.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String get(String key, String fallback) {
+        List<String> given = values.get(key);
+        return given == null ? fallback : given.get(given.size() - 1);
+    }
+
+    public List<String> all(String key) {
+        return values.getOrDefault(key, List.of());
+    }
+
+    public int getInt(String key, int fallback) {
+        return has(key) ? Integer.parseInt(get(key, null)) : fallback;
+    }
+
+    public double getDouble(String key, double fallback) {
+        return has(key) ? Double.parseDouble(get(key, null)) : fallback;
+    }
+
+    public Duration getDuration(String key, Duration fallback) {
+        return has(key) ? parseDuration(get(key, null)) : fallback;
+    }
+
+    // 250us, 20ms, 5s, 2m; a bare number is milliseconds
+    public static Duration parseDuration(String text) {
+        String t = text.trim();
+        if (t.endsWith("us")) return Duration.ofNanos(Math.round(Double.parseDouble(t.substring(0, t.length() - 2)) * 1_000));
+        if (t.endsWith("ms")) return Duration.ofNanos(Math.round(Double.parseDouble(t.substring(0, t.length() - 2)) * 1_000_000));
+        if (t.endsWith("s")) return Duration.ofNanos(Math.round(Double.parseDouble(t.substring(0, t.length() - 1)) * 1_000_000_000));
+        if (t.endsWith("m")) return Duration.ofSeconds(Math.round(Double.parseDouble(t.substring(0, t.length() - 1)) * 60));
+        return Duration.ofNanos(Math.round(Double.parseDouble(t) * 1_000_000));
+    }
+}
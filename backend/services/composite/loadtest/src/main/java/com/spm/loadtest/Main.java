@@ -0,0 +1,75 @@
+package com.spm.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.spm.loadtest.load.Endpoint;
+import com.spm.loadtest.load.LoadGenerator;
+import com.spm.loadtest.load.Report;
+import com.spm.loadtest.load.Scenario;
+import com.spm.loadtest.standin.StandInServer;
+import com.spm.loadtest.standin.StandIns;
+
+/**
+ * java -jar target/loadtest.jar stand-in [options]   serves task:3031, profile:3030 and project:3040 locally
+ * java -jar target/loadtest.jar run [options]        drives the composites at a fixed rate and prints percentiles
+ *
+ * See README.md for the options of each.
+ */
+public final class Main {
+
+    private Main() {
+    }
+
+    public static void main(String[] argv) throws Exception {
+        if (argv.length == 0 || !(argv[0].equals("stand-in") || argv[0].equals("run"))) {
+            System.err.println("usage: loadtest stand-in|run [--option value ...]");
+            System.exit(2);
+        }
+        Args args = new Args(Arrays.copyOfRange(argv, 1, argv.length));
+        if (argv[0].equals("stand-in")) {
+            standIn(args);
+        } else {
+            run(args);
+        }
+    }
+
+    private static void standIn(Args args) throws Exception {
+        StandIns standIns = new StandIns(args);
+        for (StandInServer server : standIns.all()) {
+            System.out.printf("%-8s %s%n", server.name(), server.baseUrl());
+        }
+        System.out.printf("dataset: %d tasks, %d users, %d projects%n",
+                standIns.dataset().tasks(), standIns.dataset().users(), standIns.dataset().projects());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (StandInServer server : standIns.all()) {
+                System.out.printf("%-8s %d requests, %d injected errors%n",
+                        server.name(), server.requests(), server.injectedErrors());
+            }
+            standIns.close();
+            stopped.countDown();
+        }));
+        stopped.await();
+    }
+
+    private static void run(Args args) throws Exception {
+        List<Endpoint> endpoints = Scenario.fromArgs(args);
+        double rps = args.getDouble("rps", 200);
+        Duration duration = args.getDuration("duration", Duration.ofSeconds(60));
+        Duration warmup = args.getDuration("warmup", Duration.ofSeconds(10));
+        int maxInFlight = args.getInt("max-in-flight", 2_000);
+        Duration timeout = args.getDuration("timeout", Duration.ofSeconds(10));
+
+        LoadGenerator.Result result = new LoadGenerator(timeout)
+                .run(endpoints, rps, duration, warmup, maxInFlight, args.getInt("seed", 42));
+        Report.print(result, rps, System.out);
+        if (args.has("hgrm")) {
+            Report.writeHgrm(result, Path.of(args.get("hgrm", "")));
+        }
+    }
+}
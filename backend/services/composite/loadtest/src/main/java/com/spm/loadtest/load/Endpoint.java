@@ -0,0 +1,15 @@
+package com.spm.loadtest.load;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * One kind of request in the mix: a name for the report, the composite it targets, and a path
+ * drawn per request so the run spreads over the dataset instead of hammering one id.
+ */
+public record Endpoint(String name, String baseUrl, Function<Random, String> path, double weight) {
+
+    public String url(Random random) {
+        return baseUrl + path.apply(random);
+    }
+}
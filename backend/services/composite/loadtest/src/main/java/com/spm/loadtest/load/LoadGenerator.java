@@ -0,0 +1,167 @@
+package com.spm.loadtest.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-loop load at a fixed arrival rate.
+ *
+ * Request i is due at start + i / rps whether or not earlier requests have answered, and its latency
+ * is measured from that due time, not from when it was actually sent. A stalled server therefore
+ * shows up as queueing delay in the percentiles instead of silently lowering the request rate
+ * (coordinated omission). When --max-in-flight requests are already outstanding a due request is not
+ * sent and is counted as skipped; a run with skips did not reach its target rate.
+ */
+public final class LoadGenerator {
+
+    public static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        public Histogram latency() {
+            return latency;
+        }
+
+        public long ok() {
+            return ok.sum();
+        }
+
+        public long clientErrors() {
+            return clientErrors.sum();
+        }
+
+        public long serverErrors() {
+            return serverErrors.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        void record(int status, long latencyNanos) {
+            latency.recordValue(latencyNanos);
+            if (status >= 500) serverErrors.increment();
+            else if (status >= 400) clientErrors.increment();
+            else ok.increment();
+        }
+    }
+
+    public record Result(Map<String, Stats> byEndpoint, Stats total, long sent, long skipped, Duration measured) {
+
+        public double achievedRps() {
+            return total.latency.getTotalCount() / (measured.toNanos() / 1e9);
+        }
+    }
+
+    private final HttpClient client;
+    private final Duration timeout;
+
+    public LoadGenerator(Duration timeout) {
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public Result run(List<Endpoint> endpoints, double rps, Duration duration, Duration warmup, int maxInFlight, long seed) {
+        Map<String, Stats> byEndpoint = new LinkedHashMap<>();
+        endpoints.forEach(e -> byEndpoint.put(e.name(), new Stats()));
+        Stats total = new Stats();
+        double[] cumulative = cumulativeWeights(endpoints);
+        Random random = new Random(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long skipped = 0;
+        long sent = 0;
+
+        long intervalNanos = (long) (1e9 / rps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) break;
+            long wait = due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            Endpoint endpoint = pick(endpoints, cumulative, random);
+            boolean measured = due >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) skipped++;
+                continue;
+            }
+            sent++;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.url(random)))
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            Stats stats = byEndpoint.get(endpoint.name());
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - due;
+                // Released only after recording, so the final drain below sees every result
+                try {
+                    if (!measured) return;
+                    if (error != null) {
+                        stats.failures.increment();
+                        total.failures.increment();
+                        stats.latency.recordValue(latency);
+                        total.latency.recordValue(latency);
+                    } else {
+                        stats.record(response.statusCode(), latency);
+                        total.record(response.statusCode(), latency);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Let outstanding requests finish so their (late) latencies are counted
+        try {
+            if (inFlight.tryAcquire(maxInFlight, timeout.toNanos() + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS)) {
+                inFlight.release(maxInFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new Result(byEndpoint, total, sent, skipped, duration);
+    }
+
+    private static double[] cumulativeWeights(List<Endpoint> endpoints) {
+        double[] cumulative = new double[endpoints.size()];
+        double sum = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            sum += Math.max(0, endpoints.get(i).weight());
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) throw new IllegalArgumentException("Endpoint weights must not all be zero");
+        return cumulative;
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, double[] cumulative, Random random) {
+        double x = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length; i++) {
+            if (x < cumulative[i]) return endpoints.get(i);
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+}
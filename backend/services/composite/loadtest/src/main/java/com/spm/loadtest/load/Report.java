@@ -0,0 +1,55 @@
+package com.spm.loadtest.load;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+// Percentile table for a run, in milliseconds, and optional .hgrm files for HdrHistogram's plotter
+public final class Report {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private Report() {
+    }
+
+    public static void print(LoadGenerator.Result result, double targetRps, PrintStream out) {
+        out.printf("target %.0f rps, achieved %.1f rps over %ds; sent %d, skipped %d (max in flight reached)%n",
+                targetRps, result.achievedRps(), result.measured().toSeconds(), result.sent(), result.skipped());
+        out.printf("%-20s %8s %8s %8s %8s %8s %9s %9s %6s %6s %6s%n",
+                "endpoint", "count", "p50", "p90", "p99", "p99.9", "max", "2xx/3xx", "4xx", "5xx", "err");
+        for (Map.Entry<String, LoadGenerator.Stats> entry : result.byEndpoint().entrySet()) {
+            row(out, entry.getKey(), entry.getValue());
+        }
+        row(out, "TOTAL", result.total());
+    }
+
+    private static void row(PrintStream out, String name, LoadGenerator.Stats stats) {
+        Histogram h = stats.latency();
+        out.printf("%-20s %8d %8.2f %8.2f %8.2f %8.2f %9.2f %9d %6d %6d %6d%n", name, h.getTotalCount(),
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()),
+                stats.ok(), stats.clientErrors(), stats.serverErrors(), stats.failures());
+    }
+
+    public static void writeHgrm(LoadGenerator.Result result, Path dir) throws java.io.IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, LoadGenerator.Stats> entry : result.byEndpoint().entrySet()) {
+            writeHgrm(entry.getValue().latency(), dir.resolve(entry.getKey() + ".hgrm"));
+        }
+        writeHgrm(result.total().latency(), dir.resolve("total.hgrm"));
+    }
+
+    private static void writeHgrm(Histogram histogram, Path file) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
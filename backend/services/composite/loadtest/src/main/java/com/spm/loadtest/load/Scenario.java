@@ -0,0 +1,76 @@
+package com.spm.loadtest.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import com.spm.loadtest.Args;
+import com.spm.loadtest.standin.Dataset;
+
+/**
+ * The read-only request mix against manage-task and organise-project, with ids drawn from a
+ * dataset of the same size the stand-ins were started with.
+ *
+ * Options: --tasks --users --projects (must match the stand-ins), --manage-task and
+ * --organise-project (base URLs), --only name,name to restrict the mix, and --weight name=n to
+ * change one endpoint's share (all default to 1).
+ */
+public final class Scenario {
+
+    private Scenario() {
+    }
+
+    public static List<Endpoint> fromArgs(Args args) {
+        int tasks = args.getInt("tasks", 10_000);
+        int users = args.getInt("users", 500);
+        int projects = args.getInt("projects", 1_000);
+        String manageTask = args.get("manage-task", "http://127.0.0.1:8091");
+        String organiseProject = args.get("organise-project", "http://127.0.0.1:8092");
+
+        List<Endpoint> endpoints = defaults(tasks, users, projects, manageTask, organiseProject);
+        if (args.has("only")) {
+            List<String> only = List.of(args.get("only", "").split(","));
+            endpoints = endpoints.stream().filter(e -> only.contains(e.name())).toList();
+        }
+        Map<String, Double> weights = new java.util.HashMap<>();
+        for (String weight : args.all("weight")) {
+            int eq = weight.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("--weight expects name=n, got " + weight);
+            weights.put(weight.substring(0, eq), Double.parseDouble(weight.substring(eq + 1)));
+        }
+        List<Endpoint> weighted = new ArrayList<>();
+        for (Endpoint e : endpoints) {
+            weighted.add(new Endpoint(e.name(), e.baseUrl(), e.path(), weights.getOrDefault(e.name(), e.weight())));
+        }
+        if (weighted.isEmpty()) throw new IllegalArgumentException("No endpoints left in the mix");
+        return weighted;
+    }
+
+    public static List<Endpoint> defaults(int tasks, int users, int projects, String manageTask, String organiseProject) {
+        Function<Random, String> task = r -> Dataset.id(Dataset.TASK, r.nextInt(tasks));
+        Function<Random, String> user = r -> Dataset.id(Dataset.USER, r.nextInt(users));
+        Function<Random, String> parent = r -> Dataset.id(Dataset.TASK,
+                r.nextInt((tasks + Dataset.TASKS_PER_PARENT - 1) / Dataset.TASKS_PER_PARENT) * Dataset.TASKS_PER_PARENT);
+        Function<Random, Integer> recurring = r -> r.nextInt((tasks + Dataset.RECURRENCE_EVERY - 1) / Dataset.RECURRENCE_EVERY)
+                * Dataset.RECURRENCE_EVERY;
+        Function<Random, String> project = r -> Dataset.id(Dataset.PROJECT, r.nextInt(projects));
+
+        return List.of(
+                new Endpoint("task.page", manageTask, r -> "/api/task/?limit=100", 1),
+                new Endpoint("task.byId", manageTask, r -> "/api/task/id/" + task.apply(r), 1),
+                new Endpoint("task.byUser", manageTask, r -> "/api/task/" + user.apply(r), 1),
+                new Endpoint("task.byProject", manageTask, r -> "/api/task/project/" + project.apply(r), 1),
+                new Endpoint("task.subtasks", manageTask, r -> "/api/task/subtask/" + parent.apply(r), 1),
+                new Endpoint("task.full", manageTask, r -> "/api/task/" + task.apply(r) + "/full?userId=" + user.apply(r), 1),
+                new Endpoint("task.reminder", manageTask, r -> "/api/task/reminder/" + task.apply(r) + "/" + user.apply(r), 1),
+                new Endpoint("recurrence.byTask", manageTask,
+                        r -> "/api/recurrence/task/" + Dataset.id(Dataset.TASK, recurring.apply(r)), 1),
+                new Endpoint("recurrence.byId", manageTask,
+                        r -> "/api/recurrence/" + Dataset.id(Dataset.RECURRENCE, recurring.apply(r)), 1),
+                new Endpoint("project.page", organiseProject, r -> "/projects/all?limit=100", 1),
+                new Endpoint("project.byId", organiseProject, r -> "/projects/" + project.apply(r), 1),
+                new Endpoint("project.byUser", organiseProject, r -> "/projects/user/" + user.apply(r), 1));
+    }
+}
@@ -0,0 +1,240 @@
+package com.spm.loadtest.standin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Synthetic tasks, users, projects and recurrences, shaped like the rows task:3031, profile:3030 and
+ * project:3040 return. Everything is derived from the indices, so the stand-ins and the load generator
+ * agree on which ids exist without sharing state: build both with the same sizes.
+ *
+ * Ids are UUID-shaped and sort in index order: {@code 0000000k-0000-4000-8000-<index in hex>} where k
+ * is the kind. Every {@value #TASKS_PER_PARENT}th task is a parent of the tasks that follow it, every
+ * {@value #RECURRENCE_EVERY}th task recurs, and each task and project has an owner plus
+ * {@value #COLLABORATORS} collaborators.
+ */
+public final class Dataset {
+
+    public static final int TASK = 1;
+    public static final int USER = 2;
+    public static final int PROJECT = 3;
+    public static final int RECURRENCE = 4;
+
+    public static final int TASKS_PER_PARENT = 10;
+    public static final int RECURRENCE_EVERY = 5;
+    public static final int COLLABORATORS = 3;
+
+    private static final String[] STATUSES = {"Unassigned", "Ongoing", "Under Review", "Completed"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "Sales", "Operations"};
+
+    private final int tasks;
+    private final int users;
+    private final int projects;
+
+    private final String[] taskJson;
+    private final String[] userJson;
+    private final String[] projectJson;
+    private final List<List<Integer>> tasksByUser;
+    private final List<List<Integer>> projectsByUser;
+
+    public Dataset(int tasks, int users, int projects) {
+        if (tasks < 1 || users < 1 || projects < 1) {
+            throw new IllegalArgumentException("Dataset sizes must be positive");
+        }
+        this.tasks = tasks;
+        this.users = users;
+        this.projects = projects;
+
+        ObjectMapper mapper = new ObjectMapper();
+        tasksByUser = emptyLists(users);
+        projectsByUser = emptyLists(users);
+
+        userJson = new String[users];
+        for (int u = 0; u < users; u++) {
+            userJson[u] = json(mapper, user(u));
+        }
+        taskJson = new String[tasks];
+        for (int t = 0; t < tasks; t++) {
+            taskJson[t] = json(mapper, task(t));
+            for (int u : participants(t, TASK)) {
+                tasksByUser.get(u).add(t);
+            }
+        }
+        projectJson = new String[projects];
+        for (int p = 0; p < projects; p++) {
+            projectJson[p] = json(mapper, project(p));
+            for (int u : participants(p, PROJECT)) {
+                projectsByUser.get(u).add(p);
+            }
+        }
+    }
+
+    public static String id(int kind, int index) {
+        return String.format("%08x-0000-4000-8000-%012x", kind, index);
+    }
+
+    // Index of an id of the given kind, or -1 if it is not one of ours
+    public static int index(int kind, String id) {
+        if (id == null || id.length() != 36 || !id.startsWith(String.format("%08x-0000-4000-8000-", kind))) {
+            return -1;
+        }
+        try {
+            return (int) Long.parseLong(id.substring(24), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int tasks() {
+        return tasks;
+    }
+
+    public int users() {
+        return users;
+    }
+
+    public int projects() {
+        return projects;
+    }
+
+    public String taskJson(int t) {
+        return t >= 0 && t < tasks ? taskJson[t] : null;
+    }
+
+    public String userJson(int u) {
+        return u >= 0 && u < users ? userJson[u] : null;
+    }
+
+    public String projectJson(int p) {
+        return p >= 0 && p < projects ? projectJson[p] : null;
+    }
+
+    public List<Integer> tasksOfUser(int u) {
+        return u >= 0 && u < users ? tasksByUser.get(u) : List.of();
+    }
+
+    public List<Integer> projectsOfUser(int u) {
+        return u >= 0 && u < users ? projectsByUser.get(u) : List.of();
+    }
+
+    public List<Integer> tasksOfProject(int p) {
+        List<Integer> rows = new ArrayList<>();
+        if (p < 0 || p >= projects) return rows;
+        for (int t = p; t < tasks; t += projects) {
+            rows.add(t);
+        }
+        return rows;
+    }
+
+    public List<Integer> subtasksOf(int t) {
+        if (t < 0 || t >= tasks || t % TASKS_PER_PARENT != 0) return List.of();
+        List<Integer> children = new ArrayList<>(TASKS_PER_PARENT - 1);
+        for (int c = t + 1; c < Math.min(t + TASKS_PER_PARENT, tasks); c++) {
+            children.add(c);
+        }
+        return children;
+    }
+
+    public static boolean recurs(int t) {
+        return t % RECURRENCE_EVERY == 0;
+    }
+
+    public String recurrenceJson(int t) {
+        if (t < 0 || t >= tasks || !recurs(t)) return null;
+        return "{\"id\":\"" + id(RECURRENCE, t) + "\",\"task_id\":\"" + id(TASK, t) + "\",\"frequency\":\"Week\","
+            + "\"interval\":" + (1 + t % 3) + ",\"next_occurrence\":\"2026-11-02T09:30:00\",\"end_date\":\"2027-06-30\"}";
+    }
+
+    public String reminderJson(int t) {
+        return "{\"task_id\":\"" + id(TASK, t) + "\",\"deadline_reminder\":[1,3,7]}";
+    }
+
+    public int owner(int index, int kind) {
+        return (kind == TASK ? index * 7 : index * 11) % users;
+    }
+
+    // Owner first, then collaborators; ids are distinct whenever there are enough users
+    public int[] participants(int index, int kind) {
+        int count = Math.min(users, COLLABORATORS + 1);
+        int[] ids = new int[count];
+        int owner = owner(index, kind);
+        for (int c = 0; c < count; c++) {
+            ids[c] = (owner + c * Math.max(1, users / (COLLABORATORS + 1))) % users;
+        }
+        return ids;
+    }
+
+    private Map<String, Object> user(int u) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id(USER, u));
+        row.put("department_id", "dept-" + (u % DEPARTMENTS.length));
+        row.put("team_id", "team-" + (u % 20));
+        row.put("display_name", "User " + u);
+        row.put("role", u % 25 == 0 ? "Manager" : "Staff");
+        row.put("department_name", DEPARTMENTS[u % DEPARTMENTS.length]);
+        row.put("team_name", "Team " + (u % 20));
+        return row;
+    }
+
+    private Map<String, Object> task(int t) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id(TASK, t));
+        row.put("parent_task_id", t % TASKS_PER_PARENT == 0 ? null : id(TASK, t - t % TASKS_PER_PARENT));
+        row.put("project_id", id(PROJECT, t % projects));
+        row.put("title", "Task " + t);
+        row.put("deadline", "2026-12-" + String.format("%02d", 1 + t % 28) + "T17:00:00Z");
+        row.put("description", "Synthetic task " + t + " for load testing the composite services.");
+        row.put("status", STATUSES[t % STATUSES.length]);
+        row.put("created_at", "2026-01-01T00:00:00Z");
+        row.put("updated_at", "2026-01-02T00:00:00Z");
+        row.put("priority", 1 + t % 10);
+        List<Map<String, Object>> participants = new ArrayList<>();
+        int[] ids = participants(t, TASK);
+        for (int c = 0; c < ids.length; c++) {
+            Map<String, Object> participant = new LinkedHashMap<>();
+            participant.put("profile_id", id(USER, ids[c]));
+            participant.put("is_owner", c == 0);
+            participants.add(participant);
+        }
+        row.put("participants", participants);
+        return row;
+    }
+
+    private Map<String, Object> project(int p) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int[] ids = participants(p, PROJECT);
+        row.put("id", id(PROJECT, p));
+        row.put("title", "Project " + p);
+        row.put("description", "Synthetic project " + p);
+        row.put("created_at", "2026-01-01T00:00:00Z");
+        row.put("updated_at", "2026-01-02T00:00:00Z");
+        row.put("owner", id(USER, ids[0]));
+        List<String> collaborators = new ArrayList<>();
+        for (int c = 1; c < ids.length; c++) {
+            collaborators.add(id(USER, ids[c]));
+        }
+        row.put("collaborators", collaborators);
+        return row;
+    }
+
+    private static List<List<Integer>> emptyLists(int n) {
+        List<List<Integer>> lists = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static String json(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.spm.loadtest.standin;
+
+import java.util.Random;
+
+import com.spm.loadtest.Args;
+
+/**
+ * How long a stand-in waits before answering. Written as a spec string:
+ * <ul>
+ *   <li>{@code none} - answer immediately</li>
+ *   <li>{@code fixed:20ms}</li>
+ *   <li>{@code uniform:5ms..50ms}</li>
+ *   <li>{@code lognormal:20ms,200ms} - median 20 ms with a p99 of 200 ms, the long-tailed shape
+ *       real database-backed services tend to have</li>
+ * </ul>
+ */
+public interface LatencyModel {
+
+    LatencyModel NONE = random -> 0L;
+
+    // z-score of the 99th percentile of the standard normal distribution
+    double Z_99 = 2.3263478740408408;
+
+    long sampleNanos(Random random);
+
+    static LatencyModel parse(String spec) {
+        String s = spec.trim();
+        if (s.isEmpty() || s.equals("none") || s.equals("0")) {
+            return NONE;
+        }
+        int colon = s.indexOf(':');
+        String kind = colon < 0 ? "fixed" : s.substring(0, colon);
+        String params = colon < 0 ? s : s.substring(colon + 1);
+        switch (kind) {
+            case "fixed": {
+                long nanos = Args.parseDuration(params).toNanos();
+                return random -> nanos;
+            }
+            case "uniform": {
+                String[] bounds = params.split("\\.\\.");
+                long min = Args.parseDuration(bounds[0]).toNanos();
+                long max = Args.parseDuration(bounds[1]).toNanos();
+                if (max < min) throw new IllegalArgumentException("uniform latency needs min..max: " + spec);
+                return random -> min + (long) (random.nextDouble() * (max - min));
+            }
+            case "lognormal": {
+                String[] parts = params.split(",");
+                double median = Args.parseDuration(parts[0]).toNanos();
+                double p99 = Args.parseDuration(parts[1]).toNanos();
+                if (median <= 0 || p99 < median) throw new IllegalArgumentException("lognormal latency needs median,p99 with p99 >= median: " + spec);
+                double mu = Math.log(median);
+                double sigma = (Math.log(p99) - mu) / Z_99;
+                return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+            default:
+                throw new IllegalArgumentException("Unknown latency model: " + spec);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.spm.loadtest.standin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// ?limit=&after= keyset paging over rows sorted by id, as the atomic services implement it
+final class Paging {
+
+    private Paging() {
+    }
+
+    static StandInServer.Response page(Map<String, String> query, int kind, int size, IntFunction<String> row) {
+        List<String> rows = new ArrayList<>();
+        if (!query.containsKey("limit")) {
+            for (int i = 0; i < size; i++) rows.add(row.apply(i));
+            return StandInServer.Response.jsonArray(rows);
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(query.get("limit"));
+        } catch (NumberFormatException e) {
+            return new StandInServer.Response(400, "{\"error\":\"limit must be a positive integer\"}");
+        }
+        if (limit < 1) {
+            return new StandInServer.Response(400, "{\"error\":\"limit must be a positive integer\"}");
+        }
+        String after = query.getOrDefault("after", "");
+        int start = after.isEmpty() ? 0 : Dataset.index(kind, after) + 1;
+        if (start < 0) {
+            return new StandInServer.Response(400, "{\"error\":\"Invalid after\"}");
+        }
+        for (int i = start; i < Math.min(size, start + limit); i++) rows.add(row.apply(i));
+        return StandInServer.Response.jsonArray(rows);
+    }
+}
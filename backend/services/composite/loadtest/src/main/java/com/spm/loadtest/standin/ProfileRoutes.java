@@ -0,0 +1,48 @@
+package com.spm.loadtest.standin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.loadtest.standin.StandInServer.Response;
+
+// The profile:3030 routes manage-task calls: GET /user/{id} and POST /user/bulk
+public final class ProfileRoutes implements StandInServer.Routes {
+
+    private final Dataset data;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public ProfileRoutes(Dataset data) {
+        this.data = data;
+    }
+
+    @Override
+    public Response handle(String method, String path, Map<String, String> query, String body) {
+        String[] s = TaskRoutes.segments(path);
+        if (s.length != 2 || !s[0].equals("user")) return Response.notFound("Not found");
+        if (s[1].equals("bulk") && method.equals("POST")) {
+            return bulk(body);
+        }
+        String row = data.userJson(Dataset.index(Dataset.USER, s[1]));
+        return row == null ? Response.notFound("User not found") : Response.json(row);
+    }
+
+    // Unknown ids are left out, as the real bulk endpoint does
+    private Response bulk(String body) {
+        JsonNode ids;
+        try {
+            ids = mapper.readTree(body).path("ids");
+        } catch (Exception e) {
+            return new Response(400, "{\"error\":\"ids must be an array\"}");
+        }
+        if (!ids.isArray()) return new Response(400, "{\"error\":\"ids must be an array\"}");
+        List<String> rows = new ArrayList<>(ids.size());
+        for (JsonNode id : ids) {
+            String row = data.userJson(Dataset.index(Dataset.USER, id.asText()));
+            if (row != null) rows.add(row);
+        }
+        return Response.jsonArray(rows);
+    }
+}
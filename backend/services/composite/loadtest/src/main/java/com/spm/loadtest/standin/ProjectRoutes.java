@@ -0,0 +1,34 @@
+package com.spm.loadtest.standin;
+
+import java.util.Map;
+
+import com.spm.loadtest.standin.StandInServer.Response;
+
+// The project:3040 routes organise-project calls: /project/...
+public final class ProjectRoutes implements StandInServer.Routes {
+
+    private final Dataset data;
+
+    public ProjectRoutes(Dataset data) {
+        this.data = data;
+    }
+
+    @Override
+    public Response handle(String method, String path, Map<String, String> query, String body) {
+        String[] s = TaskRoutes.segments(path);
+        if (s.length == 0 || !s[0].equals("project")) return Response.notFound("Not found");
+        if (s.length == 1) {
+            return method.equals("POST") ? Response.json(data.projectJson(0)) : Response.json("{\"status\":\"ok\"}");
+        }
+        if (s.length == 2 && s[1].equals("all") && method.equals("GET")) {
+            return Paging.page(query, Dataset.PROJECT, data.projects(), data::projectJson);
+        }
+        if (s.length == 3 && s[1].equals("user") && method.equals("GET")) {
+            return Response.jsonArray(data.projectsOfUser(Dataset.index(Dataset.USER, s[2])).stream()
+                    .map(data::projectJson).toList());
+        }
+        String row = data.projectJson(Dataset.index(Dataset.PROJECT, s[1]));
+        if (row == null) return Response.notFound("Project not found");
+        return method.equals("DELETE") ? Response.json("{\"message\":\"Project deleted\"}") : Response.json(row);
+    }
+}
@@ -0,0 +1,187 @@
+package com.spm.loadtest.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * One stand-in atomic service on a loopback port, built on the JDK's HttpServer.
+ *
+ * The response is computed as soon as the request arrives, then held back for a delay drawn from the
+ * latency model; waiting requests sit in a scheduler queue rather than holding a thread each, so a
+ * slow stand-in can have thousands of requests in flight. A fraction {@code errorRate} of requests
+ * is answered with a 503 instead.
+ */
+public final class StandInServer implements AutoCloseable {
+
+    static {
+        // Headers and body go out as separate writes; without TCP_NODELAY the client's delayed ACK
+        // adds ~40 ms to every response. Read once by the JDK server, so it must be set before start.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    public record Response(int status, String body) {
+
+        public static Response json(String body) {
+            return new Response(200, body);
+        }
+
+        public static Response jsonArray(List<String> rows) {
+            StringBuilder sb = new StringBuilder(rows.size() * 512 + 2).append('[');
+            for (int i = 0; i < rows.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(rows.get(i));
+            }
+            return new Response(200, sb.append(']').toString());
+        }
+
+        public static Response notFound(String message) {
+            return new Response(404, "{\"error\":\"" + message + "\"}");
+        }
+
+        public static Response empty() {
+            return new Response(200, "");
+        }
+    }
+
+    @FunctionalInterface
+    public interface Routes {
+        Response handle(String method, String path, Map<String, String> query, String body);
+    }
+
+    private final String name;
+    private final Routes routes;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService delayer;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    public StandInServer(String name, String host, int port, Routes routes, LatencyModel latency, double errorRate)
+            throws IOException {
+        this.name = name;
+        this.routes = routes;
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 4096);
+        this.workers = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), daemon(name));
+        this.delayer = Executors.newScheduledThreadPool(2, daemon(name + "-delay"));
+        server.setExecutor(workers);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + port();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        delayer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Response response;
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            injectedErrors.increment();
+            response = new Response(503, "{\"error\":\"Injected failure from " + name + " stand-in\"}");
+        } else {
+            try {
+                response = routes.handle(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                        query(exchange.getRequestURI().getRawQuery()), body);
+            } catch (RuntimeException e) {
+                response = new Response(500, "{\"error\":\"" + e.getClass().getSimpleName() + "\"}");
+            }
+        }
+
+        long delay = latency.sampleNanos(random);
+        Response ready = response;
+        if (delay <= 0) {
+            send(exchange, ready);
+        } else {
+            delayer.schedule(() -> workers.execute(() -> send(exchange, ready)), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) {
+        try (exchange) {
+            byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to do
+        }
+    }
+
+    static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static java.util.concurrent.ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.spm.loadtest.standin;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.spm.loadtest.Args;
+
+/**
+ * task:3031, profile:3030 and project:3040 stand-ins over one shared dataset.
+ *
+ * Options: --tasks --users --projects (dataset size), --host (default 127.0.0.1), --task-port
+ * --profile-port --project-port (default 13031/13030/13040, 0 for any free port), --latency and
+ * --error-rate for all three, and --task-latency, --profile-error-rate, ... to override one service.
+ */
+public final class StandIns implements AutoCloseable {
+
+    private final Dataset dataset;
+    private final StandInServer task;
+    private final StandInServer profile;
+    private final StandInServer project;
+
+    public StandIns(Args args) throws IOException {
+        this(new Dataset(args.getInt("tasks", 10_000), args.getInt("users", 500), args.getInt("projects", 1_000)), args);
+    }
+
+    public StandIns(Dataset dataset, Args args) throws IOException {
+        this.dataset = dataset;
+        String host = args.get("host", "127.0.0.1");
+        task = start("task", host, args.getInt("task-port", 13031), new TaskRoutes(dataset), args);
+        profile = start("profile", host, args.getInt("profile-port", 13030), new ProfileRoutes(dataset), args);
+        project = start("project", host, args.getInt("project-port", 13040), new ProjectRoutes(dataset), args);
+    }
+
+    private static StandInServer start(String name, String host, int port, StandInServer.Routes routes, Args args)
+            throws IOException {
+        LatencyModel latency = LatencyModel.parse(args.get(name + "-latency", args.get("latency", "none")));
+        double errorRate = args.getDouble(name + "-error-rate", args.getDouble("error-rate", 0.0));
+        return new StandInServer(name, host, port, routes, latency, errorRate);
+    }
+
+    public Dataset dataset() {
+        return dataset;
+    }
+
+    public StandInServer task() {
+        return task;
+    }
+
+    public StandInServer profile() {
+        return profile;
+    }
+
+    public StandInServer project() {
+        return project;
+    }
+
+    public List<StandInServer> all() {
+        return List.of(task, profile, project);
+    }
+
+    @Override
+    public void close() {
+        all().forEach(StandInServer::close);
+    }
+}
@@ -0,0 +1,86 @@
+package com.spm.loadtest.standin;
+
+import java.util.List;
+import java.util.Map;
+
+import com.spm.loadtest.standin.StandInServer.Response;
+
+/**
+ * The task:3031 routes manage-task calls: /task/... and /recurrence/...
+ *
+ * Writes are acknowledged with a plausible body but do not change the dataset, so a run can be
+ * repeated with identical reads.
+ */
+public final class TaskRoutes implements StandInServer.Routes {
+
+    private final Dataset data;
+
+    public TaskRoutes(Dataset data) {
+        this.data = data;
+    }
+
+    @Override
+    public Response handle(String method, String path, Map<String, String> query, String body) {
+        String[] s = segments(path);
+        if (s.length == 0) return Response.notFound("Not found");
+        return switch (s[0]) {
+            case "task" -> task(method, s, query);
+            case "recurrence" -> recurrence(method, s);
+            default -> Response.notFound("Not found");
+        };
+    }
+
+    private Response task(String method, String[] s, Map<String, String> query) {
+        if (s.length == 1) {
+            return switch (method) {
+                case "GET" -> Paging.page(query, Dataset.TASK, data.tasks(), data::taskJson);
+                case "POST" -> Response.json(data.taskJson(0));
+                default -> Response.notFound("Not found");
+            };
+        }
+        if (s.length == 3 && s[1].equals("users") && method.equals("GET")) {
+            return rows(data.tasksOfUser(Dataset.index(Dataset.USER, s[2])));
+        }
+        if (s.length == 3 && s[1].equals("project") && method.equals("GET")) {
+            return rows(data.tasksOfProject(Dataset.index(Dataset.PROJECT, s[2])));
+        }
+        int t = Dataset.index(Dataset.TASK, s[1]);
+        if (t < 0 || t >= data.tasks()) return Response.notFound("Task not found");
+        if (s.length == 2) {
+            return switch (method) {
+                case "GET", "PUT" -> Response.json(data.taskJson(t));
+                case "DELETE" -> Response.empty();
+                default -> Response.notFound("Not found");
+            };
+        }
+        if (s.length == 3 && s[2].equals("subtasks") && method.equals("GET")) {
+            return rows(data.subtasksOf(t));
+        }
+        if (s.length == 4 && s[2].equals("deadline-reminder")) {
+            return Response.json(data.reminderJson(t));
+        }
+        return Response.notFound("Not found");
+    }
+
+    private Response recurrence(String method, String[] s) {
+        if (!method.equals("GET")) return Response.empty();
+        if (s.length == 3 && s[1].equals("task")) {
+            String row = data.recurrenceJson(Dataset.index(Dataset.TASK, s[2]));
+            return row == null ? Response.notFound("No recurrences found") : Response.jsonArray(List.of(row));
+        }
+        if (s.length == 2) {
+            String row = data.recurrenceJson(Dataset.index(Dataset.RECURRENCE, s[1]));
+            return row == null ? Response.notFound("Recurrence not found") : Response.json(row);
+        }
+        return Response.notFound("Not found");
+    }
+
+    private Response rows(List<Integer> indices) {
+        return Response.jsonArray(indices.stream().map(data::taskJson).toList());
+    }
+
+    static String[] segments(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+}
@@ -0,0 +1,61 @@
+package com.spm.loadtest.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.spm.loadtest.standin.LatencyModel;
+import com.spm.loadtest.standin.StandInServer;
+
+class LoadGeneratorTest {
+
+    private static StandInServer server(String latency, double errorRate) throws Exception {
+        return new StandInServer("test", "127.0.0.1", 0,
+                (method, path, query, body) -> StandInServer.Response.json("{}"), LatencyModel.parse(latency), errorRate);
+    }
+
+    @Test
+    void run_SendsAtTheTargetRateAndSplitsByEndpoint() throws Exception {
+        try (StandInServer server = server("fixed:5ms", 0)) {
+            List<Endpoint> endpoints = List.of(
+                    new Endpoint("a", server.baseUrl(), r -> "/a", 3),
+                    new Endpoint("b", server.baseUrl(), r -> "/b", 1));
+
+            LoadGenerator.Result result = new LoadGenerator(Duration.ofSeconds(5))
+                    .run(endpoints, 200, Duration.ofSeconds(2), Duration.ofMillis(200), 100, 1);
+
+            assertThat(result.total().latency().getTotalCount()).isBetween(390L, 410L);
+            assertThat(result.skipped()).isZero();
+            assertThat(result.byEndpoint().get("a").ok()).isGreaterThan(result.byEndpoint().get("b").ok() * 2);
+            assertThat(result.total().latency().getValueAtPercentile(50)).isGreaterThanOrEqualTo(5_000_000L);
+        }
+    }
+
+    @Test
+    void run_CountsServerErrors() throws Exception {
+        try (StandInServer server = server("none", 1.0)) {
+            LoadGenerator.Result result = new LoadGenerator(Duration.ofSeconds(5))
+                    .run(List.of(new Endpoint("a", server.baseUrl(), r -> "/", 1)), 100, Duration.ofMillis(500),
+                            Duration.ZERO, 100, 1);
+
+            assertThat(result.total().serverErrors()).isEqualTo(result.total().latency().getTotalCount()).isPositive();
+            assertThat(result.total().ok()).isZero();
+        }
+    }
+
+    @Test
+    void run_SkipsWhenMaxInFlightReached() throws Exception {
+        // 100 rps against a 300ms server with only 5 slots: most due requests can't be sent
+        try (StandInServer server = server("fixed:300ms", 0)) {
+            LoadGenerator.Result result = new LoadGenerator(Duration.ofSeconds(5))
+                    .run(List.of(new Endpoint("a", server.baseUrl(), r -> "/", 1)), 100, Duration.ofSeconds(1),
+                            Duration.ZERO, 5, 1);
+
+            assertThat(result.skipped()).isGreaterThan(50);
+            assertThat(result.total().latency().getTotalCount()).isLessThan(30);
+        }
+    }
+}
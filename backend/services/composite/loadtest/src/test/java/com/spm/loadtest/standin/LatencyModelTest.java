@@ -0,0 +1,49 @@
+package com.spm.loadtest.standin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyModelTest {
+
+    private static long[] sorted(LatencyModel model, int n) {
+        Random random = new Random(7);
+        long[] samples = new long[n];
+        for (int i = 0; i < n; i++) samples[i] = model.sampleNanos(random);
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    void lognormal_HitsRequestedMedianAndP99() {
+        long[] samples = sorted(LatencyModel.parse("lognormal:20ms,200ms"), 200_000);
+
+        assertThat(samples[100_000] / 1e6).isCloseTo(20, org.assertj.core.data.Percentage.withPercentage(5));
+        assertThat(samples[198_000] / 1e6).isCloseTo(200, org.assertj.core.data.Percentage.withPercentage(10));
+    }
+
+    @Test
+    void uniform_StaysWithinBounds() {
+        long[] samples = sorted(LatencyModel.parse("uniform:5ms..50ms"), 10_000);
+
+        assertThat(samples[0]).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(samples[samples.length - 1]).isLessThan(50_000_000);
+    }
+
+    @Test
+    void fixedAndNone() {
+        assertThat(LatencyModel.parse("fixed:250us").sampleNanos(new Random())).isEqualTo(250_000);
+        assertThat(LatencyModel.parse("15ms").sampleNanos(new Random())).isEqualTo(15_000_000);
+        assertThat(LatencyModel.parse("none")).isSameAs(LatencyModel.NONE);
+    }
+
+    @Test
+    void unknownModel_Rejected() {
+        assertThatThrownBy(() -> LatencyModel.parse("pareto:1ms"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.spm.loadtest.standin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.loadtest.Args;
+
+class StandInServerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    private static StandIns standIns;
+
+    @BeforeAll
+    static void start() throws Exception {
+        standIns = new StandIns(new Dataset(100, 20, 30),
+                new Args(new String[] {"--task-port", "0", "--profile-port", "0", "--project-port", "0"}));
+    }
+
+    @AfterAll
+    static void stop() {
+        standIns.close();
+    }
+
+    private static HttpResponse<String> get(StandInServer server, String path) throws Exception {
+        return CLIENT.send(HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonNode json(HttpResponse<String> response) throws Exception {
+        return MAPPER.readTree(response.body());
+    }
+
+    @Test
+    void task_ByIdHasOwnerParticipant() throws Exception {
+        String id = Dataset.id(Dataset.TASK, 3);
+
+        HttpResponse<String> response = get(standIns.task(), "/task/" + id);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode task = json(response);
+        assertThat(task.get("id").asText()).isEqualTo(id);
+        assertThat(task.get("participants").get(0).get("is_owner").asBoolean()).isTrue();
+        assertThat(get(standIns.task(), "/task/" + Dataset.id(Dataset.TASK, 100)).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void task_KeysetPagesCoverEveryTaskOnce() throws Exception {
+        int seen = 0;
+        String after = "";
+        while (true) {
+            JsonNode page = json(get(standIns.task(), "/task/?limit=30&after=" + after));
+            if (page.isEmpty()) break;
+            seen += page.size();
+            after = page.get(page.size() - 1).get("id").asText();
+        }
+        assertThat(seen).isEqualTo(100);
+        assertThat(json(get(standIns.task(), "/task/")).size()).isEqualTo(100);
+    }
+
+    @Test
+    void task_SubtasksAndRecurrences() throws Exception {
+        assertThat(json(get(standIns.task(), "/task/" + Dataset.id(Dataset.TASK, 10) + "/subtasks")).size())
+                .isEqualTo(Dataset.TASKS_PER_PARENT - 1);
+        assertThat(json(get(standIns.task(), "/recurrence/task/" + Dataset.id(Dataset.TASK, 5))).size()).isEqualTo(1);
+        assertThat(get(standIns.task(), "/recurrence/task/" + Dataset.id(Dataset.TASK, 6)).statusCode()).isEqualTo(404);
+        assertThat(json(get(standIns.task(), "/task/project/" + Dataset.id(Dataset.PROJECT, 3))).size()).isEqualTo(4);
+    }
+
+    @Test
+    void profile_BulkSkipsUnknownIds() throws Exception {
+        String body = "{\"ids\":[\"" + Dataset.id(Dataset.USER, 1) + "\",\"" + Dataset.id(Dataset.USER, 2)
+                + "\",\"nobody\"]}";
+        HttpResponse<String> response = CLIENT.send(
+                HttpRequest.newBuilder(URI.create(standIns.profile().baseUrl() + "/user/bulk"))
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(json(response).size()).isEqualTo(2);
+    }
+
+    @Test
+    void project_UserProjectsAreTheOnesTheyParticipateIn() throws Exception {
+        String user = Dataset.id(Dataset.USER, 0);
+
+        JsonNode projects = json(get(standIns.project(), "/project/user/" + user));
+
+        assertThat(projects.size()).isPositive();
+        assertThat(projects.get(0).toString()).contains(user);
+    }
+
+    @Test
+    void errorRate_OneAlwaysFails() throws Exception {
+        try (StandInServer failing = new StandInServer("failing", "127.0.0.1", 0,
+                (method, path, query, body) -> StandInServer.Response.json("{}"), LatencyModel.NONE, 1.0)) {
+            HttpResponse<String> response = get(failing, "/anything");
+
+            assertThat(response.statusCode()).isEqualTo(503);
+            assertThat(failing.injectedErrors()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void latency_DelaysTheResponse() throws Exception {
+        try (StandInServer slow = new StandInServer("slow", "127.0.0.1", 0,
+                (method, path, query, body) -> StandInServer.Response.json("{}"), LatencyModel.parse("fixed:100ms"), 0)) {
+            long start = System.nanoTime();
+            get(slow, "/");
+
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(100_000_000L);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.spm.manage_task;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.spm.manage_task", "com.spm.jobs"})
 public class ManageTaskApplication {
 
 	public static void main(String[] args) {
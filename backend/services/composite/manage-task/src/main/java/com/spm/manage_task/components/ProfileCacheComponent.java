@@ -0,0 +1,104 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.spm.manage_task.dto.UserDto;
+import com.spm.manage_task.services.ProfileService;
+
+/**
+ * Bounded in-process cache in front of {@link ProfileService}.
+ *
+ * Entries older than {@code refresh-after-write} are still served while a background reload runs;
+ * if that reload fails the old value stays in place until {@code expire-after-write}, so listings keep
+ * their owner names while profile:3030 is slow or down.
+ */
+@Component
+public class ProfileCacheComponent {
+
+    private final LoadingCache<String, UserDto> cache;
+
+    @Autowired
+    public ProfileCacheComponent(ProfileService profileService,
+                                 @Value("${profile.cache.max-weight:5000000}") long maxWeight,
+                                 @Value("${profile.cache.refresh-after-write:5m}") Duration refreshAfterWrite,
+                                 @Value("${profile.cache.expire-after-write:12h}") Duration expireAfterWrite) {
+        this(profileService, maxWeight, refreshAfterWrite, expireAfterWrite, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    ProfileCacheComponent(ProfileService profileService, long maxWeight, Duration refreshAfterWrite,
+                          Duration expireAfterWrite, Ticker ticker, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher(ProfileCacheComponent::weigh)
+            .refreshAfterWrite(refreshAfterWrite)
+            .expireAfterWrite(expireAfterWrite)
+            .ticker(ticker)
+            .executor(executor)
+            .recordStats()
+            .build(new CacheLoader<String, UserDto>() {
+                @Override
+                public UserDto load(String userId) {
+                    return profileService.getUserById(userId);
+                }
+
+                @Override
+                public Map<String, UserDto> loadAll(Set<? extends String> userIds) {
+                    return profileService.getUsersByIds(Set.copyOf(userIds));
+                }
+            });
+    }
+
+    public UserDto getUserById(String userId) {
+        return cache.get(userId);
+    }
+
+    // Cached entries are returned as-is; only the misses go to the profile service, in one bulk call
+    public Map<String, UserDto> getUsersByIds(Collection<String> userIds) {
+        return cache.getAll(userIds);
+    }
+
+    // Only what is cached, without loading; for callers that fetch the misses themselves
+    public Map<String, UserDto> getPresent(Collection<String> userIds) {
+        return cache.getAllPresent(userIds);
+    }
+
+    public void putAll(Map<String, UserDto> users) {
+        cache.putAll(users);
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    public LoadingCache<String, UserDto> getCache() {
+        return cache;
+    }
+
+    // Rough retained size in chars, so a few huge profiles can't crowd out thousands of normal ones
+    private static int weigh(String userId, UserDto user) {
+        return 64 + length(userId)
+            + length(user.getUserDepartmentId())
+            + length(user.getUserTeamId())
+            + length(user.getUserDisplayName())
+            + length(user.getUserRole())
+            + length(user.getUserDepartmentName())
+            + length(user.getUserTeamName());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,69 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+
+/**
+ * The point in time by which an inbound request must be answered. Every downstream call made for the
+ * request gets no more than what is left of it, and the remainder is forwarded in {@link #HEADER} so the
+ * atomic services can give up at the same moment we do.
+ *
+ * Like RequestLookupContext, the servlet stack keeps it in a thread local opened by DeadlineFilter and
+ * carried onto fan-out threads by the executor's task decorator; the reactive stack keeps it in the
+ * Reactor context instead (see ReactiveDeadlineFilter).
+ */
+public final class RequestDeadline {
+
+    /** Budget in milliseconds, read from inbound requests and sent with every downstream call. */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static RequestDeadline open(Duration budget) {
+        RequestDeadline deadline = after(budget);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    // Installs the given deadline (possibly null) on this thread and returns the one it replaced
+    public static RequestDeadline attach(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean expired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    // The earlier of this deadline and one the given number of nanos from now, as a System.nanoTime() value
+    public long earliest(long nanosFromNow) {
+        long other = System.nanoTime() + nanosFromNow;
+        return deadlineNanos - other < 0 ? deadlineNanos : other;
+    }
+}
@@ -0,0 +1,137 @@
+package com.spm.manage_task.components;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-request memo of entities fetched from the atomic services, so one inbound request never asks
+ * for the same entity twice however many code paths need it.
+ *
+ * A context is opened for each HTTP request by RequestLookupContextFilter and carried onto fan-out
+ * threads by the executor's task decorator; the threads of one request share it. Lookups made
+ * outside a request (no context open) go straight to the loader.
+ *
+ * Entries are keyed by kind ("profile", ...) and id. A lookup that is already in flight on another
+ * thread of the same request is awaited rather than repeated; a failed lookup is not remembered.
+ */
+public final class RequestLookupContext {
+
+    private static final ThreadLocal<RequestLookupContext> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, CompletableFuture<Object>> entries = new ConcurrentHashMap<>();
+
+    public static RequestLookupContext open() {
+        RequestLookupContext context = new RequestLookupContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static RequestLookupContext current() {
+        return CURRENT.get();
+    }
+
+    // Installs the given context (possibly null) on this thread and returns the one it replaced
+    public static RequestLookupContext attach(RequestLookupContext context) {
+        RequestLookupContext previous = CURRENT.get();
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+        return previous;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    public static <T> T lookup(String kind, String id, Function<String, T> loader) {
+        RequestLookupContext context = CURRENT.get();
+        return context == null ? loader.apply(id) : context.get(kind, id, loader);
+    }
+
+    public static <T> Map<String, T> lookupAll(String kind, Collection<String> ids,
+                                               Function<Set<String>, Map<String, T>> loader) {
+        RequestLookupContext context = CURRENT.get();
+        return context == null ? loader.apply(Set.copyOf(ids)) : context.getAll(kind, ids, loader);
+    }
+
+    <T> T get(String kind, String id, Function<String, T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = entries.putIfAbsent(key(kind, id), mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            T value = loader.apply(id);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key(kind, id), mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Only ids no other lookup in this request has claimed go to the loader, in one call
+    <T> Map<String, T> getAll(String kind, Collection<String> ids, Function<Set<String>, Map<String, T>> loader) {
+        Map<String, CompletableFuture<Object>> claimed = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Object>> all = new LinkedHashMap<>();
+        for (String id : ids) {
+            if (all.containsKey(id)) continue;
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> existing = entries.putIfAbsent(key(kind, id), mine);
+            if (existing == null) {
+                claimed.put(id, mine);
+                all.put(id, mine);
+            } else {
+                all.put(id, existing);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                Map<String, T> loaded = loader.apply(Set.copyOf(claimed.keySet()));
+                claimed.forEach((id, future) -> future.complete(loaded == null ? null : loaded.get(id)));
+            } catch (RuntimeException e) {
+                claimed.forEach((id, future) -> {
+                    entries.remove(key(kind, id), future);
+                    future.completeExceptionally(e);
+                });
+                throw e;
+            }
+        }
+
+        Map<String, T> result = new HashMap<>();
+        all.forEach((id, future) -> {
+            T value = await(future);
+            if (value != null) {
+                result.put(id, value);
+            }
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> future) {
+        try {
+            return (T) future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static String key(String kind, String id) {
+        return kind + ':' + id;
+    }
+}
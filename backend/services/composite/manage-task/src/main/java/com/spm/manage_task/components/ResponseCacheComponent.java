@@ -0,0 +1,257 @@
+package com.spm.manage_task.components;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of finished JSON responses for hot read endpoints such as GET api/recurrence/{recurrenceId},
+ * keyed by route and parameters. A response is serialized and gzipped once when it is loaded; hits send
+ * the stored bytes as they are, gzip to clients that accept it, and answer a matching If-None-Match with
+ * 304 and no body at all.
+ *
+ * Each body has a strong ETag derived from its bytes (the gzip variant its own, as it is a different
+ * representation), so a client revalidating after an invalidation gets 304 again when nothing actually
+ * changed. Responses are sent with Cache-Control: no-cache, so clients revalidate on every use.
+ *
+ * Controllers drop the affected keys after each write ({@link #invalidate}, {@link #invalidateTagged}).
+ * The cache is per replica: writes made through another replica are only seen when entries expire,
+ * after {@code response.cache.expire-after-write}. Reactive controllers use {@link #get}, {@link #put}
+ * and {@link #respond(Entry, HttpHeaders)} around their own loading.
+ */
+@Component
+@ConditionalOnProperty(prefix = "response.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheComponent implements MeterBinder {
+
+    /**
+     * One cached response. {@code gzip} is null when compressing didn't pay off.
+     */
+    public record Entry(byte[] identity, byte[] gzip, String etag, String gzipEtag, Set<String> tags) {
+
+        int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private final ObjectMapper objectMapper;
+    private final int minGzipBytes;
+    private final Cache<String, Entry> entries;
+
+    // Bumped by every invalidation; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong notModified = new AtomicLong();
+
+    // Serializes with the application's ObjectMapper, so cached bodies are byte for byte what Spring writes
+    @Autowired
+    public ResponseCacheComponent(ObjectMapper objectMapper,
+                                  @Value("${response.cache.max-bytes:67108864}") long maxBytes,
+                                  @Value("${response.cache.expire-after-write:30s}") Duration expireAfterWrite,
+                                  @Value("${response.cache.min-gzip-bytes:1024}") int minGzipBytes) {
+        this(objectMapper, maxBytes, expireAfterWrite, minGzipBytes, Ticker.systemTicker());
+    }
+
+    ResponseCacheComponent(ObjectMapper objectMapper, long maxBytes, Duration expireAfterWrite, int minGzipBytes,
+                           Ticker ticker) {
+        this.objectMapper = objectMapper;
+        this.minGzipBytes = minGzipBytes;
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, Entry>weigher((key, entry) -> entry.weight())
+            .expireAfterWrite(expireAfterWrite)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * The response for {@code key}, from cache or from the loader's body. Null when the loader returns
+     * null, which is not cached; the caller answers that as it would without the cache.
+     */
+    public ResponseEntity<byte[]> respond(String key, HttpHeaders request, Supplier<?> loader, String... tags) {
+        Entry entry = get(key);
+        if (entry == null) {
+            long before = generation();
+            Object body = loader.get();
+            if (body == null) {
+                return null;
+            }
+            entry = put(key, before, body, tags);
+        }
+        return respond(entry, request);
+    }
+
+    public Entry get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    // Current generation, to pass to put() for a body loaded after reading it
+    public long generation() {
+        return generation.get();
+    }
+
+    // Serializes the body; the entry is only kept when no invalidation happened since generation() was read
+    public Entry put(String key, long before, Object body, String... tags) {
+        Entry entry = serialize(key, body, Set.of(tags));
+        if (generation.get() == before) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public ResponseEntity<byte[]> respond(Entry entry, HttpHeaders request) {
+        boolean gzip = entry.gzip() != null && acceptsGzip(request.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? entry.gzipEtag() : entry.etag();
+        if (matches(request.getFirst(HttpHeaders.IF_NONE_MATCH), entry)) {
+            notModified.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .cacheControl(REVALIDATE)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? entry.gzip() : entry.identity());
+    }
+
+    // cache.gets{cache=responses,result=hit|miss}, cache.evictions, ... and response.cache.not.modified
+    // for 304s sent
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "responses");
+        FunctionCounter.builder("response.cache.not.modified", notModified, AtomicLong::doubleValue)
+            .description("Cached responses answered 304 Not Modified")
+            .register(registry);
+    }
+
+    public void invalidate(String... keys) {
+        generation.incrementAndGet();
+        for (String key : keys) {
+            entries.invalidate(key);
+        }
+    }
+
+    // Drops every entry stored with the tag
+    public void invalidateTagged(String tag) {
+        generation.incrementAndGet();
+        entries.asMap().values().removeIf(entry -> entry.tags().contains(tag));
+    }
+
+    private Entry serialize(String key, Object body, Set<String> tags) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the response for " + key, e);
+        }
+        byte[] gzip = identity.length >= minGzipBytes ? gzip(identity) : null;
+        if (gzip != null && gzip.length >= identity.length) {
+            gzip = null;
+        }
+        String hash = hash(identity);
+        return new Entry(identity, gzip, "\"" + hash + "\"", "\"" + hash + "-gzip\"", tags);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // First 128 bits of the body's SHA-256
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Weak comparison, as If-None-Match requires; either variant's tag matches, since both carry the same body
+    static boolean matches(String ifNoneMatch, Entry entry) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(entry.etag()) || tag.equals(entry.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equalsIgnoreCase("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,265 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+import com.spm.manage_task.factory.Participant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process cache of enriched {@link TaskDto}s by task id, plus the task id lists behind "tasks of a
+ * user" and "subtasks of a task". A list is only served from cache when every task in it is still
+ * cached, so evicting or invalidating one task never yields a list with holes.
+ *
+ * Writes made through manage-task invalidate exactly the entries they can affect (see
+ * {@link #afterCreate}, {@link #afterUpdate}, {@link #afterDelete}); the resulting {@link Invalidation}
+ * is also broadcast to other replicas when {@code task.cache.broadcast=true}. Writes that bypass
+ * manage-task are only picked up when entries expire, after {@code task.cache.expire-after-write}.
+ *
+ * Cached DTOs are shared between requests and must not be modified by callers.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskCacheComponent implements MeterBinder {
+
+    /**
+     * Entries to drop. {@code allLists} drops every user and subtask list, for writes whose previous
+     * participants aren't known.
+     */
+    public record Invalidation(Set<String> taskIds, Set<String> userIds, Set<String> parentIds, boolean allLists) {
+    }
+
+    private final Cache<String, TaskDto> tasks;
+    private final Cache<String, List<String>> userTaskIds;
+    private final Cache<String, List<String>> subtaskIds;
+
+    // Bumped by every invalidation; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public TaskCacheComponent(@Value("${task.cache.max-size:10000}") long maxSize,
+                              @Value("${task.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this(maxSize, expireAfterWrite, Ticker.systemTicker());
+    }
+
+    TaskCacheComponent(long maxSize, Duration expireAfterWrite, Ticker ticker) {
+        this.tasks = newCache(maxSize, expireAfterWrite, ticker);
+        this.userTaskIds = newCache(maxSize, expireAfterWrite, ticker);
+        this.subtaskIds = newCache(maxSize, expireAfterWrite, ticker);
+    }
+
+    private static <V> Cache<String, V> newCache(long maxSize, Duration expireAfterWrite, Ticker ticker) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWrite)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    public TaskDto getTask(String taskId, Supplier<TaskDto> loader) {
+        TaskDto cached = tasks.getIfPresent(taskId);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        TaskDto loaded = loader.get();
+        storeTask(taskId, loaded, before);
+        return loaded;
+    }
+
+    // Non-blocking variant for the reactive mode; the loader is only subscribed to on a miss
+    public Mono<TaskDto> getTask(String taskId, Mono<TaskDto> loader) {
+        return Mono.defer(() -> {
+            TaskDto cached = tasks.getIfPresent(taskId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long before = generation.get();
+            return loader.doOnNext(loaded -> storeTask(taskId, loaded, before));
+        });
+    }
+
+    public List<TaskDto> getUserTasks(String userId, Supplier<List<TaskDto>> loader) {
+        return getList(userTaskIds, userId, loader);
+    }
+
+    public Mono<List<TaskDto>> getUserTasks(String userId, Mono<List<TaskDto>> loader) {
+        return getList(userTaskIds, userId, loader);
+    }
+
+    public List<TaskDto> getSubtasks(String parentTaskId, Supplier<List<TaskDto>> loader) {
+        return getList(subtaskIds, parentTaskId, loader);
+    }
+
+    public Mono<List<TaskDto>> getSubtasks(String parentTaskId, Mono<List<TaskDto>> loader) {
+        return getList(subtaskIds, parentTaskId, loader);
+    }
+
+    private List<TaskDto> getList(Cache<String, List<String>> index, String key, Supplier<List<TaskDto>> loader) {
+        List<TaskDto> cached = cachedList(index, key);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        List<TaskDto> loaded = loader.get();
+        storeList(index, key, loaded, before);
+        return loaded;
+    }
+
+    private Mono<List<TaskDto>> getList(Cache<String, List<String>> index, String key, Mono<List<TaskDto>> loader) {
+        return Mono.defer(() -> {
+            List<TaskDto> cached = cachedList(index, key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long before = generation.get();
+            return loader.doOnNext(loaded -> storeList(index, key, loaded, before));
+        });
+    }
+
+    private List<TaskDto> cachedList(Cache<String, List<String>> index, String key) {
+        List<String> ids = index.getIfPresent(key);
+        if (ids == null) {
+            return null;
+        }
+        Map<String, TaskDto> present = tasks.getAllPresent(ids);
+        if (present.size() != ids.size()) {
+            return null;
+        }
+        List<TaskDto> result = new ArrayList<>(ids.size());
+        ids.forEach(id -> result.add(present.get(id)));
+        return result;
+    }
+
+    // Loads that overlapped an invalidation (generation moved on since "before") are not cached
+    private void storeTask(String taskId, TaskDto loaded, long before) {
+        if (loaded != null && generation.get() == before) {
+            tasks.put(taskId, loaded);
+        }
+    }
+
+    private void storeList(Cache<String, List<String>> index, String key, List<TaskDto> loaded, long before) {
+        if (loaded != null && generation.get() == before) {
+            List<String> loadedIds = new ArrayList<>(loaded.size());
+            for (TaskDto task : loaded) {
+                tasks.put(task.getTaskId(), task);
+                loadedIds.add(task.getTaskId());
+            }
+            index.put(key, List.copyOf(loadedIds));
+        }
+    }
+
+    // A new task appears in its participants' lists and its parent's subtask list
+    public Invalidation afterCreate(TaskPostRequestDto task) {
+        return apply(new Invalidation(Set.of(), participants(task), parent(task), false));
+    }
+
+    // The task's previous participants and parent come from the cached copy; without one, all lists go
+    public Invalidation afterUpdate(String taskId, TaskPostRequestDto task) {
+        TaskDto previous = tasks.getIfPresent(taskId);
+        Set<String> userIds = participants(task);
+        Set<String> parentIds = parent(task);
+        if (previous != null) {
+            userIds.addAll(participants(previous));
+            addIfPresent(parentIds, previous.getTaskParent());
+        }
+        return apply(new Invalidation(Set.of(taskId), userIds, parentIds, previous == null));
+    }
+
+    // Cached subtasks of the deleted task are dropped too, in case the delete cascaded to them
+    public Invalidation afterDelete(String taskId) {
+        TaskDto previous = tasks.getIfPresent(taskId);
+        Set<String> taskIds = new LinkedHashSet<>();
+        taskIds.add(taskId);
+        List<String> children = subtaskIds.getIfPresent(taskId);
+        if (children != null) {
+            taskIds.addAll(children);
+        }
+        Set<String> userIds = new LinkedHashSet<>();
+        Set<String> parentIds = new LinkedHashSet<>();
+        parentIds.add(taskId);
+        if (previous != null) {
+            userIds.addAll(participants(previous));
+            addIfPresent(parentIds, previous.getTaskParent());
+        }
+        return apply(new Invalidation(taskIds, userIds, parentIds, previous == null));
+    }
+
+    public Invalidation apply(Invalidation invalidation) {
+        generation.incrementAndGet();
+        tasks.invalidateAll(invalidation.taskIds());
+        if (invalidation.allLists()) {
+            userTaskIds.invalidateAll();
+            subtaskIds.invalidateAll();
+        } else {
+            userTaskIds.invalidateAll(invalidation.userIds());
+            subtaskIds.invalidateAll(invalidation.parentIds());
+        }
+        return invalidation;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        tasks.invalidateAll();
+        userTaskIds.invalidateAll();
+        subtaskIds.invalidateAll();
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=tasks|user-tasks|subtasks
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tasks, "tasks");
+        CaffeineCacheMetrics.monitor(registry, userTaskIds, "user-tasks");
+        CaffeineCacheMetrics.monitor(registry, subtaskIds, "subtasks");
+    }
+
+    private static Set<String> participants(TaskPostRequestDto task) {
+        Set<String> userIds = new LinkedHashSet<>();
+        for (Participant participant : task.getParticipants()) {
+            addIfPresent(userIds, participant.getProfileId());
+        }
+        return userIds;
+    }
+
+    private static Set<String> participants(TaskDto task) {
+        Set<String> userIds = new LinkedHashSet<>();
+        addIfPresent(userIds, task.getTaskOwner());
+        if (task.getTaskCollaborators() != null) {
+            task.getTaskCollaborators().forEach(id -> addIfPresent(userIds, id));
+        }
+        return userIds;
+    }
+
+    private static Set<String> parent(TaskPostRequestDto task) {
+        Set<String> parentIds = new LinkedHashSet<>();
+        addIfPresent(parentIds, task.getTaskParent());
+        return parentIds;
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null && !id.isEmpty()) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.spm.manage_task.components;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps the {@link TaskCacheComponent} of every manage-task replica coherent: each local invalidation
+ * is published to the invalidation topic and applied by every other replica.
+ *
+ * Every replica reads the topic in its own consumer group, starting from the latest offset, so each one
+ * sees every message published while it runs. If Kafka is unreachable, replicas fall back to the
+ * cache's expire-after-write bound.
+ */
+@Component
+@ConditionalOnProperty(prefix = "task.cache", name = "broadcast", havingValue = "true")
+public class TaskCacheInvalidationBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCacheInvalidationBroadcaster.class);
+
+    record Message(String origin, TaskCacheComponent.Invalidation invalidation) {
+    }
+
+    // Identifies this replica's own messages when they come back from the topic
+    private final String origin = UUID.randomUUID().toString();
+
+    private final TaskCacheComponent taskCache;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+
+    public TaskCacheInvalidationBroadcaster(TaskCacheComponent taskCache, KafkaTemplate<String, String> kafkaTemplate,
+                                            ObjectMapper objectMapper,
+                                            @Value("${task.cache.invalidation-topic:task-cache-invalidations}") String topic) {
+        this.taskCache = taskCache;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+    }
+
+    public void publish(TaskCacheComponent.Invalidation invalidation) {
+        try {
+            kafkaTemplate.send(topic, objectMapper.writeValueAsString(new Message(origin, invalidation)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not broadcast task cache invalidation; other replicas catch up on expiry", e);
+        }
+    }
+
+    @KafkaListener(
+        topics = "${task.cache.invalidation-topic:task-cache-invalidations}",
+        groupId = "${spring.application.name}-task-cache-${random.uuid}",
+        properties = "auto.offset.reset=latest")
+    void onInvalidation(String json) {
+        try {
+            Message message = objectMapper.readValue(json, Message.class);
+            if (!origin.equals(message.origin()) && message.invalidation() != null) {
+                taskCache.apply(message.invalidation());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable task cache invalidation", e);
+        }
+    }
+}
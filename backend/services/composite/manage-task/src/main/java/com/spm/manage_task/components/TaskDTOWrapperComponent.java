@@ -1,8 +1,13 @@
 package com.spm.manage_task.components;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -12,15 +17,51 @@ import com.spm.manage_task.dto.UserDto;
 import com.spm.manage_task.factory.Participant;
 import com.spm.manage_task.factory.TaskMicroserviceResponse;
 import com.spm.manage_task.factory.TaskMicroserviceUpsertRequest;
-import com.spm.manage_task.services.ProfileService;
 
 @Component
 public class TaskDTOWrapperComponent {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskDTOWrapperComponent.class);
+
+    static final String PROFILE = "profile";
+
     @Autowired
-    private ProfileService profileService;
+    private ProfileCacheComponent profileCache;
 
     public TaskDto toTaskDto(TaskMicroserviceResponse rawTask) {
+        TaskDto incomingTask = buildTaskDto(rawTask);
+        if (incomingTask == null) {
+            return null;
+        }
+
+        addOwnerInformation(incomingTask);
+
+        return incomingTask;
+    }
+
+    // Owners are resolved once per distinct id for the whole list, so cost tracks owners rather than tasks
+    public List<TaskDto> toTaskDtoList(TaskMicroserviceResponse[] rawTasks) {
+        List<TaskDto> taskDtos = toTaskDtoListWithoutOwners(rawTasks);
+
+        addOwnerInformationInBulk(taskDtos);
+
+        return taskDtos;
+    }
+
+    // Owner name and department left unset, for callers that look owners up themselves (see applyOwners)
+    public List<TaskDto> toTaskDtoListWithoutOwners(TaskMicroserviceResponse[] rawTasks) {
+        if (rawTasks == null || rawTasks.length == 0) {
+            return new ArrayList<>();
+        }
+
+        List<TaskDto> taskDtos = new ArrayList<>(rawTasks.length);
+        for (TaskMicroserviceResponse rawTask : rawTasks) {
+            taskDtos.add(buildTaskDto(rawTask));
+        }
+        return taskDtos;
+    }
+
+    private TaskDto buildTaskDto(TaskMicroserviceResponse rawTask) {
         if (rawTask == null) {
             return null;
         }
@@ -28,7 +69,7 @@ public class TaskDTOWrapperComponent {
         String ownerId = extractOwnerId(rawTask.getTaskParticipants());
         ArrayList<String> collaboratorIds = extractCollaboratorIds(rawTask.getTaskParticipants());
 
-        TaskDto incomingTask = new TaskDto(
+        return new TaskDto(
             rawTask.getTaskId(),
             rawTask.getTaskTitle(),
             rawTask.getProjectId(),
@@ -42,22 +83,6 @@ public class TaskDTOWrapperComponent {
             null,
             rawTask.getTaskPriority() // ensure getter exists in TaskMicroserviceResponse
         );
-
-        addOwnerInformation(incomingTask);
-
-        return incomingTask;
-    }
-
-    public List<TaskDto> toTaskDtoList(TaskMicroserviceResponse[] rawTasks) {
-        if (rawTasks == null || rawTasks.length == 0) {
-            return new ArrayList<>();
-        }
-
-        List<TaskDto> taskDtos = new ArrayList<>();
-        for (TaskMicroserviceResponse rawTask : rawTasks) {
-            taskDtos.add(toTaskDto(rawTask));
-        }
-        return taskDtos;
     }
 
     private String extractOwnerId(List<Participant> participants) {
@@ -97,20 +122,76 @@ public class TaskDTOWrapperComponent {
     public void addOwnerInformation(TaskDto task) {
         if (task == null) return;
 
-        String raw = task.getTaskOwner();
+        String raw = normaliseOwnerId(task.getTaskOwner());
         if (raw == null) {
             setUnknownOwner(task);
             return;
         }
-        raw = raw.trim();
-        if (raw.isEmpty() || "null".equalsIgnoreCase(raw)) {
-            setUnknownOwner(task);
-            return;
-        }
 
         // Call ProfileService even if it's not a UUID (tests mock "owner-123")
-        UserDto ownerDetails = profileService.getUserById(raw);
+        UserDto ownerDetails;
+        try {
+            ownerDetails = RequestLookupContext.lookup(PROFILE, raw, profileCache::getUserById);
+        } catch (RuntimeException e) {
+            ownerLookupFailed(e);
+            ownerDetails = null;
+        }
+
+        applyOwner(task, ownerDetails);
+    }
+
+    public void addOwnerInformationInBulk(List<TaskDto> tasks) {
+        if (tasks == null || tasks.isEmpty()) return;
+
+        Set<String> ownerIds = ownerIds(tasks);
+        Map<String, UserDto> owners = Map.of();
+        if (!ownerIds.isEmpty()) {
+            try {
+                owners = RequestLookupContext.lookupAll(PROFILE, ownerIds, profileCache::getUsersByIds);
+            } catch (RuntimeException e) {
+                ownerLookupFailed(e);
+            }
+        }
+
+        applyOwners(tasks, owners);
+    }
+
+    // Owner details are an enrichment: when profile:3030 fails or its calls are shed (see DownstreamGuard),
+    // the tasks still go out, with owners shown as "Unknown"
+    private static void ownerLookupFailed(RuntimeException e) {
+        log.debug("Owner lookup failed, showing owners as Unknown: {}", e.toString());
+    }
+
+    // Distinct owner ids of the tasks, in order of first appearance
+    public Set<String> ownerIds(List<TaskDto> tasks) {
+        Set<String> ownerIds = new LinkedHashSet<>();
+        for (TaskDto task : tasks) {
+            if (task == null) continue;
+            String ownerId = normaliseOwnerId(task.getTaskOwner());
+            if (ownerId != null) {
+                ownerIds.add(ownerId);
+            }
+        }
+        return ownerIds;
+    }
+
+    // Owners missing from the map are shown as "Unknown"
+    public void applyOwners(List<TaskDto> tasks, Map<String, UserDto> owners) {
+        for (TaskDto task : tasks) {
+            if (task == null) continue;
+            String ownerId = normaliseOwnerId(task.getTaskOwner());
+            applyOwner(task, ownerId == null ? null : owners.get(ownerId));
+        }
+    }
+
+    private String normaliseOwnerId(String raw) {
+        if (raw == null) return null;
+        raw = raw.trim();
+        if (raw.isEmpty() || "null".equalsIgnoreCase(raw)) return null;
+        return raw;
+    }
 
+    private void applyOwner(TaskDto task, UserDto ownerDetails) {
         if (ownerDetails == null) {
             setUnknownOwner(task);
         } else {
@@ -127,7 +208,7 @@ public class TaskDTOWrapperComponent {
     public TaskMicroserviceUpsertRequest toTaskMicroserviceUpsert(TaskPostRequestDto incomingTaskBody) {
         List<Participant> participantList = incomingTaskBody.processCollaborators();
 
-        System.out.println("Participants being sent to the atomic service: " + participantList);
+        log.debug("Sending {} participants to the atomic service", participantList.size());
 
         return new TaskMicroserviceUpsertRequest(
             incomingTaskBody.getTaskParent(),
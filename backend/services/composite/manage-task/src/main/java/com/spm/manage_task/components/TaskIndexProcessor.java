@@ -0,0 +1,226 @@
+package com.spm.manage_task.components;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static com.spm.manage_task.components.TaskReadModel.BY_PARENT;
+import static com.spm.manage_task.components.TaskReadModel.BY_PROJECT;
+import static com.spm.manage_task.components.TaskReadModel.BY_USER;
+import static com.spm.manage_task.components.TaskReadModel.DELETED;
+import static com.spm.manage_task.components.TaskReadModel.SEPARATOR;
+import static com.spm.manage_task.components.TaskReadModel.SNAPSHOT_KEY;
+import static com.spm.manage_task.components.TaskReadModel.SNAPSHOT_MARKER;
+import static com.spm.manage_task.components.TaskReadModel.TASK;
+
+/**
+ * Applies task-change records to the {@link TaskReadModel} store: key is the task id, value the task
+ * JSON, or null when the task was deleted.
+ *
+ * Records can arrive out of order (a full snapshot read before a change may be published after it),
+ * so a row older than the one stored, by {@code updated_at}, is ignored, as is any row for a task
+ * deleted after that row was last updated.
+ *
+ * Deletion markers only have to outlive rows read before the deletion. Each snapshot marker drops those
+ * older than the previous snapshot's start: a whole snapshot, read after the deletion, has gone by since.
+ *
+ * Every change that lands is also handed to {@code onChange} as the {@link TaskCacheComponent.Invalidation}
+ * it calls for. A list loaded from this store after a write, but before the write's change arrived, is
+ * cached stale; this drops it as soon as the change is applied.
+ */
+public class TaskIndexProcessor implements Processor<String, String, Void, Void> {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIndexProcessor.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Consumer<TaskCacheComponent.Invalidation> onChange;
+    private KeyValueStore<String, String> store;
+
+    public TaskIndexProcessor(Consumer<TaskCacheComponent.Invalidation> onChange) {
+        this.onChange = onChange;
+    }
+
+    @Override
+    public void init(ProcessorContext<Void, Void> context) {
+        store = context.getStateStore(TaskReadModel.STORE);
+    }
+
+    @Override
+    public void process(Record<String, String> record) {
+        String taskId = record.key();
+        if (taskId == null) {
+            return;
+        }
+        if (taskId.equals(SNAPSHOT_KEY)) {
+            pruneDeletions(epochMillis(store.get(SNAPSHOT_MARKER)));
+            store.put(SNAPSHOT_MARKER, record.value() == null ? "" : record.value());
+            return;
+        }
+
+        String previousJson = store.get(TASK + taskId);
+        JsonNode previous = parse(previousJson);
+        if (record.value() == null) {
+            unindex(taskId, previous);
+            store.delete(TASK + taskId);
+            store.put(DELETED + taskId, Long.toString(record.timestamp()));
+            if (previous != null) {
+                onChange.accept(invalidation(taskId, previous, null));
+            }
+            return;
+        }
+
+        JsonNode task = parse(record.value());
+        if (task == null) {
+            log.warn("Skipping unreadable task-change record for task {}", taskId);
+            return;
+        }
+        Instant updatedAt = updatedAt(task);
+        String deletedAt = store.get(DELETED + taskId);
+        if (deletedAt != null && (updatedAt == null || updatedAt.toEpochMilli() <= Long.parseLong(deletedAt))) {
+            return;
+        }
+        Instant previousUpdatedAt = previous == null ? null : updatedAt(previous);
+        if (updatedAt != null && previousUpdatedAt != null && updatedAt.isBefore(previousUpdatedAt)) {
+            return;
+        }
+
+        unindex(taskId, previous);
+        store.put(TASK + taskId, record.value());
+        store.delete(DELETED + taskId);
+        for (String key : indexKeys(taskId, task)) {
+            store.put(key, "");
+        }
+        // Snapshots republish every row; only an actual change can have made cached entries stale
+        if (!record.value().equals(previousJson)) {
+            onChange.accept(invalidation(taskId, previous, task));
+        }
+    }
+
+    // The task, the lists of its participants before and after, and its parents' subtask lists; a deleted
+    // task's own subtask list goes too
+    private static TaskCacheComponent.Invalidation invalidation(String taskId, JsonNode previous, JsonNode current) {
+        Set<String> userIds = new LinkedHashSet<>();
+        Set<String> parentIds = new LinkedHashSet<>();
+        for (JsonNode task : new JsonNode[] {previous, current}) {
+            if (task == null) {
+                continue;
+            }
+            for (JsonNode participant : task.path("participants")) {
+                addIfPresent(userIds, text(participant.get("profile_id")));
+            }
+            addIfPresent(parentIds, text(task.get("parent_task_id")));
+        }
+        if (current == null) {
+            parentIds.add(taskId);
+        }
+        return new TaskCacheComponent.Invalidation(Set.of(taskId), userIds, parentIds, false);
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private void pruneDeletions(Long before) {
+        if (before == null) {
+            return;
+        }
+        List<String> expired = new ArrayList<>();
+        try (KeyValueIterator<String, String> markers = store.prefixScan(DELETED, new StringSerializer())) {
+            markers.forEachRemaining(marker -> {
+                Long deletedAt = epochMillis(marker.value);
+                if (deletedAt == null || deletedAt < before) {
+                    expired.add(marker.key);
+                }
+            });
+        }
+        expired.forEach(store::delete);
+    }
+
+    private static Long epochMillis(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void unindex(String taskId, JsonNode previous) {
+        if (previous != null) {
+            for (String key : indexKeys(taskId, previous)) {
+                store.delete(key);
+            }
+        }
+    }
+
+    private static Set<String> indexKeys(String taskId, JsonNode task) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (JsonNode participant : task.path("participants")) {
+            String userId = text(participant.get("profile_id"));
+            if (userId != null) {
+                keys.add(BY_USER + userId + SEPARATOR + taskId);
+            }
+        }
+        String projectId = text(task.get("project_id"));
+        if (projectId != null) {
+            keys.add(BY_PROJECT + projectId + SEPARATOR + taskId);
+        }
+        String parentId = text(task.get("parent_task_id"));
+        if (parentId != null) {
+            keys.add(BY_PARENT + parentId + SEPARATOR + taskId);
+        }
+        return keys;
+    }
+
+    // task:3031 returns Postgres timestamps, with or without an offset
+    static Instant updatedAt(JsonNode task) {
+        String value = text(task.get("updated_at"));
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private JsonNode parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() || node.asText().isEmpty() ? null : node.asText();
+    }
+}
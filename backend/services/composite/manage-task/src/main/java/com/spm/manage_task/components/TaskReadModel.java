@@ -0,0 +1,182 @@
+package com.spm.manage_task.components;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+/**
+ * Local, read-only view of every task, kept up to date from the task-change topic by Kafka Streams.
+ *
+ * The view lives in one global state store (every instance holds all of it) maintained by
+ * {@link TaskIndexProcessor}. Task rows are stored as the JSON task:3031 returns, next to index
+ * entries by participant, project and parent task:
+ * <pre>
+ *   t|{taskId}             -> task JSON
+ *   u|{userId}|{taskId}    -> ""
+ *   p|{projectId}|{taskId} -> ""
+ *   s|{parentId}|{taskId}  -> ""
+ *   d|{taskId}             -> deletion time (epoch ms), so stale snapshots can't resurrect it; dropped once
+ *                             it is older than the snapshot before the latest one
+ *   m|snapshot             -> start time (epoch ms) of the last full snapshot
+ * </pre>
+ *
+ * Queries return {@code Optional.empty()} until the store is running and has seen at least one full
+ * snapshot; callers then go to task:3031 instead, so an empty or half-loaded store never answers.
+ */
+public class TaskReadModel {
+
+    public static final String STORE = "task-read-model";
+    public static final String SNAPSHOT_KEY = "__snapshot__";
+
+    static final String TASK = "t|";
+    static final String BY_USER = "u|";
+    static final String BY_PROJECT = "p|";
+    static final String BY_PARENT = "s|";
+    static final String DELETED = "d|";
+    static final String SNAPSHOT_MARKER = "m|snapshot";
+    static final char SEPARATOR = '|';
+
+    private static final StringSerializer KEY_SERIALIZER = new StringSerializer();
+
+    private final Supplier<ReadOnlyKeyValueStore<String, String>> store;
+    private final ObjectMapper objectMapper;
+
+    // store yields null while Kafka Streams isn't running
+    public TaskReadModel(Supplier<ReadOnlyKeyValueStore<String, String>> store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    // In memory: on restart the store is rebuilt from the compacted topic through the same processor.
+    // onChange is told which cached entries each applied change makes stale (see TaskIndexProcessor)
+    public static void addTo(StreamsBuilder builder, String topic, Consumer<TaskCacheComponent.Invalidation> onChange) {
+        builder.addGlobalStore(
+            Stores.keyValueStoreBuilder(Stores.inMemoryKeyValueStore(STORE), Serdes.String(), Serdes.String())
+                .withLoggingDisabled(),
+            topic,
+            Consumed.with(Serdes.String(), Serdes.String()),
+            () -> new TaskIndexProcessor(onChange));
+    }
+
+    public boolean isReady() {
+        return readyStore() != null;
+    }
+
+    // Tasks the user participates in, owner or collaborator
+    public Optional<TaskMicroserviceResponse[]> tasksOfUser(String userId) {
+        return byIndex(BY_USER, userId);
+    }
+
+    public Optional<TaskMicroserviceResponse[]> tasksOfProject(String projectId) {
+        return byIndex(BY_PROJECT, projectId);
+    }
+
+    public Optional<TaskMicroserviceResponse[]> subtasksOf(String parentTaskId) {
+        return byIndex(BY_PARENT, parentTaskId);
+    }
+
+    // Every task id in the view, for reconciling it against a full snapshot
+    public Set<String> taskIds() {
+        ReadOnlyKeyValueStore<String, String> current = currentStore();
+        Set<String> ids = new LinkedHashSet<>();
+        if (current == null) {
+            return ids;
+        }
+        try (KeyValueIterator<String, String> rows = current.prefixScan(TASK, KEY_SERIALIZER)) {
+            rows.forEachRemaining(row -> ids.add(row.key.substring(TASK.length())));
+        }
+        return ids;
+    }
+
+    // Ids of the tasks whose row was last updated before the given time (or has no updated_at)
+    public Set<String> taskIdsUpdatedBefore(long epochMillis) {
+        ReadOnlyKeyValueStore<String, String> current = currentStore();
+        Set<String> ids = new LinkedHashSet<>();
+        if (current == null) {
+            return ids;
+        }
+        try (KeyValueIterator<String, String> rows = current.prefixScan(TASK, KEY_SERIALIZER)) {
+            while (rows.hasNext()) {
+                KeyValue<String, String> row = rows.next();
+                Instant updatedAt = updatedAt(row.value);
+                if (updatedAt == null || updatedAt.toEpochMilli() < epochMillis) {
+                    ids.add(row.key.substring(TASK.length()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Optional<TaskMicroserviceResponse[]> byIndex(String index, String id) {
+        ReadOnlyKeyValueStore<String, String> current = readyStore();
+        if (current == null || id == null) {
+            return Optional.empty();
+        }
+        String prefix = index + id + SEPARATOR;
+        List<TaskMicroserviceResponse> tasks = new ArrayList<>();
+        try (KeyValueIterator<String, String> entries = current.prefixScan(prefix, KEY_SERIALIZER)) {
+            while (entries.hasNext()) {
+                KeyValue<String, String> entry = entries.next();
+                String json = current.get(TASK + entry.key.substring(prefix.length()));
+                if (json != null) {
+                    tasks.add(read(json));
+                }
+            }
+        } catch (InvalidStateStoreException e) {
+            return Optional.empty();
+        }
+        return Optional.of(tasks.toArray(new TaskMicroserviceResponse[0]));
+    }
+
+    private ReadOnlyKeyValueStore<String, String> readyStore() {
+        ReadOnlyKeyValueStore<String, String> current = currentStore();
+        try {
+            return current != null && current.get(SNAPSHOT_MARKER) != null ? current : null;
+        } catch (InvalidStateStoreException e) {
+            return null;
+        }
+    }
+
+    private ReadOnlyKeyValueStore<String, String> currentStore() {
+        try {
+            return store.get();
+        } catch (InvalidStateStoreException e) {
+            return null;
+        }
+    }
+
+    private Instant updatedAt(String json) {
+        try {
+            return TaskIndexProcessor.updatedAt(objectMapper.readTree(json));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private TaskMicroserviceResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, TaskMicroserviceResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable task in " + STORE, e);
+        }
+    }
+}
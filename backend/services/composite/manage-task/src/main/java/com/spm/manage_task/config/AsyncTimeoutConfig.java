@@ -0,0 +1,40 @@
+package com.spm.manage_task.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * A StreamingResponseBody runs as an MVC async request, which the container ends after its default async
+ * timeout (30s on Tomcat) however long the request deadline is. A handler that streams for longer puts
+ * its own timeout, in milliseconds, in the {@link #TIMEOUT_ATTRIBUTE} request attribute; it is applied
+ * just before the request goes async.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutConfig.class.getName() + ".timeout";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            // The request passed here is the one about to be started async
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (timeout instanceof Long millis && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(millis);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,213 @@
+package com.spm.manage_task.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for downstream GETs: while a GET for a URL is in flight, identical GETs from other
+ * threads wait for its response instead of issuing their own. A burst of requests for the same task,
+ * project or owner (a popular page, a cache that just expired, a fresh deploy) costs one downstream call.
+ *
+ * The leader buffers the response and every waiting caller gets its own copy; an HTTP error status is
+ * shared like any other response and raised by each caller's RestTemplate, and an I/O failure is
+ * rethrown to every caller. Only callers that arrive while the call is in flight share it; nothing is
+ * cached afterwards.
+ *
+ * Callers only wait for as long as their own {@link RequestDeadline} allows. The leader's call runs under
+ * the leader's deadline, so when it times out because that deadline ran out, callers with more time left
+ * don't take the failure: they go again, one of them leading a new call.
+ *
+ * Responses too large to buffer opt out with the {@link #SKIP} request attribute.
+ */
+public class CoalescingInterceptor implements ClientHttpRequestInterceptor {
+
+    /** Request attribute that makes a GET bypass coalescing, for streamed responses. */
+    public static final String SKIP = CoalescingInterceptor.class.getName() + ".skip";
+
+    // The URL alone decides what the atomic services return, apart from these headers
+    record Key(URI uri, List<String> accept, List<String> authorization) {
+    }
+
+    private static final class Call {
+        final CompletableFuture<BufferedResponse> result = new CompletableFuture<>();
+        final AtomicInteger callers = new AtomicInteger(1);
+        // Set before a failure is shared when it was down to the leader's own deadline
+        volatile boolean leaderOutOfTime;
+    }
+
+    private final ConcurrentMap<Key, Call> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    // downstream.coalesced: GETs answered by another caller's call; downstream.fan.in: callers per call.
+    // Both are tagged with the downstream host and the same bounded route as http.client.requests.
+    public CoalescingInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("downstream.coalescing.in.flight", inFlight, ConcurrentMap::size)
+            .description("Distinct downstream GETs currently in flight")
+            .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET || Boolean.TRUE.equals(request.getAttributes().get(SKIP))) {
+            return execution.execute(request, body);
+        }
+
+        HttpHeaders headers = request.getHeaders();
+        Key key = new Key(request.getURI(), headers.getOrEmpty(HttpHeaders.ACCEPT),
+            headers.getOrEmpty(HttpHeaders.AUTHORIZATION));
+        while (true) {
+            Call call = new Call();
+            Call leader = inFlight.putIfAbsent(key, call);
+            if (leader == null) {
+                return lead(key, call, request, body, execution);
+            }
+            leader.callers.incrementAndGet();
+            counter(request).increment();
+            ClientHttpResponse response = await(leader, request);
+            if (response != null) {
+                return response;
+            }
+        }
+    }
+
+    private ClientHttpResponse lead(Key key, Call call, HttpRequest request, byte[] body,
+        ClientHttpRequestExecution execution) throws IOException {
+        try {
+            BufferedResponse response;
+            try (ClientHttpResponse upstream = execution.execute(request, body)) {
+                response = BufferedResponse.of(upstream);
+            }
+            call.result.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            // Out of the map first, so callers that go again start a new call instead of rejoining this one
+            inFlight.remove(key, call);
+            call.leaderOutOfTime = e instanceof IOException io && DeadlineInterceptor.causedByDeadline(io);
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+            fanIn(request).record(call.callers.get());
+        }
+    }
+
+    // The leader's response, or null when the leader ran out of its own deadline and this caller has time to go again
+    private static ClientHttpResponse await(Call leader, HttpRequest request) throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        try {
+            return deadline == null
+                ? leader.result.get()
+                : leader.result.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline passed before coalesced GET " + request.getURI()
+                + " answered");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for coalesced GET " + request.getURI());
+        } catch (ExecutionException e) {
+            if (leader.leaderOutOfTime && (deadline == null || !deadline.expired())) {
+                return null;
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Coalesced GET " + request.getURI() + " failed", cause);
+        }
+    }
+
+    private Counter counter(HttpRequest request) {
+        return Counter.builder("downstream.coalesced")
+            .description("Downstream GETs answered by an identical call already in flight")
+            .tag("host", request.getURI().getHost())
+            .tag("uri", DownstreamObservationConvention.route(request.getURI().getRawPath()))
+            .register(registry);
+    }
+
+    private DistributionSummary fanIn(HttpRequest request) {
+        return DistributionSummary.builder("downstream.fan.in")
+            .description("Callers served by one downstream GET")
+            .tag("host", request.getURI().getHost())
+            .tag("uri", DownstreamObservationConvention.route(request.getURI().getRawPath()))
+            .register(registry);
+    }
+
+    /* A response read fully into memory; every getBody() starts from the beginning */
+    static final class BufferedResponse implements ClientHttpResponse {
+
+        private final HttpStatusCode statusCode;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private BufferedResponse(HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.statusText = statusText;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static BufferedResponse of(ClientHttpResponse response) throws IOException {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedResponse(response.getStatusCode(), response.getStatusText(),
+                HttpHeaders.readOnlyHttpHeaders(headers), StreamUtils.copyToByteArray(response.getBody()));
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link RequestDeadline} for every inbound request from its header or its route's default, and
+ * answers 504 when the request failed because that deadline ran out. A blocked request thread can't
+ * notice a client that went away, so on this stack the deadline is what bounds abandoned work.
+ */
+@Component
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties props;
+
+    public DeadlineFilter(DeadlineProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration budget = props.budget(request.getRequestURI(), request.getHeader(RequestDeadline.HEADER));
+        if (budget == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline deadline = RequestDeadline.open(budget);
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (!deadline.expired() || response.isCommitted()) {
+                throw e;
+            }
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Deadline of " + budget.toMillis() + "ms exceeded");
+        } finally {
+            RequestDeadline.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards what is left of the inbound request's {@link RequestDeadline} to each downstream call in
+ * {@link RequestDeadline#HEADER}. Once the deadline has passed, calls fail at once with
+ * {@link DeadlineExceededException} instead of being sent.
+ *
+ * On the RestTemplate the call's own response timeout is shortened to match (see
+ * PooledHttpClientFactory#deadlineContext). As a WebClient filter the exchange is given up at the deadline.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor, ExchangeFilterFunction {
+
+    // Socket timeouts are whole milliseconds cut down from remaining(), so they can fire just short of the deadline
+    private static final Duration TIMEOUT_SLACK = Duration.ofMillis(5);
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            request.getHeaders().set(RequestDeadline.HEADER, budget(deadline, request.getURI().toString()));
+        }
+        return execution.execute(request, body);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            RequestDeadline deadline = context.getOrDefault(RequestDeadline.class, null);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            String budget;
+            try {
+                budget = budget(deadline, request.url().toString());
+            } catch (DeadlineExceededException e) {
+                return Mono.error(e);
+            }
+            return next.exchange(ClientRequest.from(request).header(RequestDeadline.HEADER, budget).build())
+                .timeout(deadline.remaining(), Mono.error(() -> exceeded(request.url().toString())));
+        });
+    }
+
+    /**
+     * Whether a call made on this thread failed because of its request's own deadline: it was refused or
+     * abandoned at the deadline, or it timed out with next to nothing of the deadline left. Such a failure
+     * says nothing about the downstream, nor about callers that have more time.
+     */
+    public static boolean causedByDeadline(IOException e) {
+        if (e instanceof DeadlineExceededException) {
+            return true;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        return e instanceof InterruptedIOException && deadline != null
+            && deadline.remaining().compareTo(TIMEOUT_SLACK) < 0;
+    }
+
+    private static String budget(RequestDeadline deadline, String url) throws DeadlineExceededException {
+        long millis = deadline.remaining().toMillis();
+        if (millis <= 0) {
+            throw exceeded(url);
+        }
+        return Long.toString(millis);
+    }
+
+    private static DeadlineExceededException exceeded(String url) {
+        return new DeadlineExceededException("Request deadline passed before " + url + " answered");
+    }
+}
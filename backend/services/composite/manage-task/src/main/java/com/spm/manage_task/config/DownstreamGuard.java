@@ -0,0 +1,165 @@
+package com.spm.manage_task.config;
+
+import java.util.function.LongSupplier;
+
+import com.spm.manage_task.config.DownstreamRejectedException.Reason;
+
+/**
+ * Isolation for calls to one downstream service: an adaptive cap on calls in flight, which doubles as
+ * the bulkhead, and a circuit breaker.
+ *
+ * The cap follows AIMD. A call that succeeds while the cap is at least half used raises it by
+ * 1/limit, so it grows by about one per round of calls. A call that fails or takes longer than
+ * {@code slow-call-threshold} multiplies it by {@code backoff-ratio}. When the cap is reached, further
+ * calls are refused at once rather than queued. A slow profile:3030 therefore holds a few request
+ * threads instead of all of them.
+ *
+ * The breaker opens when at least {@code failure-rate-threshold}% of the last
+ * {@code sliding-window-size} calls failed or were slow. While open, every call is refused. After
+ * {@code open-duration} it lets {@code half-open-probes} calls through. It closes once they all
+ * succeed and reopens on the first one that doesn't.
+ */
+public class DownstreamGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /* One admitted call; hand it back to release() when the call is over */
+    public record Permit(long startNanos, boolean probe, boolean usedHalf) {
+    }
+
+    private final String downstream;
+    private final DownstreamGuardProperties props;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    // Outcomes of the last calls while closed, true for a failure
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+
+    private double limit;
+    private int inFlight;
+
+    public DownstreamGuard(String downstream, DownstreamGuardProperties props) {
+        this(downstream, props, System::nanoTime);
+    }
+
+    DownstreamGuard(String downstream, DownstreamGuardProperties props, LongSupplier nanoTime) {
+        this.downstream = downstream;
+        this.props = props;
+        this.nanoTime = nanoTime;
+        this.window = new boolean[Math.max(1, props.slidingWindowSize())];
+        this.limit = Math.max(props.minLimit(), Math.min(props.maxLimit(), props.initialLimit()));
+    }
+
+    public synchronized Permit acquire() throws DownstreamRejectedException {
+        long now = nanoTime.getAsLong();
+        if (state == State.OPEN) {
+            if (now - openedAt < props.openDuration().toNanos()) {
+                throw rejected(Reason.CIRCUIT_OPEN, "circuit open");
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= props.halfOpenProbes()) {
+                throw rejected(Reason.CIRCUIT_OPEN, "circuit half-open, probes already in flight");
+            }
+            probesInFlight++;
+            inFlight++;
+            return new Permit(now, true, false);
+        }
+
+        if (inFlight >= (int) limit) {
+            throw rejected(Reason.LIMIT, "concurrency limit " + (int) limit + " reached");
+        }
+        inFlight++;
+        return new Permit(now, false, inFlight * 2 >= (int) limit);
+    }
+
+    // failed: the call threw or the downstream answered 5xx
+    public synchronized void release(Permit permit, boolean failed) {
+        inFlight--;
+        boolean slow = nanoTime.getAsLong() - permit.startNanos() >= props.slowCallThreshold().toNanos();
+        boolean bad = failed || slow;
+
+        if (bad) {
+            limit = Math.max(props.minLimit(), limit * props.backoffRatio());
+        } else if (permit.usedHalf()) {
+            limit = Math.min(props.maxLimit(), limit + 1 / limit);
+        }
+
+        if (permit.probe()) {
+            releaseProbe(bad);
+        } else if (state == State.CLOSED) {
+            record(bad);
+        }
+    }
+
+    private void releaseProbe(boolean bad) {
+        if (state != State.HALF_OPEN) {
+            return;
+        }
+        probesInFlight--;
+        if (bad) {
+            open();
+        } else if (++probeSuccesses >= props.halfOpenProbes()) {
+            state = State.CLOSED;
+            windowNext = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+
+    private void record(boolean bad) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = bad;
+        if (bad) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+
+        if (windowCount >= props.minimumCalls()
+                && windowFailures * 100 >= props.failureRateThreshold() * windowCount) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private DownstreamRejectedException rejected(Reason reason, String why) {
+        return new DownstreamRejectedException(downstream, reason, downstream + " call rejected: " + why);
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
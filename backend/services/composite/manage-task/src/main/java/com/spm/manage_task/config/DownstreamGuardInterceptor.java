@@ -0,0 +1,126 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Runs every downstream call through the {@link DownstreamGuard} of its host:port, so task:3031 and
+ * profile:3030 each get their own limit and breaker. A refused call fails with
+ * {@link DownstreamRejectedException} before a connection is taken. Used as a RestTemplate interceptor
+ * and, in the reactive mode, as a WebClient filter.
+ *
+ * A RestTemplate call that fails only because its request's deadline ran out is released as not failed,
+ * so callers sending a tiny budget can't shrink the limit or open the breaker for everyone.
+ *
+ * Meters, tagged with the downstream: downstream.guard.limit, downstream.guard.in.flight,
+ * downstream.guard.state (0 closed, 1 open, 2 half-open) and downstream.guard.rejected by reason.
+ */
+public class DownstreamGuardInterceptor implements ClientHttpRequestInterceptor, ExchangeFilterFunction {
+
+    private final ConcurrentMap<String, DownstreamGuard> guards = new ConcurrentHashMap<>();
+    private final DownstreamGuardProperties props;
+    private final MeterRegistry registry;
+
+    public DownstreamGuardInterceptor(DownstreamGuardProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        DownstreamGuard guard = guard(request.getURI());
+        DownstreamGuard.Permit permit = acquire(guard);
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } catch (IOException e) {
+            // A timeout set by the caller's own deadline is no sign of trouble downstream
+            failed = !DeadlineInterceptor.causedByDeadline(e);
+            throw e;
+        } finally {
+            guard.release(permit, failed);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            DownstreamGuard guard = guard(request.url());
+            DownstreamGuard.Permit permit;
+            try {
+                permit = acquire(guard);
+            } catch (DownstreamRejectedException e) {
+                return Mono.error(e);
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            return next.exchange(request)
+                .doOnNext(response -> {
+                    if (released.compareAndSet(false, true)) {
+                        guard.release(permit, response.statusCode().is5xxServerError());
+                    }
+                })
+                // An error counts as a failure; a cancelled call is judged by its latency alone
+                .doFinally(signal -> {
+                    if (released.compareAndSet(false, true)) {
+                        guard.release(permit, signal == SignalType.ON_ERROR);
+                    }
+                });
+        });
+    }
+
+    public DownstreamGuard guard(URI uri) {
+        return guards.computeIfAbsent(uri.getRawAuthority(), this::register);
+    }
+
+    private DownstreamGuard.Permit acquire(DownstreamGuard guard) throws DownstreamRejectedException {
+        try {
+            return guard.acquire();
+        } catch (DownstreamRejectedException e) {
+            Counter.builder("downstream.guard.rejected")
+                .description("Downstream calls refused by the concurrency limit or an open circuit")
+                .tag("downstream", guard.getDownstream())
+                .tag("reason", e.getReason().name().toLowerCase())
+                .register(registry)
+                .increment();
+            throw e;
+        }
+    }
+
+    private DownstreamGuard register(String downstream) {
+        DownstreamGuard guard = new DownstreamGuard(downstream, props);
+        Gauge.builder("downstream.guard.limit", guard, DownstreamGuard::getLimit)
+            .description("Calls currently allowed in flight to the downstream")
+            .tag("downstream", downstream)
+            .register(registry);
+        Gauge.builder("downstream.guard.in.flight", guard, DownstreamGuard::getInFlight)
+            .description("Calls in flight to the downstream")
+            .tag("downstream", downstream)
+            .register(registry);
+        Gauge.builder("downstream.guard.state", guard, g -> g.getState().ordinal())
+            .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+            .tag("downstream", downstream)
+            .register(registry);
+        return guard;
+    }
+}
@@ -0,0 +1,47 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the per-downstream concurrency limit and circuit breaker ({@code downstream.guard.*}).
+ * Every downstream host (task, profile, project) gets its own limit and breaker built from these.
+ *
+ * @param enabled              turn the guard off entirely
+ * @param initialLimit         calls allowed in flight to one downstream before anything is observed; unset,
+ *                             20, or {@code reactive.max-connections} in the reactive mode
+ * @param minLimit             floor the limit never drops below, so a struggling service still sees probes
+ * @param maxLimit             ceiling for the limit; keep it at or below {@code http.client.max-per-route}.
+ *                             Unset, 50, or {@code reactive.max-connections} in the reactive mode, where a
+ *                             call past the limit is refused rather than left to wait for a connection
+ * @param backoffRatio         factor the limit is multiplied by on a failed or slow call
+ * @param slowCallThreshold    calls slower than this count as failures for both the limit and the breaker
+ * @param failureRateThreshold percentage of failed calls in the window that opens the breaker
+ * @param slidingWindowSize    most recent calls the failure rate is computed over
+ * @param minimumCalls         calls the window must hold before the breaker may open
+ * @param openDuration         time the breaker rejects calls before letting probes through
+ * @param halfOpenProbes       probes let through while half-open; all must succeed to close the breaker
+ */
+@ConfigurationProperties(prefix = "downstream.guard")
+public record DownstreamGuardProperties(
+        @DefaultValue("true") boolean enabled,
+        Integer initialLimit,
+        @DefaultValue("2") int minLimit,
+        Integer maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("2s") Duration slowCallThreshold,
+        @DefaultValue("50") int failureRateThreshold,
+        @DefaultValue("50") int slidingWindowSize,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenProbes) {
+
+    // These settings with the limits that weren't configured filled in
+    public DownstreamGuardProperties withDefaultLimits(int initial, int max) {
+        return new DownstreamGuardProperties(enabled, initialLimit == null ? initial : initialLimit, minLimit,
+            maxLimit == null ? max : maxLimit, backoffRatio, slowCallThreshold, failureRateThreshold,
+            slidingWindowSize, minimumCalls, openDuration, halfOpenProbes);
+    }
+}
@@ -0,0 +1,29 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+
+/**
+ * A downstream call refused by {@link DownstreamGuard} without being sent. It is an I/O failure so the
+ * RestTemplate raises it as a {@code ResourceAccessException}, the same as an unreachable service.
+ */
+public class DownstreamRejectedException extends IOException {
+
+    public enum Reason { CIRCUIT_OPEN, LIMIT }
+
+    private final String downstream;
+    private final Reason reason;
+
+    public DownstreamRejectedException(String downstream, Reason reason, String message) {
+        super(message);
+        this.downstream = downstream;
+        this.reason = reason;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,28 @@
+package com.spm.manage_task.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfig {
+
+    // Bounded on both threads and queue; when both are full the request thread makes the call itself,
+    // so overload degrades to the old sequential behaviour instead of queueing without limit
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor(FanOutProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.threads());
+        executor.setMaxPoolSize(props.threads());
+        executor.setQueueCapacity(props.queueCapacity());
+        executor.setThreadNamePrefix("fan-out-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(RequestLookupContextFilter.propagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
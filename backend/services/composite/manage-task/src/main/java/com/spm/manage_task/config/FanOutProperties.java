@@ -0,0 +1,21 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the executor that runs downstream calls of one request in parallel ({@code fan-out.*}).
+ *
+ * @param threads       worker threads shared by all in-flight fan-outs
+ * @param queueCapacity calls allowed to wait for a worker; past this the request thread runs the call itself
+ * @param deadline      budget for a whole fan-out, measured from when it starts; sections still running
+ *                      after it are dropped from the response
+ */
+@ConfigurationProperties(prefix = "fan-out")
+public record FanOutProperties(
+        @DefaultValue("32") int threads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("3s") Duration deadline) {
+}
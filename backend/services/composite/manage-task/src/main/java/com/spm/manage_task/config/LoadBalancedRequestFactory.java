@@ -0,0 +1,149 @@
+package com.spm.manage_task.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Sends the RestTemplate's calls to balanced services to a replica chosen by the {@link LoadBalancer}.
+ *
+ * It sits under the interceptors rather than among them, so the deadline, coalescing, guard and
+ * metrics still see the logical host, and every attempt of a retried or hedged call picks its replica
+ * afresh. The replica is chosen when the call is sent, and counts the call as in flight until its
+ * response is closed.
+ */
+public class LoadBalancedRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+
+    private final LoadBalancer balancer;
+
+    public LoadBalancedRequestFactory(ClientHttpRequestFactory delegate, LoadBalancer balancer) {
+        super(delegate);
+        this.balancer = balancer;
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod method, ClientHttpRequestFactory requestFactory)
+            throws IOException {
+        ReplicaPool pool = balancer.pool(uri);
+        if (pool == null) {
+            return requestFactory.createRequest(uri, method);
+        }
+        return new BalancedRequest(uri, method, pool, requestFactory);
+    }
+
+    private final class BalancedRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ReplicaPool pool;
+        private final ClientHttpRequestFactory requestFactory;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        BalancedRequest(URI uri, HttpMethod method, ReplicaPool pool, ClientHttpRequestFactory requestFactory) {
+            this.uri = uri;
+            this.method = method;
+            this.pool = pool;
+            this.requestFactory = requestFactory;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            ReplicaPool.Replica replica = pool.choose();
+            if (replica == null) {
+                return send(uri, headers);
+            }
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = send(LoadBalancer.withAuthority(uri, replica.getAuthority()), headers);
+            } catch (IOException | RuntimeException e) {
+                balancer.finish(pool, replica, true, start);
+                throw e;
+            }
+            balancer.record(pool, replica, response.getStatusCode().is5xxServerError(), start);
+            return new ReleasingResponse(response, pool, replica);
+        }
+
+        private ClientHttpResponse send(URI target, HttpHeaders headers) throws IOException {
+            ClientHttpRequest request = requestFactory.createRequest(target, method);
+            request.getHeaders().putAll(headers);
+            request.getAttributes().putAll(getAttributes());
+            if (body.size() > 0) {
+                body.writeTo(request.getBody());
+            }
+            return request.execute();
+        }
+    }
+
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ReplicaPool pool;
+        private final ReplicaPool.Replica replica;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingResponse(ClientHttpResponse delegate, ReplicaPool pool, ReplicaPool.Replica replica) {
+            this.delegate = delegate;
+            this.pool = pool;
+            this.replica = replica;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    pool.release(replica);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.spm.manage_task.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking mode, switched on with {@code spring.main.web-application-type=reactive}: requests are
+ * served by WebFlux on Reactor Netty and the atomic services are called through a {@link WebClient}, so
+ * a request waiting on task:3031 or profile:3030 holds no thread. Server and client share Reactor
+ * Netty's event loops, one per core (at least four).
+ *
+ * The servlet stack (Tomcat, RestTemplate controllers) stays the default.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+
+    // Tomcat is on the classpath too, and Boot would otherwise pick it for the reactive server
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // The builder is Boot's, so calls are timed as http.client.requests like the RestTemplate's
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, HttpClientProperties http, ReactiveProperties props,
+                               DownstreamGuardProperties guardProps, DownstreamGuardInterceptor downstreamGuard,
+                               LoadBalancerProperties balancerProps, LoadBalancer loadBalancer) {
+        ConnectionProvider pool = ConnectionProvider.builder("atomic-services")
+            .maxConnections(props.maxConnections())
+            .pendingAcquireMaxCount(props.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(props.pendingAcquireTimeout())
+            .maxIdleTime(http.keepAlive())
+            .maxLifeTime(http.timeToLive())
+            .evictInBackground(http.idleEvictAfter())
+            .metrics(true)
+            .build();
+        HttpClient client = HttpClient.create(pool)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.connectTimeout().toMillis())
+            .responseTimeout(http.responseTimeout());
+        // Deadline first, so a call past its request's deadline never takes a permit
+        builder.filter(new DeadlineInterceptor());
+        if (guardProps.enabled()) {
+            builder.filter(downstreamGuard);
+        }
+        // Last, so the filters above see the logical host and keep one guard per service
+        if (balancerProps.enabled()) {
+            builder.filter(loadBalancer);
+        }
+        return builder.clientConnector(new ReactorClientHttpConnector(client)).build();
+    }
+}
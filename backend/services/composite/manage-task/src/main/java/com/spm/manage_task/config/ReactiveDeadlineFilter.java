@@ -0,0 +1,60 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * DeadlineFilter for the reactive mode. The deadline goes into the Reactor context, where
+ * DeadlineInterceptor finds it for each WebClient call, and the whole exchange is cancelled with a 504
+ * when it passes; an exchange that fails once it has passed is answered 504 too. A client that
+ * disconnects cancels the exchange as well. Either way the cancellation reaches the downstream calls
+ * still in flight, and their connections are released.
+ */
+@Component
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveDeadlineFilter implements WebFilter {
+
+    private final DeadlineProperties props;
+
+    public ReactiveDeadlineFilter(DeadlineProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Duration budget = props.budget(exchange.getRequest().getPath().value(),
+            exchange.getRequest().getHeaders().getFirst(RequestDeadline.HEADER));
+        if (budget == null) {
+            return chain.filter(exchange);
+        }
+
+        return Mono.defer(() -> {
+            RequestDeadline deadline = RequestDeadline.after(budget);
+            return chain.filter(exchange)
+                .timeout(budget, Mono.error(() -> timedOut(budget, null)))
+                // A downstream call given up at the same deadline can fail first, e.g. with DeadlineExceededException
+                .onErrorMap(e -> deadline.expired() && !(e instanceof ResponseStatusException),
+                    e -> timedOut(budget, e))
+                .contextWrite(context -> context.put(RequestDeadline.class, deadline));
+        });
+    }
+
+    private static ResponseStatusException timedOut(Duration budget, Throwable cause) {
+        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+            "Deadline of " + budget.toMillis() + "ms exceeded", cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the non-blocking mode ({@code reactive.*}), used only with
+ * {@code spring.main.web-application-type=reactive}. Timeouts and connection lifetimes come from
+ * {@link HttpClientProperties}, as for the RestTemplate.
+ *
+ * @param maxConnections         connections the WebClient keeps to all atomic services together; each one
+ *                               carries one request at a time, so this caps downstream calls in flight
+ * @param pendingAcquireMaxCount calls allowed to wait for a connection; a waiting call holds no thread
+ * @param pendingAcquireTimeout  time a call may wait for a connection before failing
+ * @param profileConcurrency     bulk profile lookups one listing or export may have in flight at once
+ */
+@ConfigurationProperties(prefix = "reactive")
+public record ReactiveProperties(
+        @DefaultValue("1000") int maxConnections,
+        @DefaultValue("10000") int pendingAcquireMaxCount,
+        @DefaultValue("5s") Duration pendingAcquireTimeout,
+        @DefaultValue("4") int profileConcurrency) {
+}
@@ -0,0 +1,49 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.spm.manage_task.components.RequestDeadline;
+import com.spm.manage_task.components.RequestLookupContext;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Gives every inbound request its own RequestLookupContext and drops it when the response is done
+@Component
+public class RequestLookupContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestLookupContext.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestLookupContext.close();
+        }
+    }
+
+    // Carries the submitting request's context and deadline onto the worker thread for the duration of the task
+    public static TaskDecorator propagatingDecorator() {
+        return task -> {
+            RequestLookupContext context = RequestLookupContext.current();
+            RequestDeadline deadline = RequestDeadline.current();
+            return () -> {
+                RequestLookupContext previous = RequestLookupContext.attach(context);
+                RequestDeadline previousDeadline = RequestDeadline.attach(deadline);
+                try {
+                    task.run();
+                } finally {
+                    RequestLookupContext.attach(previous);
+                    RequestDeadline.attach(previousDeadline);
+                }
+            };
+        };
+    }
+}
@@ -1,13 +1,129 @@
 package com.spm.manage_task.config;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties({HttpClientProperties.class, DownstreamGuardProperties.class, RetryProperties.class,
+    LoadBalancerProperties.class})
 public class RestTemplateConfig {
+
+    // Guard limits when none are configured and the RestTemplate's pool is the one calls wait on
+    private static final int SERVLET_INITIAL_LIMIT = 20;
+    private static final int SERVLET_MAX_LIMIT = 50;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties props) {
+        return PooledHttpClientFactory.connectionManager(props);
+    }
+
+    // Leased, available and pending connections of the pool, tagged httpclient=atomic-services
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "atomic-services");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager, HttpClientProperties props) {
+        return PooledHttpClientFactory.httpClient(httpConnectionManager, props);
+    }
+
+    // One limit and breaker per downstream, shared by the RestTemplate and the reactive WebClient. Unset
+    // limits follow the mode: the reactive WebClient may have its whole connection pool in flight
+    @Bean
+    public DownstreamGuardInterceptor downstreamGuard(DownstreamGuardProperties props,
+                                                      ObjectProvider<ReactiveProperties> reactiveProps,
+                                                      MeterRegistry meterRegistry) {
+        ReactiveProperties reactive = reactiveProps.getIfAvailable();
+        DownstreamGuardProperties limits = reactive == null
+            ? props.withDefaultLimits(SERVLET_INITIAL_LIMIT, SERVLET_MAX_LIMIT)
+            : props.withDefaultLimits(reactive.maxConnections(), reactive.maxConnections());
+        return new DownstreamGuardInterceptor(limits, meterRegistry);
+    }
+
+    // SRV names where configured, the fixed replica lists otherwise
+    @Bean
+    @ConditionalOnMissingBean
+    public EndpointResolver endpointResolver(LoadBalancerProperties props) {
+        return new SrvEndpointResolver(props.srv(), EndpointResolver.fixed(props.replicas()));
+    }
+
+    // Shared by the RestTemplate and the reactive WebClient; re-resolves replicas every refresh-interval
+    @Bean
+    public LoadBalancer loadBalancer(LoadBalancerProperties props, EndpointResolver endpointResolver,
+                                     MeterRegistry meterRegistry) {
+        return new LoadBalancer(props, endpointResolver, meterRegistry);
+    }
+
+    // Makes the calls of hedged reads. No queue: when every thread is busy the call is made without a hedge
+    @Bean
+    public ThreadPoolTaskExecutor hedgeExecutor(RetryProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.hedgeThreads());
+        executor.setMaxPoolSize(props.hedgeThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(RequestLookupContextFilter.propagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean
+    public RetryInterceptor retryInterceptor(RetryProperties props, @Qualifier("hedgeExecutor") Executor hedgeExecutor,
+                                             MeterRegistry meterRegistry) {
+        return new RetryInterceptor(props, hedgeExecutor, meterRegistry);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientProperties props,
+                                     DownstreamGuardProperties guardProps, DownstreamGuardInterceptor downstreamGuard,
+                                     RetryProperties retryProps, RetryInterceptor retryInterceptor,
+                                     LoadBalancerProperties balancerProps, LoadBalancer loadBalancer,
+                                     ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> PooledHttpClientFactory.deadlineContext(props));
+        // Under the interceptors, so each attempt of a retried call picks its own replica
+        ClientHttpRequestFactory factory = balancerProps.enabled()
+            ? new LoadBalancedRequestFactory(requestFactory, loadBalancer)
+            : requestFactory;
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.setObservationRegistry(observationRegistry);
+        restTemplate.setObservationConvention(new DownstreamObservationConvention());
+        // First, so a call past its request's deadline is refused before anything else happens
+        restTemplate.getInterceptors().add(new DeadlineInterceptor());
+        if (props.coalesceGets()) {
+            restTemplate.getInterceptors().add(new CoalescingInterceptor(meterRegistry));
+        }
+        // After coalescing, so callers sharing a call don't take a permit each
+        if (guardProps.enabled()) {
+            restTemplate.getInterceptors().add(downstreamGuard);
+        }
+        // Last: a repeated execute() only re-runs the interceptors after this one, so anything placed
+        // later would be skipped on retries. Retries and hedges run under the caller's one guard permit
+        if (retryProps.enabled()) {
+            restTemplate.getInterceptors().add(retryInterceptor);
+        }
+        return restTemplate;
     }
 }
@@ -0,0 +1,330 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Retries, and optionally hedges, the idempotent reads listed in {@code downstream.retry.routes}.
+ *
+ * A call that fails with an I/O error or a 502, 503 or 504 is tried again up to max-attempts times.
+ * Before each retry it waits a random time of up to backoff * 2^retry. With hedging on, a call still
+ * unanswered after the route's observed latency percentile is sent a second time, and whichever
+ * response arrives first is used.
+ *
+ * Every retry and hedge is paid for from a budget that each call tops up by budget-ratio, so together
+ * they add at most that much load however badly a downstream is doing. Calls the guard or the request
+ * deadline refused are never retried, and no retry waits past the deadline.
+ *
+ * Must be the last interceptor: each attempt runs the rest of the chain again, which is then just
+ * the HTTP call itself.
+ *
+ * Meters, tagged with host and route: downstream.retries, downstream.retry.budget.exhausted,
+ * downstream.hedges and downstream.hedge.wins; downstream.retry.budget is the budget left.
+ */
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int PERCENTILE_EVERY = 16;
+
+    private final RetryProperties props;
+    private final Set<String> routes;
+    private final Executor hedgeExecutor;
+    private final MeterRegistry registry;
+    private final RetryBudget budget;
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    // hedgeExecutor may be null when hedging is off
+    public RetryInterceptor(RetryProperties props, Executor hedgeExecutor, MeterRegistry registry) {
+        this.props = props;
+        this.routes = Set.copyOf(props.routes());
+        this.hedgeExecutor = props.hedge() ? hedgeExecutor : null;
+        this.registry = registry;
+        this.budget = new RetryBudget(props.budgetRatio(), props.budgetBurst());
+        Gauge.builder("downstream.retry.budget", budget, RetryBudget::available)
+            .description("Retries and hedges that may be sent right now")
+            .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = request.getMethod().name() + " "
+            + DownstreamObservationConvention.route(request.getURI().getRawPath());
+        if (!routes.contains(route)) {
+            return execution.execute(request, body);
+        }
+
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            ClientHttpResponse response;
+            try {
+                response = attempt(request, body, execution, route);
+            } catch (IOException e) {
+                if (!retryable(e) || !mayRetry(attempt, request, route)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (!RETRYABLE_STATUSES.contains(response.getStatusCode().value()) || !mayRetry(attempt, request, route)) {
+                return response;
+            }
+            response.close();
+        }
+    }
+
+    private static boolean retryable(IOException e) {
+        return !(e instanceof DeadlineExceededException || e instanceof DownstreamRejectedException);
+    }
+
+    // Spends from the budget and sleeps the backoff; false when the call should give up instead
+    private boolean mayRetry(int attempt, HttpRequest request, String route) {
+        if (attempt >= props.maxAttempts()) {
+            return false;
+        }
+        long ceiling = Math.min(props.maxBackoff().toNanos(), props.backoff().toNanos() << Math.min(attempt - 1, 20));
+        long wait = ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null && deadline.remaining().toNanos() <= wait) {
+            return false;
+        }
+        if (!budget.tryWithdraw()) {
+            counter("downstream.retry.budget.exhausted", "Retries and hedges not sent because the budget was spent",
+                request, route).increment();
+            return false;
+        }
+        counter("downstream.retries", "Downstream calls sent again after a failure", request, route).increment();
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ClientHttpResponse attempt(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                                       String route) throws IOException {
+        LatencyWindow window = latencies.computeIfAbsent(route, r -> new LatencyWindow());
+        long hedgeAfter = hedgeExecutor == null ? -1 : window.percentileNanos(props.hedgePercentile(), props.hedgeMinSamples());
+        if (hedgeAfter < 0) {
+            return timed(request, body, execution, window);
+        }
+
+        CompletableFuture<ClientHttpResponse> primary;
+        try {
+            primary = submit(request, body, execution, window);
+        } catch (RejectedExecutionException e) {
+            return timed(request, body, execution, window);
+        }
+        try {
+            return primary.get(hedgeAfter, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // still running: hedge below
+        } catch (InterruptedException e) {
+            closeWhenDone(primary);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + request.getURI());
+        } catch (ExecutionException e) {
+            throw unwrap(e, request);
+        }
+
+        CompletableFuture<ClientHttpResponse> hedge = null;
+        if (budget.tryWithdraw()) {
+            try {
+                hedge = submit(request, body, execution, window);
+                counter("downstream.hedges", "Downstream calls sent a second time because the first was slow",
+                    request, route).increment();
+            } catch (RejectedExecutionException e) {
+                budget.refund();
+            }
+        }
+        return await(hedge == null ? primary : firstAnswer(primary, hedge, request, route), request);
+    }
+
+    private ClientHttpResponse timed(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                                     LatencyWindow window) throws IOException {
+        long start = System.nanoTime();
+        ClientHttpResponse response = execution.execute(request, body);
+        window.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private CompletableFuture<ClientHttpResponse> submit(HttpRequest request, byte[] body,
+                                                         ClientHttpRequestExecution execution, LatencyWindow window) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return timed(request, body, execution, window);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, hedgeExecutor);
+    }
+
+    // The first response to arrive, or the last failure when neither call succeeds; the other response is closed
+    private CompletableFuture<ClientHttpResponse> firstAnswer(CompletableFuture<ClientHttpResponse> primary,
+                                                              CompletableFuture<ClientHttpResponse> hedge,
+                                                              HttpRequest request, String route) {
+        CompletableFuture<ClientHttpResponse> first = new CompletableFuture<>();
+        AtomicBoolean answered = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> settle(first, answered, failures, response, error, () -> { }));
+        hedge.whenComplete((response, error) -> settle(first, answered, failures, response, error,
+            () -> counter("downstream.hedge.wins", "Hedged calls answered before the call they hedged",
+                request, route).increment()));
+        return first;
+    }
+
+    private static void settle(CompletableFuture<ClientHttpResponse> first, AtomicBoolean answered,
+                               AtomicInteger failures, ClientHttpResponse response, Throwable error, Runnable onWin) {
+        if (error == null) {
+            if (answered.compareAndSet(false, true)) {
+                onWin.run();
+                first.complete(response);
+            } else {
+                response.close();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future, HttpRequest request)
+            throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            closeWhenDone(future);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + request.getURI());
+        } catch (ExecutionException e) {
+            throw unwrap(e, request);
+        }
+    }
+
+    private static void closeWhenDone(CompletableFuture<ClientHttpResponse> future) {
+        future.thenAccept(ClientHttpResponse::close);
+    }
+
+    private static IOException unwrap(ExecutionException e, HttpRequest request) {
+        Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException("Call to " + request.getURI() + " failed", cause);
+    }
+
+    private Counter counter(String name, String description, HttpRequest request, String route) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("host", request.getURI().getHost())
+            .tag("uri", route.substring(route.indexOf(' ') + 1))
+            .register(registry);
+    }
+
+    /* Token bucket in thousandths of a call: each call adds ratio, each retry or hedge takes one */
+    static final class RetryBudget {
+
+        private final long perCall;
+        private final long capacity;
+        private final AtomicLong milliTokens;
+
+        RetryBudget(double ratio, int burst) {
+            this.perCall = Math.round(ratio * 1000);
+            this.capacity = Math.max(1, burst) * 1000L;
+            this.milliTokens = new AtomicLong(capacity);
+        }
+
+        void deposit() {
+            milliTokens.accumulateAndGet(perCall, (tokens, add) -> Math.min(capacity, tokens + add));
+        }
+
+        boolean tryWithdraw() {
+            long tokens;
+            do {
+                tokens = milliTokens.get();
+                if (tokens < 1000) {
+                    return false;
+                }
+            } while (!milliTokens.compareAndSet(tokens, tokens - 1000));
+            return true;
+        }
+
+        void refund() {
+            milliTokens.accumulateAndGet(1000, (tokens, add) -> Math.min(capacity, tokens + add));
+        }
+
+        double available() {
+            return milliTokens.get() / 1000.0;
+        }
+    }
+
+    /* Latencies of a route's recent calls; the percentile is recomputed every few samples */
+    static final class LatencyWindow {
+
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private int next;
+        private int count;
+        private double cachedFor = -1;
+        private long cached = -1;
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (next % PERCENTILE_EVERY == 0) {
+                cachedFor = -1;
+            }
+        }
+
+        // -1 until the route has seen minSamples calls
+        synchronized long percentileNanos(double percentile, int minSamples) {
+            if (count < Math.max(1, minSamples)) {
+                return -1;
+            }
+            if (cachedFor != percentile) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                cached = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+                cachedFor = percentile;
+            }
+            return cached;
+        }
+
+        // For tests and diagnostics
+        synchronized Duration percentile(double percentile) {
+            long nanos = percentileNanos(percentile, 1);
+            return nanos < 0 ? null : Duration.ofNanos(nanos);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.spm.manage_task.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(TaskBulkProperties.class)
+public class TaskBulkConfig {
+
+    // Shared by all bulk requests. The queue holds one full request; past that the request thread makes the
+    // call itself, so the pool size alone doesn't bound the writes: TaskBulkService holds them to
+    // task.bulk.concurrency with a shared semaphore
+    @Bean
+    public ThreadPoolTaskExecutor taskBulkExecutor(TaskBulkProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.concurrency());
+        executor.setMaxPoolSize(props.concurrency());
+        executor.setQueueCapacity(props.maxOperations());
+        executor.setThreadNamePrefix("task-bulk-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(RequestLookupContextFilter.propagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.spm.manage_task.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for POST api/task/bulk ({@code task.bulk.*}).
+ *
+ * @param maxOperations operations accepted in one request
+ * @param concurrency   operations sent to task:3031 at once; across all bulk requests in servlet mode, per
+ *                      request in reactive mode
+ */
+@ConfigurationProperties(prefix = "task.bulk")
+public record TaskBulkProperties(
+        @DefaultValue("5000") int maxOperations,
+        @DefaultValue("8") int concurrency) {
+}
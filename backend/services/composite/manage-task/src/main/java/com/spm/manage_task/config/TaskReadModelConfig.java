@@ -0,0 +1,86 @@
+package com.spm.manage_task.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.KafkaStreamsInfrastructureCustomizer;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.config.StreamsBuilderFactoryBeanConfigurer;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.components.TaskReadModel;
+import com.spm.manage_task.services.TaskChangePublisher;
+
+/**
+ * Wires the task read model when {@code task.read-model.enabled=true}: a Kafka Streams global store fed
+ * from the task-change topic, the query side over it, and the publisher that keeps the topic current.
+ *
+ * A global store is used so that every manage-task instance holds every task and can answer any query
+ * locally, whatever the topic's partitioning. Kafka connection settings come from {@code spring.kafka.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "task.read-model", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TaskReadModelProperties.class)
+@EnableKafkaStreams
+@EnableScheduling
+public class TaskReadModelConfig {
+
+    @Bean
+    public NewTopic taskChangesTopic(TaskReadModelProperties props) {
+        return TopicBuilder.name(props.topic()).partitions(1).replicas(1).compact().build();
+    }
+
+    // Changes landing in the store also drop what this replica's task cache holds of them, since lists
+    // loaded from the store between a write and its change arriving would otherwise stay stale
+    @Bean
+    public StreamsBuilderFactoryBeanConfigurer taskReadModelTopology(TaskReadModelProperties props,
+                                                                     ObjectProvider<TaskCacheComponent> taskCache) {
+        return factoryBean -> factoryBean.setInfrastructureCustomizer(new KafkaStreamsInfrastructureCustomizer() {
+            @Override
+            public void configureBuilder(StreamsBuilder builder) {
+                TaskCacheComponent cache = taskCache.getIfAvailable();
+                TaskReadModel.addTo(builder, props.topic(), cache == null ? invalidation -> { } : cache::apply);
+            }
+        });
+    }
+
+    @Bean
+    public TaskReadModel taskReadModel(StreamsBuilderFactoryBean streams, ObjectMapper objectMapper) {
+        return new TaskReadModel(() -> {
+            KafkaStreams kafkaStreams = streams.getKafkaStreams();
+            if (kafkaStreams == null || kafkaStreams.state() != KafkaStreams.State.RUNNING) {
+                return null;
+            }
+            try {
+                return kafkaStreams.store(StoreQueryParameters.fromNameAndType(
+                    TaskReadModel.STORE, QueryableStoreTypes.<String, String>keyValueStore()));
+            } catch (InvalidStateStoreException e) {
+                return null;
+            }
+        }, objectMapper);
+    }
+
+    @Bean
+    public TaskChangePublisher taskChangePublisher(@Value("${task.base.url:http://task:3031}") String taskBaseUrl,
+                                                   TaskReadModelProperties props, RestTemplate restTemplate,
+                                                   KafkaTemplate<String, String> kafkaTemplate,
+                                                   TaskReadModel taskReadModel, ObjectMapper objectMapper) {
+        return new TaskChangePublisher(taskBaseUrl + "/task", props.topic(), restTemplate, kafkaTemplate,
+            taskReadModel, objectMapper);
+    }
+}
@@ -0,0 +1,23 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the Kafka-backed task read model ({@code task.read-model.*}).
+ *
+ * @param enabled            serve user, project and subtask listings from the local store; off by default,
+ *                           in which case every read goes to task:3031 as before
+ * @param topic              compacted topic of task rows keyed by task id; a null value deletes the task
+ * @param resyncInterval     time between full snapshots of task:3031 published to the topic
+ * @param resyncInitialDelay time after startup before the first snapshot
+ */
+@ConfigurationProperties(prefix = "task.read-model")
+public record TaskReadModelProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("task-changes") String topic,
+        @DefaultValue("5m") Duration resyncInterval,
+        @DefaultValue("10s") Duration resyncInitialDelay) {
+}
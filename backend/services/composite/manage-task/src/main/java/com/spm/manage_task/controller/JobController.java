@@ -0,0 +1,102 @@
+package com.spm.manage_task.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.spm.jobs.Job;
+import com.spm.jobs.JobService;
+import com.spm.manage_task.dto.JobRequestDto;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequestMapping("api/task/jobs")
+public class JobController {
+
+    static final String PATH = "/api/task/jobs/";
+
+    // How long one events stream stays open; clients reconnect for longer jobs
+    static final Duration EVENTS_TIMEOUT = Duration.ofMinutes(30);
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // POST a job; 202 at once with the job, and its status URL in Location
+    @PostMapping
+    public ResponseEntity<?> submitJob(@RequestBody JobRequestDto request) {
+        try {
+            Job job = jobService.submit(request.type(), request.params() == null ? Map.of() : request.params());
+            return ResponseEntity.accepted().location(URI.create(PATH + job.id())).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(Map.of("error", "Too many jobs waiting, try again later"));
+        }
+    }
+
+    // GET all jobs still kept, newest first
+    @GetMapping
+    public ResponseEntity<List<Job>> getJobs() {
+        return ResponseEntity.ok(jobService.list());
+    }
+
+    // GET a job's status and progress
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Job> getJob(@PathVariable String jobId) {
+        Job job = jobService.get(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    // GET a job's status as server-sent events: the current state, then every change until it finishes
+    @GetMapping("/{jobId}/events")
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        Job current = jobService.get(jobId);
+        if (current == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT.toMillis());
+        Runnable unsubscribe = jobService.subscribe(jobId, job -> send(emitter, job));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        send(emitter, jobService.get(jobId));
+        return ResponseEntity.ok(emitter);
+    }
+
+    // DELETE cancels a job; it stops at its next item
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Job> cancelJob(@PathVariable String jobId) {
+        Job job = jobService.cancel(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    private static void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event().name("job").id(Integer.toString(job.processed())).data(job));
+            if (job.finished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client has gone or the stream is already complete
+            emitter.completeWithError(e);
+        }
+    }
+}
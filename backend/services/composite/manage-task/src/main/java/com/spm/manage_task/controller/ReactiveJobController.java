@@ -0,0 +1,86 @@
+package com.spm.manage_task.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spm.jobs.Job;
+import com.spm.jobs.JobService;
+import com.spm.manage_task.dto.JobRequestDto;
+
+import reactor.core.publisher.Flux;
+
+// JobController's endpoints for the reactive mode; jobs run on the same workers in both modes
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("api/task/jobs")
+public class ReactiveJobController {
+
+    private final JobService jobService;
+
+    public ReactiveJobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // POST a job; 202 at once with the job, and its status URL in Location
+    @PostMapping
+    public ResponseEntity<?> submitJob(@RequestBody JobRequestDto request) {
+        try {
+            Job job = jobService.submit(request.type(), request.params() == null ? Map.of() : request.params());
+            return ResponseEntity.accepted().location(URI.create(JobController.PATH + job.id())).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(Map.of("error", "Too many jobs waiting, try again later"));
+        }
+    }
+
+    // GET all jobs still kept, newest first
+    @GetMapping
+    public ResponseEntity<List<Job>> getJobs() {
+        return ResponseEntity.ok(jobService.list());
+    }
+
+    // GET a job's status and progress
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Job> getJob(@PathVariable String jobId) {
+        Job job = jobService.get(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    // GET a job's status as server-sent events: the current state, then every change until it finishes
+    @GetMapping("/{jobId}/events")
+    public ResponseEntity<Flux<ServerSentEvent<Job>>> streamJob(@PathVariable String jobId) {
+        if (jobService.get(jobId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Flux<Job> changes = Flux.create(sink -> {
+            sink.onDispose(jobService.subscribe(jobId, sink::next)::run);
+            sink.next(jobService.get(jobId));
+        });
+        return ResponseEntity.ok(changes
+            .takeUntil(Job::finished)
+            .map(job -> ServerSentEvent.builder(job).event("job").id(Integer.toString(job.processed())).build())
+            .take(JobController.EVENTS_TIMEOUT));
+    }
+
+    // DELETE cancels a job; it stops at its next item
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Job> cancelJob(@PathVariable String jobId) {
+        Job job = jobService.cancel(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+}
@@ -0,0 +1,99 @@
+package com.spm.manage_task.controller;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spm.manage_task.components.ResponseCacheComponent;
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.services.ReactiveRecurrenceService;
+
+import reactor.core.publisher.Mono;
+
+// RecurrenceController's endpoints for the reactive mode (see ReactiveConfig), with the same responses
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("api/recurrence")
+public class ReactiveRecurrenceController {
+
+    private final ReactiveRecurrenceService recurrenceService;
+    private final ResponseCacheComponent responseCache;
+
+    public ReactiveRecurrenceController(ReactiveRecurrenceService recurrenceService,
+                                        @Nullable ResponseCacheComponent responseCache) {
+        this.recurrenceService = recurrenceService;
+        this.responseCache = responseCache;
+    }
+
+    // GET a specific recurrence by ID, from the response cache, with an ETag
+    @GetMapping("/{recurrenceId}")
+    public Mono<ResponseEntity<?>> getRecurrenceById(@PathVariable String recurrenceId,
+                                                     @RequestHeader HttpHeaders headers) {
+        if (responseCache == null) {
+            return recurrenceService.getRecurrenceById(recurrenceId).map(ResponseEntity::ok);
+        }
+        String key = RecurrenceController.recurrenceKey(recurrenceId);
+        ResponseCacheComponent.Entry cached = responseCache.get(key);
+        if (cached != null) {
+            return Mono.just(responseCache.respond(cached, headers));
+        }
+        long before = responseCache.generation();
+        return recurrenceService.getRecurrenceById(recurrenceId)
+            .map(recurrence -> responseCache.respond(
+                responseCache.put(key, before, recurrence, RecurrenceController.taskTag(recurrence.getTaskId())),
+                headers));
+    }
+
+    // GET all recurrences for a specific task
+    @GetMapping("/task/{taskId}")
+    public Mono<ResponseEntity<List<RecurrenceDto>>> getRecurrencesByTaskId(@PathVariable String taskId) {
+        return recurrenceService.getRecurrencesByTaskId(taskId).map(ResponseEntity::ok);
+    }
+
+    // POST to create a new recurrence
+    @PostMapping("/")
+    public Mono<ResponseEntity<String>> createRecurrence(@RequestBody RecurrenceDto recurrenceDto) {
+        return recurrenceService.createRecurrence(recurrenceDto)
+            .then(Mono.just(ResponseEntity.status(201).body("Recurrence created successfully")));
+    }
+
+    // PUT to update an existing recurrence
+    @PutMapping("/{recurrenceId}")
+    public Mono<ResponseEntity<String>> updateRecurrence(@PathVariable String recurrenceId,
+                                                         @RequestBody RecurrenceDto recurrenceDto) {
+        return recurrenceService.updateRecurrence(recurrenceId, recurrenceDto)
+            .then(Mono.fromSupplier(() -> {
+                invalidate(recurrenceId);
+                return ResponseEntity.ok("Recurrence updated successfully");
+            }));
+    }
+
+    // DELETE a recurrence by ID
+    @DeleteMapping("/{recurrenceId}")
+    public Mono<ResponseEntity<String>> deleteRecurrence(@PathVariable String recurrenceId) {
+        return recurrenceService.deleteRecurrence(recurrenceId)
+            .then(Mono.fromSupplier(() -> {
+                invalidate(recurrenceId);
+                return ResponseEntity.ok("Recurrence deleted successfully");
+            }));
+    }
+
+    private void invalidate(String recurrenceId) {
+        if (responseCache != null) {
+            responseCache.invalidate(RecurrenceController.recurrenceKey(recurrenceId));
+        }
+    }
+}
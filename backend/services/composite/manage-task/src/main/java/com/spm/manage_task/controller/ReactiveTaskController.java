@@ -0,0 +1,202 @@
+package com.spm.manage_task.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.spm.manage_task.components.ResponseCacheComponent;
+import com.spm.manage_task.dto.CursorPage;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskDetailDto;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+import com.spm.manage_task.dto.TaskReminderDto;
+import com.spm.manage_task.services.ReactiveTaskBulkService;
+import com.spm.manage_task.services.ReactiveTaskDetailService;
+import com.spm.manage_task.services.ReactiveTaskService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// TaskController's endpoints for the reactive mode (see ReactiveConfig), with the same responses
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("api/task")
+public class ReactiveTaskController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTaskController.class);
+
+    private final ReactiveTaskService taskService;
+    private final ReactiveTaskDetailService taskDetailService;
+    private final ReactiveTaskBulkService taskBulkService;
+    private final ResponseCacheComponent responseCache;
+
+    public ReactiveTaskController(ReactiveTaskService taskService, ReactiveTaskDetailService taskDetailService,
+                                  ReactiveTaskBulkService taskBulkService, @Nullable ResponseCacheComponent responseCache) {
+        this.taskService = taskService;
+        this.taskDetailService = taskDetailService;
+        this.taskBulkService = taskBulkService;
+        this.responseCache = responseCache;
+    }
+
+    // GET all tasks; with ?limit= and/or ?after= one keyset page, next page's cursor in X-Next-Cursor
+    @GetMapping("/")
+    public Mono<ResponseEntity<?>> getAllTasks(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            return taskService.getAllTasks().map(ResponseEntity::ok);
+        }
+
+        return taskService.getTaskPage(limit == null ? CursorPage.DEFAULT_LIMIT : limit, after)
+            .<ResponseEntity<?>>map(page -> {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.nextCursor() != null) {
+                    response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+                }
+                return response.body(page.items());
+            })
+            .onErrorResume(IllegalArgumentException.class,
+                e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    // GET every task as NDJSON, written out batch by batch as task:3031's response arrives
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDto> exportTasks() {
+        return taskService.exportTasks();
+    }
+
+    // GET based on user id
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<List<TaskDto>>> getUserTasks(@PathVariable String userId) {
+        return taskService.getUserTask(userId).map(ResponseEntity::ok);
+    }
+
+    // GET tasks of a project
+    @GetMapping("/project/{projectId}")
+    public Mono<ResponseEntity<List<TaskDto>>> getProjectTasks(@PathVariable String projectId) {
+        return taskService.getProjectTasks(projectId).map(ResponseEntity::ok);
+    }
+
+    // POST for task
+    @PostMapping("/new")
+    public Mono<ResponseEntity<String>> createTask(@RequestBody TaskPostRequestDto taskReq) {
+        return taskService.createTask(taskReq)
+            .then(Mono.just(ResponseEntity.status(200).body("Task created successfully")))
+            .onErrorResume(RuntimeException.class,
+                e -> Mono.just(TaskController.upsertFailure(e, "Task creation failed")));
+    }
+
+    // POST many creates, updates and deletes at once; 200 when all applied, 207 with per-operation results otherwise
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<?>> bulkTasks(@RequestBody TaskBulkRequestDto request) {
+        return taskBulkService.apply(request)
+            .<ResponseEntity<?>>map(result -> {
+                TaskController.invalidateRecurrences(responseCache, request);
+                return ResponseEntity.status(result.failed() == 0 ? 200 : 207).body(result);
+            })
+            .onErrorResume(IllegalArgumentException.class,
+                e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    // GET based on task id
+    @GetMapping("/id/{taskId}")
+    public Mono<ResponseEntity<TaskDto>> getTaskById(@PathVariable String taskId) {
+        return taskService.getTaskByIdWithOwner(taskId).map(ResponseEntity::ok);
+    }
+
+    // GET task, subtasks, recurrences and (if userId is given) the user's reminder in one call
+    @GetMapping("/{taskId}/full")
+    public Mono<ResponseEntity<TaskDetailDto>> getTaskDetail(@PathVariable String taskId,
+                                                             @RequestParam(required = false) String userId) {
+        return taskDetailService.getTaskDetail(taskId, userId).map(ResponseEntity::ok);
+    }
+
+    // PUT route to update a task (based on task id)
+    @PutMapping("/edit/{taskId}")
+    public Mono<ResponseEntity<String>> updateTask(@PathVariable String taskId,
+                                                   @RequestBody TaskPostRequestDto updatedTask) {
+        return taskService.updateTask(taskId, updatedTask)
+            .then(Mono.fromSupplier(() -> {
+                invalidateRecurrences(taskId);
+                return ResponseEntity.status(200).body("Task updated successfully");
+            }))
+            .onErrorResume(RuntimeException.class,
+                e -> Mono.just(TaskController.upsertFailure(e, "Task update failed")));
+    }
+
+    // GET subtasks related to current task id
+    @GetMapping("/subtask/{taskId}")
+    public Mono<ResponseEntity<List<TaskDto>>> getSubTaskByTaskId(@PathVariable String taskId) {
+        return taskService.getSubTaskByTaskId(taskId).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/reminder/{taskId}/{userId}")
+    public Mono<ResponseEntity<TaskReminderDto>> getTaskDeadlineReminder(@PathVariable String taskId,
+                                                                         @PathVariable String userId) {
+        return taskService.getTaskDeadlineReminder(taskId, userId).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/reminder/{taskId}/{userId}")
+    public Mono<ResponseEntity<Map<String, Object>>> setTaskDeadlineReminder(
+            @PathVariable String taskId,
+            @PathVariable String userId,
+            @RequestBody Map<String, List<Integer>> requestBody) {
+
+        List<Integer> reminders = requestBody.get("deadline_reminder");
+        if (reminders == null) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(Map.of("error", "deadline_reminder must be provided")));
+        }
+
+        // Return what was sent once the atomic service has stored it
+        return taskService.setTaskDeadlineReminder(taskId, userId, reminders)
+            .<ResponseEntity<Map<String, Object>>>map(updated -> ResponseEntity.ok(Map.of(
+                    "task_id", taskId,
+                    "deadline_reminder", reminders
+            )))
+            .onErrorResume(e -> {
+                log.error("Failed to update deadline reminder for task {}", taskId, e);
+                return Mono.just(ResponseEntity.status(500).body(Map.of(
+                        "error", "Failed to update deadline reminder",
+                        "details", String.valueOf(e.getMessage())
+                )));
+            });
+    }
+
+    // DELETE a task based on task id
+    @DeleteMapping("/{taskId}")
+    public Mono<ResponseEntity<String>> deleteTask(@PathVariable String taskId) {
+        return taskService.deleteTask(taskId)
+            .then(Mono.fromSupplier(() -> {
+                invalidateRecurrences(taskId);
+                return ResponseEntity.ok("Task deleted successfully");
+            }))
+            .onErrorResume(WebClientResponseException.NotFound.class,
+                e -> Mono.just(ResponseEntity.status(404).body("Task not found: " + taskId)))
+            .onErrorResume(RuntimeException.class,
+                e -> Mono.just(ResponseEntity.status(500).body("Failed to delete task: " + e.getMessage())));
+    }
+
+    private void invalidateRecurrences(String taskId) {
+        if (responseCache != null) {
+            responseCache.invalidateTagged(RecurrenceController.taskTag(taskId));
+        }
+    }
+}
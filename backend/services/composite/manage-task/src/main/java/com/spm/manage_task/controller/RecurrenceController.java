@@ -2,34 +2,63 @@ package com.spm.manage_task.controller;
 
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.spm.manage_task.components.ResponseCacheComponent;
 import com.spm.manage_task.dto.RecurrenceDto;
 import com.spm.manage_task.services.RecurrenceService;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("api/recurrence")
 public class RecurrenceController {
 
     private final RecurrenceService recurrenceService;
 
-    public RecurrenceController(RecurrenceService recurrenceService) {
+    // Absent with response.cache.enabled=false
+    private final ResponseCacheComponent responseCache;
+
+    public RecurrenceController(RecurrenceService recurrenceService, @Nullable ResponseCacheComponent responseCache) {
         this.recurrenceService = recurrenceService;
+        this.responseCache = responseCache;
+    }
+
+    // Response cache key of a recurrence, and the tag its entry carries so that writes to its task drop it.
+    // Shared with ReactiveRecurrenceController and the task controllers.
+    static String recurrenceKey(String recurrenceId) {
+        return "recurrence/" + recurrenceId;
     }
 
-    // GET a specific recurrence by ID
+    static String taskTag(String taskId) {
+        return "task:" + taskId;
+    }
+
+    // GET a specific recurrence by ID, from the response cache, with an ETag
     @GetMapping("/{recurrenceId}")
-    public ResponseEntity<RecurrenceDto> getRecurrenceById(@PathVariable String recurrenceId) {
-        RecurrenceDto recurrence = recurrenceService.getRecurrenceById(recurrenceId);
-        return ResponseEntity.ok(recurrence);
+    public ResponseEntity<?> getRecurrenceById(@PathVariable String recurrenceId, @RequestHeader HttpHeaders headers) {
+        if (responseCache == null) {
+            return ResponseEntity.ok(recurrenceService.getRecurrenceById(recurrenceId));
+        }
+        ResponseCacheComponent.Entry cached = responseCache.get(recurrenceKey(recurrenceId));
+        if (cached == null) {
+            long before = responseCache.generation();
+            RecurrenceDto recurrence = recurrenceService.getRecurrenceById(recurrenceId);
+            cached = responseCache.put(recurrenceKey(recurrenceId), before, recurrence, taskTag(recurrence.getTaskId()));
+        }
+        return responseCache.respond(cached, headers);
     }
 
     // GET all recurrences for a specific task
@@ -42,7 +71,6 @@ public class RecurrenceController {
     // POST to create a new recurrence
     @PostMapping("/")
     public ResponseEntity<String> createRecurrence(@RequestBody RecurrenceDto recurrenceDto) {
-        System.out.println("Payload received in composite controller (createRecurrence): " + recurrenceDto);
         recurrenceService.createRecurrence(recurrenceDto);
         return ResponseEntity.status(201).body("Recurrence created successfully");
     }
@@ -51,6 +79,7 @@ public class RecurrenceController {
     @PutMapping("/{recurrenceId}")
     public ResponseEntity<String> updateRecurrence(@PathVariable String recurrenceId, @RequestBody RecurrenceDto recurrenceDto) {
         recurrenceService.updateRecurrence(recurrenceId, recurrenceDto);
+        invalidate(recurrenceId);
         return ResponseEntity.ok("Recurrence updated successfully");
     }
 
@@ -58,6 +87,13 @@ public class RecurrenceController {
     @DeleteMapping("/{recurrenceId}")
     public ResponseEntity<String> deleteRecurrence(@PathVariable String recurrenceId) {
         recurrenceService.deleteRecurrence(recurrenceId);
+        invalidate(recurrenceId);
         return ResponseEntity.ok("Recurrence deleted successfully");
     }
+
+    private void invalidate(String recurrenceId) {
+        if (responseCache != null) {
+            responseCache.invalidate(recurrenceKey(recurrenceId));
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.spm.manage_task.controller;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,29 +19,87 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.spm.manage_task.components.ResponseCacheComponent;
+import com.spm.manage_task.config.AsyncTimeoutConfig;
+import com.spm.manage_task.dto.CursorPage;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskBulkResultDto;
+import com.spm.manage_task.dto.TaskDetailDto;
 import com.spm.manage_task.dto.TaskDto;
 import com.spm.manage_task.dto.TaskPostRequestDto;
 import com.spm.manage_task.dto.TaskReminderDto;
+import com.spm.manage_task.services.TaskBulkService;
+import com.spm.manage_task.services.TaskDetailService;
+import com.spm.manage_task.services.TaskExportService;
 import com.spm.manage_task.services.TaskService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("api/task")
 public class TaskController {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskController.class);
+
     private final TaskService taskService;
+    private final TaskDetailService taskDetailService;
+    private final TaskExportService taskExportService;
+    private final TaskBulkService taskBulkService;
+
+    // Absent with response.cache.enabled=false
+    private final ResponseCacheComponent responseCache;
 
-    public TaskController(TaskService taskService) {
+    @Value("${task.export.timeout:30m}")
+    private Duration exportTimeout = Duration.ofMinutes(30);
+
+    public TaskController(TaskService taskService, TaskDetailService taskDetailService, TaskExportService taskExportService,
+                          TaskBulkService taskBulkService, @Nullable ResponseCacheComponent responseCache) {
         this.taskService = taskService;
+        this.taskDetailService = taskDetailService;
+        this.taskExportService = taskExportService;
+        this.taskBulkService = taskBulkService;
+        this.responseCache = responseCache;
     }
 
 
+    // GET all tasks; with ?limit= and/or ?after= one keyset page, next page's cursor in X-Next-Cursor
     @GetMapping("/")
-    public ResponseEntity<List<TaskDto>> getAllTasks(){
-        List<TaskDto> respBody = taskService.getAllTasks();
-        return ResponseEntity.ok(respBody);
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String after){
+        if (limit == null && after == null) {
+            // Unpaged, as existing clients expect
+            List<TaskDto> respBody = taskService.getAllTasks();
+            return ResponseEntity.ok(respBody);
+        }
+
+        try {
+            CursorPage<TaskDto> page = taskService.getTaskPage(limit == null ? CursorPage.DEFAULT_LIMIT : limit, after);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // GET every task as NDJSON (one task per line), streamed so memory doesn't grow with the task count.
+    // The stream may outlast the container's async timeout, so it gets task.export.timeout instead
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(HttpServletRequest request) {
+        request.setAttribute(AsyncTimeoutConfig.TIMEOUT_ATTRIBUTE, exportTimeout.toMillis());
+        StreamingResponseBody body = taskExportService::streamAllTasks;
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     // GET based on user id
@@ -44,6 +109,13 @@ public class TaskController {
         return ResponseEntity.ok(respBody);
     }
 
+    // GET tasks of a project
+    @GetMapping("/project/{projectId}")
+    public ResponseEntity<List<TaskDto>> getProjectTasks(@PathVariable String projectId) {
+        List<TaskDto> respBody = taskService.getProjectTasks(projectId);
+        return ResponseEntity.ok(respBody);
+    }
+
     // POST for task
     @PostMapping("/new")
     public ResponseEntity<String> createTask(@RequestBody TaskPostRequestDto taskReq) {
@@ -51,15 +123,19 @@ public class TaskController {
             taskService.createTask(taskReq);
             return ResponseEntity.status(200).body("Task created successfully");
         } catch (RuntimeException e) {
-            if (e.getMessage().contains("Task creation failed")) {
-                // Return a proper JSON response
-                return ResponseEntity.status(400)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(e.getMessage().replace("Task creation failed: ", ""));
-            }
-            return ResponseEntity.status(500)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body("{\"error\": \"An unexpected error occurred: " + e.getMessage() + "\"}");
+            return upsertFailure(e, "Task creation failed");
+        }
+    }
+
+    // POST many creates, updates and deletes at once; 200 when all applied, 207 with per-operation results otherwise
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkTasks(@RequestBody TaskBulkRequestDto request) {
+        try {
+            TaskBulkResultDto result = taskBulkService.apply(request);
+            invalidateRecurrences(responseCache, request);
+            return ResponseEntity.status(result.failed() == 0 ? 200 : 207).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
@@ -70,24 +146,37 @@ public class TaskController {
         return ResponseEntity.ok(task);
     }
     
+    // GET task, subtasks, recurrences and (if userId is given) the user's reminder in one call
+    @GetMapping("/{taskId}/full")
+    public ResponseEntity<TaskDetailDto> getTaskDetail(@PathVariable String taskId,
+                                                       @RequestParam(required = false) String userId) {
+        TaskDetailDto detail = taskDetailService.getTaskDetail(taskId, userId);
+        return ResponseEntity.ok(detail);
+    }
+
     // PUT route to update a task (based on task id)
     @PutMapping("/edit/{taskId}")
     public ResponseEntity<String> updateTask(@PathVariable String taskId, @RequestBody TaskPostRequestDto updatedTask) {
         try {
             taskService.updateTask(taskId, updatedTask);
+            invalidateRecurrences(taskId);
             return ResponseEntity.status(200).body("Task updated successfully");
         } catch (RuntimeException e) {
-            if (e.getMessage().contains("Task update failed")) {
-                // Extract the error message and return it as a proper JSON response
-                String errorMessage = e.getMessage().replace("Task update failed: ", "");
-                return ResponseEntity.status(400)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(errorMessage); // Directly return the error message
-            }
-            return ResponseEntity.status(500)
+            return upsertFailure(e, "Task update failed");
+        }
+    }
+
+    // A rejection from the atomic service (message containing failurePrefix) is a 400 carrying its
+    // message; anything else is a 500. Shared with ReactiveTaskController.
+    static ResponseEntity<String> upsertFailure(RuntimeException e, String failurePrefix) {
+        if (e.getMessage().contains(failurePrefix)) {
+            return ResponseEntity.status(400)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body("{\"error\": \"An unexpected error occurred: " + e.getMessage() + "\"}");
+                .body(e.getMessage().replace(failurePrefix + ": ", ""));
         }
+        return ResponseEntity.status(500)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"error\": \"An unexpected error occurred: " + e.getMessage() + "\"}");
     }
 
     // GET subtasks related to current task id
@@ -124,8 +213,7 @@ public class TaskController {
                     "deadline_reminder", reminders
             ));
         } catch (Exception e) {
-            // log the full exception to see why 500 occurs
-            e.printStackTrace();
+            log.error("Failed to update deadline reminder for task {}", taskId, e);
             return ResponseEntity.status(500).body(Map.of(
                     "error", "Failed to update deadline reminder",
                     "details", e.getMessage()
@@ -139,10 +227,33 @@ public class TaskController {
     public ResponseEntity<String> deleteTask(@PathVariable String taskId) {
         try {
             taskService.deleteTask(taskId);
+            invalidateRecurrences(taskId);
             return ResponseEntity.ok("Task deleted successfully");
+        } catch (HttpClientErrorException.NotFound e) {
+            // Lets a caller deleting in bulk, e.g. organise-project's delete-project job, tell "already gone"
+            return ResponseEntity.status(404).body("Task not found: " + taskId);
         } catch (RuntimeException e) {
             return ResponseEntity.status(500).body("Failed to delete task: " + e.getMessage());
         }
     }
+
+    // A task's recurrences are cached tagged with it (see RecurrenceController); drop them after it is written
+    private void invalidateRecurrences(String taskId) {
+        if (responseCache != null) {
+            responseCache.invalidateTagged(RecurrenceController.taskTag(taskId));
+        }
+    }
+
+    // Shared with ReactiveTaskController
+    static void invalidateRecurrences(ResponseCacheComponent responseCache, TaskBulkRequestDto request) {
+        if (responseCache == null) {
+            return;
+        }
+        for (TaskBulkRequestDto.Operation operation : request.operations()) {
+            if (operation != null && operation.taskId() != null) {
+                responseCache.invalidateTagged(RecurrenceController.taskTag(operation.taskId()));
+            }
+        }
+    }
     
 }
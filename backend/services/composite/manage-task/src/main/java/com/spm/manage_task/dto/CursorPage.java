@@ -0,0 +1,51 @@
+package com.spm.manage_task.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * The cursor handed to clients is opaque (base64url of a versioned last-seen id) so the ordering key
+ * can change later without breaking clients that only pass it back.
+ *
+ * @param items      the rows on this page
+ * @param nextCursor cursor for the following page, or null when this is the last one
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String VERSION = "v1:";
+
+    public static String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns the last-seen id, or null for the first page; throws IllegalArgumentException on a malformed cursor
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!decoded.startsWith(VERSION) || decoded.length() == VERSION.length()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return decoded.substring(VERSION.length());
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
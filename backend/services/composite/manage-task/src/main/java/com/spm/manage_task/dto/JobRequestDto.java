@@ -0,0 +1,15 @@
+package com.spm.manage_task.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of POST api/task/jobs.
+ *
+ * @param type   the job to run, e.g. "reassign-owner"
+ * @param params its parameters, e.g. from_owner and to_owner
+ */
+public record JobRequestDto(@JsonProperty("type") String type,
+                            @JsonProperty("params") Map<String, String> params) {
+}
@@ -0,0 +1,25 @@
+package com.spm.manage_task.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of POST api/task/bulk: task creates, updates and deletes to apply in one request.
+ *
+ * @param operations the operations; results come back in the same order
+ */
+public record TaskBulkRequestDto(@JsonProperty("operations") List<Operation> operations) {
+
+    /**
+     * One operation.
+     *
+     * @param op     "create", "update" or "delete"
+     * @param taskId the task to update or delete; unused for a create
+     * @param task   the task's fields for a create or update, as in POST api/task/new
+     */
+    public record Operation(@JsonProperty("op") String op,
+                            @JsonProperty("task_id") String taskId,
+                            @JsonProperty("task") TaskPostRequestDto task) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.spm.manage_task.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Response of POST api/task/bulk. Operations succeed or fail one by one; a failed one doesn't undo or
+ * stop the others.
+ *
+ * @param succeeded operations applied
+ * @param failed    operations rejected up front or by the task service
+ * @param results   one entry per operation, in request order
+ */
+public record TaskBulkResultDto(@JsonProperty("succeeded") int succeeded,
+                                @JsonProperty("failed") int failed,
+                                @JsonProperty("results") List<Item> results) {
+
+    public static TaskBulkResultDto of(List<Item> results) {
+        int succeeded = (int) results.stream().filter(Item::ok).count();
+        return new TaskBulkResultDto(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * Outcome of one operation.
+     *
+     * @param index  position of the operation in the request
+     * @param status HTTP status the operation would have got on its own: 200 when applied, 400 when invalid,
+     *               otherwise what the task service answered (502 unreachable, 503 shed, 504 out of time)
+     * @param error  why it failed; absent on success
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(@JsonProperty("index") int index,
+                       @JsonProperty("op") String op,
+                       @JsonProperty("task_id") String taskId,
+                       @JsonProperty("status") int status,
+                       @JsonProperty("error") String error) {
+
+        public boolean ok() {
+            return status == 200;
+        }
+    }
+}
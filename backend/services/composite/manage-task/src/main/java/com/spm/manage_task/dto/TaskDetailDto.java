@@ -0,0 +1,68 @@
+package com.spm.manage_task.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Everything the task detail page needs in one document. Sections that failed or missed the deadline
+// are left empty and named in "errors" so the page can still render the rest.
+public class TaskDetailDto {
+    @JsonProperty("task")
+    private TaskDto task;
+
+    @JsonProperty("subtasks")
+    private List<TaskDto> subtasks = List.of();
+
+    @JsonProperty("recurrences")
+    private List<RecurrenceDto> recurrences = List.of();
+
+    @JsonProperty("reminder")
+    private TaskReminderDto reminder;
+
+    @JsonProperty("errors")
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    public TaskDetailDto() {}
+
+    public TaskDto getTask() {
+        return task;
+    }
+
+    public void setTask(TaskDto task) {
+        this.task = task;
+    }
+
+    public List<TaskDto> getSubtasks() {
+        return subtasks;
+    }
+
+    public void setSubtasks(List<TaskDto> subtasks) {
+        this.subtasks = subtasks;
+    }
+
+    public List<RecurrenceDto> getRecurrences() {
+        return recurrences;
+    }
+
+    public void setRecurrences(List<RecurrenceDto> recurrences) {
+        this.recurrences = recurrences;
+    }
+
+    public TaskReminderDto getReminder() {
+        return reminder;
+    }
+
+    public void setReminder(TaskReminderDto reminder) {
+        this.reminder = reminder;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void addError(String section, String message) {
+        this.errors.put(section, message);
+    }
+}
@@ -1,6 +1,14 @@
 package com.spm.manage_task.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -9,7 +17,11 @@ import com.spm.manage_task.dto.UserDto;
 
 @Service
 public class ProfileService {
-    private final String profileUrl = "http://profile:3030/user";
+    @Value("${profile.base.url:http://profile:3030}/user")
+    private String profileUrl = "http://profile:3030/user";
+
+    // Upper bound on ids per bulk request so a huge listing doesn't turn into one giant IN (...) query
+    static final int BULK_CHUNK_SIZE = 200;
 
     @Autowired
     private RestTemplate restTemplate;
@@ -18,4 +30,34 @@ public class ProfileService {
         ResponseEntity<UserDto> responseEntity = restTemplate.getForEntity(profileUrl + "/" + userId, UserDto.class);
         return responseEntity.getBody();
     }
+
+    // Resolve many users with one POST /user/bulk per chunk; ids the profile service doesn't know are left out of the map
+    public Map<String, UserDto> getUsersByIds(Collection<String> userIds) {
+        Map<String, UserDto> users = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return users;
+        }
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+
+            ResponseEntity<UserDto[]> responseEntity = restTemplate.postForEntity(
+                profileUrl + "/bulk",
+                Map.of("ids", chunk),
+                UserDto[].class
+            );
+
+            UserDto[] body = responseEntity.getBody();
+            if (body == null) {
+                continue;
+            }
+            for (UserDto user : body) {
+                if (user != null && user.getUserId() != null) {
+                    users.put(user.getUserId(), user);
+                }
+            }
+        }
+        return users;
+    }
 }
@@ -0,0 +1,84 @@
+package com.spm.manage_task.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.dto.UserDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProfileService} behind the same {@link ProfileCacheComponent}:
+ * cached profiles are used as they are and only the misses go to profile:3030, as bulk requests of at
+ * most {@link ProfileService#BULK_CHUNK_SIZE} ids with no more than {@code reactive.profile-concurrency}
+ * of them in flight at once.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveProfileService {
+
+    private final WebClient webClient;
+    private final ProfileCacheComponent profileCache;
+    private final String profileUrl;
+    private final int concurrency;
+
+    public ReactiveProfileService(WebClient webClient, ProfileCacheComponent profileCache,
+                                  @Value("${profile.base.url:http://profile:3030}") String profileBaseUrl,
+                                  @Value("${reactive.profile-concurrency:4}") int concurrency) {
+        this.webClient = webClient;
+        this.profileCache = profileCache;
+        this.profileUrl = profileBaseUrl + "/user";
+        this.concurrency = concurrency;
+    }
+
+    // Ids the profile service doesn't know are left out of the map
+    public Mono<Map<String, UserDto>> getUsersByIds(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(userIds);
+        Map<String, UserDto> users = new HashMap<>(profileCache.getPresent(distinctIds));
+        List<String> missing = new ArrayList<>(distinctIds);
+        missing.removeAll(users.keySet());
+        if (missing.isEmpty()) {
+            return Mono.just(users);
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < missing.size(); from += ProfileService.BULK_CHUNK_SIZE) {
+            chunks.add(missing.subList(from, Math.min(from + ProfileService.BULK_CHUNK_SIZE, missing.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+            .flatMap(this::fetchChunk, concurrency)
+            .filter(user -> user.getUserId() != null)
+            .collectMap(UserDto::getUserId)
+            .map(loaded -> {
+                profileCache.putAll(loaded);
+                users.putAll(loaded);
+                return users;
+            });
+    }
+
+    private Flux<UserDto> fetchChunk(List<String> chunk) {
+        return webClient.post()
+            .uri(profileUrl + "/bulk")
+            .bodyValue(Map.of("ids", chunk))
+            .retrieve()
+            .bodyToFlux(UserDto.class);
+    }
+}
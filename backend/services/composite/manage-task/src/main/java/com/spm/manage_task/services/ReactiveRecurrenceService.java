@@ -0,0 +1,91 @@
+package com.spm.manage_task.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.factory.Recurrence;
+
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of RecurrenceService for the reactive mode, with the same results and errors
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveRecurrenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRecurrenceService.class);
+
+    @Value("${task.base.url:http://task:3031}/recurrence")
+    private String recurrenceUrl = "http://task:3031/recurrence";
+
+    @Autowired
+    private WebClient webClient;
+
+    // Get a specific recurrence by ID
+    public Mono<RecurrenceDto> getRecurrenceById(String recurrenceId) {
+        return webClient.get()
+            .uri(recurrenceUrl + "/{recurrenceId}", recurrenceId)
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Recurrence not found for ID: " + recurrenceId)))
+            .map(Recurrence::fromAtomicResponse);
+    }
+
+    // Get all recurrences for a specific task
+    public Mono<List<RecurrenceDto>> getRecurrencesByTaskId(String taskId) {
+        return webClient.get()
+            .uri(recurrenceUrl + "/task/{taskId}", taskId)
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
+            .filter(response -> !response.isEmpty())
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "No recurrences found for task ID: " + taskId)))
+            .map(response -> response.stream().map(Recurrence::fromAtomicResponse).toList());
+    }
+
+    // Create a new recurrence
+    public Mono<Void> createRecurrence(RecurrenceDto recurrenceDto) {
+        log.debug("Creating recurrence for task {}", recurrenceDto.getTaskId());
+
+        return webClient.post()
+            .uri(recurrenceUrl)
+            .bodyValue(recurrenceDto)
+            .retrieve()
+            .toBodilessEntity()
+            .then();
+    }
+
+    // Update an existing recurrence
+    public Mono<Void> updateRecurrence(String recurrenceId, RecurrenceDto recurrenceDto) {
+        log.debug("Updating recurrence {}", recurrenceId);
+
+        recurrenceDto.setId(recurrenceId);
+        return webClient.put()
+            .uri(recurrenceUrl + "/{recurrenceId}", recurrenceId)
+            .bodyValue(recurrenceDto)
+            .retrieve()
+            .toBodilessEntity()
+            .then();
+    }
+
+    // Delete a recurrence by ID
+    public Mono<Void> deleteRecurrence(String recurrenceId) {
+        return webClient.delete()
+            .uri(recurrenceUrl + "/{recurrenceId}", recurrenceId)
+            .retrieve()
+            .toBodilessEntity()
+            .then();
+    }
+}
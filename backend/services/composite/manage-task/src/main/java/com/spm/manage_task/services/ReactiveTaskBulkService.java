@@ -0,0 +1,61 @@
+package com.spm.manage_task.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import com.spm.manage_task.config.TaskBulkProperties;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskBulkRequestDto.Operation;
+import com.spm.manage_task.dto.TaskBulkResultDto;
+import com.spm.manage_task.dto.TaskBulkResultDto.Item;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TaskBulkService}, with the same validation, ordering and results,
+ * and the same {@link TaskWriteBatch} sent once all operations are done. Sequences are subscribed to
+ * {@code task.bulk.concurrency} at a time per request instead of through a shared executor.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTaskBulkService {
+
+    private final ReactiveTaskService taskService;
+    private final TaskBulkProperties props;
+
+    public ReactiveTaskBulkService(ReactiveTaskService taskService, TaskBulkProperties props) {
+        this.taskService = taskService;
+        this.props = props;
+    }
+
+    public Mono<TaskBulkResultDto> apply(TaskBulkRequestDto request) {
+        return Mono.fromCallable(() -> TaskBulkService.operations(request, props.maxOperations()))
+            .flatMap(operations -> {
+                Item[] results = TaskBulkService.validate(operations);
+                TaskWriteBatch batch = new TaskWriteBatch();
+                return Flux.fromIterable(TaskBulkService.sequences(operations, results))
+                    .flatMap(sequence -> Flux.fromIterable(sequence)
+                        .concatMap(index -> run(index, operations.get(index), batch)), props.concurrency())
+                    .doOnNext(item -> results[item.index()] = item)
+                    .doFinally(signal -> taskService.flush(batch))
+                    .then(Mono.fromSupplier(() -> TaskBulkResultDto.of(Arrays.asList(results))));
+            });
+    }
+
+    private Mono<Item> run(int index, Operation operation, TaskWriteBatch batch) {
+        String op = TaskBulkService.op(operation);
+        Mono<Void> call = switch (op) {
+            case "create" -> taskService.createTask(operation.task(), batch);
+            case "update" -> taskService.updateTask(operation.taskId(), operation.task(), batch);
+            default -> taskService.deleteTask(operation.taskId(), batch);
+        };
+        return call
+            .then(Mono.fromSupplier(() -> new Item(index, op, operation.taskId(), 200, null)))
+            .onErrorResume(e -> Mono.just(TaskBulkService.failure(index, operation, e)));
+    }
+}
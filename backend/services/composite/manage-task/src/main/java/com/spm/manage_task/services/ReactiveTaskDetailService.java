@@ -0,0 +1,91 @@
+package com.spm.manage_task.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import com.spm.manage_task.config.FanOutProperties;
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.dto.TaskDetailDto;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskReminderDto;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TaskDetailService}: the four lookups are subscribed to together
+ * and the page is assembled when the last one settles, with no fan-out threads involved. The task is
+ * required; the other sections are best effort and reported under "errors" when they fail or are still
+ * running at {@code fan-out.deadline}.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTaskDetailService {
+
+    private final ReactiveTaskService taskService;
+    private final ReactiveRecurrenceService recurrenceService;
+    private final Duration deadline;
+
+    public ReactiveTaskDetailService(ReactiveTaskService taskService, ReactiveRecurrenceService recurrenceService,
+                                     FanOutProperties props) {
+        this.taskService = taskService;
+        this.recurrenceService = recurrenceService;
+        this.deadline = props.deadline();
+    }
+
+    // A best-effort section's value (possibly null), or why it is missing
+    private record Section<T>(T value, String error) {
+    }
+
+    public Mono<TaskDetailDto> getTaskDetail(String taskId, String userId) {
+        // All four start on subscription, so each timeout runs from the same moment
+        Mono<TaskDto> task = taskService.getTaskByIdWithOwner(taskId)
+            .timeout(deadline, Mono.error(() -> new RuntimeException("Timed out loading task ID: " + taskId)));
+        Mono<Section<List<TaskDto>>> subtasks = optional(taskService.getSubTaskByTaskId(taskId));
+        Mono<Section<List<RecurrenceDto>>> recurrences = optional(recurrencesOrEmpty(taskId));
+        Mono<Section<TaskReminderDto>> reminder = userId == null
+            ? Mono.just(new Section<>(null, null))
+            : optional(reminderOrEmpty(taskId, userId));
+
+        // A failed task cancels the sections still running
+        return Mono.zip(task, subtasks, recurrences, reminder).map(sections -> {
+            TaskDetailDto detail = new TaskDetailDto();
+            detail.setTask(sections.getT1());
+            apply(TaskDetailService.SUBTASKS, sections.getT2(), detail, detail::setSubtasks);
+            apply(TaskDetailService.RECURRENCES, sections.getT3(), detail, detail::setRecurrences);
+            apply(TaskDetailService.REMINDER, sections.getT4(), detail, detail::setReminder);
+            return detail;
+        });
+    }
+
+    private <T> Mono<Section<T>> optional(Mono<T> call) {
+        return call.map(value -> new Section<T>(value, null))
+            .timeout(deadline, Mono.just(new Section<>(null, "timed out")))
+            .onErrorResume(e -> Mono.just(new Section<>(null,
+                e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage())))
+            .defaultIfEmpty(new Section<>(null, null));
+    }
+
+    private static <T> void apply(String name, Section<T> section, TaskDetailDto detail, Consumer<T> setter) {
+        if (section.error() != null) {
+            detail.addError(name, section.error());
+        } else if (section.value() != null) {
+            setter.accept(section.value());
+        }
+    }
+
+    // As in TaskDetailService, "no recurrences" is an empty list here rather than an error
+    private Mono<List<RecurrenceDto>> recurrencesOrEmpty(String taskId) {
+        return recurrenceService.getRecurrencesByTaskId(taskId)
+            .onErrorResume(TaskDetailService::notFound, e -> Mono.just(List.of()));
+    }
+
+    private Mono<TaskReminderDto> reminderOrEmpty(String taskId, String userId) {
+        return taskService.getTaskDeadlineReminder(taskId, userId)
+            .onErrorResume(TaskDetailService::notFound, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,335 @@
+package com.spm.manage_task.services;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.components.TaskCacheInvalidationBroadcaster;
+import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.components.TaskReadModel;
+import com.spm.manage_task.dto.CursorPage;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+import com.spm.manage_task.dto.TaskReminderDto;
+import com.spm.manage_task.dto.UserDto;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+import com.spm.manage_task.factory.TaskMicroserviceUpsertRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link TaskService} for the reactive mode, with the same results and
+ * errors. It shares the task cache and read model with the servlet stack; owners are resolved through
+ * {@link ReactiveProfileService}, one bulk lookup per listing.
+ *
+ * {@link TaskChangePublisher} and the cache invalidation broadcast still block, so they run on the
+ * bounded elastic scheduler after the write has been answered; both were best effort already.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveTaskService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTaskService.class);
+
+    private static final TaskMicroserviceResponse[] NO_TASKS = new TaskMicroserviceResponse[0];
+
+    @Value("${task.base.url:http://task:3031}/task")
+    private String taskUrl = "http://task:3031/task";
+
+    @Value("${task.export.batch-size:200}")
+    private int exportBatchSize = 200;
+
+    @Value("${reactive.profile-concurrency:4}")
+    private int exportConcurrency = 4;
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private TaskDTOWrapperComponent taskDTOWrapper;
+
+    @Autowired
+    private ReactiveProfileService profileService;
+
+    @Autowired(required = false)
+    private TaskReadModel taskReadModel;
+
+    @Autowired(required = false)
+    private TaskChangePublisher taskChangePublisher;
+
+    @Autowired(required = false)
+    private TaskCacheComponent taskCache;
+
+    @Autowired(required = false)
+    private TaskCacheInvalidationBroadcaster taskCacheBroadcaster;
+
+    // The local cache at once, so the writer's next read sees the write; the broadcast goes through
+    // KafkaTemplate.send, which can block on metadata, so it leaves the event loop like publishChange
+    private void invalidateCache(Function<TaskCacheComponent, TaskCacheComponent.Invalidation> change,
+                                 TaskWriteBatch batch) {
+        if (taskCache == null) {
+            return;
+        }
+        TaskCacheComponent.Invalidation invalidation = change.apply(taskCache);
+        if (batch != null) {
+            batch.invalidated(invalidation);
+        } else if (taskCacheBroadcaster != null) {
+            Mono.fromRunnable(() -> taskCacheBroadcaster.publish(invalidation))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("Broadcasting a task cache invalidation failed", e));
+        }
+    }
+
+    // Same as TaskService.flush, off the event loop like publishChange
+    void flush(TaskWriteBatch batch) {
+        TaskCacheComponent.Invalidation invalidation = batch.invalidation();
+        Mono.fromRunnable(() -> {
+            if (invalidation != null && taskCacheBroadcaster != null) {
+                taskCacheBroadcaster.publish(invalidation);
+            }
+            if (taskChangePublisher != null) {
+                batch.publishTo(taskChangePublisher);
+            }
+        })
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(null, e -> log.warn("Publishing the changes of a bulk request failed", e));
+    }
+
+    private void publishChange(Consumer<TaskChangePublisher> publish) {
+        if (taskChangePublisher == null) {
+            return;
+        }
+        Mono.fromRunnable(() -> publish.accept(taskChangePublisher))
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(null, e -> log.warn("Publishing a task change failed", e));
+    }
+
+    // From the local read model when it is enabled and loaded, otherwise from task:3031
+    private Mono<TaskMicroserviceResponse[]> readLocallyOr(Function<TaskReadModel, Optional<TaskMicroserviceResponse[]>> local,
+                                                           Mono<TaskMicroserviceResponse[]> remote) {
+        return Mono.defer(() -> {
+            if (taskReadModel != null) {
+                Optional<TaskMicroserviceResponse[]> rows = local.apply(taskReadModel);
+                if (rows.isPresent()) {
+                    return Mono.just(rows.get());
+                }
+            }
+            return remote;
+        });
+    }
+
+    private Mono<TaskMicroserviceResponse[]> getTaskRows(String uriTemplate, Object... uriVariables) {
+        return webClient.get()
+            .uri(taskUrl + uriTemplate, uriVariables)
+            .retrieve()
+            .bodyToMono(TaskMicroserviceResponse[].class)
+            .defaultIfEmpty(NO_TASKS);
+    }
+
+    // Owners of the whole list are resolved in one bulk lookup; if that fails they show as "Unknown"
+    Mono<List<TaskDto>> toTaskDtoList(TaskMicroserviceResponse[] rawTasks) {
+        List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoListWithoutOwners(rawTasks);
+        Set<String> ownerIds = taskDTOWrapper.ownerIds(taskDtos);
+        Mono<Map<String, UserDto>> owners = ownerIds.isEmpty()
+            ? Mono.just(Map.of())
+            : profileService.getUsersByIds(ownerIds).onErrorResume(e -> {
+                log.debug("Owner lookup failed, showing owners as Unknown: {}", e.toString());
+                return Mono.just(Map.of());
+            });
+        return owners.map(found -> {
+            taskDTOWrapper.applyOwners(taskDtos, found);
+            return taskDtos;
+        });
+    }
+
+    public Mono<List<TaskDto>> getAllTasks() {
+        return getTaskRows("/").flatMap(this::toTaskDtoList);
+    }
+
+    // One keyset page of all tasks; see TaskService#getTaskPage
+    public Mono<CursorPage<TaskDto>> getTaskPage(int limit, String cursor) {
+        return Mono.defer(() -> {
+            CursorPage.checkLimit(limit);
+            String after = CursorPage.decodeCursor(cursor);
+            return getTaskRows("/?limit={limit}&after={after}", limit + 1, after == null ? "" : after);
+        }).flatMap(rawTasks -> {
+            boolean hasMore = rawTasks.length > limit;
+            TaskMicroserviceResponse[] pageRows = hasMore ? Arrays.copyOf(rawTasks, limit) : rawTasks;
+            String nextCursor = hasMore ? CursorPage.encodeCursor(pageRows[limit - 1].getTaskId()) : null;
+            return toTaskDtoList(pageRows).map(taskDtos -> new CursorPage<>(taskDtos, nextCursor));
+        });
+    }
+
+    // Every task, read from task:3031 as it arrives and enriched in batches; a few batches are looked up
+    // at once, but tasks come out in task:3031's order
+    public Flux<TaskDto> exportTasks() {
+        return webClient.get()
+            .uri(taskUrl + "/")
+            .accept(MediaType.APPLICATION_JSON)
+            .retrieve()
+            .bodyToFlux(TaskMicroserviceResponse.class)
+            .buffer(exportBatchSize)
+            .flatMapSequential(batch -> toTaskDtoList(batch.toArray(NO_TASKS)), exportConcurrency)
+            .flatMapIterable(Function.identity());
+    }
+
+    public Mono<List<TaskDto>> getUserTask(String userId) {
+        Mono<List<TaskDto>> loader = readLocallyOr(
+            readModel -> readModel.tasksOfUser(userId),
+            getTaskRows("/users/{userId}", userId)
+        ).flatMap(this::toTaskDtoList);
+        return taskCache == null ? loader : taskCache.getUserTasks(userId, loader);
+    }
+
+    public Mono<List<TaskDto>> getProjectTasks(String projectId) {
+        return readLocallyOr(
+            readModel -> readModel.tasksOfProject(projectId),
+            getTaskRows("/project/{projectId}", projectId)
+        ).flatMap(this::toTaskDtoList);
+    }
+
+    public Mono<TaskDto> getTaskByIdWithOwner(String taskId) {
+        Mono<TaskDto> loader = webClient.get()
+            .uri(taskUrl + "/{taskId}", taskId)
+            .retrieve()
+            .bodyToMono(TaskMicroserviceResponse.class)
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Task not found for ID: " + taskId)))
+            .flatMap(rawTask -> toTaskDtoList(new TaskMicroserviceResponse[] { rawTask }))
+            .map(taskDtos -> taskDtos.get(0));
+        return taskCache == null ? loader : taskCache.getTask(taskId, loader);
+    }
+
+    public Mono<List<TaskDto>> getSubTaskByTaskId(String taskId) {
+        Mono<List<TaskDto>> loader = readLocallyOr(
+            readModel -> readModel.subtasksOf(taskId),
+            getTaskRows("/{taskId}/subtasks", taskId)
+        ).flatMap(this::toTaskDtoList);
+        return taskCache == null ? loader : taskCache.getSubtasks(taskId, loader);
+    }
+
+    public Mono<Void> createTask(TaskPostRequestDto newTaskBody) {
+        return createTask(newTaskBody, null);
+    }
+
+    Mono<Void> createTask(TaskPostRequestDto newTaskBody, TaskWriteBatch batch) {
+        TaskMicroserviceUpsertRequest upsertRequest = taskDTOWrapper.toTaskMicroserviceUpsert(newTaskBody);
+
+        return webClient.post()
+            .uri(taskUrl + "/")
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(upsertRequest)
+            .retrieve()
+            .toBodilessEntity()
+            .onErrorMap(WebClientResponseException.BadRequest.class,
+                e -> atomicServiceError(e.getResponseBodyAsString(), "Task creation failed: "))
+            .doOnSuccess(response -> {
+                invalidateCache(cache -> cache.afterCreate(newTaskBody), batch);
+                if (batch != null) {
+                    batch.created(newTaskBody.getTaskOwner());
+                } else {
+                    publishChange(publisher -> publisher.taskCreated(newTaskBody.getTaskOwner()));
+                }
+            })
+            .then();
+    }
+
+    public Mono<Void> updateTask(String taskId, TaskPostRequestDto updatedTask) {
+        return updateTask(taskId, updatedTask, null);
+    }
+
+    Mono<Void> updateTask(String taskId, TaskPostRequestDto updatedTask, TaskWriteBatch batch) {
+        TaskMicroserviceUpsertRequest upsertRequest = taskDTOWrapper.toTaskMicroserviceUpsert(updatedTask);
+
+        return webClient.put()
+            .uri(taskUrl + "/{taskId}", taskId)
+            .accept(MediaType.APPLICATION_JSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(upsertRequest)
+            .retrieve()
+            .toBodilessEntity()
+            .onErrorMap(WebClientResponseException.BadRequest.class,
+                e -> atomicServiceError(e.getResponseBodyAsString(), "Task update failed: "))
+            .doOnSuccess(response -> {
+                invalidateCache(cache -> cache.afterUpdate(taskId, updatedTask), batch);
+                if (batch != null) {
+                    batch.updated(taskId);
+                } else {
+                    publishChange(publisher -> publisher.taskUpdated(taskId));
+                }
+            })
+            .then();
+    }
+
+    // Same as TaskService: the atomic service's "error" field if it has one, otherwise the whole body
+    private static TaskRejectedException atomicServiceError(String responseBody, String fallbackPrefix) {
+        try {
+            JsonNode jsonNode = new ObjectMapper().readTree(responseBody);
+            return new TaskRejectedException(jsonNode.get("error").asText());
+        } catch (Exception parseException) {
+            return new TaskRejectedException(fallbackPrefix + responseBody);
+        }
+    }
+
+    public Mono<TaskReminderDto> getTaskDeadlineReminder(String taskId, String userId) {
+        return webClient.get()
+            .uri(taskUrl + "/{taskId}/deadline-reminder/{userId}", taskId, userId)
+            .retrieve()
+            .bodyToMono(TaskReminderDto.class)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Deadline reminder not found for task ID: " + taskId)));
+    }
+
+    public Mono<TaskReminderDto> setTaskDeadlineReminder(String taskId, String userId, List<Integer> reminders) {
+        return webClient.post()
+            .uri(taskUrl + "/{taskId}/deadline-reminder/{userId}", taskId, userId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("deadline_reminder", reminders))
+            .retrieve()
+            .bodyToMono(TaskReminderDto.class)
+            .onErrorMap(WebClientResponseException.class,
+                e -> new RuntimeException("Error updating deadline reminder via atomic service", e))
+            .switchIfEmpty(Mono.error(() -> new RuntimeException("Atomic service returned null when updating deadline reminder")));
+    }
+
+    public Mono<Void> deleteTask(String taskId) {
+        return deleteTask(taskId, null);
+    }
+
+    Mono<Void> deleteTask(String taskId, TaskWriteBatch batch) {
+        return webClient.delete()
+            .uri(taskUrl + "/{taskId}", taskId)
+            .retrieve()
+            .toBodilessEntity()
+            .doOnSuccess(response -> {
+                invalidateCache(cache -> cache.afterDelete(taskId), batch);
+                if (batch != null) {
+                    batch.deleted(taskId);
+                } else {
+                    publishChange(publisher -> publisher.taskDeleted(taskId));
+                }
+            })
+            .then();
+    }
+}
@@ -0,0 +1,71 @@
+package com.spm.manage_task.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.spm.jobs.JobHandler;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+
+/**
+ * Job "reassign-owner": hands every task owned by {@code from_owner} to {@code to_owner}, e.g. when
+ * someone leaves. The new owner stops being a collaborator of those tasks. A task whose owner has
+ * changed since the job started, or that was already handed over before a restart, is left alone.
+ */
+@Component
+public class ReassignOwnerJob implements JobHandler {
+
+    static final String FROM = "from_owner";
+    static final String TO = "to_owner";
+
+    private final TaskService taskService;
+
+    public ReassignOwnerJob(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @Override
+    public String type() {
+        return "reassign-owner";
+    }
+
+    @Override
+    public void validate(Map<String, String> params) {
+        String from = params.get(FROM);
+        String to = params.get(TO);
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new IllegalArgumentException(FROM + " and " + TO + " are required");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException(FROM + " and " + TO + " must differ");
+        }
+    }
+
+    @Override
+    public List<String> items(Map<String, String> params) {
+        String from = params.get(FROM);
+        return taskService.getUserTask(from).stream()
+            .filter(task -> from.equals(task.getTaskOwner()))
+            .map(TaskDto::getTaskId)
+            .toList();
+    }
+
+    @Override
+    public void process(Map<String, String> params, String taskId) {
+        TaskDto task = taskService.getTaskByIdWithOwner(taskId);
+        if (!params.get(FROM).equals(task.getTaskOwner())) {
+            return;
+        }
+        String to = params.get(TO);
+        ArrayList<String> collaborators = new ArrayList<>(task.getTaskCollaborators() == null
+            ? List.of()
+            : task.getTaskCollaborators());
+        collaborators.remove(to);
+        taskService.updateTask(taskId, new TaskPostRequestDto(task.getTaskTitle(), task.getTaskDeadline(),
+            task.getTaskProjectId(), task.getTaskDescription(), task.getTaskStatus(), collaborators, to,
+            task.getTaskParent(), task.getTaskPriority()));
+    }
+}
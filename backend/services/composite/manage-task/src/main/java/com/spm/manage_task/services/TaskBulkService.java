@@ -0,0 +1,227 @@
+package com.spm.manage_task.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.spm.manage_task.config.DeadlineExceededException;
+import com.spm.manage_task.config.DownstreamRejectedException;
+import com.spm.manage_task.config.TaskBulkProperties;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskBulkRequestDto.Operation;
+import com.spm.manage_task.dto.TaskBulkResultDto;
+import com.spm.manage_task.dto.TaskBulkResultDto.Item;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+
+/**
+ * Applies the operations of POST api/task/bulk through {@link TaskService}. Each write invalidates the
+ * local cache as a single call would; the broadcast to other replicas and the change events are collected
+ * in a {@link TaskWriteBatch} and sent once all operations are done.
+ *
+ * Every operation is checked first and an invalid one is answered 400 without calling task:3031. The
+ * rest run on the bulk executor; a permit shared by all bulk requests keeps their calls to task:3031 at
+ * {@code task.bulk.concurrency}, including those a request thread runs itself when the executor's queue
+ * is full. Operations on the same task
+ * run one after the other in request order; everything else runs in parallel. task:3031 has no batch
+ * write endpoint, so each operation is still one call.
+ *
+ * The static helpers are shared with ReactiveTaskBulkService.
+ */
+@Service
+public class TaskBulkService {
+
+    private static final Set<String> OPS = Set.of("create", "update", "delete");
+
+    private final TaskService taskService;
+    private final Executor bulkExecutor;
+    private final TaskBulkProperties props;
+    private final Semaphore writes;
+
+    public TaskBulkService(TaskService taskService, @Qualifier("taskBulkExecutor") Executor bulkExecutor,
+                           TaskBulkProperties props) {
+        this.taskService = taskService;
+        this.bulkExecutor = bulkExecutor;
+        this.props = props;
+        this.writes = new Semaphore(props.concurrency());
+    }
+
+    // Throws IllegalArgumentException when the request as a whole can't be accepted
+    public TaskBulkResultDto apply(TaskBulkRequestDto request) {
+        List<Operation> operations = operations(request, props.maxOperations());
+        Item[] results = validate(operations);
+        TaskWriteBatch batch = new TaskWriteBatch();
+
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (List<Integer> sequence : sequences(operations, results)) {
+            running.add(CompletableFuture.runAsync(() -> {
+                for (int index : sequence) {
+                    results[index] = run(index, operations.get(index), batch);
+                }
+            }, bulkExecutor));
+        }
+        try {
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            taskService.flush(batch);
+        }
+        return TaskBulkResultDto.of(Arrays.asList(results));
+    }
+
+    private Item run(int index, Operation operation, TaskWriteBatch batch) {
+        String op = op(operation);
+        writes.acquireUninterruptibly();
+        try {
+            switch (op) {
+                case "create" -> taskService.createTask(operation.task(), batch);
+                case "update" -> taskService.updateTask(operation.taskId(), operation.task(), batch);
+                default -> taskService.deleteTask(operation.taskId(), batch);
+            }
+            return new Item(index, op, operation.taskId(), 200, null);
+        } catch (RuntimeException e) {
+            return failure(index, operation, e);
+        } finally {
+            writes.release();
+        }
+    }
+
+    static List<Operation> operations(TaskBulkRequestDto request, int maxOperations) {
+        if (request == null || request.operations() == null || request.operations().isEmpty()) {
+            throw new IllegalArgumentException("operations must not be empty");
+        }
+        if (request.operations().size() > maxOperations) {
+            throw new IllegalArgumentException("at most " + maxOperations + " operations are accepted per request");
+        }
+        return request.operations();
+    }
+
+    // A 400 result for each invalid operation, null for the ones to run
+    static Item[] validate(List<Operation> operations) {
+        Item[] results = new Item[operations.size()];
+        Set<String> createdTitles = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            List<String> errors = new ArrayList<>();
+            String op = operation == null ? null : op(operation);
+            if (op == null || !OPS.contains(op)) {
+                errors.add("op must be one of create, update, delete");
+            } else {
+                if (!op.equals("create") && isBlank(operation.taskId())) {
+                    errors.add("task_id is required");
+                }
+                if (!op.equals("delete")) {
+                    checkTask(operation.task(), errors);
+                }
+                if (op.equals("create") && operation.task() != null && !isBlank(operation.task().getTaskTitle())
+                        && !createdTitles.add(operation.task().getTaskTitle().trim())) {
+                    errors.add("Another create in this request has the same title");
+                }
+            }
+            if (!errors.isEmpty()) {
+                results[i] = new Item(i, op, operation == null ? null : operation.taskId(), 400,
+                    String.join("; ", errors));
+            }
+        }
+        return results;
+    }
+
+    // Same checks as task:3031 makes, so a bad row fails here instead of costing a call
+    private static void checkTask(TaskPostRequestDto task, List<String> errors) {
+        if (task == null) {
+            errors.add("task is required");
+            return;
+        }
+        if (isBlank(task.getTaskTitle())) {
+            errors.add("Title is required");
+        }
+        if (isBlank(task.getTaskDeadline())) {
+            errors.add("Deadline is required");
+        }
+        if (isBlank(task.getTaskDescription())) {
+            errors.add("Description is required");
+        }
+        if (isBlank(task.getTaskStatus())) {
+            errors.add("Status is required");
+        }
+        if (task.getTaskPriority() < 1 || task.getTaskPriority() > 10) {
+            errors.add("Priority is required and must be a number from 1 to 10");
+        }
+        if (isBlank(task.getTaskOwner())) {
+            errors.add("Owner is required");
+        }
+    }
+
+    // Indexes of the valid operations, grouped so that operations on one task stay in one ordered sequence
+    static List<List<Integer>> sequences(List<Operation> operations, Item[] results) {
+        Map<String, List<Integer>> byTask = new LinkedHashMap<>();
+        List<List<Integer>> sequences = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Operation operation = operations.get(i);
+            if (op(operation).equals("create")) {
+                sequences.add(List.of(i));
+            } else {
+                byTask.computeIfAbsent(operation.taskId(), id -> {
+                    List<Integer> sequence = new ArrayList<>();
+                    sequences.add(sequence);
+                    return sequence;
+                }).add(i);
+            }
+        }
+        return sequences;
+    }
+
+    // The status the operation would have got as a single call
+    static Item failure(int index, Operation operation, Throwable e) {
+        int status;
+        if (e instanceof RestClientResponseException response) {
+            status = response.getStatusCode().value();
+        } else if (e instanceof WebClientResponseException response) {
+            status = response.getStatusCode().value();
+        } else if (hasCause(e, DeadlineExceededException.class)) {
+            status = 504;
+        } else if (hasCause(e, DownstreamRejectedException.class)) {
+            status = 503;
+        } else if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) {
+            status = 502;
+        } else if (e instanceof TaskRejectedException) {
+            status = 400;
+        } else {
+            status = 500;
+        }
+        return new Item(index, op(operation), operation.taskId(), status, e.getMessage());
+    }
+
+    private static boolean hasCause(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String op(Operation operation) {
+        return operation.op() == null ? null : operation.op().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,124 @@
+package com.spm.manage_task.services;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.TaskReadModel;
+
+/**
+ * Publishes task rows from task:3031 to the task-change topic that feeds {@link TaskReadModel}.
+ *
+ * task:3031 does not emit events itself and its write endpoints don't return the written row, so after
+ * each write made through manage-task the affected rows are read back and published. Writes made
+ * elsewhere (the /task gateway route, recurring task generation) are picked up by the periodic full
+ * snapshot, which also publishes deletions for tasks that have disappeared.
+ *
+ * Publishing is best effort: the write has already succeeded, so failures are logged and left for the
+ * next snapshot to repair.
+ */
+public class TaskChangePublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangePublisher.class);
+
+    private final String taskUrl;
+    private final String topic;
+    private final RestTemplate restTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TaskReadModel readModel;
+    private final ObjectMapper objectMapper;
+
+    public TaskChangePublisher(String taskUrl, String topic, RestTemplate restTemplate,
+                               KafkaTemplate<String, String> kafkaTemplate, TaskReadModel readModel,
+                               ObjectMapper objectMapper) {
+        this.taskUrl = taskUrl;
+        this.topic = topic;
+        this.restTemplate = restTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.readModel = readModel;
+        this.objectMapper = objectMapper;
+    }
+
+    // task:3031 doesn't return the new task's id, so every task of its owner is republished
+    public void taskCreated(String ownerId) {
+        if (ownerId == null) {
+            return;
+        }
+        try {
+            publishRows(restTemplate.getForObject(taskUrl + "/users/" + ownerId, String.class));
+        } catch (RestClientException e) {
+            log.warn("Could not publish tasks of {} after create; the next snapshot will", ownerId, e);
+        }
+    }
+
+    public void taskUpdated(String taskId) {
+        try {
+            publishRow(objectMapper.readTree(restTemplate.getForObject(taskUrl + "/" + taskId, String.class)));
+        } catch (HttpClientErrorException.NotFound e) {
+            taskDeleted(taskId);
+        } catch (Exception e) {
+            log.warn("Could not publish task {} after update; the next snapshot will", taskId, e);
+        }
+    }
+
+    public void taskDeleted(String taskId) {
+        kafkaTemplate.send(topic, taskId, null);
+    }
+
+    /*
+     * Every task, deletions for ids the view holds that task:3031 no longer has, then the snapshot marker.
+     * Only rows last updated before the snapshot started, and read before the listing, can be taken for
+     * deleted, so a task created or changed meanwhile is never tombstoned. Deletions are stamped with the
+     * snapshot's start, the latest time the task is known to have been gone by.
+     */
+    @Scheduled(initialDelayString = "${task.read-model.resync-initial-delay:10s}",
+               fixedDelayString = "${task.read-model.resync-interval:5m}")
+    public void publishSnapshot() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Set<String> gone = new HashSet<>(readModel.taskIdsUpdatedBefore(startedAt));
+            Set<String> published = publishRows(restTemplate.getForObject(taskUrl + "/", String.class));
+            gone.removeAll(published);
+            gone.forEach(taskId -> kafkaTemplate.send(topic, null, startedAt, taskId, null));
+            kafkaTemplate.send(topic, TaskReadModel.SNAPSHOT_KEY, Long.toString(startedAt));
+            log.info("Published task snapshot: {} tasks, {} deletions", published.size(), gone.size());
+        } catch (Exception e) {
+            log.warn("Task snapshot failed; reads keep using the previous one", e);
+        }
+    }
+
+    private Set<String> publishRows(String json) {
+        Set<String> ids = new HashSet<>();
+        if (json == null) {
+            return ids;
+        }
+        try {
+            for (JsonNode row : objectMapper.readTree(json)) {
+                String id = publishRow(row);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable task list from " + taskUrl, e);
+        }
+        return ids;
+    }
+
+    private String publishRow(JsonNode row) {
+        String id = row.path("id").asText(null);
+        if (id != null) {
+            kafkaTemplate.send(topic, id, row.toString());
+        }
+        return id;
+    }
+}
@@ -0,0 +1,157 @@
+package com.spm.manage_task.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spm.manage_task.components.RequestDeadline;
+import com.spm.manage_task.config.FanOutProperties;
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.dto.TaskDetailDto;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskReminderDto;
+
+/**
+ * Builds the task detail page in one call by running the task, subtask, recurrence and reminder lookups
+ * against task:3031 at the same time, so the page costs the slowest of them rather than their sum.
+ *
+ * The task itself is required and its failure fails the request. The other sections are best effort:
+ * if one fails or is still running at the deadline it is left empty and reported under "errors".
+ */
+@Service
+public class TaskDetailService {
+
+    static final String SUBTASKS = "subtasks";
+    static final String RECURRENCES = "recurrences";
+    static final String REMINDER = "reminder";
+
+    private final TaskService taskService;
+    private final RecurrenceService recurrenceService;
+    private final Executor fanOutExecutor;
+    private final long deadlineNanos;
+
+    public TaskDetailService(TaskService taskService, RecurrenceService recurrenceService,
+                             @Qualifier("fanOutExecutor") Executor fanOutExecutor, FanOutProperties props) {
+        this.taskService = taskService;
+        this.recurrenceService = recurrenceService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.deadlineNanos = props.deadline().toNanos();
+    }
+
+    public TaskDetailDto getTaskDetail(String taskId, String userId) {
+        // The fan-out deadline, or the request's own if that comes first
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        long deadline = requestDeadline == null
+            ? System.nanoTime() + deadlineNanos
+            : requestDeadline.earliest(deadlineNanos);
+
+        // Owner lookup rides along with the task, since it needs the task's owner id first
+        CompletableFuture<TaskDto> task = submit(() -> taskService.getTaskByIdWithOwner(taskId));
+        CompletableFuture<List<TaskDto>> subtasks = submit(() -> taskService.getSubTaskByTaskId(taskId));
+        CompletableFuture<List<RecurrenceDto>> recurrences = submit(() -> recurrencesOrEmpty(taskId));
+        CompletableFuture<TaskReminderDto> reminder = userId == null
+            ? CompletableFuture.completedFuture(null)
+            : submit(() -> reminderOrNull(taskId, userId));
+
+        TaskDetailDto detail = new TaskDetailDto();
+        try {
+            detail.setTask(await(task, deadline));
+        } catch (TimeoutException e) {
+            cancelAll(subtasks, recurrences, reminder);
+            throw new RuntimeException("Timed out loading task ID: " + taskId);
+        } catch (RuntimeException e) {
+            cancelAll(subtasks, recurrences, reminder);
+            throw e;
+        }
+
+        List<TaskDto> subtaskList = optional(SUBTASKS, subtasks, deadline, detail);
+        if (subtaskList != null) {
+            detail.setSubtasks(subtaskList);
+        }
+        List<RecurrenceDto> recurrenceList = optional(RECURRENCES, recurrences, deadline, detail);
+        if (recurrenceList != null) {
+            detail.setRecurrences(recurrenceList);
+        }
+        detail.setReminder(optional(REMINDER, reminder, deadline, detail));
+        return detail;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, fanOutExecutor);
+    }
+
+    private <T> T optional(String section, CompletableFuture<T> future, long deadline, TaskDetailDto detail) {
+        try {
+            return await(future, deadline);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            detail.addError(section, "timed out");
+        } catch (RuntimeException e) {
+            detail.addError(section, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+        return null;
+    }
+
+    // Waits only for what is left of the request's budget, so the sections share one deadline
+    private static <T> T await(CompletableFuture<T> future, long deadline) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading task detail", e);
+        }
+    }
+
+    private static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    // RecurrenceService treats "no recurrences" as an error; for the detail page it is just an empty list
+    private List<RecurrenceDto> recurrencesOrEmpty(String taskId) {
+        try {
+            return recurrenceService.getRecurrencesByTaskId(taskId);
+        } catch (RuntimeException e) {
+            if (notFound(e)) {
+                return List.of();
+            }
+            throw e;
+        }
+    }
+
+    private TaskReminderDto reminderOrNull(String taskId, String userId) {
+        try {
+            return taskService.getTaskDeadlineReminder(taskId, userId);
+        } catch (RuntimeException e) {
+            if (notFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    // A 404 from task:3031, or the services' own 404 for an empty answer; decided by status, never by message
+    static boolean notFound(Throwable e) {
+        return e instanceof HttpClientErrorException.NotFound
+            || e instanceof WebClientResponseException.NotFound
+            || e instanceof ResponseStatusException status && HttpStatus.NOT_FOUND.equals(status.getStatusCode());
+    }
+}
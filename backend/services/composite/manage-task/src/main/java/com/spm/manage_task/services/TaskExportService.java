@@ -0,0 +1,116 @@
+package com.spm.manage_task.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.config.CoalescingInterceptor;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+/**
+ * Streams every task as NDJSON without holding the task set in memory.
+ *
+ * The task:3031 response is read token by token; tasks are collected into small batches, each batch is
+ * enriched with one bulk owner lookup and written out line by line before the next one is read. Memory
+ * use is bounded by the batch size, not by how many tasks exist.
+ */
+@Service
+public class TaskExportService {
+
+    private final String taskUrl;
+    private final RestTemplate restTemplate;
+    private final TaskDTOWrapperComponent taskDTOWrapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final int batchSize;
+
+    @Autowired
+    public TaskExportService(RestTemplate restTemplate, TaskDTOWrapperComponent taskDTOWrapper, ObjectMapper objectMapper,
+                             @Value("${task.base.url:http://task:3031}") String taskBaseUrl,
+                             @Value("${task.export.batch-size:200}") int batchSize) {
+        this(taskBaseUrl + "/task", restTemplate, taskDTOWrapper, objectMapper, batchSize);
+    }
+
+    TaskExportService(String taskUrl, RestTemplate restTemplate, TaskDTOWrapperComponent taskDTOWrapper,
+                      ObjectMapper objectMapper, int batchSize) {
+        this.taskUrl = taskUrl;
+        this.restTemplate = restTemplate;
+        this.taskDTOWrapper = taskDTOWrapper;
+        this.objectMapper = objectMapper;
+        // Flushing is done per batch, not per task
+        this.lineWriter = objectMapper.writerFor(TaskDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchSize = batchSize;
+    }
+
+    // Writes one TaskDto JSON object per line to out; returns how many were written
+    public long streamAllTasks(OutputStream out) {
+        return restTemplate.execute(
+            taskUrl + "/",
+            HttpMethod.GET,
+            request -> {
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                // Streamed straight through; coalescing would buffer the whole task list
+                request.getAttributes().put(CoalescingInterceptor.SKIP, true);
+            },
+            response -> copyAsNdjson(response.getBody(), out)
+        );
+    }
+
+    long copyAsNdjson(InputStream upstream, OutputStream out) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        long written = 0;
+        try (JsonParser parser = factory.createParser(upstream);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            // The servlet owns the response stream; lines are separated explicitly below
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of tasks from " + taskUrl + "/");
+            }
+
+            List<TaskMicroserviceResponse> batch = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(objectMapper.readValue(parser, TaskMicroserviceResponse.class));
+                if (batch.size() == batchSize) {
+                    written += writeBatch(batch, generator);
+                    batch.clear();
+                }
+            }
+            written += writeBatch(batch, generator);
+        }
+        return written;
+    }
+
+    private int writeBatch(List<TaskMicroserviceResponse> batch, JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(batch.toArray(new TaskMicroserviceResponse[0]));
+        for (TaskDto taskDto : taskDtos) {
+            lineWriter.writeValue(generator, taskDto);
+            generator.writeRaw('\n');
+        }
+        // Push each batch to the client instead of letting the servlet buffer it
+        generator.flush();
+        return taskDtos.size();
+    }
+}
@@ -0,0 +1,12 @@
+package com.spm.manage_task.services;
+
+/**
+ * task:3031 answered a create or update with 400. The message is its "error" field, or the whole response
+ * body prefixed with what failed when it has none.
+ */
+public class TaskRejectedException extends RuntimeException {
+
+    public TaskRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,22 +1,34 @@
 package com.spm.manage_task.services;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.components.TaskCacheInvalidationBroadcaster;
 import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.components.TaskReadModel;
+import com.spm.manage_task.dto.CursorPage;
 import com.spm.manage_task.dto.TaskDto;
 import com.spm.manage_task.dto.TaskPostRequestDto;
 import com.spm.manage_task.dto.TaskReminderDto;
@@ -30,7 +42,9 @@ import org.springframework.web.client.RestClientException;
 @Service
 public class TaskService {
     
-    private final String taskUrl = "http://task:3031/task";
+    // Spring overrides the default from task.base.url; tests that build the service directly keep it
+    @Value("${task.base.url:http://task:3031}/task")
+    private String taskUrl = "http://task:3031/task";
 
 
     @Autowired
@@ -39,6 +53,66 @@ public class TaskService {
     @Autowired
     private TaskDTOWrapperComponent taskDTOWrapper;
 
+    // Present only with task.read-model.enabled=true (see TaskReadModelConfig)
+    @Autowired(required = false)
+    private TaskReadModel taskReadModel;
+
+    @Autowired(required = false)
+    private TaskChangePublisher taskChangePublisher;
+
+    // Present unless task.cache.enabled=false; the broadcaster only with task.cache.broadcast=true
+    @Autowired(required = false)
+    private TaskCacheComponent taskCache;
+
+    @Autowired(required = false)
+    private TaskCacheInvalidationBroadcaster taskCacheBroadcaster;
+
+    private TaskDto cachedTask(String taskId, Supplier<TaskDto> loader) {
+        return taskCache == null ? loader.get() : taskCache.getTask(taskId, loader);
+    }
+
+    private List<TaskDto> cachedList(BiFunction<TaskCacheComponent, Supplier<List<TaskDto>>, List<TaskDto>> lookup,
+                                     Supplier<List<TaskDto>> loader) {
+        return taskCache == null ? loader.get() : lookup.apply(taskCache, loader);
+    }
+
+    // The local cache at once; other replicas now, or when a bulk request's batch is flushed
+    private void invalidateCache(Function<TaskCacheComponent, TaskCacheComponent.Invalidation> change,
+                                 TaskWriteBatch batch) {
+        if (taskCache == null) {
+            return;
+        }
+        TaskCacheComponent.Invalidation invalidation = change.apply(taskCache);
+        if (batch != null) {
+            batch.invalidated(invalidation);
+        } else if (taskCacheBroadcaster != null) {
+            taskCacheBroadcaster.publish(invalidation);
+        }
+    }
+
+    // Sends what the writes of a bulk request collected (see TaskWriteBatch)
+    void flush(TaskWriteBatch batch) {
+        TaskCacheComponent.Invalidation invalidation = batch.invalidation();
+        if (invalidation != null && taskCacheBroadcaster != null) {
+            taskCacheBroadcaster.publish(invalidation);
+        }
+        if (taskChangePublisher != null) {
+            batch.publishTo(taskChangePublisher);
+        }
+    }
+
+    // From the local read model when it is enabled and loaded, otherwise from task:3031
+    private TaskMicroserviceResponse[] readLocallyOr(Function<TaskReadModel, Optional<TaskMicroserviceResponse[]>> local,
+                                                     Supplier<TaskMicroserviceResponse[]> remote) {
+        if (taskReadModel != null) {
+            Optional<TaskMicroserviceResponse[]> rows = local.apply(taskReadModel);
+            if (rows.isPresent()) {
+                return rows.get();
+            }
+        }
+        return remote.get();
+    }
+
     public List<TaskDto> getAllTasks(){
         ResponseEntity<TaskMicroserviceResponse[]> responseEntity = restTemplate.getForEntity(
             taskUrl + "/", 
@@ -51,19 +125,59 @@ public class TaskService {
         return taskDtos;
     }
 
-    public List<TaskDto> getUserTask(String userId){
+    // One keyset page of all tasks. task:3031 is asked for one extra row to tell whether another page
+    // follows; only the rows actually returned are enriched with owner details.
+    public CursorPage<TaskDto> getTaskPage(int limit, String cursor) {
+        CursorPage.checkLimit(limit);
+        String after = CursorPage.decodeCursor(cursor);
+
         ResponseEntity<TaskMicroserviceResponse[]> responseEntity = restTemplate.getForEntity(
-            taskUrl+"/users/"+userId, 
-            TaskMicroserviceResponse[].class
+            taskUrl + "/?limit={limit}&after={after}",
+            TaskMicroserviceResponse[].class,
+            limit + 1,
+            after == null ? "" : after
         );
 
         TaskMicroserviceResponse[] rawTasks = responseEntity.getBody();
+        if (rawTasks == null) {
+            rawTasks = new TaskMicroserviceResponse[0];
+        }
+        boolean hasMore = rawTasks.length > limit;
+        TaskMicroserviceResponse[] pageRows = hasMore ? Arrays.copyOf(rawTasks, limit) : rawTasks;
+
+        List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(pageRows);
+        String nextCursor = hasMore ? CursorPage.encodeCursor(pageRows[limit - 1].getTaskId()) : null;
+        return new CursorPage<>(taskDtos, nextCursor);
+    }
+
+    public List<TaskDto> getUserTask(String userId){
+        return cachedList((cache, loader) -> cache.getUserTasks(userId, loader), () -> {
+            TaskMicroserviceResponse[] rawTasks = readLocallyOr(
+                readModel -> readModel.tasksOfUser(userId),
+                () -> restTemplate.getForEntity(taskUrl+"/users/"+userId, TaskMicroserviceResponse[].class).getBody()
+            );
+            List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(rawTasks);
+
+            return taskDtos == null ? List.of() : taskDtos;
+        });
+    }
+
+    public List<TaskDto> getProjectTasks(String projectId) {
+        TaskMicroserviceResponse[] rawTasks = readLocallyOr(
+            readModel -> readModel.tasksOfProject(projectId),
+            () -> restTemplate.getForEntity(taskUrl + "/project/" + projectId, TaskMicroserviceResponse[].class).getBody()
+        );
         List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(rawTasks);
-        
+
         return taskDtos == null ? List.of() : taskDtos;
     }
 
     public void createTask(TaskPostRequestDto newTaskBody) {
+        createTask(newTaskBody, null);
+    }
+
+    // With a batch, the broadcast and change event wait for flush(batch)
+    void createTask(TaskPostRequestDto newTaskBody, TaskWriteBatch batch) {
         TaskMicroserviceUpsertRequest upsertRequest = taskDTOWrapper.toTaskMicroserviceUpsert(newTaskBody);
 
         HttpHeaders httpHeaders = new HttpHeaders();
@@ -76,6 +190,12 @@ public class TaskService {
             if (!resp.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Failed to create task. Status code: " + resp.getStatusCode());
             }
+            invalidateCache(cache -> cache.afterCreate(newTaskBody), batch);
+            if (batch != null) {
+                batch.created(newTaskBody.getTaskOwner());
+            } else if (taskChangePublisher != null) {
+                taskChangePublisher.taskCreated(newTaskBody.getTaskOwner());
+            }
         } catch (HttpClientErrorException.BadRequest e) {
             // Parse the error message from the atomic service
             String responseBody = e.getResponseBodyAsString();
@@ -83,14 +203,18 @@ public class TaskService {
                 ObjectMapper objectMapper = new ObjectMapper();
                 JsonNode jsonNode = objectMapper.readTree(responseBody);
                 String errorMessage = jsonNode.get("error").asText();
-                throw new RuntimeException(errorMessage);
+                throw new TaskRejectedException(errorMessage);
             } catch (Exception parseException) {
-                throw new RuntimeException("Task creation failed: " + responseBody);
+                throw new TaskRejectedException("Task creation failed: " + responseBody);
             }
         }
     }
 
     public void updateTask(String taskId, TaskPostRequestDto updatedTask) {
+        updateTask(taskId, updatedTask, null);
+    }
+
+    void updateTask(String taskId, TaskPostRequestDto updatedTask, TaskWriteBatch batch) {
         TaskMicroserviceUpsertRequest upsertRequest = taskDTOWrapper.toTaskMicroserviceUpsert(updatedTask);
         
         HttpHeaders httpHeaders = new HttpHeaders();
@@ -105,6 +229,12 @@ public class TaskService {
             if (!responseEntity.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Failed to update task. Status code: " + responseEntity.getStatusCode());
             }
+            invalidateCache(cache -> cache.afterUpdate(taskId, updatedTask), batch);
+            if (batch != null) {
+                batch.updated(taskId);
+            } else if (taskChangePublisher != null) {
+                taskChangePublisher.taskUpdated(taskId);
+            }
         } catch (HttpClientErrorException.BadRequest e) {
             // Parse the error message from the atomic service
             String responseBody = e.getResponseBodyAsString();
@@ -112,36 +242,38 @@ public class TaskService {
                 ObjectMapper objectMapper = new ObjectMapper();
                 JsonNode jsonNode = objectMapper.readTree(responseBody);
                 String errorMessage = jsonNode.get("error").asText();
-                throw new RuntimeException(errorMessage); // Pass only the error message
+                throw new TaskRejectedException(errorMessage); // Pass only the error message
             } catch (Exception parseException) {
-                throw new RuntimeException("Task update failed: " + responseBody);
+                throw new TaskRejectedException("Task update failed: " + responseBody);
             }
         }
     }
 
     public TaskDto getTaskByIdWithOwner(String taskId) {
-        ResponseEntity<TaskMicroserviceResponse> responseEntity = restTemplate.getForEntity(taskUrl + "/" + taskId, TaskMicroserviceResponse.class);
+        return cachedTask(taskId, () -> {
+            ResponseEntity<TaskMicroserviceResponse> responseEntity = restTemplate.getForEntity(taskUrl + "/" + taskId, TaskMicroserviceResponse.class);
 
-        TaskMicroserviceResponse rawResponse = responseEntity.getBody();
+            TaskMicroserviceResponse rawResponse = responseEntity.getBody();
 
-        if (rawResponse == null) {
-            throw new RuntimeException("Task not found for ID: " + taskId);
-        }
-
-        TaskDto taskResponse = taskDTOWrapper.toTaskDto(rawResponse);
-        taskDTOWrapper.addOwnerInformation(taskResponse);
+            if (rawResponse == null) {
+                throw new RuntimeException("Task not found for ID: " + taskId);
+            }
 
-        return taskResponse;
+            // toTaskDto already resolves the owner
+            return taskDTOWrapper.toTaskDto(rawResponse);
+        });
     }
 
     public List<TaskDto> getSubTaskByTaskId(String taskId){
-        ResponseEntity<TaskMicroserviceResponse[]> responseEntity = restTemplate.getForEntity(taskUrl + "/" + taskId + "/subtasks", TaskMicroserviceResponse[].class);
-
-        TaskMicroserviceResponse[] rawTasks = responseEntity.getBody();
-        List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(rawTasks);
-
-
-        return taskDtos == null ? List.of() : taskDtos;
+        return cachedList((cache, loader) -> cache.getSubtasks(taskId, loader), () -> {
+            TaskMicroserviceResponse[] rawTasks = readLocallyOr(
+                readModel -> readModel.subtasksOf(taskId),
+                () -> restTemplate.getForEntity(taskUrl + "/" + taskId + "/subtasks", TaskMicroserviceResponse[].class).getBody()
+            );
+            List<TaskDto> taskDtos = taskDTOWrapper.toTaskDtoList(rawTasks);
+
+            return taskDtos == null ? List.of() : taskDtos;
+        });
     }
 
     public TaskReminderDto getTaskDeadlineReminder(String taskId, String userId) {
@@ -149,7 +281,8 @@ public class TaskService {
         
         TaskReminderDto reminder = responseEntity.getBody();
         if (reminder == null) {
-            throw new RuntimeException("Deadline reminder not found for task ID: " + taskId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "Deadline reminder not found for task ID: " + taskId);
         }
         return reminder;
     }
@@ -180,6 +313,10 @@ public class TaskService {
         }
     }
     public void deleteTask(String taskId) {
+        deleteTask(taskId, null);
+    }
+
+    void deleteTask(String taskId, TaskWriteBatch batch) {
         ResponseEntity<Void> responseEntity = restTemplate.exchange(
             taskUrl + "/" + taskId, 
             HttpMethod.DELETE, 
@@ -190,6 +327,12 @@ public class TaskService {
         if (responseEntity.getStatusCode().value() != 200 && responseEntity.getStatusCode().value() != 204) {
             throw new RuntimeException("Failed to delete task. Status code: " + responseEntity.getStatusCode());
         }
+        invalidateCache(cache -> cache.afterDelete(taskId), batch);
+        if (batch != null) {
+            batch.deleted(taskId);
+        } else if (taskChangePublisher != null) {
+            taskChangePublisher.taskDeleted(taskId);
+        }
     }
 
 }
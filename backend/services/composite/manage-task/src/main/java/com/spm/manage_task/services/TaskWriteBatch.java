@@ -0,0 +1,68 @@
+package com.spm.manage_task.services;
+
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.spm.manage_task.components.TaskCacheComponent;
+
+/**
+ * What the writes of one bulk request made stale, collected while they run so that it goes out once they
+ * are done: one cache invalidation broadcast, and one change event per owner of created tasks and per
+ * updated or deleted task, however many operations touched them. The local cache is still invalidated
+ * by each write. Operations run in parallel, so collecting is thread-safe.
+ */
+final class TaskWriteBatch {
+
+    private final Queue<TaskCacheComponent.Invalidation> invalidations = new ConcurrentLinkedQueue<>();
+    private final Set<String> createdOwners = ConcurrentHashMap.newKeySet();
+    private final Set<String> updatedTaskIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> deletedTaskIds = ConcurrentHashMap.newKeySet();
+
+    void invalidated(TaskCacheComponent.Invalidation invalidation) {
+        invalidations.add(invalidation);
+    }
+
+    void created(String ownerId) {
+        if (ownerId != null) {
+            createdOwners.add(ownerId);
+        }
+    }
+
+    void updated(String taskId) {
+        updatedTaskIds.add(taskId);
+    }
+
+    void deleted(String taskId) {
+        deletedTaskIds.add(taskId);
+    }
+
+    // All collected invalidations as one; null when nothing was written
+    TaskCacheComponent.Invalidation invalidation() {
+        if (invalidations.isEmpty()) {
+            return null;
+        }
+        Set<String> taskIds = new LinkedHashSet<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        Set<String> parentIds = new LinkedHashSet<>();
+        boolean allLists = false;
+        for (TaskCacheComponent.Invalidation invalidation : invalidations) {
+            taskIds.addAll(invalidation.taskIds());
+            userIds.addAll(invalidation.userIds());
+            parentIds.addAll(invalidation.parentIds());
+            allLists |= invalidation.allLists();
+        }
+        return new TaskCacheComponent.Invalidation(taskIds, userIds, parentIds, allLists);
+    }
+
+    // Updated tasks deleted later in the request are only published as deleted
+    void publishTo(TaskChangePublisher publisher) {
+        createdOwners.forEach(publisher::taskCreated);
+        updatedTaskIds.stream()
+            .filter(taskId -> !deletedTaskIds.contains(taskId))
+            .forEach(publisher::taskUpdated);
+        deletedTaskIds.forEach(publisher::taskDeleted);
+    }
+}
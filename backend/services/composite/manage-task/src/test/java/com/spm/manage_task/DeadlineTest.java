@@ -0,0 +1,157 @@
+package com.spm.manage_task;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.components.RequestDeadline;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Request deadlines end to end on the servlet stack, against a stand-in for task:3031 and profile:3030
+ * that takes its time over /task/slow.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "deadline.default-timeout=5s",
+    "deadline.routes[/api/task/id/quick*]=400ms"
+})
+@DirtiesContext
+class DeadlineTest {
+
+    private static final Duration SLOW = Duration.ofSeconds(5);
+
+    private static final CopyOnWriteArrayList<String> forwardedBudgets = new CopyOnWriteArrayList<>();
+    private static HttpServer atomicServices;
+
+    @Autowired
+    private ProfileCacheComponent profileCache;
+
+    @Autowired
+    private TaskCacheComponent taskCache;
+
+    @LocalServerPort
+    private int port;
+
+    private static String task(String id) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Task " + id + "\",\"status\":\"Ongoing\",\"priority\":5,"
+            + "\"participants\":[{\"profile_id\":\"o1\",\"is_owner\":true}]}";
+    }
+
+    @DynamicPropertySource
+    static void atomicServices(DynamicPropertyRegistry registry) throws IOException {
+        if (atomicServices == null) {
+            atomicServices = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            atomicServices.setExecutor(Executors.newCachedThreadPool());
+            atomicServices.createContext("/", exchange -> {
+                forwardedBudgets.add(String.valueOf(exchange.getRequestHeaders().getFirst(RequestDeadline.HEADER)));
+                String path = exchange.getRequestURI().getPath();
+                String json = path.startsWith("/user/")
+                    ? "{\"id\":\"o1\",\"display_name\":\"Owner\",\"department_name\":\"Engineering\"}"
+                    : task(path.substring(path.lastIndexOf('/') + 1));
+                if (path.contains("slow")) {
+                    try {
+                        Thread.sleep(SLOW.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = json.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                try {
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                } catch (IOException e) {
+                    // the composite gave up on this call
+                } finally {
+                    exchange.close();
+                }
+            });
+            atomicServices.start();
+        }
+        String baseUrl = "http://127.0.0.1:" + atomicServices.getAddress().getPort();
+        registry.add("task.base.url", () -> baseUrl);
+        registry.add("profile.base.url", () -> baseUrl);
+    }
+
+    @AfterAll
+    static void stopAtomicServices() {
+        atomicServices.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        profileCache.getCache().invalidateAll();
+        taskCache.invalidateAll();
+        forwardedBudgets.clear();
+    }
+
+    private HttpResponse<String> get(String path, String budgetMillis) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (budgetMillis != null) {
+            request.header(RequestDeadline.HEADER, budgetMillis);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void testRemainingBudgetForwardedToEachDownstreamCall() throws Exception {
+        // Act
+        HttpResponse<String> response = get("/api/task/id/t1", "2000");
+
+        // Assert: the task, then its owner
+        assertEquals(200, response.statusCode());
+        assertEquals(2, forwardedBudgets.size());
+        for (String budget : forwardedBudgets) {
+            long millis = Long.parseLong(budget);
+            assertTrue(millis > 0 && millis <= 2000, "forwarded budget " + budget);
+        }
+        assertTrue(Long.parseLong(forwardedBudgets.get(1)) <= Long.parseLong(forwardedBudgets.get(0)));
+    }
+
+    @Test
+    void testSlowDownstream_CallAbandonedAtHeaderDeadline_504() throws Exception {
+        // Act
+        long start = System.nanoTime();
+        HttpResponse<String> response = get("/api/task/id/slow", "300");
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(504, response.statusCode());
+        assertTrue(took.compareTo(SLOW.dividedBy(2)) < 0, "answered after " + took.toMillis() + "ms");
+    }
+
+    @Test
+    void testRouteDefaultApplies_HeaderCappedAtMax() throws Exception {
+        // Act
+        long start = System.nanoTime();
+        HttpResponse<String> response = get("/api/task/id/quickslow", null);
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        get("/api/task/id/t2", "3600000");
+
+        // Assert
+        assertEquals(504, response.statusCode());
+        assertTrue(took.compareTo(SLOW.dividedBy(2)) < 0, "answered after " + took.toMillis() + "ms");
+        assertTrue(Long.parseLong(forwardedBudgets.get(forwardedBudgets.size() - 1)) <= 30_000);
+    }
+}
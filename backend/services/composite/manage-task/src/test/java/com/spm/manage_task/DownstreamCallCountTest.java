@@ -0,0 +1,269 @@
+package com.spm.manage_task;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.startsWith;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.test.web.client.match.MockRestRequestMatchers;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.dto.CursorPage;
+
+/**
+ * Exact number of calls each endpoint makes to task:3031 and profile:3030, against the real wiring.
+ *
+ * Every downstream call must be declared with its count; an undeclared call, or a declared one made
+ * more or fewer times, fails the test. The profile cache starts cold in each test so owner lookups
+ * are visible as HTTP calls, and so does the task cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class DownstreamCallCountTest {
+
+    private static final String TASK = "http://task:3031/task";
+    private static final String RECURRENCE = "http://task:3031/recurrence";
+    private static final String PROFILE = "http://profile:3030/user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ProfileCacheComponent profileCache;
+
+    @Autowired
+    private TaskCacheComponent taskCache;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        // Fan-out calls complete in any order
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        profileCache.getCache().invalidateAll();
+        taskCache.invalidateAll();
+    }
+
+    @AfterEach
+    void verifyCalls() {
+        server.verify();
+    }
+
+    private static String task(String id, String ownerId) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Task " + id + "\",\"status\":\"Ongoing\",\"priority\":5,"
+            + "\"participants\":[{\"profile_id\":\"" + ownerId + "\",\"is_owner\":true},"
+            + "{\"profile_id\":\"collab\",\"is_owner\":false}]}";
+    }
+
+    private static String user(String id) {
+        return "{\"id\":\"" + id + "\",\"display_name\":\"User " + id + "\",\"department_name\":\"Engineering\"}";
+    }
+
+    private static ResponseCreator json(String body) {
+        return withSuccess(body, MediaType.APPLICATION_JSON);
+    }
+
+    private void expect(HttpMethod httpMethod, String url, ResponseCreator response) {
+        server.expect(ExpectedCount.once(), requestTo(url)).andExpect(method(httpMethod)).andRespond(response);
+    }
+
+    // ==================== api/task ====================
+
+    @Test
+    void getAllTasks_OneTaskCall_OneBulkProfileCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/", json("[" + task("t1", "u1") + "," + task("t2", "u2") + "," + task("t3", "u1") + "]"));
+        expect(HttpMethod.POST, PROFILE + "/bulk", json("[" + user("u1") + "," + user("u2") + "]"));
+
+        mockMvc.perform(get("/api/task/"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[2].ownerName").value("User u1"));
+    }
+
+    @Test
+    void getTaskPage_OneTaskCall_OwnersOfReturnedRowsOnly() throws Exception {
+        // limit=2 asks task:3031 for 3 rows; the look-ahead row's owner u3 must not be looked up
+        expect(HttpMethod.GET, TASK + "/?limit=3&after=", json("[" + task("t1", "u1") + "," + task("t2", "u2") + "," + task("t3", "u3") + "]"));
+        server.expect(ExpectedCount.once(), requestTo(PROFILE + "/bulk"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(MockRestRequestMatchers.jsonPath("$.ids", containsInAnyOrder("u1", "u2")))
+            .andRespond(json("[" + user("u1") + "," + user("u2") + "]"));
+
+        mockMvc.perform(get("/api/task/").param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void exportTasks_OneTaskCall_OneBulkProfileCallPerBatch() throws Exception {
+        expect(HttpMethod.GET, TASK + "/", json("[" + task("t1", "u1") + "," + task("t2", "u2") + "]"));
+        expect(HttpMethod.POST, PROFILE + "/bulk", json("[" + user("u1") + "," + user("u2") + "]"));
+
+        MvcResult result = mockMvc.perform(get("/api/task/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void getUserTasks_OneTaskCall_OneBulkProfileCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/users/u1", json("[" + task("t1", "u1") + "," + task("t2", "u1") + "]"));
+        expect(HttpMethod.POST, PROFILE + "/bulk", json("[" + user("u1") + "]"));
+
+        mockMvc.perform(get("/api/task/u1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getProjectTasks_OneTaskCall_OneBulkProfileCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/project/p1", json("[" + task("t1", "u1") + "," + task("t2", "u2") + "]"));
+        expect(HttpMethod.POST, PROFILE + "/bulk", json("[" + user("u1") + "," + user("u2") + "]"));
+
+        mockMvc.perform(get("/api/task/project/p1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getTaskById_OneTaskCall_OneProfileCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/t1", json(task("t1", "u1")));
+        expect(HttpMethod.GET, PROFILE + "/u1", json(user("u1")));
+
+        mockMvc.perform(get("/api/task/id/t1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ownerName").value("User u1"));
+    }
+
+    @Test
+    void getTaskById_Twice_SecondServedFromTaskCache() throws Exception {
+        expect(HttpMethod.GET, TASK + "/t1", json(task("t1", "u1")));
+        expect(HttpMethod.GET, PROFILE + "/u1", json(user("u1")));
+
+        mockMvc.perform(get("/api/task/id/t1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/task/id/t1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ownerName").value("User u1"));
+    }
+
+    @Test
+    void getTaskById_AfterUpdate_FetchedAgain() throws Exception {
+        server.expect(ExpectedCount.twice(), requestTo(TASK + "/t1")).andExpect(method(HttpMethod.GET))
+            .andRespond(json(task("t1", "u1")));
+        expect(HttpMethod.GET, PROFILE + "/u1", json(user("u1")));
+        expect(HttpMethod.PUT, TASK + "/t1", json(task("t1", "u1")));
+
+        mockMvc.perform(get("/api/task/id/t1")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/task/edit/t1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Edited\",\"status\":\"Ongoing\",\"owner\":\"u1\",\"collaborators\":[],\"priority\":5}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/task/id/t1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getSubTasks_OneTaskCall_OneBulkProfileCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/t1/subtasks", json("[" + task("t2", "u1") + "," + task("t3", "u2") + "]"));
+        expect(HttpMethod.POST, PROFILE + "/bulk", json("[" + user("u1") + "," + user("u2") + "]"));
+
+        mockMvc.perform(get("/api/task/subtask/t1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getTaskDetail_EachDownstreamOnce_SharedOwnerFetchedOnce() throws Exception {
+        expect(HttpMethod.GET, TASK + "/t1", json(task("t1", "u1")));
+        expect(HttpMethod.GET, TASK + "/t1/subtasks", json("[" + task("t2", "u1") + "]"));
+        expect(HttpMethod.GET, RECURRENCE + "/task/t1", json("[{\"id\":\"r1\",\"task_id\":\"t1\",\"frequency\":\"Week\",\"interval\":1}]"));
+        expect(HttpMethod.GET, TASK + "/t1/deadline-reminder/u1", json("{\"task_id\":\"t1\",\"deadline_reminder\":[1,3]}"));
+        // Task and subtask share owner u1; whichever fan-out branch gets there first fetches it, the other waits
+        server.expect(ExpectedCount.once(), requestTo(startsWith(PROFILE + "/")))
+            .andRespond(request -> request.getURI().getPath().endsWith("/bulk")
+                ? json("[" + user("u1") + "]").createResponse(request)
+                : json(user("u1")).createResponse(request));
+
+        mockMvc.perform(get("/api/task/t1/full").param("userId", "u1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.task.ownerName").value("User u1"))
+            .andExpect(jsonPath("$.subtasks[0].ownerName").value("User u1"))
+            .andExpect(jsonPath("$.recurrences[0].id").value("r1"))
+            .andExpect(jsonPath("$.reminder.deadline_reminder[1]").value(3));
+    }
+
+    @Test
+    void getReminder_OneTaskCall() throws Exception {
+        expect(HttpMethod.GET, TASK + "/t1/deadline-reminder/u1", json("{\"task_id\":\"t1\",\"deadline_reminder\":[1]}"));
+
+        mockMvc.perform(get("/api/task/reminder/t1/u1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void createTask_OneTaskCall_NoProfileCall() throws Exception {
+        expect(HttpMethod.POST, TASK + "/", json(task("t1", "u1")));
+
+        mockMvc.perform(post("/api/task/new")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\",\"status\":\"Ongoing\",\"owner\":\"u1\",\"collaborators\":[],\"priority\":5}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateTask_OneTaskCall_NoProfileCall() throws Exception {
+        expect(HttpMethod.PUT, TASK + "/t1", json(task("t1", "u1")));
+
+        mockMvc.perform(put("/api/task/edit/t1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Edited\",\"status\":\"Ongoing\",\"owner\":\"u1\",\"collaborators\":[],\"priority\":5}"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void deleteTask_OneTaskCall() throws Exception {
+        expect(HttpMethod.DELETE, TASK + "/t1", withSuccess());
+
+        mockMvc.perform(delete("/api/task/t1")).andExpect(status().isOk());
+    }
+
+    // ==================== api/recurrence ====================
+
+    @Test
+    void getRecurrencesByTask_OneRecurrenceCall() throws Exception {
+        expect(HttpMethod.GET, RECURRENCE + "/task/t1", json("[{\"id\":\"r1\",\"task_id\":\"t1\",\"frequency\":\"Day\",\"interval\":2}]"));
+
+        mockMvc.perform(get("/api/recurrence/task/t1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void getRecurrence_OneRecurrenceCall() throws Exception {
+        expect(HttpMethod.GET, RECURRENCE + "/r1", json("{\"id\":\"r1\",\"task_id\":\"t1\",\"frequency\":\"Day\",\"interval\":2}"));
+
+        mockMvc.perform(get("/api/recurrence/r1")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,60 @@
+package com.spm.manage_task;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.spm.manage_task.services.TaskExportService;
+
+/**
+ * GET api/task/export on a real Tomcat, whose default async timeout (30s) would end a longer stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class ExportTimeoutTest {
+
+    private static final Duration PAST_CONTAINER_TIMEOUT = Duration.ofSeconds(32);
+
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testExport_StreamsPastTheContainersAsyncTimeout() throws Exception {
+        // Arrange: one line at once, the other after the container's default would have ended the request
+        when(taskExportService.streamAllTasks(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":\"t1\"}\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(PAST_CONTAINER_TIMEOUT.toMillis());
+            out.write("{\"id\":\"t2\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // Act
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/task/export"))
+                .timeout(PAST_CONTAINER_TIMEOUT.plusSeconds(30))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"id\":\"t1\"}\n{\"id\":\"t2\"}\n", response.body());
+    }
+}
@@ -0,0 +1,76 @@
+package com.spm.manage_task;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.MockRestServiceServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.components.ProfileCacheComponent;
+
+/**
+ * What Prometheus scrapes from /actuator/prometheus after one request has gone through the app.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ProfileCacheComponent profileCache;
+
+    private static boolean hasSample(String scrape, String metric, String... labels) {
+        return scrape.lines().anyMatch(line -> {
+            if (!line.startsWith(metric + "{")) return false;
+            for (String label : labels) {
+                if (!line.contains(label)) return false;
+            }
+            return true;
+        });
+    }
+
+    @Test
+    void prometheus_ExposesEndpointDownstreamPoolExecutorAndJvmMetrics() throws Exception {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        profileCache.getCache().invalidateAll();
+        server.expect(requestTo("http://task:3031/task/t1")).andRespond(withSuccess(
+            "{\"id\":\"t1\",\"title\":\"Task\",\"status\":\"Ongoing\",\"priority\":5,"
+                + "\"participants\":[{\"profile_id\":\"u1\",\"is_owner\":true}]}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://profile:3030/user/u1")).andRespond(withSuccess(
+            "{\"id\":\"u1\",\"display_name\":\"User u1\",\"department_name\":\"Engineering\"}", MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/api/task/id/t1")).andExpect(status().isOk());
+        server.verify();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertTrue(hasSample(scrape, "http_server_requests_seconds_bucket",
+            "uri=\"/api/task/id/{taskId}\"", "application=\"manage-task\""), "endpoint histogram");
+        assertTrue(hasSample(scrape, "http_client_requests_seconds_bucket",
+            "client_name=\"task\"", "uri=\"/task/{id}\"", "status=\"200\""), "task:3031 client timer");
+        assertTrue(hasSample(scrape, "http_client_requests_seconds_count",
+            "client_name=\"profile\"", "uri=\"/user/{id}\"", "status=\"200\""), "profile:3030 client timer");
+        assertTrue(hasSample(scrape, "httpcomponents_httpclient_pool_total_max", "httpclient=\"atomic-services\""), "connection pool");
+        assertTrue(hasSample(scrape, "executor_pool_max_threads", "fanOut"), "fan-out executor");
+        assertTrue(hasSample(scrape, "jvm_memory_used_bytes"), "JVM");
+    }
+}
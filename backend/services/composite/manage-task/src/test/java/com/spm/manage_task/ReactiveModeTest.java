@@ -0,0 +1,218 @@
+package com.spm.manage_task;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.components.RequestDeadline;
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.config.DownstreamGuardInterceptor;
+import com.spm.manage_task.controller.ReactiveTaskController;
+import com.spm.manage_task.controller.TaskController;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * The app started with {@code spring.main.web-application-type=reactive}, against a stand-in for
+ * task:3031 and profile:3030 that answers after a delay.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.main.web-application-type=reactive",
+    "task.export.batch-size=2",
+    // A thousand requests queued on a single CPU can take longer than the 10s default to be answered,
+    // and calls only count as slow past that, so the guard doesn't open on what this test measures
+    "deadline.default-timeout=60s",
+    "downstream.guard.slow-call-threshold=60s"
+})
+@DirtiesContext
+class ReactiveModeTest {
+
+    private static final Duration ATOMIC_DELAY = Duration.ofSeconds(1);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    private static final AtomicInteger bulkCalls = new AtomicInteger();
+    private static DisposableServer atomicServices;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private ProfileCacheComponent profileCache;
+
+    @Autowired
+    private TaskCacheComponent taskCache;
+
+    @Autowired
+    private DownstreamGuardInterceptor downstreamGuard;
+
+    @LocalServerPort
+    private int port;
+
+    private static String task(String id, String ownerId) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Task " + id + "\",\"status\":\"Ongoing\",\"priority\":5,"
+            + "\"participants\":[{\"profile_id\":\"" + ownerId + "\",\"is_owner\":true}]}";
+    }
+
+    private static String users(String body) {
+        StringBuilder json = new StringBuilder("[");
+        try {
+            objectMapper.readTree(body).get("ids").forEach(id -> json.append(json.length() > 1 ? "," : "")
+                .append("{\"id\":\"").append(id.asText()).append("\",\"display_name\":\"User ").append(id.asText())
+                .append("\",\"department_name\":\"Engineering\"}"));
+        } catch (Exception e) {
+            throw new IllegalArgumentException(body, e);
+        }
+        return json.append(']').toString();
+    }
+
+    private static Mono<String> delayed(String json) {
+        return Mono.delay(ATOMIC_DELAY)
+            .doOnSubscribe(s -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+            .doFinally(signal -> inFlight.decrementAndGet())
+            .thenReturn(json);
+    }
+
+    @DynamicPropertySource
+    static void atomicServices(DynamicPropertyRegistry registry) {
+        if (atomicServices == null) {
+            atomicServices = HttpServer.create().port(0)
+                .route(routes -> routes
+                    .get("/task/users/{userId}", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(delayed("[" + task("t-" + request.param("userId"), "o1") + "]")))
+                    .get("/task/", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just("[" + task("e1", "o1") + "," + task("e2", "o2") + ","
+                            + task("e3", "o3") + "," + task("e4", "o4") + "," + task("e5", "o5") + "]")))
+                    .get("/task/{taskId}", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(delayed(task(request.param("taskId"), "o1"))))
+                    .post("/user/bulk", (request, response) -> response
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(request.receive().aggregate().asString()
+                            .doOnNext(body -> bulkCalls.incrementAndGet())
+                            .map(ReactiveModeTest::users))))
+                .bindNow();
+        }
+        String baseUrl = "http://localhost:" + atomicServices.port();
+        registry.add("task.base.url", () -> baseUrl);
+        registry.add("profile.base.url", () -> baseUrl);
+    }
+
+    @AfterAll
+    static void stopAtomicServices() {
+        atomicServices.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() {
+        profileCache.getCache().invalidateAll();
+        taskCache.invalidateAll();
+        bulkCalls.set(0);
+        maxInFlight.set(0);
+    }
+
+    private WebTestClient client() {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+
+    @Test
+    void testServedByNettyWithReactiveControllers() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+        assertEquals(0, context.getBeanNamesForType(TaskController.class).length);
+        assertEquals(1, context.getBeanNamesForType(ReactiveTaskController.class).length);
+    }
+
+    @Test
+    void testGuardLimit_SizedLikeTheConnectionPool() {
+        assertEquals(1000, downstreamGuard.guard(URI.create("http://task:3031/task/")).getLimit());
+    }
+
+    @Test
+    void testGetTaskById_OwnerResolved() {
+        client().get().uri("/api/task/id/t1").exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.id").isEqualTo("t1")
+            .jsonPath("$.ownerName").isEqualTo("User o1")
+            .jsonPath("$.ownerDepartment").isEqualTo("Engineering");
+    }
+
+    @Test
+    void testHeaderDeadline_ExchangeCancelledWith504() {
+        // The first exchange pays for class loading and connection setup, which alone can take a second here
+        client().get().uri("/api/task/id/warm-up").header(RequestDeadline.HEADER, "200").exchange();
+
+        long start = System.nanoTime();
+        client().get().uri("/api/task/id/t2").header(RequestDeadline.HEADER, "200").exchange()
+            .expectStatus().isEqualTo(504);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(elapsed.compareTo(ATOMIC_DELAY) < 0, "answered before task:3031, after " + elapsed);
+    }
+
+    @Test
+    void testExport_NdjsonInOrderOneBulkLookupPerBatch() {
+        List<String> lines = client().get().uri("/api/task/export").accept(MediaType.APPLICATION_NDJSON).exchange()
+            .expectStatus().isOk()
+            .returnResult(String.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        assertEquals(5, lines.size());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(lines.get(i).contains("\"id\":\"e" + (i + 1) + "\""), lines.get(i));
+            assertTrue(lines.get(i).contains("\"ownerName\":\"User o" + (i + 1) + "\""), lines.get(i));
+        }
+        assertEquals(3, bulkCalls.get());
+    }
+
+    // More requests wait on task:3031 at once than Tomcat has threads (200 by default)
+    @Test
+    void testThousandConcurrentRequests_MoreInFlightThanTomcatThreads() {
+        int requests = 1000;
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.create("reactive-mode-test", requests))
+            .baseUrl("http://localhost:" + port);
+
+        List<Integer> statuses = Flux.range(0, requests)
+            .flatMap(i -> httpClient.get().uri("/api/task/user" + i)
+                .responseSingle((response, body) -> body.then(Mono.just(response.status().code()))), requests)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+
+        assertEquals(requests, statuses.size());
+        assertTrue(statuses.stream().allMatch(status -> status == 200), "all requests answered with 200: "
+            + statuses.stream().collect(Collectors.groupingBy(status -> status, TreeMap::new, Collectors.counting())));
+        assertTrue(maxInFlight.get() > 200, "atomic calls in flight at once: " + maxInFlight.get());
+    }
+}
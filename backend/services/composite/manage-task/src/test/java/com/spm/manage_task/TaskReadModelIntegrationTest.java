@@ -0,0 +1,95 @@
+package com.spm.manage_task;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.components.TaskReadModel;
+import com.spm.manage_task.services.TaskChangePublisher;
+
+/**
+ * The task read model end to end against an embedded broker: a snapshot published from task:3031
+ * (mocked) flows through Kafka Streams into the local store, after which listings no longer call
+ * task:3031.
+ */
+@SpringBootTest(properties = {
+    "task.read-model.enabled=true",
+    "task.read-model.resync-initial-delay=1h",
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.streams.state-dir=${java.io.tmpdir}/manage-task-read-model-test"
+})
+@AutoConfigureMockMvc
+@EmbeddedKafka(partitions = 1, topics = "task-changes")
+@DirtiesContext
+class TaskReadModelIntegrationTest {
+
+    private static final String TASK = "http://task:3031/task";
+    private static final String PROFILE = "http://profile:3030/user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private TaskChangePublisher publisher;
+
+    @Autowired
+    private TaskReadModel readModel;
+
+    private static String task(String id, String projectId, String parentId, String ownerId) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Task " + id + "\",\"status\":\"Ongoing\",\"priority\":5,"
+            + "\"project_id\":\"" + projectId + "\",\"parent_task_id\":" + (parentId == null ? "null" : "\"" + parentId + "\"")
+            + ",\"updated_at\":\"2025-10-01T12:00:00+00:00\",\"participants\":[{\"profile_id\":\"" + ownerId + "\",\"is_owner\":true}]}";
+    }
+
+    @Test
+    void snapshot_ThenListingsServedLocally() throws Exception {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        server.expect(ExpectedCount.once(), requestTo(TASK + "/")).andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess("[" + task("t1", "p1", null, "u1") + "," + task("t2", "p1", "t1", "u1") + "]",
+                MediaType.APPLICATION_JSON));
+        // Owner names still come from profile:3030; nothing else may be called
+        server.expect(ExpectedCount.manyTimes(), requestTo(PROFILE + "/bulk")).andExpect(method(HttpMethod.POST))
+            .andRespond(withSuccess("[{\"id\":\"u1\",\"display_name\":\"User u1\",\"department_name\":\"Engineering\"}]",
+                MediaType.APPLICATION_JSON));
+
+        publisher.publishSnapshot();
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (!(readModel.isReady() && readModel.taskIds().size() == 2) && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(readModel.isReady(), "read model did not load the snapshot");
+
+        mockMvc.perform(get("/api/task/u1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].ownerName").value("User u1"));
+        mockMvc.perform(get("/api/task/subtask/t1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value("t2"));
+        mockMvc.perform(get("/api/task/project/p1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+        server.verify();
+    }
+}
@@ -0,0 +1,131 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.spm.manage_task.dto.UserDto;
+import com.spm.manage_task.services.ProfileService;
+
+@ExtendWith(MockitoExtension.class)
+public class ProfileCacheComponentTest {
+
+    @Mock
+    private ProfileService profileService;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> pendingRefreshes = new ArrayDeque<>();
+    private ProfileCacheComponent profileCache;
+
+    private final UserDto alice = new UserDto("user1", "d1", "t1", "Alice", "Staff", "Engineering", "Alpha");
+    private final UserDto bob = new UserDto("user2", "d2", "t2", "Bob", "Manager", "Sales", "Beta");
+
+    @BeforeEach
+    void setUp() {
+        // Background refreshes are queued and run by the test, so "while refreshing" is observable
+        profileCache = new ProfileCacheComponent(profileService, 10_000, Duration.ofMinutes(5),
+            Duration.ofHours(1), nanos::get, pendingRefreshes::add);
+    }
+
+    private void runPendingRefreshes() {
+        Runnable task;
+        while ((task = pendingRefreshes.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void testGetUserById_SecondCallIsServedFromCache() {
+        when(profileService.getUserById("user1")).thenReturn(alice);
+
+        assertEquals("Alice", profileCache.getUserById("user1").getUserDisplayName());
+        assertEquals("Alice", profileCache.getUserById("user1").getUserDisplayName());
+
+        verify(profileService, times(1)).getUserById("user1");
+    }
+
+    @Test
+    void testGetUsersByIds_OnlyMissesGoToProfileService() {
+        when(profileService.getUserById("user1")).thenReturn(alice);
+        when(profileService.getUsersByIds(Set.of("user2"))).thenReturn(Map.of("user2", bob));
+        profileCache.getUserById("user1");
+
+        Map<String, UserDto> result = profileCache.getUsersByIds(List.of("user1", "user2"));
+
+        assertEquals("Alice", result.get("user1").getUserDisplayName());
+        assertEquals("Bob", result.get("user2").getUserDisplayName());
+        verify(profileService, times(1)).getUsersByIds(Set.of("user2"));
+    }
+
+    @Test
+    void testGetUserById_StaleValueServedWhileRefreshing() {
+        UserDto renamed = new UserDto("user1", "d1", "t1", "Alice Tan", "Staff", "Engineering", "Alpha");
+        when(profileService.getUserById("user1")).thenReturn(alice, renamed);
+        profileCache.getUserById("user1");
+
+        advance(Duration.ofMinutes(6));
+
+        // The read that triggers the refresh still gets the old value...
+        assertEquals("Alice", profileCache.getUserById("user1").getUserDisplayName());
+        runPendingRefreshes();
+        // ...and later reads see the reloaded one
+        assertEquals("Alice Tan", profileCache.getUserById("user1").getUserDisplayName());
+        verify(profileService, times(2)).getUserById("user1");
+    }
+
+    @Test
+    void testGetUserById_FailedRefreshKeepsServingStaleValue() {
+        when(profileService.getUserById("user1"))
+            .thenReturn(alice)
+            .thenThrow(new ResourceAccessException("profile:3030 unreachable"));
+        profileCache.getUserById("user1");
+
+        advance(Duration.ofMinutes(30));
+
+        assertEquals("Alice", profileCache.getUserById("user1").getUserDisplayName());
+        runPendingRefreshes();
+        assertEquals("Alice", profileCache.getUserById("user1").getUserDisplayName());
+    }
+
+    @Test
+    void testGetUserById_EntryExpiresAfterWriteTtl() {
+        when(profileService.getUserById("user1")).thenReturn(alice, (UserDto) null);
+        profileCache.getUserById("user1");
+
+        advance(Duration.ofHours(2));
+
+        assertNull(profileCache.getUserById("user1"));
+        assertEquals(0, profileCache.getCache().estimatedSize());
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        when(profileService.getUserById("user1")).thenReturn(alice);
+        profileCache.getUserById("user1");
+
+        profileCache.invalidate("user1");
+        profileCache.getUserById("user1");
+
+        verify(profileService, times(2)).getUserById("user1");
+    }
+}
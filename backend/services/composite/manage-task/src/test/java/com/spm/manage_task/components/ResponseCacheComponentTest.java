@@ -0,0 +1,138 @@
+package com.spm.manage_task.components;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ResponseCacheComponentTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ResponseCacheComponent responseCache;
+
+    // Large enough to be gzipped
+    private final Map<String, String> body = Map.of("id", "rec1", "task_id", "t1", "note", "x".repeat(500));
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCacheComponent(new ObjectMapper(), 1 << 20, Duration.ofSeconds(30), 64,
+            nanos::get);
+        responseCache.bindTo(registry);
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    @Test
+    void testRespond_SecondCallSendsTheStoredBytes() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        ResponseEntity<byte[]> first = responseCache.respond("recurrence/rec1", new HttpHeaders(), () -> {
+            loads.incrementAndGet();
+            return body;
+        });
+        ResponseEntity<byte[]> second = responseCache.respond("recurrence/rec1", new HttpHeaders(), () -> {
+            loads.incrementAndGet();
+            return body;
+        });
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertNull(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testRespond_GzipWhenAccepted() throws IOException {
+        // Arrange
+        byte[] plain = responseCache.respond("recurrence/rec1", new HttpHeaders(), () -> body).getBody();
+
+        // Act
+        ResponseEntity<byte[]> response = responseCache.respond("recurrence/rec1",
+            headers(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"), () -> body);
+
+        // Assert
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testRespond_NotModifiedWhenEtagMatches() {
+        // Arrange
+        String etag = responseCache.respond("recurrence/rec1", new HttpHeaders(), () -> body).getHeaders().getETag();
+
+        // Act
+        ResponseEntity<byte[]> response = responseCache.respond("recurrence/rec1",
+            headers(HttpHeaders.IF_NONE_MATCH, etag), () -> body);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(1, registry.get("response.cache.not.modified").functionCounter().count());
+    }
+
+    @Test
+    void testInvalidateTagged_DropsOnlyTaggedEntries() {
+        // Arrange
+        long before = responseCache.generation();
+        responseCache.put("recurrence/rec1", before, body, "task:t1");
+        responseCache.put("recurrence/rec2", before, body, "task:t2");
+
+        // Act
+        responseCache.invalidateTagged("task:t1");
+
+        // Assert
+        assertNull(responseCache.get("recurrence/rec1"));
+        assertNotNull(responseCache.get("recurrence/rec2"));
+    }
+
+    @Test
+    void testPut_NotCachedWhenInvalidatedDuringLoad() {
+        // Arrange
+        long before = responseCache.generation();
+        responseCache.invalidate("recurrence/rec1");
+
+        // Act
+        ResponseCacheComponent.Entry entry = responseCache.put("recurrence/rec1", before, body);
+
+        // Assert
+        assertNotNull(entry);
+        assertNull(responseCache.get("recurrence/rec1"));
+    }
+
+    @Test
+    void testAcceptsGzip_HonoursQualityZero() {
+        assertTrue(ResponseCacheComponent.acceptsGzip("br;q=1.0, gzip;q=0.5"));
+        assertFalse(ResponseCacheComponent.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseCacheComponent.acceptsGzip("identity"));
+    }
+}
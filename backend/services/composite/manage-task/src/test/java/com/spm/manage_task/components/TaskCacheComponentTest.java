@@ -0,0 +1,248 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+public class TaskCacheComponentTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private TaskCacheComponent taskCache;
+
+    private final TaskDto task1 = task("t1", "u1", null);
+    private final TaskDto task2 = task("t2", "u1", "t1");
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCacheComponent(1_000, Duration.ofSeconds(30), nanos::get);
+    }
+
+    private static TaskDto task(String id, String ownerId, String parentId) {
+        return new TaskDto(id, "Task " + id, null, null, null, "Ongoing", new ArrayList<>(List.of("collab")),
+            ownerId, parentId, "User " + ownerId, "Engineering", 5);
+    }
+
+    private static TaskPostRequestDto request(String ownerId, String parentId) {
+        return new TaskPostRequestDto("Task", null, null, null, "Ongoing", new ArrayList<>(), ownerId, parentId, 5);
+    }
+
+    private static <T> Supplier<T> counting(AtomicInteger loads, T value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    void testGetTask_SecondCallIsServedFromCache() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        taskCache.getTask("t1", counting(loads, task1));
+        TaskDto result = taskCache.getTask("t1", counting(loads, task1));
+
+        // Assert
+        assertSame(task1, result);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetTask_ReloadsAfterExpiry() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getTask("t1", counting(loads, task1));
+
+        // Act
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        taskCache.getTask("t1", counting(loads, task1));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetUserTasks_ListFillsTaskCache() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getUserTasks("u1", counting(loads, List.of(task1, task2)));
+
+        // Act
+        List<TaskDto> tasks = taskCache.getUserTasks("u1", counting(loads, List.of()));
+        TaskDto single = taskCache.getTask("t2", counting(loads, null));
+
+        // Assert
+        assertEquals(List.of(task1, task2), tasks);
+        assertSame(task2, single);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGetUserTasks_ReloadsWhenAMemberWasInvalidated() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getUserTasks("u1", counting(loads, List.of(task1, task2)));
+
+        // Act
+        taskCache.apply(new TaskCacheComponent.Invalidation(Set.of("t2"), Set.of(), Set.of(), false));
+        taskCache.getUserTasks("u1", counting(loads, List.of(task1, task2)));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testReactiveGetUserTasks_LoaderSubscribedOnlyOnMiss() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Mono<List<TaskDto>> loader = Mono.fromSupplier(counting(loads, List.of(task1, task2)));
+        taskCache.getUserTasks("u1", loader).block();
+
+        // Act
+        List<TaskDto> tasks = taskCache.getUserTasks("u1", loader).block();
+        TaskDto single = taskCache.getTask("t1", Mono.fromSupplier(counting(loads, task2))).block();
+
+        // Assert
+        assertEquals(List.of(task1, task2), tasks);
+        assertSame(task1, single);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testReactiveGetTask_InvalidatedWhileLoading_NotCached() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Mono<TaskDto> invalidatingLoader = Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            taskCache.afterDelete("t1");
+            return task1;
+        });
+
+        // Act
+        taskCache.getTask("t1", invalidatingLoader).block();
+        taskCache.getTask("t1", Mono.fromSupplier(counting(loads, task1))).block();
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAfterCreate_DropsParticipantAndParentListsOnly() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getUserTasks("u1", counting(loads, List.of(task1)));
+        taskCache.getUserTasks("u9", counting(loads, List.of()));
+        taskCache.getSubtasks("t1", counting(loads, List.of(task2)));
+
+        // Act
+        TaskCacheComponent.Invalidation invalidation = taskCache.afterCreate(request("u1", "t1"));
+        taskCache.getUserTasks("u1", counting(loads, List.of(task1)));
+        taskCache.getUserTasks("u9", counting(loads, List.of()));
+        taskCache.getSubtasks("t1", counting(loads, List.of(task2)));
+
+        // Assert
+        assertEquals(Set.of("u1"), invalidation.userIds());
+        assertEquals(Set.of("t1"), invalidation.parentIds());
+        assertFalse(invalidation.allLists());
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testAfterUpdate_CachedTask_DropsOldAndNewParticipants() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getTask("t1", counting(loads, task1));
+
+        // Act
+        TaskCacheComponent.Invalidation invalidation = taskCache.afterUpdate("t1", request("u2", null));
+        taskCache.getTask("t1", counting(loads, task1));
+
+        // Assert
+        assertEquals(Set.of("t1"), invalidation.taskIds());
+        assertEquals(Set.of("u2", "u1", "collab"), invalidation.userIds());
+        assertFalse(invalidation.allLists());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAfterUpdate_UncachedTask_DropsAllLists() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getUserTasks("u9", counting(loads, List.of()));
+
+        // Act
+        TaskCacheComponent.Invalidation invalidation = taskCache.afterUpdate("t7", request("u2", null));
+        taskCache.getUserTasks("u9", counting(loads, List.of()));
+
+        // Assert
+        assertTrue(invalidation.allLists());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAfterDelete_DropsTaskItsSubtasksAndItsLists() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        taskCache.getTask("t1", counting(loads, task1));
+        taskCache.getSubtasks("t1", counting(loads, List.of(task2)));
+
+        // Act
+        TaskCacheComponent.Invalidation invalidation = taskCache.afterDelete("t1");
+
+        // Assert
+        assertEquals(Set.of("t1", "t2"), invalidation.taskIds());
+        assertEquals(Set.of("u1", "collab"), invalidation.userIds());
+        assertEquals(Set.of("t1"), invalidation.parentIds());
+        taskCache.getTask("t2", counting(loads, task2));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGetTask_InvalidationDuringLoad_ResultNotCached() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        taskCache.getTask("t1", () -> {
+            loads.incrementAndGet();
+            taskCache.afterUpdate("t1", request("u1", null));
+            return task1;
+        });
+        taskCache.getTask("t1", counting(loads, task1));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testBindTo_RegistersHitAndMissCounters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        taskCache.bindTo(registry);
+
+        // Act
+        taskCache.getTask("t1", () -> task1);
+        taskCache.getTask("t1", () -> task1);
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "tasks", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "tasks", "result", "miss").functionCounter().count());
+    }
+}
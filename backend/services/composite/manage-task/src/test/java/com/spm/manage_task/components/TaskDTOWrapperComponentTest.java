@@ -0,0 +1,195 @@
+package com.spm.manage_task.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.UserDto;
+import com.spm.manage_task.factory.Participant;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskDTOWrapperComponentTest {
+
+    @Mock
+    private ProfileCacheComponent profileCache;
+
+    @InjectMocks
+    private TaskDTOWrapperComponent taskDTOWrapper;
+
+    private TaskMicroserviceResponse rawTask(String taskId, String ownerId) {
+        List<Participant> participants = new ArrayList<>();
+        participants.add(new Participant(true, ownerId));
+        participants.add(new Participant(false, "collab-1"));
+        return new TaskMicroserviceResponse(taskId, null, "project1", "Title " + taskId, "2025-12-31",
+            "Description", "To Do", null, null, participants, 5);
+    }
+
+    // ===== toTaskDtoList() Tests =====
+
+    @Test
+    void testToTaskDtoList_ResolvesEachDistinctOwnerOnceInOneBulkCall() {
+        // Arrange
+        TaskMicroserviceResponse[] rawTasks = new TaskMicroserviceResponse[1000];
+        for (int i = 0; i < rawTasks.length; i++) {
+            rawTasks[i] = rawTask("task" + i, i % 2 == 0 ? "owner-a" : "owner-b");
+        }
+        when(profileCache.getUsersByIds(Set.of("owner-a", "owner-b"))).thenReturn(Map.of(
+            "owner-a", new UserDto("owner-a", null, null, "Alice", null, "Engineering", null),
+            "owner-b", new UserDto("owner-b", null, null, "Bob", null, "Sales", null)
+        ));
+
+        // Act
+        List<TaskDto> result = taskDTOWrapper.toTaskDtoList(rawTasks);
+
+        // Assert
+        assertEquals(1000, result.size());
+        assertEquals("Alice", result.get(0).getTaskOwnerName());
+        assertEquals("Engineering", result.get(0).getTaskOwnerDepartment());
+        assertEquals("Bob", result.get(1).getTaskOwnerName());
+        assertEquals(List.of("collab-1"), result.get(1).getTaskCollaborators());
+        verify(profileCache, times(1)).getUsersByIds(any());
+        verify(profileCache, never()).getUserById(anyString());
+    }
+
+    @Test
+    void testToTaskDtoList_UnknownAndMissingOwners() {
+        // Arrange
+        TaskMicroserviceResponse[] rawTasks = {rawTask("task1", "ghost"), rawTask("task2", "null")};
+        when(profileCache.getUsersByIds(Set.of("ghost"))).thenReturn(Map.of());
+
+        // Act
+        List<TaskDto> result = taskDTOWrapper.toTaskDtoList(rawTasks);
+
+        // Assert
+        assertEquals("Unknown", result.get(0).getTaskOwnerName());
+        assertEquals("Unknown", result.get(0).getTaskOwnerDepartment());
+        assertNull(result.get(1).getTaskOwner());
+        assertEquals("Unknown", result.get(1).getTaskOwnerName());
+    }
+
+    @Test
+    void testToTaskDtoList_EmptyInputSkipsProfileService() {
+        // Act
+        List<TaskDto> result = taskDTOWrapper.toTaskDtoList(new TaskMicroserviceResponse[0]);
+
+        // Assert
+        assertEquals(0, result.size());
+        verifyNoInteractions(profileCache);
+    }
+
+    @Test
+    void testToTaskDtoList_ProfileLookupShed_TasksStillReturnedWithUnknownOwners() {
+        // Arrange
+        TaskMicroserviceResponse[] rawTasks = {rawTask("task1", "owner-a"), rawTask("task2", "owner-b")};
+        when(profileCache.getUsersByIds(any())).thenThrow(new ResourceAccessException("profile:3030 call rejected: circuit open"));
+
+        // Act
+        List<TaskDto> result = taskDTOWrapper.toTaskDtoList(rawTasks);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("task2", result.get(1).getTaskId());
+        assertEquals("owner-a", result.get(0).getTaskOwner());
+        assertEquals("Unknown", result.get(0).getTaskOwnerName());
+        assertEquals("Unknown", result.get(1).getTaskOwnerDepartment());
+    }
+
+    // ===== toTaskDto() Tests =====
+
+    @Test
+    void testToTaskDto_UsesSingleProfileLookup() {
+        // Arrange
+        when(profileCache.getUserById("owner-a"))
+            .thenReturn(new UserDto("owner-a", null, null, "Alice", null, "Engineering", null));
+
+        // Act
+        TaskDto result = taskDTOWrapper.toTaskDto(rawTask("task1", " owner-a "));
+
+        // Assert
+        assertEquals("owner-a", result.getTaskOwner());
+        assertEquals("Alice", result.getTaskOwnerName());
+        verify(profileCache, times(1)).getUserById("owner-a");
+    }
+
+    @Test
+    void testToTaskDto_ProfileLookupFails_UnknownOwner() {
+        // Arrange
+        when(profileCache.getUserById("owner-a")).thenThrow(new ResourceAccessException("profile:3030 unreachable"));
+
+        // Act
+        TaskDto result = taskDTOWrapper.toTaskDto(rawTask("task1", "owner-a"));
+
+        // Assert
+        assertEquals("task1", result.getTaskId());
+        assertEquals("Unknown", result.getTaskOwnerName());
+    }
+
+    // ===== Request-scoped memoisation =====
+
+    @Test
+    void testOwnerLookups_MemoisedWithinOneRequest() {
+        // Arrange
+        UserDto alice = new UserDto("owner-a", null, null, "Alice", null, "Engineering", null);
+        when(profileCache.getUserById("owner-a")).thenReturn(alice);
+        when(profileCache.getUsersByIds(Set.of("owner-b")))
+            .thenReturn(Map.of("owner-b", new UserDto("owner-b", null, null, "Bob", null, "Sales", null)));
+
+        RequestLookupContext.open();
+        try {
+            // Act
+            TaskDto task = taskDTOWrapper.toTaskDto(rawTask("task1", "owner-a"));
+            taskDTOWrapper.addOwnerInformation(task);
+            List<TaskDto> subtasks = taskDTOWrapper.toTaskDtoList(new TaskMicroserviceResponse[] {
+                rawTask("task2", "owner-a"), rawTask("task3", "owner-b")
+            });
+
+            // Assert
+            assertEquals("Alice", task.getTaskOwnerName());
+            assertEquals("Alice", subtasks.get(0).getTaskOwnerName());
+            assertEquals("Bob", subtasks.get(1).getTaskOwnerName());
+            verify(profileCache, times(1)).getUserById("owner-a");
+            verify(profileCache, times(1)).getUsersByIds(Set.of("owner-b"));
+        } finally {
+            RequestLookupContext.close();
+        }
+    }
+
+    @Test
+    void testOwnerLookups_NotMemoisedAcrossRequests() {
+        // Arrange
+        when(profileCache.getUserById("owner-a"))
+            .thenReturn(new UserDto("owner-a", null, null, "Alice", null, "Engineering", null));
+
+        // Act
+        for (int request = 0; request < 2; request++) {
+            RequestLookupContext.open();
+            try {
+                taskDTOWrapper.toTaskDto(rawTask("task1", "owner-a"));
+            } finally {
+                RequestLookupContext.close();
+            }
+        }
+
+        // Assert
+        verify(profileCache, times(2)).getUserById("owner-a");
+    }
+}
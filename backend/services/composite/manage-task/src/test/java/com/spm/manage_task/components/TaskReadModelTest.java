@@ -0,0 +1,230 @@
+package com.spm.manage_task.components;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+class TaskReadModelTest {
+
+    private static final Instant T0 = Instant.parse("2025-10-01T12:00:00Z");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> changes;
+    private TaskReadModel readModel;
+    private TaskCacheComponent taskCache;
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCacheComponent(100, Duration.ofSeconds(30));
+        StreamsBuilder builder = new StreamsBuilder();
+        TaskReadModel.addTo(builder, "task-changes", taskCache::apply);
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "task-read-model-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), config);
+        changes = driver.createInputTopic("task-changes", new StringSerializer(), new StringSerializer());
+        readModel = new TaskReadModel(() -> driver.getKeyValueStore(TaskReadModel.STORE),
+            Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    private static String task(String id, String projectId, String parentId, String updatedAt, String... participants) {
+        StringBuilder json = new StringBuilder("{\"id\":\"" + id + "\",\"title\":\"Task " + id + "\",\"status\":\"Ongoing\",\"priority\":5")
+            .append(",\"project_id\":").append(projectId == null ? "null" : "\"" + projectId + "\"")
+            .append(",\"parent_task_id\":").append(parentId == null ? "null" : "\"" + parentId + "\"")
+            .append(",\"updated_at\":\"").append(updatedAt).append("\",\"participants\":[");
+        for (int i = 0; i < participants.length; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"profile_id\":\"").append(participants[i]).append("\",\"is_owner\":").append(i == 0).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private void snapshotDone() {
+        changes.pipeInput(TaskReadModel.SNAPSHOT_KEY, "1", T0);
+    }
+
+    private static List<String> ids(TaskMicroserviceResponse[] rows) {
+        return Arrays.stream(rows).map(TaskMicroserviceResponse::getTaskId).toList();
+    }
+
+    // What TaskService caches for a user's list when it is answered from the read model
+    private List<TaskDto> cachedTasksOfUser(String userId) {
+        return taskCache.getUserTasks(userId, () -> Arrays.stream(readModel.tasksOfUser(userId).orElseThrow())
+            .map(row -> new TaskDto(row.getTaskId(), null, null, null, null, null, new ArrayList<>(), userId, null,
+                null, null, 0))
+            .toList());
+    }
+
+    @Test
+    void queries_NotAnsweredBeforeFirstSnapshot() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+
+        // Act & Assert
+        assertFalse(readModel.isReady());
+        assertTrue(readModel.tasksOfUser("u1").isEmpty());
+    }
+
+    @Test
+    void queries_IndexedByParticipantProjectAndParent() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1", "u2"), T0);
+        changes.pipeInput("t2", task("t2", "p1", "t1", "2025-10-01T12:00:00Z", "u2"), T0);
+        changes.pipeInput("t3", task("t3", "p2", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        snapshotDone();
+
+        // Act & Assert
+        assertEquals(List.of("t1", "t3"), ids(readModel.tasksOfUser("u1").orElseThrow()));
+        assertEquals(List.of("t1", "t2"), ids(readModel.tasksOfUser("u2").orElseThrow()));
+        assertEquals(List.of("t1", "t2"), ids(readModel.tasksOfProject("p1").orElseThrow()));
+        assertEquals(List.of("t2"), ids(readModel.subtasksOf("t1").orElseThrow()));
+        assertEquals(0, readModel.tasksOfUser("nobody").orElseThrow().length);
+        assertEquals("u1", readModel.tasksOfUser("u1").orElseThrow()[0].getTaskParticipants().get(0).getProfileId());
+    }
+
+    @Test
+    void update_MovesIndexEntries() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1", "u2"), T0);
+        snapshotDone();
+
+        // Act
+        changes.pipeInput("t1", task("t1", "p2", null, "2025-10-01T12:05:00Z", "u3"), T0.plusSeconds(300));
+
+        // Assert
+        assertEquals(0, readModel.tasksOfUser("u1").orElseThrow().length);
+        assertEquals(List.of("t1"), ids(readModel.tasksOfUser("u3").orElseThrow()));
+        assertEquals(0, readModel.tasksOfProject("p1").orElseThrow().length);
+        assertEquals(List.of("t1"), ids(readModel.tasksOfProject("p2").orElseThrow()));
+    }
+
+    @Test
+    void staleRow_DoesNotOverwriteNewerOne() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:05:00+00:00", "u2"), T0);
+        snapshotDone();
+
+        // Act: a snapshot read before the update lands after it
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00+00:00", "u1"), T0.plusSeconds(1));
+
+        // Assert
+        assertEquals(List.of("t1"), ids(readModel.tasksOfUser("u2").orElseThrow()));
+        assertEquals(0, readModel.tasksOfUser("u1").orElseThrow().length);
+    }
+
+    @Test
+    void deletion_RemovesTaskAndIsNotUndoneByStaleSnapshot() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        snapshotDone();
+
+        // Act
+        changes.pipeInput("t1", null, T0.plusSeconds(60));
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0.plusSeconds(61));
+
+        // Assert
+        assertEquals(0, readModel.tasksOfUser("u1").orElseThrow().length);
+        assertEquals(0, readModel.tasksOfProject("p1").orElseThrow().length);
+        assertTrue(readModel.taskIds().isEmpty());
+    }
+
+    @Test
+    void taskIdsUpdatedBefore_LeavesOutRowsChangedSince() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        changes.pipeInput("t2", task("t2", "p1", null, "2025-10-01T12:10:00Z", "u1"), T0);
+
+        // Act & Assert
+        assertEquals(Set.of("t1"), readModel.taskIdsUpdatedBefore(T0.plusSeconds(300).toEpochMilli()));
+    }
+
+    @Test
+    void deletionMarker_DroppedOnceASnapshotStartedAfterItHasCompleted() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        changes.pipeInput("t1", null, T0.plusSeconds(60));
+
+        // Act
+        changes.pipeInput(TaskReadModel.SNAPSHOT_KEY, Long.toString(T0.plusSeconds(120).toEpochMilli()),
+            T0.plusSeconds(121));
+        String afterFirst = driver.<String, String>getKeyValueStore(TaskReadModel.STORE).get("d|t1");
+        changes.pipeInput(TaskReadModel.SNAPSHOT_KEY, Long.toString(T0.plusSeconds(420).toEpochMilli()),
+            T0.plusSeconds(421));
+
+        // Assert
+        assertNotNull(afterFirst);
+        assertNull(driver.<String, String>getKeyValueStore(TaskReadModel.STORE).get("d|t1"));
+    }
+
+    @Test
+    void change_DropsListsCachedFromTheReadModelBeforeItLanded() {
+        // Arrange: a write has cleared the cache, but its change has not reached the read model yet
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        snapshotDone();
+        assertEquals(1, cachedTasksOfUser("u1").size());
+
+        // Act
+        changes.pipeInput("t2", task("t2", "p1", null, "2025-10-01T12:01:00Z", "u1"), T0.plusSeconds(60));
+
+        // Assert
+        assertEquals(List.of("t1", "t2"), cachedTasksOfUser("u1").stream().map(TaskDto::getTaskId).sorted().toList());
+    }
+
+    @Test
+    void change_MovingATaskDropsTheListsOfItsOldAndNewParticipants() {
+        // Arrange
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1"), T0);
+        snapshotDone();
+        assertEquals(1, cachedTasksOfUser("u1").size());
+        assertEquals(0, cachedTasksOfUser("u2").size());
+
+        // Act
+        changes.pipeInput("t1", task("t1", "p1", null, "2025-10-01T12:01:00Z", "u2"), T0.plusSeconds(60));
+
+        // Assert
+        assertEquals(0, cachedTasksOfUser("u1").size());
+        assertEquals(1, cachedTasksOfUser("u2").size());
+    }
+
+    @Test
+    void unchangedSnapshotRow_KeepsCachedLists() {
+        // Arrange
+        String t1 = task("t1", "p1", null, "2025-10-01T12:00:00Z", "u1");
+        changes.pipeInput("t1", t1, T0);
+        snapshotDone();
+        cachedTasksOfUser("u1");
+
+        // Act
+        changes.pipeInput("t1", t1, T0.plusSeconds(300));
+
+        // Assert: answered from the cache, not from the empty list the loader would now give
+        assertEquals(1, taskCache.getUserTasks("u1", List::of).size());
+    }
+}
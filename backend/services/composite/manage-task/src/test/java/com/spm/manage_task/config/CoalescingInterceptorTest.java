@@ -0,0 +1,276 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CoalescingInterceptorTest {
+
+    private static final URI TASK_URI = URI.create("http://task:3031/task/42");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CoalescingInterceptor interceptor = new CoalescingInterceptor(registry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    // A GET made under its own request deadline, on a caller thread
+    private Future<ClientHttpResponse> getWithin(Duration budget, ClientHttpRequestExecution execution) {
+        return callers.submit(() -> {
+            RequestDeadline.open(budget);
+            try {
+                return interceptor.intercept(get(TASK_URI), new byte[0], execution);
+            } finally {
+                RequestDeadline.close();
+            }
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static MockClientHttpRequest get(URI uri) {
+        return new MockClientHttpRequest(HttpMethod.GET, uri);
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private double coalesced() {
+        return registry.find("downstream.coalesced").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    // Blocks every downstream call until released, counting how many were made
+    private static final class GatedExecution implements ClientHttpRequestExecution {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final IOException failure;
+        final HttpStatus status;
+
+        GatedExecution(HttpStatus status, IOException failure) {
+            this.status = status;
+            this.failure = failure;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return new MockClientHttpResponse(("{\"id\":42,\"status\":" + status.value() + "}").getBytes(), status);
+        }
+    }
+
+    private List<Future<ClientHttpResponse>> concurrentGets(GatedExecution execution, int count) throws Exception {
+        List<Future<ClientHttpResponse>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(callers.submit(() -> interceptor.intercept(get(TASK_URI), new byte[0], execution)));
+        }
+        // Every caller but the leader has joined once it is counted as coalesced
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < count - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        execution.release.countDown();
+        return results;
+    }
+
+    @Test
+    void testIdenticalConcurrentGets_OneDownstreamCall() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.OK, null);
+
+        // Act
+        List<Future<ClientHttpResponse>> results = concurrentGets(execution, 5);
+
+        // Assert
+        for (Future<ClientHttpResponse> result : results) {
+            assertEquals("{\"id\":42,\"status\":200}", body(result.get(5, TimeUnit.SECONDS)));
+        }
+        assertEquals(1, execution.calls.get());
+        assertEquals(4.0, coalesced());
+        assertEquals(5.0, registry.get("downstream.fan.in").tag("uri", "/task/{id}").summary().max());
+    }
+
+    @Test
+    void testLeaderFails_EveryCallerGetsTheSameError() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.OK, new SocketTimeoutException("Read timed out"));
+
+        // Act
+        List<Future<ClientHttpResponse>> results = concurrentGets(execution, 3);
+
+        // Assert
+        for (Future<ClientHttpResponse> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(SocketTimeoutException.class, e.getCause());
+        }
+        assertEquals(1, execution.calls.get());
+    }
+
+    @Test
+    void testErrorStatus_SharedAsResponse() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.NOT_FOUND, null);
+
+        // Act
+        List<Future<ClientHttpResponse>> results = concurrentGets(execution, 3);
+
+        // Assert
+        for (Future<ClientHttpResponse> result : results) {
+            assertEquals(HttpStatus.NOT_FOUND, result.get(5, TimeUnit.SECONDS).getStatusCode());
+        }
+        assertEquals(1, execution.calls.get());
+    }
+
+    @Test
+    void testSequentialGets_NotCached() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.OK, null);
+        execution.release.countDown();
+
+        // Act
+        interceptor.intercept(get(TASK_URI), new byte[0], execution);
+        interceptor.intercept(get(TASK_URI), new byte[0], execution);
+
+        // Assert
+        assertEquals(2, execution.calls.get());
+    }
+
+    @Test
+    void testWritesAndSkippedGets_PassStraightThrough() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.OK, null);
+        execution.release.countDown();
+        MockClientHttpRequest skipped = get(TASK_URI);
+        skipped.getAttributes().put(CoalescingInterceptor.SKIP, true);
+
+        // Act
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.PUT, TASK_URI), new byte[0], execution);
+        interceptor.intercept(skipped, new byte[0], execution);
+
+        // Assert
+        assertEquals(2, execution.calls.get());
+        assertNull(registry.find("downstream.fan.in").summary());
+    }
+
+    @Test
+    void testSkipAttributeSetInRequestCallback_ReachesInterceptor() {
+        // Arrange
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(interceptor);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo(TASK_URI)).andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        // Act
+        restTemplate.execute(TASK_URI, HttpMethod.GET,
+            request -> request.getAttributes().put(CoalescingInterceptor.SKIP, true),
+            response -> null);
+
+        // Assert
+        server.verify();
+        assertNull(registry.find("downstream.fan.in").summary());
+    }
+
+    @Test
+    void testLeaderTimesOutAtItsShortDeadline_FollowerWithTimeLeftCallsAgain() throws Exception {
+        // Arrange: the leader's call times out once the leader's own 100ms are up, and is only let go
+        // after the follower has joined it
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch joined = new CountDownLatch(1);
+        ClientHttpRequestExecution execution = (request, body) -> {
+            if (calls.incrementAndGet() > 1) {
+                return new MockClientHttpResponse("{\"id\":42}".getBytes(), HttpStatus.OK);
+            }
+            try {
+                joined.await(5, TimeUnit.SECONDS);
+                while (!RequestDeadline.current().expired()) {
+                    Thread.sleep(5);
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            throw new SocketTimeoutException("Read timed out");
+        };
+
+        // Act
+        Future<ClientHttpResponse> leader = getWithin(Duration.ofMillis(100), execution);
+        await(() -> calls.get() == 1);
+        Future<ClientHttpResponse> follower = getWithin(Duration.ofSeconds(5), execution);
+        await(() -> coalesced() == 1);
+        joined.countDown();
+
+        // Assert
+        Exception e = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SocketTimeoutException.class, e.getCause());
+        assertEquals("{\"id\":42}", body(follower.get(5, TimeUnit.SECONDS)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFollower_WaitsNoLongerThanItsOwnDeadline() throws Exception {
+        // Arrange
+        GatedExecution execution = new GatedExecution(HttpStatus.OK, null);
+        Future<ClientHttpResponse> leader = callers.submit(() -> interceptor.intercept(get(TASK_URI), new byte[0],
+            execution));
+        await(() -> execution.calls.get() == 1);
+
+        // Act
+        Future<ClientHttpResponse> follower = getWithin(Duration.ofMillis(50), execution);
+
+        // Assert
+        Exception e = assertThrows(Exception.class, () -> follower.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+        execution.release.countDown();
+        assertEquals(HttpStatus.OK, leader.get(5, TimeUnit.SECONDS).getStatusCode());
+    }
+}
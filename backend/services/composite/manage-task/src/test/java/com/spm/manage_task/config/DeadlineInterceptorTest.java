@@ -0,0 +1,91 @@
+package com.spm.manage_task.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.spm.manage_task.components.RequestDeadline;
+
+public class DeadlineInterceptorTest {
+
+    private static final URI TASK_URI = URI.create("http://task:3031/task/42");
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.close();
+    }
+
+    private MockClientHttpRequest call() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, TASK_URI);
+        interceptor.intercept(request, new byte[0], (req, body) -> {
+            sent.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+        return request;
+    }
+
+    @Test
+    void testWithinDeadline_RemainingBudgetForwarded() throws Exception {
+        // Arrange
+        RequestDeadline.open(Duration.ofSeconds(2));
+
+        // Act
+        MockClientHttpRequest request = call();
+
+        // Assert
+        long budget = Long.parseLong(request.getHeaders().getFirst(RequestDeadline.HEADER));
+        assertEquals(1, sent.get());
+        assertEquals(true, budget > 1000 && budget <= 2000, "budget " + budget);
+    }
+
+    @Test
+    void testDeadlinePassed_CallNotSent() throws Exception {
+        // Arrange
+        RequestDeadline.open(Duration.ZERO);
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, this::call);
+        assertEquals(0, sent.get());
+    }
+
+    @Test
+    void testNoDeadline_NoHeader() throws Exception {
+        // Act
+        MockClientHttpRequest request = call();
+
+        // Assert
+        assertFalse(request.getHeaders().containsKey(RequestDeadline.HEADER));
+        assertEquals(1, sent.get());
+    }
+
+    @Test
+    void testBudget_HeaderClampedRouteDefaultsAndZeroMeansNone() {
+        // Arrange
+        DeadlineProperties props = new DeadlineProperties(Duration.ofSeconds(10), Duration.ofMillis(100),
+            Duration.ofSeconds(30),
+            Map.of("/api/task/export", Duration.ZERO, "/api/task/*/full", Duration.ofSeconds(3)));
+
+        // Act & Assert
+        assertEquals(Duration.ofMillis(250), props.budget("/api/task/t1/full", "250"));
+        assertEquals(Duration.ofSeconds(30), props.budget("/api/task/t1/full", "999999"));
+        assertEquals(Duration.ofMillis(100), props.budget("/api/task/t1/full", "1"));
+        assertEquals(Duration.ofSeconds(3), props.budget("/api/task/t1/full", "soon"));
+        assertEquals(Duration.ofSeconds(10), props.budget("/api/task/id/t1", null));
+        assertNull(props.budget("/api/task/export", null));
+    }
+}
@@ -0,0 +1,229 @@
+package com.spm.manage_task.config;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.spm.manage_task.components.RequestDeadline;
+import com.spm.manage_task.config.DownstreamGuard.Permit;
+import com.spm.manage_task.config.DownstreamGuard.State;
+import com.spm.manage_task.config.DownstreamRejectedException.Reason;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DownstreamGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.close();
+    }
+
+    // initial limit 4 (min 2, max 8), breaker over the last 10 calls once 4 are in, open for 10s, 2 probes
+    private static DownstreamGuardProperties props(int failureRateThreshold) {
+        return new DownstreamGuardProperties(true, 4, 2, 8, 0.5, Duration.ofSeconds(1), failureRateThreshold, 10, 4,
+            Duration.ofSeconds(10), 2);
+    }
+
+    private static DownstreamGuardProperties props() {
+        return props(50);
+    }
+
+    private DownstreamGuard guard() {
+        return new DownstreamGuard("profile:3030", props(), now::get);
+    }
+
+    private static void fail(DownstreamGuard guard, int calls) throws Exception {
+        for (int i = 0; i < calls; i++) {
+            guard.release(guard.acquire(), true);
+        }
+    }
+
+    @Test
+    void testLimitReached_FurtherCallsRejectedUntilOneReturns() throws Exception {
+        // Arrange
+        DownstreamGuard guard = guard();
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(guard.acquire());
+        }
+
+        // Act
+        DownstreamRejectedException e = assertThrows(DownstreamRejectedException.class, guard::acquire);
+        guard.release(permits.get(0), false);
+
+        // Assert
+        assertEquals(Reason.LIMIT, e.getReason());
+        assertEquals("profile:3030", e.getDownstream());
+        guard.acquire();
+        assertEquals(4, guard.getInFlight());
+    }
+
+    @Test
+    void testSlowCalls_LimitBacksOffToFloor_FastCallsAtFullUseRaiseIt() throws Exception {
+        // Arrange: a breaker that only opens when every call fails
+        DownstreamGuard guard = new DownstreamGuard("profile:3030", props(100), now::get);
+
+        // Act: two calls slower than the 1s threshold
+        for (int i = 0; i < 2; i++) {
+            Permit permit = guard.acquire();
+            now.addAndGet(Duration.ofSeconds(2).toNanos());
+            guard.release(permit, false);
+        }
+        int backedOff = guard.getLimit();
+        for (int round = 0; round < 20; round++) {
+            Permit first = guard.acquire();
+            Permit second = guard.acquire();
+            guard.release(first, false);
+            guard.release(second, false);
+        }
+
+        // Assert
+        assertEquals(2, backedOff);
+        assertTrue(guard.getLimit() > 2, "limit grew back to " + guard.getLimit());
+        assertTrue(guard.getLimit() <= 8);
+    }
+
+    @Test
+    void testFailureRate_OpensCircuit_ProbesAfterOpenDurationCloseIt() throws Exception {
+        // Arrange
+        DownstreamGuard guard = guard();
+        guard.release(guard.acquire(), false);
+        guard.release(guard.acquire(), false);
+
+        // Act
+        fail(guard, 2);
+
+        // Assert: 2 of 4 failed
+        assertEquals(State.OPEN, guard.getState());
+        assertEquals(Reason.CIRCUIT_OPEN, assertThrows(DownstreamRejectedException.class, guard::acquire).getReason());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        Permit first = guard.acquire();
+        Permit second = guard.acquire();
+        assertEquals(State.HALF_OPEN, guard.getState());
+        assertThrows(DownstreamRejectedException.class, guard::acquire);
+        guard.release(first, false);
+        guard.release(second, false);
+        assertEquals(State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void testFailedProbe_ReopensCircuit() throws Exception {
+        // Arrange
+        DownstreamGuard guard = guard();
+        fail(guard, 4);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        guard.release(guard.acquire(), true);
+
+        // Assert
+        assertEquals(State.OPEN, guard.getState());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThrows(DownstreamRejectedException.class, guard::acquire);
+    }
+
+    @Test
+    void testInterceptor_OneGuardPerDownstream_RejectedCallsNeverSent() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DownstreamGuardInterceptor interceptor = new DownstreamGuardInterceptor(props(), registry);
+        AtomicInteger sent = new AtomicInteger();
+        URI profile = URI.create("http://profile:3030/user/bulk");
+        URI task = URI.create("http://task:3031/task/42");
+
+        // Act: 5xx answers count as failures and open profile:3030's breaker
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, profile), new byte[0], (request, body) -> {
+                sent.incrementAndGet();
+                return new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+            });
+        }
+
+        // Assert
+        assertThrows(DownstreamRejectedException.class, () -> interceptor.intercept(
+            new MockClientHttpRequest(HttpMethod.POST, profile), new byte[0], (request, body) -> {
+                sent.incrementAndGet();
+                return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+            }));
+        assertEquals(4, sent.get());
+        assertEquals(State.CLOSED, interceptor.guard(task).getState());
+        assertEquals(1.0, registry.get("downstream.guard.rejected")
+            .tags("downstream", "profile:3030", "reason", "circuit_open").counter().count());
+        assertEquals(1.0, registry.get("downstream.guard.state").tags("downstream", "profile:3030").gauge().value());
+    }
+
+    @Test
+    void testInterceptor_TimeoutsAtTheCallersDeadline_NotCountedAsFailures() throws Exception {
+        // Arrange
+        DownstreamGuardInterceptor interceptor = new DownstreamGuardInterceptor(props(), new SimpleMeterRegistry());
+        URI profile = URI.create("http://profile:3030/user/bulk");
+        RequestDeadline.open(Duration.ZERO);
+
+        // Act: a caller that sent a 1ms budget, over and over
+        for (int i = 0; i < 10; i++) {
+            assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, profile), new byte[0], (request, body) -> {
+                    throw new SocketTimeoutException("Read timed out");
+                }));
+        }
+
+        // Assert
+        assertEquals(State.CLOSED, interceptor.guard(profile).getState());
+        assertEquals(4, interceptor.guard(profile).getLimit());
+        assertEquals(0, interceptor.guard(profile).getInFlight());
+    }
+
+    @Test
+    void testInterceptor_TimeoutsWithTimeLeft_CountedAsFailures() throws Exception {
+        // Arrange
+        DownstreamGuardInterceptor interceptor = new DownstreamGuardInterceptor(props(), new SimpleMeterRegistry());
+        URI profile = URI.create("http://profile:3030/user/bulk");
+        RequestDeadline.open(Duration.ofSeconds(10));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, profile), new byte[0], (request, body) -> {
+                    throw new SocketTimeoutException("Read timed out");
+                }));
+        }
+
+        // Assert
+        assertEquals(State.OPEN, interceptor.guard(profile).getState());
+    }
+
+    @Test
+    void testDefaultLimits_OnlyFillWhatIsUnset() {
+        // Arrange
+        DownstreamGuardProperties unset = new DownstreamGuardProperties(true, null, 2, null, 0.9,
+            Duration.ofSeconds(2), 50, 50, 20, Duration.ofSeconds(10), 3);
+        DownstreamGuardProperties configured = props();
+
+        // Act
+        DownstreamGuardProperties derived = unset.withDefaultLimits(1000, 1000);
+        DownstreamGuardProperties kept = configured.withDefaultLimits(1000, 1000);
+
+        // Assert
+        assertEquals(1000, derived.initialLimit());
+        assertEquals(1000, derived.maxLimit());
+        assertEquals(4, kept.initialLimit());
+        assertEquals(8, kept.maxLimit());
+    }
+}
@@ -0,0 +1,27 @@
+package com.spm.manage_task.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class DownstreamObservationConventionTest {
+
+    @Test
+    void testRoute_StaticPathUnchanged() {
+        assertEquals("/task/", DownstreamObservationConvention.route("/task/"));
+        assertEquals("/user/bulk", DownstreamObservationConvention.route("/user/bulk"));
+    }
+
+    @Test
+    void testRoute_IdSegmentsReplaced() {
+        assertEquals("/task/{id}/subtasks", DownstreamObservationConvention.route("/task/42/subtasks"));
+        assertEquals("/task/{id}/deadline-reminder/{id}",
+            DownstreamObservationConvention.route("/task/t1/deadline-reminder/5f0c2a9e-7d4b-4c1e-9a3f-0b6d8e2f1c7a"));
+        assertEquals("/user/{id}", DownstreamObservationConvention.route("/user/abcdefghijklmnopqrstuvwxyz"));
+    }
+
+    @Test
+    void testRoute_EmptyPath() {
+        assertEquals("/", DownstreamObservationConvention.route(""));
+        assertEquals("/", DownstreamObservationConvention.route(null));
+    }
+}
@@ -0,0 +1,192 @@
+package com.spm.manage_task.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.spm.manage_task.config.ReplicaPool.Replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LoadBalancerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    // 3 errors in a row or 3x the peers' latency after 5 calls eject for 10s; at most half the replicas out
+    private static LoadBalancerProperties props() {
+        return new LoadBalancerProperties(true, LoadBalancerProperties.Strategy.LEAST_OUTSTANDING, Map.of(), Map.of(),
+            Duration.ofSeconds(30), 3, 3.0, 5, Duration.ofSeconds(10), 50);
+    }
+
+    private ReplicaPool pool(String... replicas) {
+        ReplicaPool pool = new ReplicaPool("task:3031", props(), now::get, new Random(7));
+        pool.update(List.of(replicas));
+        return pool;
+    }
+
+    @Test
+    void testLeastOutstanding_BusyReplicaSkipped() {
+        // Arrange
+        ReplicaPool pool = pool("task-1:3031", "task-2:3031");
+        Replica busy = pool.choose();
+
+        // Act
+        Replica next = pool.choose();
+        pool.release(busy);
+
+        // Assert
+        assertEquals(1, next.getOutstanding());
+        assertEquals(false, next == busy);
+    }
+
+    @Test
+    void testConsecutiveErrors_ReplicaEjectedThenReadmitted() {
+        // Arrange
+        ReplicaPool pool = pool("task-1:3031", "task-2:3031", "task-3:3031", "task-4:3031");
+        Replica failing = pool.getReplicas().get(0);
+
+        // Act
+        pool.record(failing, true, MS);
+        pool.record(failing, true, MS);
+        String reason = pool.record(failing, true, MS);
+        List<Replica> chosen = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            chosen.add(pool.choose());
+        }
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        Replica afterEjection = pool.choose();
+        chosen.forEach(pool::release);
+
+        // Assert
+        assertEquals("errors", reason);
+        assertEquals(false, chosen.contains(failing));
+        assertEquals(false, failing.isEjected());
+        assertEquals(failing, afterEjection);
+    }
+
+    @Test
+    void testSlowReplica_EjectedForLatency() {
+        // Arrange
+        ReplicaPool pool = pool("task-1:3031", "task-2:3031", "task-3:3031");
+        List<Replica> replicas = pool.getReplicas();
+
+        // Act
+        String reason = null;
+        for (int i = 0; i < 5; i++) {
+            pool.record(replicas.get(1), false, 10 * MS);
+            pool.record(replicas.get(2), false, 12 * MS);
+            reason = pool.record(replicas.get(0), false, 200 * MS);
+        }
+
+        // Assert
+        assertEquals("latency", reason);
+        assertEquals(true, replicas.get(0).isEjected());
+    }
+
+    @Test
+    void testAtMostHalfEjected_LastHealthyKeptInRotation() {
+        // Arrange
+        ReplicaPool pool = pool("task-1:3031", "task-2:3031");
+
+        // Act
+        List<String> reasons = new ArrayList<>();
+        for (Replica replica : pool.getReplicas()) {
+            for (int i = 0; i < 3; i++) {
+                reasons.add(pool.record(replica, true, MS));
+            }
+        }
+
+        // Assert
+        assertEquals(1, reasons.stream().filter("errors"::equals).count());
+        assertEquals(false, pool.getReplicas().get(1).isEjected());
+    }
+
+    @Test
+    void testRestTemplateCall_SentToReplicaAndReleasedOnClose() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoadBalancer balancer = new LoadBalancer(props(),
+            EndpointResolver.fixed(Map.of("task:3031", List.of("task-1:3031"))), registry);
+        balancer.refresh();
+        List<URI> sentTo = new ArrayList<>();
+        LoadBalancedRequestFactory factory = new LoadBalancedRequestFactory((uri, method) -> {
+            sentTo.add(uri);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+            return request;
+        }, balancer);
+
+        // Act
+        ClientHttpRequest request = factory.createRequest(URI.create("http://task:3031/task/42?x=1"), HttpMethod.GET);
+        ClientHttpResponse response = request.execute();
+        double inFlight = registry.get("downstream.replica.outstanding").gauge().value();
+        response.close();
+        ClientHttpRequest other = factory.createRequest(URI.create("http://profile:3030/user/7"), HttpMethod.GET);
+        other.execute().close();
+
+        // Assert
+        assertEquals(List.of(URI.create("http://task-1:3031/task/42?x=1"), URI.create("http://profile:3030/user/7")),
+            sentTo);
+        assertEquals(1, inFlight);
+        assertEquals(0, registry.get("downstream.replica.outstanding").gauge().value());
+        assertNull(balancer.pool(URI.create("http://profile:3030/user/7")));
+    }
+
+    @Test
+    void testConstruction_LeavesFirstResolveToScheduler() {
+        // Arrange
+        List<String> resolved = new ArrayList<>();
+        EndpointResolver resolver = new EndpointResolver() {
+            @Override
+            public Set<String> services() {
+                return Set.of("task:3031");
+            }
+
+            @Override
+            public List<String> resolve(String service) {
+                resolved.add(service);
+                return List.of("task-1:3031");
+            }
+        };
+
+        // Act
+        LoadBalancer balancer = new LoadBalancer(props(), resolver, new SimpleMeterRegistry());
+
+        // Assert
+        assertEquals(List.of(), resolved);
+        assertNull(balancer.pool(URI.create("http://task:3031/task")));
+        balancer.refresh();
+        assertEquals(List.of("task:3031"), resolved);
+    }
+
+    @Test
+    void testSrvParse_MalformedRecordsSkipped() {
+        // Act
+        List<String> endpoints = SrvEndpointResolver.parse(List.of(
+            "x 5 3031 task-0.task.spm.svc.cluster.local.",
+            "1 5 port task-9.task.spm.svc.cluster.local.",
+            "1 5 3031 task-1.task.spm.svc.cluster.local.",
+            "2 5 3031 task-2.task.spm.svc.cluster.local."));
+
+        // Assert
+        assertEquals(List.of("task-1.task.spm.svc.cluster.local:3031"), endpoints);
+    }
+}
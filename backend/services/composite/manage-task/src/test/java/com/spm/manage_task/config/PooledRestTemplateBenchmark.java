@@ -0,0 +1,141 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Throughput of the bare RestTemplate vs the pooled one against a local stand-in for task:3031.
+ *
+ * Excluded from the normal build; run with {@code mvn test -Dtest=PooledRestTemplateBenchmark}.
+ * Prints requests/second and how many distinct TCP connections the stand-in saw for each client.
+ */
+public class PooledRestTemplateBenchmark {
+
+    private static final int CALLER_THREADS = 64;
+    private static final Duration RUN_FOR = Duration.ofSeconds(10);
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final long SERVER_LATENCY_MS = 2;
+
+    private static final String TASK_JSON = "[{\"id\":\"t1\",\"title\":\"Task\",\"status\":\"To Do\",\"priority\":5,"
+        + "\"participants\":[{\"profile_id\":\"u1\",\"is_owner\":true}]}]";
+
+    private HttpServer standIn;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private String url;
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        standIn.setExecutor(Executors.newFixedThreadPool(CALLER_THREADS * 2));
+        byte[] body = TASK_JSON.getBytes(StandardCharsets.UTF_8);
+        standIn.createContext("/task/", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            try {
+                Thread.sleep(SERVER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+        url = "http://127.0.0.1:" + standIn.getAddress().getPort() + "/task/";
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.stop(0);
+    }
+
+    @Test
+    void compareBareAndPooledRestTemplate() throws Exception {
+        HttpClientProperties props = new HttpClientProperties(200, CALLER_THREADS, Duration.ofSeconds(2),
+            Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(30),
+            Duration.ofSeconds(4), Duration.ofMinutes(5), false);
+
+        Result bare = run("bare new RestTemplate()", new RestTemplate());
+
+        try (PoolingHttpClientConnectionManager pool = PooledHttpClientFactory.connectionManager(props);
+             CloseableHttpClient client = PooledHttpClientFactory.httpClient(pool, props)) {
+            Result pooled = run("pooled RestTemplate", new RestTemplate(new HttpComponentsClientHttpRequestFactory(client)));
+
+            assertEquals(0, pooled.errors, "pooled client should not fail under this load");
+            assertTrue(pooled.connections <= props.maxPerRoute(),
+                "pooled client opened " + pooled.connections + " connections, above max-per-route");
+            System.out.printf("pooled/bare throughput ratio: %.2fx%n", pooled.perSecond() / Math.max(1, bare.perSecond()));
+        }
+    }
+
+    private Result run(String label, RestTemplate restTemplate) throws Exception {
+        drive(restTemplate, WARM_UP);
+        connections.clear();
+
+        AtomicLong[] counts = drive(restTemplate, RUN_FOR);
+        Result result = new Result(counts[0].get(), counts[1].get(), connections.size());
+        System.out.printf("%-26s %,10.0f req/s  errors=%d  tcp-connections=%d%n",
+            label, result.perSecond(), result.errors, result.connections);
+        return result;
+    }
+
+    private AtomicLong[] drive(RestTemplate restTemplate, Duration duration) throws Exception {
+        AtomicLong ok = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLER_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLER_THREADS; i++) {
+                futures.add(callers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            restTemplate.getForObject(url, TaskMicroserviceResponse[].class);
+                            ok.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        return new AtomicLong[] {ok, errors};
+    }
+
+    private record Result(long requests, long errors, int connections) {
+        double perSecond() {
+            return requests / (double) RUN_FOR.toSeconds();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.spm.manage_task.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveDeadlineFilterTest {
+
+    private final ReactiveDeadlineFilter filter = new ReactiveDeadlineFilter(
+        new DeadlineProperties(Duration.ofMillis(100), Duration.ofMillis(100), Duration.ofSeconds(30), Map.of()));
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/task/user1"));
+    }
+
+    @Test
+    void testDownstreamGivenUpAtDeadline_AnsweredWith504() {
+        // Arrange: the WebClient call's own deadline fails the exchange before the filter's timeout fires
+        Mono<Void> failsAtDeadline = Mono.defer(() -> {
+            sleep(Duration.ofMillis(150));
+            return Mono.error(new DeadlineExceededException("Request deadline passed before task:3031 answered"));
+        });
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+            () -> filter.filter(exchange(), exchange -> failsAtDeadline).block(Duration.ofSeconds(5)));
+
+        // Assert
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, e.getStatusCode());
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+    }
+
+    @Test
+    void testFailureWithinDeadline_Unchanged() {
+        // Act
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> filter.filter(exchange(), exchange -> Mono.error(new IllegalStateException("broken")))
+                .block(Duration.ofSeconds(5)));
+
+        // Assert
+        assertInstanceOf(IllegalStateException.class, e);
+    }
+}
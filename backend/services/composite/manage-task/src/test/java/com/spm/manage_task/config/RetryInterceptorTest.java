@@ -0,0 +1,158 @@
+package com.spm.manage_task.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RetryInterceptorTest {
+
+    private static final URI TASK_URI = URI.create("http://task:3031/task/42");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final ExecutorService hedgeExecutor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    private static RetryProperties props(int budgetBurst, boolean hedge) {
+        return new RetryProperties(true, List.of("GET /task/{id}"), 3, Duration.ofMillis(1), Duration.ofMillis(5),
+            0.1, budgetBurst, hedge, 0.5, 1, 2);
+    }
+
+    private ClientHttpResponse call(RetryInterceptor interceptor, HttpMethod method, ClientHttpRequestExecution execution)
+            throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(method, TASK_URI), new byte[0], execution);
+    }
+
+    private ClientHttpResponse status(HttpStatus status) {
+        sent.incrementAndGet();
+        return new MockClientHttpResponse(new byte[0], status);
+    }
+
+    private double count(String name) {
+        return registry.find(name).tag("uri", "/task/{id}").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    @Test
+    void testUnavailableThenOk_Retried() throws Exception {
+        // Arrange
+        RetryInterceptor interceptor = new RetryInterceptor(props(10, false), null, registry);
+
+        // Act
+        ClientHttpResponse response = call(interceptor, HttpMethod.GET,
+            (req, body) -> status(sent.get() == 0 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, sent.get());
+        assertEquals(1, count("downstream.retries"));
+    }
+
+    @Test
+    void testBudgetSpent_NoMoreRetries() throws Exception {
+        // Arrange
+        RetryInterceptor interceptor = new RetryInterceptor(props(1, false), null, registry);
+
+        // Act
+        call(interceptor, HttpMethod.GET, (req, body) -> status(HttpStatus.SERVICE_UNAVAILABLE));
+        int firstCall = sent.getAndSet(0);
+        ClientHttpResponse response = call(interceptor, HttpMethod.GET,
+            (req, body) -> status(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // Assert
+        assertEquals(2, firstCall);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(1, sent.get());
+        assertEquals(2, count("downstream.retry.budget.exhausted"));
+    }
+
+    @Test
+    void testRouteNotListed_SentOnce() {
+        // Arrange
+        RetryInterceptor interceptor = new RetryInterceptor(props(10, false), null, registry);
+
+        // Act
+        assertThrows(IOException.class, () -> call(interceptor, HttpMethod.PUT, (req, body) -> {
+            sent.incrementAndGet();
+            throw new IOException("connection reset");
+        }));
+
+        // Assert
+        assertEquals(1, sent.get());
+        assertEquals(0, count("downstream.retries"));
+    }
+
+    @Test
+    void testRefusedByGuard_NotRetried() {
+        // Arrange
+        RetryInterceptor interceptor = new RetryInterceptor(props(10, false), null, registry);
+
+        // Act
+        assertThrows(DownstreamRejectedException.class, () -> call(interceptor, HttpMethod.GET, (req, body) -> {
+            sent.incrementAndGet();
+            throw new DownstreamRejectedException("task:3031", DownstreamRejectedException.Reason.CIRCUIT_OPEN, "open");
+        }));
+
+        // Assert
+        assertEquals(1, sent.get());
+    }
+
+    @Test
+    void testSlowCall_HedgeAnswersFirst() throws Exception {
+        // Arrange
+        RetryInterceptor interceptor = new RetryInterceptor(props(10, true), hedgeExecutor, registry);
+        // A 50ms sample, so the first attempt has surely started before the hedge is sent
+        call(interceptor, HttpMethod.GET, (req, body) -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return status(HttpStatus.OK);
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        ClientHttpResponse response = call(interceptor, HttpMethod.GET, (req, body) -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return status(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            return status(HttpStatus.OK);
+        });
+        release.countDown();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, attempts.get());
+        assertEquals(1, count("downstream.hedges"));
+        assertEquals(1, count("downstream.hedge.wins"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.spm.manage_task.controller;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spm.jobs.Job;
+import com.spm.jobs.JobService;
+
+@WebMvcTest(JobController.class)
+public class JobControllerTest {
+
+    private static final String BODY =
+        "{\"type\":\"reassign-owner\",\"params\":{\"from_owner\":\"user1\",\"to_owner\":\"user2\"}}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JobService jobService;
+
+    private final Job job = Job.queued("job1", "reassign-owner", Map.of("from_owner", "user1", "to_owner", "user2"),
+        Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void submitJob_ShouldReturn202WithLocation() throws Exception {
+        when(jobService.submit(eq("reassign-owner"), any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/task/jobs").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/task/jobs/job1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.params.to_owner").value("user2"));
+    }
+
+    @Test
+    void submitJob_ShouldReturn400_WhenParamsAreInvalid() throws Exception {
+        when(jobService.submit(eq("reassign-owner"), any()))
+            .thenThrow(new IllegalArgumentException("from_owner and to_owner must differ"));
+
+        mockMvc.perform(post("/api/task/jobs").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("from_owner and to_owner must differ"));
+    }
+
+    @Test
+    void submitJob_ShouldReturn503_WhenTooManyJobsAreWaiting() throws Exception {
+        when(jobService.submit(eq("reassign-owner"), any())).thenThrow(new RejectedExecutionException());
+
+        mockMvc.perform(post("/api/task/jobs").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getJob_ShouldReturn404_WhenJobIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/task/jobs/nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelJob_ShouldReturnTheJob() throws Exception {
+        when(jobService.cancel("job1")).thenReturn(job);
+
+        mockMvc.perform(delete("/api/task/jobs/job1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("job1"));
+    }
+}
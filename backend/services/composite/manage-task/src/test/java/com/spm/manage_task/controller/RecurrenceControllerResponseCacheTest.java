@@ -0,0 +1,99 @@
+package com.spm.manage_task.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spm.manage_task.components.ResponseCacheComponent;
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.services.RecurrenceService;
+
+@WebMvcTest(RecurrenceController.class)
+@Import(ResponseCacheComponent.class)
+public class RecurrenceControllerResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResponseCacheComponent responseCache;
+
+    @MockitoBean
+    private RecurrenceService recurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        // The context, and with it the cache, is shared by the tests
+        responseCache.invalidate(RecurrenceController.recurrenceKey("rec123"));
+
+        RecurrenceDto recurrence = new RecurrenceDto();
+        recurrence.setId("rec123");
+        recurrence.setTaskId("task456");
+        recurrence.setFrequency("Week");
+        recurrence.setInterval(1);
+        when(recurrenceService.getRecurrenceById("rec123")).thenReturn(recurrence);
+    }
+
+    @Test
+    void getRecurrenceById_ShouldBeServedFromCache_WithEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/recurrence/rec123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.task_id").value("task456"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/recurrence/rec123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.frequency").value("Week"));
+
+        verify(recurrenceService, times(1)).getRecurrenceById("rec123");
+    }
+
+    @Test
+    void getRecurrenceById_ShouldReturn304_WhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/recurrence/rec123"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/recurrence/rec123").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void updateRecurrence_ShouldDropTheCachedResponse() throws Exception {
+        mockMvc.perform(get("/api/recurrence/rec123"));
+
+        mockMvc.perform(put("/api/recurrence/rec123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"frequency\":\"Day\",\"interval\":2}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/recurrence/rec123"))
+                .andExpect(status().isOk());
+
+        verify(recurrenceService, times(2)).getRecurrenceById("rec123");
+    }
+
+    @Test
+    void writesToTheTask_ShouldDropItsRecurrences() throws Exception {
+        mockMvc.perform(get("/api/recurrence/rec123"));
+
+        responseCache.invalidateTagged(RecurrenceController.taskTag("task456"));
+        mockMvc.perform(get("/api/recurrence/rec123"));
+
+        verify(recurrenceService, times(2)).getRecurrenceById("rec123");
+    }
+}
@@ -1,9 +1,12 @@
 package com.spm.manage_task.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -14,20 +17,34 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.web.client.HttpClientErrorException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.dto.CursorPage;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskBulkResultDto;
+import com.spm.manage_task.dto.TaskDetailDto;
 import com.spm.manage_task.dto.TaskDto;
 import com.spm.manage_task.dto.TaskPostRequestDto;
+import com.spm.manage_task.services.TaskBulkService;
+import com.spm.manage_task.services.TaskDetailService;
+import com.spm.manage_task.services.TaskExportService;
 import com.spm.manage_task.services.TaskService;
 
 @WebMvcTest(TaskController.class)
@@ -39,6 +56,15 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskDetailService taskDetailService;
+
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskBulkService taskBulkService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -104,6 +130,52 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void getAllTasks_WithLimit_ShouldReturnPageAndNextCursor() throws Exception {
+        TaskDto task = new TaskDto("task1", "Task 1", "project1", "2024-12-31", "Description 1", "To Do",
+            new ArrayList<>(), "user1", null, "John Doe", "Engineering", 5);
+        when(taskService.getTaskPage(1, null)).thenReturn(new CursorPage<>(List.of(task), "next-cursor"));
+
+        mockMvc.perform(get("/api/task/").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next-cursor"))
+                .andExpect(jsonPath("$[0].id").value("task1"));
+
+        verify(taskService, times(0)).getAllTasks();
+    }
+
+    @Test
+    void getAllTasks_WithBadCursor_ShouldReturn400() throws Exception {
+        when(taskService.getTaskPage(CursorPage.DEFAULT_LIMIT, "bad"))
+            .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/task/").param("after", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    // ==================== GET /api/task/export ====================
+
+    @Test
+    void exportTasks_ShouldStreamNdjson() throws Exception {
+        when(taskExportService.streamAllTasks(any())).thenAnswer(invocation -> {
+            java.io.OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":\"task1\"}\n{\"id\":\"task2\"}\n".getBytes());
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/task/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // task.export.timeout, not the container's default
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"task1\"}\n{\"id\":\"task2\"}\n"));
+    }
+
     // ==================== GET /api/task/{userId} ====================
 
     @Test
@@ -152,6 +224,21 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    // ==================== GET /api/task/project/{projectId} ====================
+
+    @Test
+    void getProjectTasks_ShouldReturnProjectTasks() throws Exception {
+        TaskDto task1 = new TaskDto("task1", "Project Task 1", "project1", "2024-12-31", "Description", "To Do",
+            new ArrayList<>(), "user1", null, "John Doe", "Engineering", 5);
+
+        when(taskService.getProjectTasks("project1")).thenReturn(List.of(task1));
+
+        mockMvc.perform(get("/api/task/project/{projectId}", "project1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Project Task 1"));
+    }
+
     // ==================== POST /api/task/new ====================
 
     @Test
@@ -262,6 +349,48 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.error").value("An unexpected error occurred: Database connection failed"));
     }
     
+    // ==================== POST /api/task/bulk ====================
+
+    @Test
+    void bulkTasks_ShouldReturn200_WhenAllOperationsSucceed() throws Exception {
+        when(taskBulkService.apply(any(TaskBulkRequestDto.class))).thenReturn(TaskBulkResultDto.of(List.of(
+            new TaskBulkResultDto.Item(0, "delete", "task1", 200, null))));
+
+        mockMvc.perform(post("/api/task/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"op\":\"delete\",\"task_id\":\"task1\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].task_id").value("task1"))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist());
+    }
+
+    @Test
+    void bulkTasks_ShouldReturn207_WhenSomeOperationsFail() throws Exception {
+        when(taskBulkService.apply(any(TaskBulkRequestDto.class))).thenReturn(TaskBulkResultDto.of(List.of(
+            new TaskBulkResultDto.Item(0, "delete", "task1", 200, null),
+            new TaskBulkResultDto.Item(1, "delete", "task2", 504, "request deadline exceeded"))));
+
+        mockMvc.perform(post("/api/task/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[]}"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(504));
+    }
+
+    @Test
+    void bulkTasks_ShouldReturn400_WhenRequestIsRejected() throws Exception {
+        when(taskBulkService.apply(any(TaskBulkRequestDto.class)))
+            .thenThrow(new IllegalArgumentException("operations must not be empty"));
+
+        mockMvc.perform(post("/api/task/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("operations must not be empty"));
+    }
+
     // ==================== GET /api/task/id/{taskId} ====================
 
     @Test
@@ -296,6 +425,40 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.ownerName").value("John Doe"));
     }
 
+    // ==================== GET /api/task/{taskId}/full ====================
+
+    @Test
+    void getTaskDetail_ShouldReturnAggregatedDocument() throws Exception {
+        String taskId = "task123";
+
+        TaskDto mockTask = new TaskDto(
+            taskId,
+            "Sample Task",
+            "project1",
+            "2024-12-31",
+            "Task description",
+            "In Progress",
+            new ArrayList<>(),
+            "user1",
+            null,
+            "John Doe",
+            "Engineering",
+            5
+        );
+        TaskDetailDto detail = new TaskDetailDto();
+        detail.setTask(mockTask);
+        detail.addError("recurrences", "timed out");
+
+        when(taskDetailService.getTaskDetail(taskId, "user1")).thenReturn(detail);
+
+        mockMvc.perform(get("/api/task/{taskId}/full", taskId).param("userId", "user1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.task.id").value(taskId))
+                .andExpect(jsonPath("$.task.ownerName").value("John Doe"))
+                .andExpect(jsonPath("$.subtasks").isEmpty())
+                .andExpect(jsonPath("$.errors.recurrences").value("timed out"));
+    }
+
     // ==================== PUT /api/task/edit/{taskId} ====================
 
     @Test
@@ -530,4 +693,16 @@ public class TaskControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string("Failed to delete task: Database connection lost"));
     }
+
+    @Test
+    void deleteTask_ShouldReturn404_WhenTaskIsAlreadyGone() throws Exception {
+        String taskId = "task123";
+
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0],
+                StandardCharsets.UTF_8))
+            .when(taskService).deleteTask(taskId);
+
+        mockMvc.perform(delete("/api/task/{taskId}", taskId))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -1,16 +1,23 @@
 package com.spm.manage_task.services;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -110,5 +117,55 @@ public class ProfileServiceTest {
         assertNull(result.getUserTeamName());
         verify(restTemplate, times(1)).getForEntity(eq("http://profile:3030/user/" + userId), eq(UserDto.class));
     }
-}
 
+    // ===== getUsersByIds() Tests =====
+
+    @Test
+    void testGetUsersByIds_SingleBulkRequestForDistinctIds() {
+        // Arrange
+        UserDto other = new UserDto("user456", null, null, "Jane Roe", null, "Sales", null);
+        when(restTemplate.postForEntity(eq("http://profile:3030/user/bulk"), any(), eq(UserDto[].class)))
+            .thenReturn(new ResponseEntity<>(new UserDto[]{mockUserDto, other}, HttpStatus.OK));
+
+        // Act
+        Map<String, UserDto> result = profileService.getUsersByIds(List.of("user123", "user456", "user123"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("John Doe", result.get("user123").getUserDisplayName());
+        assertEquals("Sales", result.get("user456").getUserDepartmentName());
+        verify(restTemplate, times(1)).postForEntity(
+            eq("http://profile:3030/user/bulk"),
+            eq(Map.of("ids", List.of("user123", "user456"))),
+            eq(UserDto[].class)
+        );
+    }
+
+    @Test
+    void testGetUsersByIds_ChunksLargeRequests() {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < ProfileService.BULK_CHUNK_SIZE * 2 + 1; i++) {
+            ids.add("user" + i);
+        }
+        when(restTemplate.postForEntity(eq("http://profile:3030/user/bulk"), any(), eq(UserDto[].class)))
+            .thenReturn(new ResponseEntity<>(new UserDto[0], HttpStatus.OK));
+
+        // Act
+        Map<String, UserDto> result = profileService.getUsersByIds(ids);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(restTemplate, times(3)).postForEntity(eq("http://profile:3030/user/bulk"), any(), eq(UserDto[].class));
+    }
+
+    @Test
+    void testGetUsersByIds_EmptyInputSkipsNetwork() {
+        // Act
+        Map<String, UserDto> result = profileService.getUsersByIds(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
+}
@@ -0,0 +1,143 @@
+package com.spm.manage_task.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.ProfileCacheComponent;
+import com.spm.manage_task.dto.UserDto;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+public class ReactiveProfileServiceTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<String> requestedIds = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DisposableServer profileStub;
+    private ProfileCacheComponent profileCache;
+    private ReactiveProfileService profileService;
+
+    @BeforeEach
+    void setUp() {
+        profileCache = mock(ProfileCacheComponent.class);
+        when(profileCache.getPresent(any())).thenReturn(Map.of());
+
+        // Stand-in for profile:3030 answering POST /user/bulk after a short delay, tracking overlap
+        profileStub = HttpServer.create().port(0)
+            .route(routes -> routes.post("/user/bulk", (request, response) -> request.receive().aggregate().asString()
+                .flatMap(body -> {
+                    calls.incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    List<String> ids = readIds(body);
+                    synchronized (requestedIds) {
+                        requestedIds.addAll(ids);
+                    }
+                    return Mono.delay(Duration.ofMillis(50))
+                        .doFinally(signal -> inFlight.decrementAndGet())
+                        .thenReturn(users(ids));
+                })
+                .flatMap(json -> response.header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .sendString(Mono.just(json)).then())))
+            .bindNow();
+        profileService = new ReactiveProfileService(WebClient.create(), profileCache,
+            "http://localhost:" + profileStub.port(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileStub.disposeNow();
+    }
+
+    private List<String> readIds(String body) {
+        try {
+            List<String> ids = new ArrayList<>();
+            objectMapper.readTree(body).get("ids").forEach(id -> ids.add(id.asText()));
+            return ids;
+        } catch (Exception e) {
+            throw new IllegalArgumentException(body, e);
+        }
+    }
+
+    private static String users(List<String> ids) {
+        StringBuilder json = new StringBuilder("[");
+        for (String id : ids) {
+            json.append(json.length() > 1 ? "," : "")
+                .append("{\"id\":\"").append(id).append("\",\"display_name\":\"User ").append(id).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("u" + i);
+        }
+        return ids;
+    }
+
+    @Test
+    void testGetUsersByIds_ChunksFetchedWithBoundedConcurrency() {
+        // Arrange
+        int count = ProfileService.BULK_CHUNK_SIZE * 5;
+
+        // Act
+        Map<String, UserDto> users = profileService.getUsersByIds(ids(count)).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(count, users.size());
+        assertEquals("User u7", users.get("u7").getUserDisplayName());
+        assertEquals(5, calls.get());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 bulk calls at once, saw " + maxInFlight.get());
+        verify(profileCache).putAll(users);
+    }
+
+    @Test
+    void testGetUsersByIds_CachedUsersNotRequested() {
+        // Arrange
+        UserDto cached = new UserDto("u0", null, null, "Cached", null, null, null);
+        when(profileCache.getPresent(any())).thenReturn(Map.of("u0", cached));
+
+        // Act
+        Map<String, UserDto> users = profileService.getUsersByIds(ids(3)).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals("Cached", users.get("u0").getUserDisplayName());
+        assertEquals("User u2", users.get("u2").getUserDisplayName());
+        assertEquals(List.of("u1", "u2"), requestedIds);
+    }
+
+    @Test
+    void testGetUsersByIds_AllCached_NoCall() {
+        // Arrange
+        UserDto cached = new UserDto("u0", null, null, "Cached", null, null, null);
+        when(profileCache.getPresent(any())).thenReturn(Map.of("u0", cached));
+
+        // Act & Assert
+        StepVerifier.create(profileService.getUsersByIds(List.of("u0")))
+            .expectNext(Map.of("u0", cached))
+            .verifyComplete();
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,62 @@
+package com.spm.manage_task.services;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.components.TaskCacheInvalidationBroadcaster;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveTaskServiceTest {
+
+    private final CountDownLatch releaseBroadcast = new CountDownLatch(1);
+    private final CountDownLatch broadcast = new CountDownLatch(1);
+    private final AtomicReference<String> broadcastThread = new AtomicReference<>();
+    private ReactiveTaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        // task:3031 answers every call at once, on the subscribing thread
+        WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+            .build();
+        // A broadcast stuck in KafkaTemplate.send, e.g. waiting for metadata
+        TaskCacheInvalidationBroadcaster broadcaster = mock(TaskCacheInvalidationBroadcaster.class);
+        doAnswer(invocation -> {
+            broadcastThread.set(Thread.currentThread().getName());
+            broadcast.countDown();
+            releaseBroadcast.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(broadcaster).publish(any());
+
+        taskService = new ReactiveTaskService();
+        ReflectionTestUtils.setField(taskService, "webClient", webClient);
+        ReflectionTestUtils.setField(taskService, "taskCache", new TaskCacheComponent(100, Duration.ofSeconds(30)));
+        ReflectionTestUtils.setField(taskService, "taskCacheBroadcaster", broadcaster);
+    }
+
+    @Test
+    void testDeleteTask_AnsweredWithoutWaitingForTheBroadcast() throws Exception {
+        // Act
+        taskService.deleteTask("t1").block(Duration.ofSeconds(1));
+
+        // Assert
+        assertTrue(broadcast.await(5, TimeUnit.SECONDS));
+        assertTrue(broadcastThread.get().startsWith("boundedElastic"), broadcastThread.get());
+        releaseBroadcast.countDown();
+    }
+}
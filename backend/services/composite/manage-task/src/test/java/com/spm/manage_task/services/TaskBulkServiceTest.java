@@ -0,0 +1,237 @@
+package com.spm.manage_task.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.spm.manage_task.config.DeadlineExceededException;
+import com.spm.manage_task.config.TaskBulkProperties;
+import com.spm.manage_task.dto.TaskBulkRequestDto;
+import com.spm.manage_task.dto.TaskBulkRequestDto.Operation;
+import com.spm.manage_task.dto.TaskBulkResultDto;
+import com.spm.manage_task.dto.TaskPostRequestDto;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskBulkServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private ExecutorService executor;
+    private TaskBulkService taskBulkService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        taskBulkService = new TaskBulkService(taskService, executor, new TaskBulkProperties(10, 4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static TaskPostRequestDto task(String title) {
+        return new TaskPostRequestDto(title, "2025-12-31", "project1", "Desc", "Ongoing", new ArrayList<>(),
+            "user1", null, 5);
+    }
+
+    @Test
+    void apply_ShouldRejectInvalidOperationsWithoutCallingTaskService() {
+        // Arrange
+        TaskPostRequestDto noPriority = task("No priority");
+        noPriority.setTaskPriority(0);
+        TaskBulkRequestDto request = new TaskBulkRequestDto(List.of(
+            new Operation("create", null, task("Same")),
+            new Operation("create", null, task("Same")),
+            new Operation("update", null, noPriority),
+            new Operation("archive", "task1", null)));
+
+        // Act
+        TaskBulkResultDto result = taskBulkService.apply(request);
+
+        // Assert
+        assertEquals(1, result.succeeded());
+        assertEquals(3, result.failed());
+        assertEquals(200, result.results().get(0).status());
+        assertEquals("Another create in this request has the same title", result.results().get(1).error());
+        assertEquals("task_id is required; Priority is required and must be a number from 1 to 10",
+            result.results().get(2).error());
+        assertEquals(400, result.results().get(3).status());
+        verify(taskService).createTask(any(TaskPostRequestDto.class), any());
+        verify(taskService, never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    void apply_ShouldReportEachFailureWithItsOwnStatus() {
+        // Arrange
+        doThrow(new TaskRejectedException("Title already exists")).when(taskService).updateTask(any(), any(), any());
+        doAnswer(invocation -> switch ((String) invocation.getArgument(0)) {
+            case "task2" -> throw new ResourceAccessException("deadline",
+                new DeadlineExceededException("request deadline exceeded"));
+            case "task3" -> throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+            case "task5" -> throw new RuntimeException("Failed to delete task. Status code: 202 ACCEPTED");
+            default -> null;
+        }).when(taskService).deleteTask(any(), any());
+        TaskBulkRequestDto request = new TaskBulkRequestDto(List.of(
+            new Operation("Update", "task1", task("Renamed")),
+            new Operation("delete", "task2", null),
+            new Operation("delete", "task3", null),
+            new Operation("delete", "task4", null),
+            new Operation("delete", "task5", null)));
+
+        // Act
+        TaskBulkResultDto result = taskBulkService.apply(request);
+
+        // Assert
+        assertEquals(1, result.succeeded());
+        assertEquals(400, result.results().get(0).status());
+        assertEquals("Title already exists", result.results().get(0).error());
+        assertEquals("update", result.results().get(0).op());
+        assertEquals(504, result.results().get(1).status());
+        assertEquals(502, result.results().get(2).status());
+        assertEquals(200, result.results().get(3).status());
+        assertNull(result.results().get(3).error());
+        assertEquals(500, result.results().get(4).status());
+    }
+
+    @Test
+    void apply_ShouldFlushOneBatchAfterAllOperations() {
+        // Arrange
+        TaskBulkRequestDto request = new TaskBulkRequestDto(List.of(
+            new Operation("create", null, task("First")),
+            new Operation("create", null, task("Second")),
+            new Operation("delete", "task1", null)));
+
+        // Act
+        taskBulkService.apply(request);
+
+        // Assert
+        ArgumentCaptor<TaskWriteBatch> batch = ArgumentCaptor.forClass(TaskWriteBatch.class);
+        verify(taskService, times(2)).createTask(any(), batch.capture());
+        assertTrue(batch.getAllValues().stream().allMatch(b -> b == batch.getValue()));
+        InOrder order = inOrder(taskService);
+        order.verify(taskService).deleteTask("task1", batch.getValue());
+        order.verify(taskService).flush(batch.getValue());
+    }
+
+    @Test
+    void apply_ShouldRunOperationsOnTheSameTaskInRequestOrder() {
+        // Arrange
+        TaskBulkRequestDto request = new TaskBulkRequestDto(List.of(
+            new Operation("update", "task1", task("First")),
+            new Operation("delete", "task1", null)));
+
+        // Act
+        TaskBulkResultDto result = taskBulkService.apply(request);
+
+        // Assert
+        assertEquals(2, result.succeeded());
+        InOrder order = inOrder(taskService);
+        order.verify(taskService).updateTask(any(), any(), any());
+        order.verify(taskService).deleteTask(eq("task1"), any());
+    }
+
+    @Test
+    void apply_ShouldRunIndependentOperationsInParallel() throws Exception {
+        // Arrange
+        CountDownLatch allStarted = new CountDownLatch(4);
+        AtomicInteger overlapping = new AtomicInteger();
+        doAnswer(invocation -> {
+            allStarted.countDown();
+            if (allStarted.await(2, TimeUnit.SECONDS)) {
+                overlapping.incrementAndGet();
+            }
+            return null;
+        }).when(taskService).deleteTask(any(), any());
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            operations.add(new Operation("delete", "task" + i, null));
+        }
+
+        // Act
+        TaskBulkResultDto result = taskBulkService.apply(new TaskBulkRequestDto(operations));
+
+        // Assert
+        assertEquals(4, result.succeeded());
+        assertEquals(4, overlapping.get());
+    }
+
+    @Test
+    void apply_ShouldKeepCallsAtTheConcurrencyWhenTheRequestThreadRunsSomeItself() throws Exception {
+        // Arrange: two workers and room for one queued operation; the rest run on the calling thread
+        ThreadPoolExecutor smallExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.CallerRunsPolicy());
+        TaskBulkService bounded = new TaskBulkService(taskService, smallExecutor, new TaskBulkProperties(10, 2));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(taskService).deleteTask(any(), any());
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            operations.add(new Operation("delete", "task" + i, null));
+        }
+
+        // Act
+        TaskBulkResultDto result;
+        try {
+            result = bounded.apply(new TaskBulkRequestDto(operations));
+        } finally {
+            smallExecutor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(6, result.succeeded());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void apply_ShouldRejectEmptyOrOversizedRequests() {
+        // Arrange
+        List<Operation> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(new Operation("delete", "task" + i, null));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskBulkService.apply(new TaskBulkRequestDto(List.of())));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> taskBulkService.apply(new TaskBulkRequestDto(tooMany)));
+        assertTrue(e.getMessage().contains("10"));
+        verify(taskService, never()).deleteTask(any(), any());
+    }
+}
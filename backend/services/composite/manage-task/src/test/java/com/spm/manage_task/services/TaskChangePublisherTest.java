@@ -0,0 +1,69 @@
+package com.spm.manage_task.services;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.manage_task.components.TaskReadModel;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskChangePublisherTest {
+
+    private static final String TASK_URL = "http://task:3031/task";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private TaskReadModel readModel;
+
+    private TaskChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new TaskChangePublisher(TASK_URL, "task-changes", restTemplate, kafkaTemplate, readModel,
+            Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void testSnapshot_TombstonesOnlyRowsOlderThanItsStart_StampedWithIt() {
+        // Arrange: t2 is in the view but no longer listed; t3 was created after the view was read
+        when(readModel.taskIdsUpdatedBefore(anyLong())).thenReturn(Set.of("t1", "t2"));
+        when(restTemplate.getForObject(TASK_URL + "/", String.class))
+            .thenReturn("[{\"id\":\"t1\"},{\"id\":\"t3\"}]");
+        long before = System.currentTimeMillis();
+
+        // Act
+        publisher.publishSnapshot();
+
+        // Assert
+        InOrder order = inOrder(readModel, restTemplate);
+        ArgumentCaptor<Long> startedAt = ArgumentCaptor.forClass(Long.class);
+        order.verify(readModel).taskIdsUpdatedBefore(startedAt.capture());
+        order.verify(restTemplate).getForObject(TASK_URL + "/", String.class);
+        assertTrue(startedAt.getValue() >= before);
+        verify(kafkaTemplate).send(eq("task-changes"), isNull(), eq(startedAt.getValue()), eq("t2"), isNull());
+        verify(kafkaTemplate, never()).send(eq("task-changes"), isNull(), anyLong(), eq("t3"), isNull());
+        verify(kafkaTemplate).send("task-changes", TaskReadModel.SNAPSHOT_KEY, Long.toString(startedAt.getValue()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.spm.manage_task.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spm.manage_task.config.FanOutProperties;
+import com.spm.manage_task.dto.RecurrenceDto;
+import com.spm.manage_task.dto.TaskDetailDto;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.dto.TaskReminderDto;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskDetailServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private RecurrenceService recurrenceService;
+
+    private ExecutorService executor;
+    private TaskDetailService taskDetailService;
+
+    private final TaskDto task = new TaskDto("task1", "Task", "project1", "2025-12-31", "Desc", "Ongoing",
+        new ArrayList<>(), "user1", null, "Alice", "Engineering", 5);
+    private final TaskDto subtask = new TaskDto("task2", "Subtask", "project1", "2025-12-31", "Desc", "Ongoing",
+        new ArrayList<>(), "user1", "task1", "Alice", "Engineering", 3);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        taskDetailService = new TaskDetailService(taskService, recurrenceService, executor,
+            new FanOutProperties(4, 16, Duration.ofMillis(500)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Each stubbed call only returns once all four calls have started, so this only passes if they run together
+    private <T> Answer<T> afterAllStarted(CountDownLatch started, T value) {
+        return invocation -> {
+            started.countDown();
+            assertTrue(started.await(2, TimeUnit.SECONDS), "downstream calls ran one after another");
+            return value;
+        };
+    }
+
+    @Test
+    void testGetTaskDetail_RunsDownstreamCallsConcurrently() {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(4);
+        TaskReminderDto reminder = new TaskReminderDto("task1", List.of(1, 3), "user1");
+        when(taskService.getTaskByIdWithOwner("task1")).thenAnswer(afterAllStarted(started, task));
+        when(taskService.getSubTaskByTaskId("task1")).thenAnswer(afterAllStarted(started, List.of(subtask)));
+        when(recurrenceService.getRecurrencesByTaskId("task1")).thenAnswer(afterAllStarted(started, List.of(new RecurrenceDto())));
+        when(taskService.getTaskDeadlineReminder("task1", "user1")).thenAnswer(afterAllStarted(started, reminder));
+
+        // Act
+        TaskDetailDto detail = taskDetailService.getTaskDetail("task1", "user1");
+
+        // Assert
+        assertEquals("Alice", detail.getTask().getTaskOwnerName());
+        assertEquals(1, detail.getSubtasks().size());
+        assertEquals(1, detail.getRecurrences().size());
+        assertEquals(List.of(1, 3), detail.getReminder().getDeadlineReminder());
+        assertTrue(detail.getErrors().isEmpty());
+    }
+
+    @Test
+    void testGetTaskDetail_SlowSectionIsDroppedAtDeadline() {
+        // Arrange
+        when(taskService.getTaskByIdWithOwner("task1")).thenReturn(task);
+        when(taskService.getSubTaskByTaskId("task1")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of(subtask);
+        });
+        when(recurrenceService.getRecurrencesByTaskId("task1")).thenReturn(List.of(new RecurrenceDto()));
+
+        // Act
+        long start = System.nanoTime();
+        TaskDetailDto detail = taskDetailService.getTaskDetail("task1", null);
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(tookMs < 2_000, "waited " + tookMs + " ms past the deadline");
+        assertEquals("task1", detail.getTask().getTaskId());
+        assertTrue(detail.getSubtasks().isEmpty());
+        assertEquals("timed out", detail.getErrors().get(TaskDetailService.SUBTASKS));
+        assertEquals(1, detail.getRecurrences().size());
+    }
+
+    @Test
+    void testGetTaskDetail_FailedOptionalSectionIsReportedNotThrown() {
+        // Arrange
+        when(taskService.getTaskByIdWithOwner("task1")).thenReturn(task);
+        when(taskService.getSubTaskByTaskId("task1")).thenReturn(List.of());
+        when(recurrenceService.getRecurrencesByTaskId("task1"))
+            .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "No recurrences found for task ID: task1"));
+        when(taskService.getTaskDeadlineReminder("task1", "user1")).thenThrow(new RuntimeException("task:3031 unavailable"));
+
+        // Act
+        TaskDetailDto detail = taskDetailService.getTaskDetail("task1", "user1");
+
+        // Assert
+        assertTrue(detail.getRecurrences().isEmpty());
+        assertNull(detail.getErrors().get(TaskDetailService.RECURRENCES));
+        assertNull(detail.getReminder());
+        assertEquals("task:3031 unavailable", detail.getErrors().get(TaskDetailService.REMINDER));
+    }
+
+    @Test
+    void testGetTaskDetail_MissingSectionDecidedByStatusNotMessage() {
+        // Arrange
+        when(taskService.getTaskByIdWithOwner("task1")).thenReturn(task);
+        when(taskService.getSubTaskByTaskId("task1")).thenReturn(List.of());
+        when(recurrenceService.getRecurrencesByTaskId("task1"))
+            .thenThrow(new RuntimeException("No recurrences found for task ID: task1"));
+        when(taskService.getTaskDeadlineReminder("task1", "user1"))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        // Act
+        TaskDetailDto detail = taskDetailService.getTaskDetail("task1", "user1");
+
+        // Assert
+        assertEquals("No recurrences found for task ID: task1", detail.getErrors().get(TaskDetailService.RECURRENCES));
+        assertNull(detail.getReminder());
+        assertNull(detail.getErrors().get(TaskDetailService.REMINDER));
+    }
+
+    @Test
+    void testGetTaskDetail_MissingTaskFailsRequest() {
+        // Arrange
+        when(taskService.getTaskByIdWithOwner("missing")).thenThrow(new RuntimeException("Task not found for ID: missing"));
+
+        // Act & Assert
+        RuntimeException e = assertThrows(RuntimeException.class, () -> taskDetailService.getTaskDetail("missing", null));
+        assertEquals("Task not found for ID: missing", e.getMessage());
+        verify(taskService, never()).getTaskDeadlineReminder("missing", null);
+    }
+}
@@ -0,0 +1,117 @@
+package com.spm.manage_task.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.dto.TaskDto;
+import com.spm.manage_task.factory.TaskMicroserviceResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskExportServiceTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private TaskDTOWrapperComponent taskDTOWrapper;
+
+    // Same module set as the application's mapper, so constructor-bound factory types deserialize
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private TaskExportService taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        taskExportService = new TaskExportService("http://task:3031/task", restTemplate, taskDTOWrapper, objectMapper, 200);
+    }
+
+    private void enrichByEcho() {
+        when(taskDTOWrapper.toTaskDtoList(any())).thenAnswer(invocation -> {
+            TaskMicroserviceResponse[] rows = invocation.getArgument(0);
+            batchSizes.add(rows.length);
+            return Arrays.stream(rows)
+                .map(row -> new TaskDto(row.getTaskId(), row.getTaskTitle(), null, null, null, row.getTaskStatus(),
+                    new ArrayList<>(), "user1", null, "Alice", "Engineering", row.getTaskPriority()))
+                .toList();
+        });
+    }
+
+    private static ByteArrayInputStream upstream(int tasks) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < tasks; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"t").append(i).append("\",\"title\":\"Task ").append(i)
+                .append("\",\"status\":\"Ongoing\",\"priority\":5,\"participants\":[{\"profile_id\":\"user1\",\"is_owner\":true}]}");
+        }
+        return new ByteArrayInputStream(json.append(']').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCopyAsNdjson_OneLinePerTaskEnrichedInBatches() throws IOException {
+        // Arrange
+        enrichByEcho();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = taskExportService.copyAsNdjson(upstream(450), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(450, written);
+        assertEquals(451, lines.length, "every line ends with a newline");
+        assertEquals("", lines[450]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("t0", first.get("id").asText());
+        assertEquals("Alice", first.get("ownerName").asText());
+        assertEquals("t449", objectMapper.readTree(lines[449]).get("id").asText());
+        assertEquals(List.of(200, 200, 50), batchSizes);
+        verify(taskDTOWrapper, times(3)).toTaskDtoList(any());
+    }
+
+    @Test
+    void testCopyAsNdjson_EmptyArrayWritesNothing() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = taskExportService.copyAsNdjson(upstream(0), out);
+
+        // Assert
+        assertEquals(0, written);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testCopyAsNdjson_RejectsNonArrayUpstream() {
+        // Arrange
+        ByteArrayInputStream body = new ByteArrayInputStream("{\"error\":\"boom\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        IOException e = assertThrows(IOException.class,
+            () -> taskExportService.copyAsNdjson(body, new ByteArrayOutputStream()));
+        assertTrue(e.getMessage().contains("Expected a JSON array"));
+    }
+}
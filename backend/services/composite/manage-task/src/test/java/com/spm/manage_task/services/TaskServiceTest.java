@@ -1,22 +1,27 @@
 package com.spm.manage_task.services;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,9 +30,14 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import com.spm.manage_task.components.TaskCacheComponent;
+import com.spm.manage_task.components.TaskCacheInvalidationBroadcaster;
 import com.spm.manage_task.components.TaskDTOWrapperComponent;
+import com.spm.manage_task.components.TaskReadModel;
+import com.spm.manage_task.dto.CursorPage;
 import com.spm.manage_task.dto.TaskDto;
 import com.spm.manage_task.dto.TaskPostRequestDto;
 import com.spm.manage_task.factory.Participant;
@@ -43,6 +53,12 @@ public class TaskServiceTest {
     @Mock
     private TaskDTOWrapperComponent taskDTOWrapper;
 
+    @Mock
+    private TaskReadModel taskReadModel;
+
+    @Mock
+    private TaskChangePublisher taskChangePublisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -167,6 +183,60 @@ public class TaskServiceTest {
         verify(restTemplate, times(1)).getForEntity(eq("http://task:3031/task/"), eq(TaskMicroserviceResponse[].class));
     }
 
+    // ===== getTaskPage() Tests =====
+
+    private TaskMicroserviceResponse rawTask(String taskId) {
+        List<Participant> participants = new ArrayList<>();
+        participants.add(new Participant(true, "user1"));
+        return new TaskMicroserviceResponse(taskId, null, "project1", "Task " + taskId, "2025-12-31",
+            "Description", "Ongoing", null, null, participants, 5);
+    }
+
+    @Test
+    void testGetTaskPage_EnrichesOnlyThePageAndReturnsCursor() {
+        // Arrange
+        TaskMicroserviceResponse[] fetched = {rawTask("t1"), rawTask("t2"), rawTask("t3")};
+        when(restTemplate.getForEntity(eq("http://task:3031/task/?limit={limit}&after={after}"),
+                eq(TaskMicroserviceResponse[].class), eq(3), eq("")))
+            .thenReturn(new ResponseEntity<>(fetched, HttpStatus.OK));
+        when(taskDTOWrapper.toTaskDtoList(any())).thenReturn(List.of(mockTaskDto, mockTaskDto));
+
+        // Act
+        CursorPage<TaskDto> page = taskService.getTaskPage(2, null);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals("t2", CursorPage.decodeCursor(page.nextCursor()));
+        // The look-ahead row is never enriched
+        verify(taskDTOWrapper).toTaskDtoList(argThat(rows -> rows.length == 2));
+    }
+
+    @Test
+    void testGetTaskPage_LastPageHasNoCursor() {
+        // Arrange
+        TaskMicroserviceResponse[] fetched = {rawTask("t3")};
+        when(restTemplate.getForEntity(eq("http://task:3031/task/?limit={limit}&after={after}"),
+                eq(TaskMicroserviceResponse[].class), eq(3), eq("t2")))
+            .thenReturn(new ResponseEntity<>(fetched, HttpStatus.OK));
+        when(taskDTOWrapper.toTaskDtoList(fetched)).thenReturn(List.of(mockTaskDto));
+
+        // Act
+        CursorPage<TaskDto> page = taskService.getTaskPage(2, CursorPage.encodeCursor("t2"));
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetTaskPage_RejectsBadLimitAndCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(0, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(CursorPage.MAX_LIMIT + 1, null));
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(10, "%%%"));
+        verify(restTemplate, never()).getForEntity(any(String.class), eq(TaskMicroserviceResponse[].class), any(Object[].class));
+    }
+
     // ===== getUserTask() Tests =====
 
     @Test
@@ -328,7 +398,6 @@ public class TaskServiceTest {
         when(restTemplate.getForEntity(eq("http://task:3031/task/" + taskId), eq(TaskMicroserviceResponse.class)))
             .thenReturn(new ResponseEntity<>(mockTaskResponse, HttpStatus.OK));
         when(taskDTOWrapper.toTaskDto(mockTaskResponse)).thenReturn(mockTaskDto);
-        doNothing().when(taskDTOWrapper).addOwnerInformation(mockTaskDto);
 
         // Act
         TaskDto result = taskService.getTaskByIdWithOwner(taskId);
@@ -339,7 +408,8 @@ public class TaskServiceTest {
         assertEquals("Sample Task", result.getTaskTitle());
         verify(restTemplate, times(1)).getForEntity(eq("http://task:3031/task/" + taskId), eq(TaskMicroserviceResponse.class));
         verify(taskDTOWrapper, times(1)).toTaskDto(mockTaskResponse);
-        verify(taskDTOWrapper, times(1)).addOwnerInformation(mockTaskDto);
+        // Owner comes from toTaskDto; a second addOwnerInformation would repeat the profile lookup
+        verify(taskDTOWrapper, never()).addOwnerInformation(any());
     }
 
     @Test
@@ -536,4 +606,89 @@ public class TaskServiceTest {
             eq(Void.class)
         );
     }
+
+    // ===== task read model Tests =====
+
+    @Test
+    void testGetUserTask_ServedFromReadModelWhenLoaded() {
+        // Arrange
+        TaskMicroserviceResponse[] localRows = new TaskMicroserviceResponse[]{mockTaskResponse};
+        when(taskReadModel.tasksOfUser("user1")).thenReturn(Optional.of(localRows));
+        when(taskDTOWrapper.toTaskDtoList(localRows)).thenReturn(List.of(mockTaskDto));
+
+        // Act
+        List<TaskDto> result = taskService.getUserTask("user1");
+
+        // Assert
+        assertEquals(1, result.size());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetSubTaskByTaskId_FallsBackToTaskServiceWhenReadModelNotLoaded() {
+        // Arrange
+        TaskMicroserviceResponse[] remoteRows = new TaskMicroserviceResponse[]{mockTaskResponse};
+        when(taskReadModel.subtasksOf("task123")).thenReturn(Optional.empty());
+        when(restTemplate.getForEntity(eq("http://task:3031/task/task123/subtasks"), eq(TaskMicroserviceResponse[].class)))
+            .thenReturn(new ResponseEntity<>(remoteRows, HttpStatus.OK));
+        when(taskDTOWrapper.toTaskDtoList(remoteRows)).thenReturn(List.of(mockTaskDto));
+
+        // Act
+        List<TaskDto> result = taskService.getSubTaskByTaskId("task123");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(restTemplate, times(1)).getForEntity(eq("http://task:3031/task/task123/subtasks"), eq(TaskMicroserviceResponse[].class));
+    }
+
+    @Test
+    void testGetProjectTasks_FromTaskServiceWhenReadModelNotLoaded() {
+        // Arrange
+        TaskMicroserviceResponse[] remoteRows = new TaskMicroserviceResponse[]{mockTaskResponse};
+        when(taskReadModel.tasksOfProject("project456")).thenReturn(Optional.empty());
+        when(restTemplate.getForEntity(eq("http://task:3031/task/project/project456"), eq(TaskMicroserviceResponse[].class)))
+            .thenReturn(new ResponseEntity<>(remoteRows, HttpStatus.OK));
+        when(taskDTOWrapper.toTaskDtoList(remoteRows)).thenReturn(List.of(mockTaskDto));
+
+        // Act
+        List<TaskDto> result = taskService.getProjectTasks("project456");
+
+        // Assert
+        assertEquals("task123", result.get(0).getTaskId());
+    }
+
+    @Test
+    void testDeleteTask_PublishesDeletion() {
+        // Arrange
+        when(restTemplate.exchange(eq("http://task:3031/task/task123"), eq(HttpMethod.DELETE), any(), eq(Void.class)))
+            .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+
+        // Act
+        taskService.deleteTask("task123");
+
+        // Assert
+        verify(taskChangePublisher, times(1)).taskDeleted("task123");
+    }
+
+    @Test
+    void testCreateTask_InBatch_BroadcastAndPublishedOnceAtFlush() {
+        // Arrange
+        TaskCacheInvalidationBroadcaster broadcaster = mock(TaskCacheInvalidationBroadcaster.class);
+        ReflectionTestUtils.setField(taskService, "taskCache", new TaskCacheComponent(100, Duration.ofSeconds(30)));
+        ReflectionTestUtils.setField(taskService, "taskCacheBroadcaster", broadcaster);
+        when(taskDTOWrapper.toTaskMicroserviceUpsert(mockTaskPostRequest)).thenReturn(mockUpsertRequest);
+        when(restTemplate.exchange(eq("http://task:3031/task/"), eq(HttpMethod.POST), any(HttpEntity.class),
+            eq(TaskMicroserviceResponse.class))).thenReturn(new ResponseEntity<>(mockTaskResponse, HttpStatus.OK));
+        TaskWriteBatch batch = new TaskWriteBatch();
+
+        // Act
+        taskService.createTask(mockTaskPostRequest, batch);
+        taskService.createTask(mockTaskPostRequest, batch);
+        verifyNoInteractions(broadcaster, taskChangePublisher);
+        taskService.flush(batch);
+
+        // Assert
+        verify(broadcaster, times(1)).publish(argThat(invalidation -> invalidation.userIds().contains("user1")));
+        verify(taskChangePublisher, times(1)).taskCreated("user1");
+    }
 }
@@ -3,7 +3,7 @@ package com.spm.spm;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.spm.spm", "com.spm.jobs"})
 public class SpmApplication {
 
 	public static void main(String[] args) {
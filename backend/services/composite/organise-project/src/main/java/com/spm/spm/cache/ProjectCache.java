@@ -0,0 +1,303 @@
+package com.spm.spm.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.spm.spm.config.ProjectCacheProperties;
+import com.spm.spm.dto.ProjectDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Two-tier cache of projects and of each user's project list. Lookups go to the on-heap L1, then to
+ * Redis ({@link RedisProjectStore}), then to the project service; whatever the project service returns
+ * is written to both tiers, so every replica shares what one replica has loaded. A list is only served
+ * from cache when every project in it is found in one tier or the other.
+ *
+ * Writes made through organise-project call one of the {@code after*} methods, which drop the affected
+ * entries from this replica's L1 and from Redis and publish the {@link ProjectInvalidation} so the other
+ * replicas drop them from their L1 too ({@link #onMessage}). Redis errors count as misses: requests
+ * fall through to the project service and a replica that misses an invalidation catches up when its
+ * L1 entries expire. Caches built from projects further up ({@link ResponseCache}) follow along through
+ * {@link #addInvalidationListener}.
+ *
+ * Cached DTOs are shared between requests and must not be modified by callers.
+ */
+public class ProjectCache implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectCache.class);
+
+    private final RedisProjectStore l2;
+    private final ProjectCodec codec;
+    private final Cache<UUID, ProjectDto> projects;
+    private final Cache<UUID, List<UUID>> userProjectIds;
+
+    // Bumped by every invalidation; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final List<Consumer<ProjectInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+
+    public ProjectCache(RedisProjectStore l2, ProjectCodec codec, ProjectCacheProperties props,
+                        MeterRegistry registry) {
+        this(l2, codec, props, registry, Ticker.systemTicker());
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions, ... for L1 (cache=projects|user-projects), and
+    // project.cache.l2{result=hit|miss|error} for Redis lookups
+    ProjectCache(RedisProjectStore l2, ProjectCodec codec, ProjectCacheProperties props, MeterRegistry registry,
+                 Ticker ticker) {
+        this.l2 = l2;
+        this.codec = codec;
+        this.projects = newCache(props, ticker);
+        this.userProjectIds = newCache(props, ticker);
+        CaffeineCacheMetrics.monitor(registry, projects, "projects");
+        CaffeineCacheMetrics.monitor(registry, userProjectIds, "user-projects");
+        this.l2Hits = l2Counter(registry, "hit");
+        this.l2Misses = l2Counter(registry, "miss");
+        this.l2Errors = l2Counter(registry, "error");
+    }
+
+    private static <V> Cache<UUID, V> newCache(ProjectCacheProperties props, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(props.l1MaxSize())
+                .expireAfterWrite(props.l1ExpireAfterWrite())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public ProjectDto getProject(UUID projectId, Supplier<ProjectDto> loader) {
+        ProjectDto cached = projects.getIfPresent(projectId);
+        if (cached != null) {
+            return cached;
+        }
+        long before = generation.get();
+        cached = fromL2(List.of(projectId)).get(projectId);
+        if (cached != null) {
+            putL1IfCurrent(before, cached);
+            return cached;
+        }
+
+        ProjectDto loaded = loader.get();
+        if (loaded != null && generation.get() == before) {
+            projects.put(projectId, loaded);
+            try {
+                l2.putProject(loaded);
+            } catch (RuntimeException e) {
+                l2Failed("put", e);
+            }
+        }
+        return loaded;
+    }
+
+    public List<ProjectDto> getUserProjects(UUID userId, Supplier<List<ProjectDto>> loader) {
+        long before = generation.get();
+        List<ProjectDto> cached = cachedUserProjects(userId, before);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<ProjectDto> loaded = loader.get();
+        if (loaded != null && generation.get() == before) {
+            List<UUID> ids = new ArrayList<>(loaded.size());
+            for (ProjectDto project : loaded) {
+                projects.put(project.getId(), project);
+                ids.add(project.getId());
+            }
+            userProjectIds.put(userId, List.copyOf(ids));
+            try {
+                l2.putUserProjects(userId, loaded);
+            } catch (RuntimeException e) {
+                l2Failed("put", e);
+            }
+        }
+        return loaded;
+    }
+
+    // The list and its projects from L1, with whatever is missing fetched from Redis in one MGET
+    private List<ProjectDto> cachedUserProjects(UUID userId, long before) {
+        List<UUID> ids = userProjectIds.getIfPresent(userId);
+        if (ids == null) {
+            try {
+                ids = l2.getUserProjectIds(userId);
+            } catch (RuntimeException e) {
+                l2Failed("get", e);
+                return null;
+            }
+            (ids == null ? l2Misses : l2Hits).increment();
+            if (ids == null) {
+                return null;
+            }
+        }
+
+        Map<UUID, ProjectDto> found = new HashMap<>(projects.getAllPresent(ids));
+        if (found.size() < ids.size()) {
+            List<UUID> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            Map<UUID, ProjectDto> fromL2 = fromL2(missing);
+            if (fromL2.size() < missing.size()) {
+                return null;
+            }
+            fromL2.values().forEach(project -> putL1IfCurrent(before, project));
+            found.putAll(fromL2);
+        }
+        if (generation.get() == before) {
+            userProjectIds.put(userId, List.copyOf(ids));
+        }
+        List<ProjectDto> result = new ArrayList<>(ids.size());
+        ids.forEach(id -> result.add(found.get(id)));
+        return result;
+    }
+
+    private Map<UUID, ProjectDto> fromL2(List<UUID> projectIds) {
+        try {
+            Map<UUID, ProjectDto> found = l2.getProjects(projectIds);
+            l2Hits.increment(found.size());
+            l2Misses.increment(projectIds.size() - found.size());
+            return found;
+        } catch (RuntimeException e) {
+            l2Failed("get", e);
+            return Map.of();
+        }
+    }
+
+    private void putL1IfCurrent(long before, ProjectDto project) {
+        if (generation.get() == before) {
+            projects.put(project.getId(), project);
+        }
+    }
+
+    // ==================== Invalidation ====================
+
+    /* A new project appears in its owner's and collaborators' lists */
+    public void afterCreate(UUID ownerId, List<UUID> collaborators) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        addIfPresent(userIds, ownerId);
+        addAll(userIds, collaborators);
+        invalidate(new ProjectInvalidation(Set.of(), userIds, false));
+    }
+
+    /* Title or description changed: L1 lists only hold ids, so the project itself is enough */
+    public void afterUpdate(UUID projectId) {
+        invalidate(new ProjectInvalidation(Set.of(projectId), Set.of(), false));
+    }
+
+    public void afterCollaboratorsChange(UUID projectId, List<UUID> collaborators) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        addAll(userIds, collaborators);
+        afterMembershipChange(projectId, userIds);
+    }
+
+    public void afterOwnerChange(UUID projectId, UUID newOwnerId) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        addIfPresent(userIds, newOwnerId);
+        afterMembershipChange(projectId, userIds);
+    }
+
+    public void afterDelete(UUID projectId) {
+        afterMembershipChange(projectId, new LinkedHashSet<>());
+    }
+
+    // The previous members come from the cached project; without one, every user's L1 list goes. Redis
+    // needs neither: it drops the lists naming the project through its member set.
+    private void afterMembershipChange(UUID projectId, Set<UUID> newMembers) {
+        ProjectDto previous = projects.getIfPresent(projectId);
+        if (previous == null) {
+            previous = fromL2(List.of(projectId)).get(projectId);
+        }
+        Set<UUID> userIds = new LinkedHashSet<>(newMembers);
+        if (previous != null) {
+            addIfPresent(userIds, previous.getOwner());
+            addAll(userIds, previous.getCollaborators());
+        }
+        invalidate(new ProjectInvalidation(Set.of(projectId), userIds, previous == null));
+    }
+
+    private void invalidate(ProjectInvalidation invalidation) {
+        apply(invalidation);
+        try {
+            l2.invalidate(invalidation);
+        } catch (RuntimeException e) {
+            l2Failed("invalidate", e);
+        }
+    }
+
+    /* Drops the invalidated entries from this replica's L1, then tells the listeners */
+    public void apply(ProjectInvalidation invalidation) {
+        generation.incrementAndGet();
+        projects.invalidateAll(invalidation.projectIds());
+        if (invalidation.allUsers()) {
+            userProjectIds.invalidateAll();
+        } else {
+            userProjectIds.invalidateAll(invalidation.userIds());
+        }
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    /* Called with every invalidation this replica applies, its own writes' and those published by other replicas */
+    public void addInvalidationListener(Consumer<ProjectInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        projects.invalidateAll();
+        userProjectIds.invalidateAll();
+    }
+
+    /* Invalidations published by any replica, this one included; applying one twice is harmless */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            apply(codec.decodeInvalidation(message.getBody()));
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable project cache invalidation", e);
+        }
+    }
+
+    private void l2Failed(String operation, RuntimeException e) {
+        l2Errors.increment();
+        log.debug("Project cache L2 {} failed: {}", operation, e.toString());
+    }
+
+    private static void addIfPresent(Set<UUID> ids, UUID id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static void addAll(Set<UUID> ids, List<UUID> more) {
+        if (more != null) {
+            more.forEach(id -> addIfPresent(ids, id));
+        }
+    }
+
+    private static Counter l2Counter(MeterRegistry registry, String result) {
+        return Counter.builder("project.cache.l2")
+                .description("Project cache lookups in Redis")
+                .tag("result", result)
+                .register(registry);
+    }
+}
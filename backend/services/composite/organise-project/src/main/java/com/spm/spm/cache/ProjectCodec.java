@@ -0,0 +1,71 @@
+package com.spm.spm.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spm.spm.dto.ProjectDto;
+
+/**
+ * Binary form of what the project cache keeps in Redis. Smile is Jackson's binary JSON: field names are
+ * written once per value, and UUIDs go out as 16 raw bytes instead of 36 characters, so a project with a
+ * handful of collaborators takes roughly half the space of its JSON.
+ */
+public class ProjectCodec {
+
+    private static final ObjectMapper SMILE = SmileMapper.builder().addModule(new JavaTimeModule()).build();
+
+    private final ObjectWriter projectWriter = SMILE.writerFor(ProjectDto.class);
+    private final ObjectReader projectReader = SMILE.readerFor(ProjectDto.class);
+    private final ObjectWriter idsWriter = SMILE.writerFor(new TypeReference<List<UUID>>() {});
+    private final ObjectReader idsReader = SMILE.readerFor(new TypeReference<List<UUID>>() {});
+    private final ObjectWriter invalidationWriter = SMILE.writerFor(ProjectInvalidation.class);
+    private final ObjectReader invalidationReader = SMILE.readerFor(ProjectInvalidation.class);
+
+    public byte[] encodeProject(ProjectDto project) {
+        return write(projectWriter, project);
+    }
+
+    public ProjectDto decodeProject(byte[] bytes) {
+        return read(projectReader, bytes);
+    }
+
+    public byte[] encodeIds(List<UUID> ids) {
+        return write(idsWriter, ids);
+    }
+
+    public List<UUID> decodeIds(byte[] bytes) {
+        return read(idsReader, bytes);
+    }
+
+    public byte[] encodeInvalidation(ProjectInvalidation invalidation) {
+        return write(invalidationWriter, invalidation);
+    }
+
+    public ProjectInvalidation decodeInvalidation(byte[] bytes) {
+        return read(invalidationReader, bytes);
+    }
+
+    private static byte[] write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T read(ObjectReader reader, byte[] bytes) {
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.spm.spm.cache;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache entries made stale by a project write: the projects themselves and the project lists of the
+ * given users. {@code allUsers} drops every user's list, for writes whose previous participants aren't
+ * known.
+ */
+public record ProjectInvalidation(Set<UUID> projectIds, Set<UUID> userIds, boolean allUsers) {
+}
@@ -0,0 +1,147 @@
+package com.spm.spm.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import com.spm.spm.dto.ProjectDto;
+
+/**
+ * The L2 of the project cache, in Redis: {@code <prefix><projectId>} holds a project and
+ * {@code <prefix>user:<userId>} the ids of a user's projects, both in {@link ProjectCodec} form and both
+ * with the same TTL. {@code <prefix>members:<projectId>} is the set of user list keys that name the
+ * project; it is added to whenever a list is written and lives at least as long as those lists.
+ *
+ * Invalidating a project also deletes every list in its member set, so a project that is missing from
+ * Redis is not listed by any user's entry either, whoever its members were when the lists were written.
+ *
+ * Every method costs one round trip to Redis. Failures surface as Spring's DataAccessException.
+ */
+public class RedisProjectStore {
+
+    // KEYS are member sets: deletes every user list a set names, then the set itself
+    private static final byte[] DROP_MEMBER_LISTS = raw("""
+            for _, members in ipairs(KEYS) do
+                for _, list in ipairs(redis.call('SMEMBERS', members)) do
+                    redis.call('DEL', list)
+                end
+                redis.call('DEL', members)
+            end
+            return 0
+            """);
+
+    private final RedisTemplate<String, byte[]> redis;
+    private final ProjectCodec codec;
+    private final String keyPrefix;
+    private final String channel;
+    private final Expiration ttl;
+
+    public RedisProjectStore(RedisTemplate<String, byte[]> redis, ProjectCodec codec, String keyPrefix,
+                             String channel, Duration ttl) {
+        this.redis = redis;
+        this.codec = codec;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.ttl = Expiration.from(ttl);
+    }
+
+    String projectKey(UUID projectId) {
+        return keyPrefix + projectId;
+    }
+
+    String userKey(UUID userId) {
+        return keyPrefix + "user:" + userId;
+    }
+
+    String membersKey(UUID projectId) {
+        return keyPrefix + "members:" + projectId;
+    }
+
+    private static byte[] raw(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /* MGET of the given projects; ids not in Redis are absent from the result */
+    public Map<UUID, ProjectDto> getProjects(List<UUID> projectIds) {
+        List<byte[]> values = redis.opsForValue().multiGet(projectIds.stream().map(this::projectKey).toList());
+        Map<UUID, ProjectDto> found = new HashMap<>();
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < projectIds.size(); i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                found.put(projectIds.get(i), codec.decodeProject(value));
+            }
+        }
+        return found;
+    }
+
+    /* Ids of the user's projects, or null if the list isn't in Redis */
+    public List<UUID> getUserProjectIds(UUID userId) {
+        byte[] value = redis.opsForValue().get(userKey(userId));
+        return value == null ? null : codec.decodeIds(value);
+    }
+
+    public void putProject(ProjectDto project) {
+        redis.opsForValue().set(projectKey(project.getId()), codec.encodeProject(project), ttl.getExpirationTime(),
+                ttl.getTimeUnit());
+    }
+
+    /* Pipelined SETs of every project in the list and SADDs of the list to their member sets, then the list */
+    public void putUserProjects(UUID userId, List<ProjectDto> projects) {
+        List<UUID> ids = new ArrayList<>(projects.size());
+        for (ProjectDto project : projects) {
+            ids.add(project.getId());
+        }
+        byte[] list = raw(userKey(userId));
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (ProjectDto project : projects) {
+                connection.stringCommands().set(raw(projectKey(project.getId())), codec.encodeProject(project), ttl,
+                        SetOption.upsert());
+                byte[] members = raw(membersKey(project.getId()));
+                connection.setCommands().sAdd(members, list);
+                connection.keyCommands().expire(members, ttl.getExpirationTimeInSeconds());
+            }
+            connection.stringCommands().set(list, codec.encodeIds(ids), ttl, SetOption.upsert());
+            return null;
+        });
+    }
+
+    /*
+     * Pipelined delete of every list naming an invalidated project (from its member set), DEL of the
+     * stale entries and PUBLISH of the invalidation to every replica. With allUsers the lists that could
+     * still name an invalidated project are found through the member sets, so they needn't be named.
+     */
+    public void invalidate(ProjectInvalidation invalidation) {
+        byte[][] memberSets = invalidation.projectIds().stream()
+                .map(id -> raw(membersKey(id)))
+                .toArray(byte[][]::new);
+        Collection<byte[]> keys = new ArrayList<>();
+        invalidation.projectIds().forEach(id -> keys.add(raw(projectKey(id))));
+        invalidation.userIds().forEach(id -> keys.add(raw(userKey(id))));
+        byte[] message = codec.encodeInvalidation(invalidation);
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            if (memberSets.length > 0) {
+                connection.scriptingCommands().eval(DROP_MEMBER_LISTS, ReturnType.INTEGER, memberSets.length,
+                        memberSets);
+            }
+            if (!keys.isEmpty()) {
+                connection.keyCommands().del(keys.toArray(new byte[0][]));
+            }
+            connection.publish(raw(channel), message);
+            return null;
+        });
+    }
+}
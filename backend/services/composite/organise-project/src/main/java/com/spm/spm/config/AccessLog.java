@@ -0,0 +1,197 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Structured access log written off the request path.
+ *
+ * Request threads only decide whether an entry is kept and offer it to a bounded queue; a single
+ * writer thread formats the entries as one JSON object per line and flushes once per batch. Errors
+ * and slow requests are always kept, the rest are sampled at {@code access-log.sample-rate}. If the
+ * queue is full the entry is dropped, never waited for, and the drop is counted
+ * (access.log.events{outcome="dropped"}).
+ */
+public class AccessLog implements SmartLifecycle, MeterBinder {
+
+    public static final String INBOUND = "inbound";
+    public static final String OUTBOUND = "outbound";
+
+    static final String REASON_ERROR = "error";
+    static final String REASON_SLOW = "slow";
+    static final String REASON_SAMPLED = "sampled";
+
+    private static final int MAX_BATCH = 256;
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+
+    record Entry(long epochMillis, String kind, String method, String uri, int status, long durationNanos,
+                 String error, String reason) {
+    }
+
+    private final AccessLogProperties props;
+    private final long slowThresholdNanos;
+    private final BlockingQueue<Entry> queue;
+    private final Writer sink;
+    private final JsonGenerator generator;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AccessLog(AccessLogProperties props, Writer sink) {
+        this.props = props;
+        this.slowThresholdNanos = props.slowThreshold().toNanos();
+        this.queue = new ArrayBlockingQueue<>(props.queueCapacity());
+        this.sink = sink;
+        try {
+            this.generator = new JsonFactory().createGenerator(sink);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write access log", e);
+        }
+        // One object per line; the sink is owned by whoever created it
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Called on the request thread: no formatting, no I/O, never blocks
+    public void record(String kind, String method, String uri, int status, long durationNanos, Throwable error) {
+        if (!props.enabled()) return;
+        String reason = reason(status, durationNanos, error);
+        if (reason == null) {
+            sampledOut.increment();
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), kind, method, uri, status, durationNanos,
+                error == null ? null : error.getClass().getName(), reason);
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    String reason(int status, long durationNanos, Throwable error) {
+        if (error != null || status >= 500) return REASON_ERROR;
+        if (durationNanos >= slowThresholdNanos) return REASON_SLOW;
+        double rate = props.sampleRate();
+        if (rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate)) return REASON_SAMPLED;
+        return null;
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("access.log.events", written, LongAdder::sum).tag("outcome", "written").register(registry);
+        FunctionCounter.builder("access.log.events", dropped, LongAdder::sum).tag("outcome", "dropped").register(registry);
+        FunctionCounter.builder("access.log.events", sampledOut, LongAdder::sum).tag("outcome", "sampled_out").register(registry);
+        Gauge.builder("access.log.queue.size", queue, BlockingQueue::size).register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        writerThread = new Thread(this::drainLoop, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Stops the writer and writes out whatever is still queued
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        write(rest);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        if (batch.isEmpty()) return;
+        int done = 0;
+        try {
+            for (Entry entry : batch) {
+                writeEntry(entry);
+                done++;
+            }
+            generator.flush();
+            written.add(done);
+        } catch (IOException e) {
+            dropped.add(batch.size());
+            log.warn("Access log write failed, {} entries lost: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void writeEntry(Entry entry) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ts", Instant.ofEpochMilli(entry.epochMillis()).toString());
+        generator.writeStringField("kind", entry.kind());
+        generator.writeStringField("method", entry.method());
+        generator.writeStringField("uri", entry.uri());
+        generator.writeNumberField("status", entry.status());
+        generator.writeNumberField("durationMs", entry.durationNanos() / 1_000_000.0);
+        if (entry.error() != null) {
+            generator.writeStringField("error", entry.error());
+        }
+        generator.writeStringField("reason", entry.reason());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
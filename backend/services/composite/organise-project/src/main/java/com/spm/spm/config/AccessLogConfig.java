@@ -0,0 +1,23 @@
+package com.spm.spm.config;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    // JSON lines go straight to stdout, bypassing the synchronized System.out PrintStream
+    @Bean
+    public AccessLog accessLog(AccessLogProperties props) {
+        return new AccessLog(props, new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8)));
+    }
+}
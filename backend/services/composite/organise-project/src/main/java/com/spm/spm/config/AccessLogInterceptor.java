@@ -0,0 +1,39 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+// Records each RestTemplate call to the atomic services in the access log
+public class AccessLogInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AccessLog accessLog;
+
+    public AccessLogInterceptor(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            accessLog.record(AccessLog.OUTBOUND, request.getMethod().name(), withoutQuery(request.getURI()),
+                    response.getStatusCode().value(), System.nanoTime() - start, null);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            accessLog.record(AccessLog.OUTBOUND, request.getMethod().name(), withoutQuery(request.getURI()),
+                    0, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    private static String withoutQuery(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority() + uri.getRawPath();
+    }
+}
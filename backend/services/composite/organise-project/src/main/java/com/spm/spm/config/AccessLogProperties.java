@@ -0,0 +1,23 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the asynchronous JSON access log ({@code access-log.*}).
+ *
+ * @param enabled       turn access logging off entirely
+ * @param queueCapacity entries waiting for the writer thread; when full, new entries are dropped and
+ *                      counted rather than blocking the request thread
+ * @param sampleRate    fraction (0.0 to 1.0) of ordinary requests and calls that are logged
+ * @param slowThreshold requests and calls at least this slow are always logged, as are errors
+ */
+@ConfigurationProperties(prefix = "access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int queueCapacity,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("500ms") Duration slowThreshold) {
+}
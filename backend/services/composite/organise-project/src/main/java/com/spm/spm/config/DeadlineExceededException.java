@@ -0,0 +1,14 @@
+package com.spm.spm.config;
+
+import java.io.InterruptedIOException;
+
+/**
+ * A downstream call not made, or abandoned, because the inbound request's deadline has passed. Like a
+ * socket timeout it is an I/O failure, raised by the RestTemplate as a {@code ResourceAccessException}.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
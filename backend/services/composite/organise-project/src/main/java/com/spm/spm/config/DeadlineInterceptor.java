@@ -0,0 +1,59 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Forwards what is left of the inbound request's {@link RequestDeadline} to each downstream call in
+ * {@link RequestDeadline#HEADER}. Once the deadline has passed, calls fail at once with
+ * {@link DeadlineExceededException} instead of being sent.
+ *
+ * The call's own response timeout is shortened to match (see PooledHttpClientFactory#deadlineContext).
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    // Socket timeouts are whole milliseconds cut down from remaining(), so they can fire just short of the deadline
+    private static final Duration TIMEOUT_SLACK = Duration.ofMillis(5);
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            request.getHeaders().set(RequestDeadline.HEADER, budget(deadline, request.getURI().toString()));
+        }
+        return execution.execute(request, body);
+    }
+
+    /**
+     * Whether a call made on this thread failed because of its request's own deadline: it was refused or
+     * abandoned at the deadline, or it timed out with next to nothing of the deadline left. Such a failure
+     * says nothing about the downstream, nor about callers that have more time.
+     */
+    public static boolean causedByDeadline(IOException e) {
+        if (e instanceof DeadlineExceededException) {
+            return true;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        return e instanceof InterruptedIOException && deadline != null
+                && deadline.remaining().compareTo(TIMEOUT_SLACK) < 0;
+    }
+
+    private static String budget(RequestDeadline deadline, String url) throws DeadlineExceededException {
+        long millis = deadline.remaining().toMillis();
+        if (millis <= 0) {
+            throw exceeded(url);
+        }
+        return Long.toString(millis);
+    }
+
+    private static DeadlineExceededException exceeded(String url) {
+        return new DeadlineExceededException("Request deadline passed before " + url + " answered");
+    }
+}
@@ -0,0 +1,52 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Time budget of inbound requests ({@code deadline.*}).
+ *
+ * @param defaultTimeout budget of a request that sends no {@link RequestDeadline#HEADER} and matches no route
+ * @param min            shortest budget a caller may ask for in the header; shorter ones are raised to it, so
+ *                       a caller can't make our downstream calls time out almost at once
+ * @param max            longest budget a caller may ask for in the header
+ * @param routes         per-route defaults, by path pattern (e.g. {@code /projects/all}); the first match
+ *                       wins and 0 means no deadline
+ */
+@ConfigurationProperties(prefix = "deadline")
+public record DeadlineProperties(
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue("100ms") Duration min,
+        @DefaultValue("30s") Duration max,
+        @DefaultValue Map<String, Duration> routes) {
+
+    // The budget for a request to this path, or null when it runs without a deadline
+    public Duration budget(String path, String header) {
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis > 0) {
+                    Duration asked = Duration.ofMillis(millis);
+                    return asked.compareTo(max) > 0 ? max : asked.compareTo(min) < 0 ? min : asked;
+                }
+            } catch (NumberFormatException e) {
+                // fall back to the route's default
+            }
+        }
+
+        Duration budget = defaultTimeout;
+        PathContainer container = PathContainer.parsePath(path);
+        for (Map.Entry<String, Duration> route : routes.entrySet()) {
+            if (PathPatternParser.defaultInstance.parse(route.getKey()).matches(container)) {
+                budget = route.getValue();
+                break;
+            }
+        }
+        return budget.isZero() || budget.isNegative() ? null : budget;
+    }
+}
@@ -0,0 +1,92 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs every RestTemplate call through the {@link DownstreamGuard} of its host:port, so each atomic
+ * service gets its own limit and breaker. A refused call fails with {@link DownstreamRejectedException}
+ * before a connection is taken.
+ *
+ * A RestTemplate call that fails only because its request's deadline ran out is released as not failed,
+ * so callers sending a tiny budget can't shrink the limit or open the breaker for everyone.
+ *
+ * Meters, tagged with the downstream: downstream.guard.limit, downstream.guard.in.flight,
+ * downstream.guard.state (0 closed, 1 open, 2 half-open) and downstream.guard.rejected by reason.
+ */
+public class DownstreamGuardInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConcurrentMap<String, DownstreamGuard> guards = new ConcurrentHashMap<>();
+    private final DownstreamGuardProperties props;
+    private final MeterRegistry registry;
+
+    public DownstreamGuardInterceptor(DownstreamGuardProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        DownstreamGuard guard = guard(request.getURI());
+        DownstreamGuard.Permit permit = acquire(guard);
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } catch (IOException e) {
+            // A timeout set by the caller's own deadline is no sign of trouble downstream
+            failed = !DeadlineInterceptor.causedByDeadline(e);
+            throw e;
+        } finally {
+            guard.release(permit, failed);
+        }
+    }
+
+    public DownstreamGuard guard(URI uri) {
+        return guards.computeIfAbsent(uri.getRawAuthority(), this::register);
+    }
+
+    private DownstreamGuard.Permit acquire(DownstreamGuard guard) throws DownstreamRejectedException {
+        try {
+            return guard.acquire();
+        } catch (DownstreamRejectedException e) {
+            Counter.builder("downstream.guard.rejected")
+                    .description("Downstream calls refused by the concurrency limit or an open circuit")
+                    .tag("downstream", guard.getDownstream())
+                    .tag("reason", e.getReason().name().toLowerCase())
+                    .register(registry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private DownstreamGuard register(String downstream) {
+        DownstreamGuard guard = new DownstreamGuard(downstream, props);
+        Gauge.builder("downstream.guard.limit", guard, DownstreamGuard::getLimit)
+                .description("Calls currently allowed in flight to the downstream")
+                .tag("downstream", downstream)
+                .register(registry);
+        Gauge.builder("downstream.guard.in.flight", guard, DownstreamGuard::getInFlight)
+                .description("Calls in flight to the downstream")
+                .tag("downstream", downstream)
+                .register(registry);
+        Gauge.builder("downstream.guard.state", guard, g -> g.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("downstream", downstream)
+                .register(registry);
+        return guard;
+    }
+}
@@ -0,0 +1,37 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the per-downstream concurrency limit and circuit breaker ({@code downstream.guard.*}).
+ * Every downstream host gets its own limit and breaker built from these.
+ *
+ * @param enabled              turn the guard off entirely
+ * @param initialLimit         calls allowed in flight to one downstream before anything is observed
+ * @param minLimit             floor the limit never drops below, so a struggling service still sees probes
+ * @param maxLimit             ceiling for the limit; keep it at or below {@code http.client.max-per-route}
+ * @param backoffRatio         factor the limit is multiplied by on a failed or slow call
+ * @param slowCallThreshold    calls slower than this count as failures for both the limit and the breaker
+ * @param failureRateThreshold percentage of failed calls in the window that opens the breaker
+ * @param slidingWindowSize    most recent calls the failure rate is computed over
+ * @param minimumCalls         calls the window must hold before the breaker may open
+ * @param openDuration         time the breaker rejects calls before letting probes through
+ * @param halfOpenProbes       probes let through while half-open; all must succeed to close the breaker
+ */
+@ConfigurationProperties(prefix = "downstream.guard")
+public record DownstreamGuardProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("50") int maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("2s") Duration slowCallThreshold,
+        @DefaultValue("50") int failureRateThreshold,
+        @DefaultValue("50") int slidingWindowSize,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenProbes) {
+}
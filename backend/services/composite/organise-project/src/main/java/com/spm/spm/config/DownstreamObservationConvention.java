@@ -0,0 +1,46 @@
+package com.spm.spm.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import io.micrometer.common.KeyValue;
+
+/**
+ * Tags http.client.requests timers with a bounded route instead of the raw request path.
+ *
+ * Our services build downstream URLs by string concatenation, so the "URI template" Spring tags with
+ * already has the ids expanded and every task or user would become its own time series. Here each
+ * id-like path segment (one containing a digit, or a long opaque token) is replaced by {id} and the
+ * query string is dropped, so GET http://task:3031/task/42/subtasks is timed as /task/{id}/subtasks.
+ */
+public class DownstreamObservationConvention extends DefaultClientRequestObservationConvention {
+
+    static final String ID = "{id}";
+    private static final int OPAQUE_TOKEN_LENGTH = 20;
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        if (context.getCarrier() != null) {
+            return KeyValue.of(LowCardinalityKeyNames.URI, route(context.getCarrier().getURI().getRawPath()));
+        }
+        return super.uri(context);
+    }
+
+    static String route(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String route = Arrays.stream(path.split("/", -1))
+                .map(segment -> isId(segment) ? ID : segment)
+                .collect(Collectors.joining("/"));
+        return route.startsWith("/") ? route : "/" + route;
+    }
+
+    private static boolean isId(String segment) {
+        return segment.length() >= OPAQUE_TOKEN_LENGTH || segment.chars().anyMatch(Character::isDigit);
+    }
+}
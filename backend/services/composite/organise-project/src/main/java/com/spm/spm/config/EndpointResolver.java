@@ -0,0 +1,32 @@
+package com.spm.spm.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the replicas behind a logical host:port. Declare a bean of this type to replace the one
+ * built from {@code downstream.balancer.replicas} and {@code downstream.balancer.srv}.
+ */
+public interface EndpointResolver {
+
+    // Logical host:ports this resolver knows replicas for
+    Set<String> services();
+
+    // Replica host:ports of the service; empty when none could be found
+    List<String> resolve(String service);
+
+    static EndpointResolver fixed(Map<String, List<String>> replicas) {
+        return new EndpointResolver() {
+            @Override
+            public Set<String> services() {
+                return replicas.keySet();
+            }
+
+            @Override
+            public List<String> resolve(String service) {
+                return replicas.getOrDefault(service, List.of());
+            }
+        };
+    }
+}
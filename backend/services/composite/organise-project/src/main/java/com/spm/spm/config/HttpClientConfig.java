@@ -1,18 +1,108 @@
 package com.spm.spm.config;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties({HttpClientProperties.class, DownstreamGuardProperties.class, RetryProperties.class,
+        LoadBalancerProperties.class})
 public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties props) {
+        return PooledHttpClientFactory.connectionManager(props);
+    }
+
+    // Leased, available and pending connections of the pool, tagged httpclient=atomic-services
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "atomic-services");
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager, HttpClientProperties props) {
+        return PooledHttpClientFactory.httpClient(httpConnectionManager, props);
+    }
+
+    // SRV names where configured, the fixed replica lists otherwise
+    @Bean
+    @ConditionalOnMissingBean
+    public EndpointResolver endpointResolver(LoadBalancerProperties props) {
+        return new SrvEndpointResolver(props.srv(), EndpointResolver.fixed(props.replicas()));
+    }
+
+    // Re-resolves replicas every refresh-interval
+    @Bean
+    public LoadBalancer loadBalancer(LoadBalancerProperties props, EndpointResolver endpointResolver,
+                                     MeterRegistry meterRegistry) {
+        return new LoadBalancer(props, endpointResolver, meterRegistry);
+    }
+
+    // Makes the calls of hedged reads. No queue: when every thread is busy the call is made without a hedge
+    @Bean
+    public ThreadPoolTaskExecutor hedgeExecutor(RetryProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.hedgeThreads());
+        executor.setMaxPoolSize(props.hedgeThreads());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(RequestDeadline.propagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate rt = new RestTemplate();
-        rt.getInterceptors().add((req, body, exec) -> {
-            System.out.println("[RestTemplate] " + req.getMethod() + " " + req.getURI());
-            return exec.execute(req, body);
-        });
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientProperties props,
+                                     DownstreamGuardProperties guardProps, RetryProperties retryProps,
+                                     @Qualifier("hedgeExecutor") Executor hedgeExecutor,
+                                     LoadBalancerProperties balancerProps, LoadBalancer loadBalancer,
+                                     ObservationRegistry observationRegistry, MeterRegistry meterRegistry,
+                                     AccessLog accessLog) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> PooledHttpClientFactory.deadlineContext(props));
+        // Under the interceptors, so each attempt of a retried call picks its own replica
+        ClientHttpRequestFactory factory = balancerProps.enabled()
+                ? new LoadBalancedRequestFactory(requestFactory, loadBalancer)
+                : requestFactory;
+        RestTemplate rt = new RestTemplate(factory);
+        rt.setObservationRegistry(observationRegistry);
+        rt.setObservationConvention(new DownstreamObservationConvention());
+        // A call past its request's deadline is refused before anything else happens
+        rt.getInterceptors().add(new DeadlineInterceptor());
+        // Then coalescing, so callers that shared a call are not logged as downstream calls of their own
+        if (props.coalesceGets()) {
+            rt.getInterceptors().add(new CoalescingInterceptor(meterRegistry));
+        }
+        // Then the per-downstream limit and breaker, so shared calls take one permit and refused ones aren't logged
+        if (guardProps.enabled()) {
+            rt.getInterceptors().add(new DownstreamGuardInterceptor(guardProps, meterRegistry));
+        }
+        rt.getInterceptors().add(new AccessLogInterceptor(accessLog));
+        // Last: a repeated execute() only re-runs the interceptors after this one, so anything placed later
+        // would be skipped on retries. A retried call is logged and takes a guard permit once
+        if (retryProps.enabled()) {
+            rt.getInterceptors().add(new RetryInterceptor(retryProps, hedgeExecutor, meterRegistry));
+        }
         return rt;
     }
 }
@@ -0,0 +1,36 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the pooled client behind the RestTemplate ({@code http.client.*}).
+ *
+ * @param maxTotal          connections across all downstream hosts
+ * @param maxPerRoute       connections to a single host:port
+ * @param connectTimeout    TCP connect timeout
+ * @param readTimeout       socket timeout between packets once connected
+ * @param responseTimeout   time to wait for the response head after the request is sent
+ * @param poolAcquireTimeout time a caller may wait for a free connection before failing fast
+ * @param idleEvictAfter    idle connections older than this are closed by the background evictor
+ * @param keepAlive         longest an idle connection is kept for reuse; keep it below the atomic
+ *                          services' own idle timeout (Node defaults to 5s) so we never reuse a socket
+ *                          the server has already closed
+ * @param timeToLive        hard cap on a connection's lifetime, so DNS changes are picked up eventually
+ * @param coalesceGets      let identical concurrent GETs share one downstream call (see CoalescingInterceptor)
+ */
+@ConfigurationProperties(prefix = "http.client")
+public record HttpClientProperties(
+        @DefaultValue("200") int maxTotal,
+        @DefaultValue("50") int maxPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("10s") Duration readTimeout,
+        @DefaultValue("10s") Duration responseTimeout,
+        @DefaultValue("1s") Duration poolAcquireTimeout,
+        @DefaultValue("30s") Duration idleEvictAfter,
+        @DefaultValue("4s") Duration keepAlive,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("true") boolean coalesceGets) {
+}
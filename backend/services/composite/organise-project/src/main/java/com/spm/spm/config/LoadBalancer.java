@@ -0,0 +1,101 @@
+package com.spm.spm.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spreads the calls to each atomic service over its replicas, one {@link ReplicaPool} per logical
+ * host:port the {@link EndpointResolver} knows. Calls to other hosts go where they were addressed.
+ * Used by the RestTemplate through {@link LoadBalancedRequestFactory}.
+ *
+ * Meters, tagged with the service and replica: downstream.replica.outstanding,
+ * downstream.replica.latency (moving average), downstream.replica.ejected (1 while ejected) and
+ * downstream.replica.ejections by reason.
+ */
+public class LoadBalancer {
+
+    private final ConcurrentMap<String, ReplicaPool> pools = new ConcurrentHashMap<>();
+    private final Map<ReplicaPool.Replica, List<Meter>> meters = new ConcurrentHashMap<>();
+    private final LoadBalancerProperties props;
+    private final EndpointResolver resolver;
+    private final MeterRegistry registry;
+
+    public LoadBalancer(LoadBalancerProperties props, EndpointResolver resolver, MeterRegistry registry) {
+        this.props = props;
+        this.resolver = resolver;
+        this.registry = registry;
+    }
+
+    // Resolves every service's replicas again; a service that resolves to nothing keeps the ones it had.
+    // The first resolve also runs on the scheduler, so startup doesn't wait on DNS; until then calls go
+    // where they were addressed.
+    @Scheduled(fixedDelayString = "${downstream.balancer.refresh-interval:30s}")
+    public void refresh() {
+        for (String service : resolver.services()) {
+            ReplicaPool pool = pools.computeIfAbsent(service, s -> new ReplicaPool(s, props));
+            ReplicaPool.Changes changes = pool.update(resolver.resolve(service));
+            changes.added().forEach(replica -> register(service, replica));
+            changes.removed().forEach(replica -> meters.remove(replica).forEach(registry::remove));
+        }
+    }
+
+    // The pool for the URI's host:port, or null when calls to it aren't balanced
+    public ReplicaPool pool(URI uri) {
+        return pools.get(uri.getRawAuthority());
+    }
+
+    void record(ReplicaPool pool, ReplicaPool.Replica replica, boolean failed, long startNanos) {
+        String ejectedFor = pool.record(replica, failed, System.nanoTime() - startNanos);
+        if (ejectedFor != null) {
+            Counter.builder("downstream.replica.ejections")
+                    .description("Times the replica was taken out of rotation, by reason")
+                    .tag("service", pool.getService())
+                    .tag("replica", replica.getAuthority())
+                    .tag("reason", ejectedFor)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    void finish(ReplicaPool pool, ReplicaPool.Replica replica, boolean failed, long startNanos) {
+        record(pool, replica, failed, startNanos);
+        pool.release(replica);
+    }
+
+    static URI withAuthority(URI uri, String authority) {
+        String query = uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery();
+        return URI.create(uri.getScheme() + "://" + authority + uri.getRawPath() + query);
+    }
+
+    private void register(String service, ReplicaPool.Replica replica) {
+        String name = replica.getAuthority();
+        meters.put(replica, List.of(
+                Gauge.builder("downstream.replica.outstanding", replica, ReplicaPool.Replica::getOutstanding)
+                        .description("Calls in flight to the replica")
+                        .tag("service", service)
+                        .tag("replica", name)
+                        .register(registry),
+                Gauge.builder("downstream.replica.latency", replica, r -> r.getLatencyNanos() / TimeUnit.MILLISECONDS.toNanos(1))
+                        .description("Moving average of the replica's response time")
+                        .baseUnit("milliseconds")
+                        .tag("service", service)
+                        .tag("replica", name)
+                        .register(registry),
+                Gauge.builder("downstream.replica.ejected", replica, r -> r.isEjected() ? 1 : 0)
+                        .description("1 while the replica is out of rotation")
+                        .tag("service", service)
+                        .tag("replica", name)
+                        .register(registry)));
+    }
+}
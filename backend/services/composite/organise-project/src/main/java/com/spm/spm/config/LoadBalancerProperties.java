@@ -0,0 +1,48 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Client-side load balancing over replicas of the atomic services ({@code downstream.balancer.*}).
+ *
+ * Services keep their logical host:port in the base URLs (project:3040); a call to one with
+ * replicas listed here, or an SRV name to look them up under, goes to one of those replicas instead.
+ * Calls to any other host are left alone.
+ *
+ * @param enabled            turn balancing off entirely; calls then go to the logical host
+ * @param strategy           how a replica is picked among those not ejected
+ * @param replicas           fixed replicas per logical host:port, e.g. {@code [project:3040]=project-1:3040,project-2:3040}
+ * @param srv                DNS SRV name per logical host:port, e.g. {@code [project:3040]=_http._tcp.project.spm.svc};
+ *                           takes precedence over a fixed list for the same host
+ * @param refreshInterval    how often SRV names are looked up again
+ * @param consecutiveErrors  errors or 5xx in a row that eject a replica
+ * @param latencyRatio       a replica whose average latency is this many times the median of its peers is ejected
+ * @param minLatencySamples  calls a replica must have answered before its latency is compared
+ * @param ejectionDuration   time an ejected replica gets no calls
+ * @param maxEjectedPercent  most of a service's replicas that may be ejected at once
+ */
+@ConfigurationProperties(prefix = "downstream.balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("LEAST_OUTSTANDING") Strategy strategy,
+        @DefaultValue Map<String, List<String>> replicas,
+        @DefaultValue Map<String, String> srv,
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("5") int consecutiveErrors,
+        @DefaultValue("3.0") double latencyRatio,
+        @DefaultValue("20") int minLatencySamples,
+        @DefaultValue("30s") Duration ejectionDuration,
+        @DefaultValue("50") int maxEjectedPercent) {
+
+    public enum Strategy {
+        /** The replica with the fewest calls in flight; ties go to a random one. */
+        LEAST_OUTSTANDING,
+        /** The less busy of two replicas picked at random: cheaper with many replicas, and less herding. */
+        POWER_OF_TWO
+    }
+}
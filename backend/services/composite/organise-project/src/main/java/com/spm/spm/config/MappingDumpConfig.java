@@ -1,5 +1,8 @@
 package com.spm.spm.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -14,9 +17,12 @@ import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandl
 @ConditionalOnClass(RequestMappingHandlerMapping.class)
 public class MappingDumpConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(MappingDumpConfig.class);
+
     @Bean
-    public ApplicationRunner mappingsLogger(RequestMappingHandlerMapping mapping) {
+    // Actuator registers a second RequestMappingHandlerMapping for its own endpoints
+    public ApplicationRunner mappingsLogger(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping mapping) {
         return args -> mapping.getHandlerMethods().forEach((info, method) ->
-                System.out.println("MAPPING -> " + info + " :: " + method));
+                log.debug("MAPPING -> {} :: {}", info, method));
     }
 }
@@ -0,0 +1,87 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Builds the keep-alive connection pool and HTTP/1.1 client used for calls to the atomic services.
+ */
+public final class PooledHttpClientFactory {
+
+    private PooledHttpClientFactory() {
+    }
+
+    public static PoolingHttpClientConnectionManager connectionManager(HttpClientProperties props) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(props.maxTotal())
+                .setMaxConnPerRoute(props.maxPerRoute())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoKeepAlive(true)
+                        .setTcpNoDelay(true)
+                        .build())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(props.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(props.readTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(1))
+                        .setTimeToLive(TimeValue.of(props.timeToLive()))
+                        .build())
+                .build();
+    }
+
+    public static CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                 HttpClientProperties props) {
+        TimeValue maxKeepAlive = TimeValue.of(props.keepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(props, null))
+                // Never reuse a connection for longer than the server advertises or the configured cap
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return advertised == null || advertised.compareTo(maxKeepAlive) > 0 ? maxKeepAlive : advertised;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(props.idleEvictAfter()))
+                .build();
+    }
+
+    // Pool wait and response timeouts, each cut down to the budget when one is given
+    public static RequestConfig requestConfig(HttpClientProperties props, Duration budget) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(atMost(props.poolAcquireTimeout(), budget)))
+                .setResponseTimeout(Timeout.of(atMost(props.responseTimeout(), budget)))
+                .build();
+    }
+
+    // For HttpComponentsClientHttpRequestFactory#setHttpContextFactory: a call made for a request with a
+    // deadline waits no longer than what is left of it; other calls keep the client's defaults (null)
+    public static HttpContext deadlineContext(HttpClientProperties props) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return null;
+        }
+        HttpClientContext context = HttpClientContext.create();
+        // Never zero, which HttpClient reads as "no timeout"; DeadlineInterceptor fails expired calls first
+        context.setRequestConfig(requestConfig(props, atLeast(deadline.remaining(), Duration.ofMillis(1))));
+        return context;
+    }
+
+    private static Duration atMost(Duration timeout, Duration budget) {
+        return budget == null || timeout.compareTo(budget) <= 0 ? timeout : budget;
+    }
+
+    private static Duration atLeast(Duration duration, Duration floor) {
+        return duration.compareTo(floor) >= 0 ? duration : floor;
+    }
+}
@@ -0,0 +1,98 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.spm.spm.cache.ProjectCache;
+import com.spm.spm.cache.ProjectCodec;
+import com.spm.spm.cache.RedisProjectStore;
+
+import io.lettuce.core.ClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "project.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ProjectCacheProperties.class)
+public class ProjectCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectCacheConfig.class);
+
+    private static final Duration SUBSCRIBE_RETRY = Duration.ofSeconds(5);
+
+    // While Redis is down, fail cache commands at once instead of queueing them until spring.data.redis.timeout
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer projectCacheFailFast() {
+        return builder -> builder.clientOptions(ClientOptions.builder()
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+    }
+
+    @Bean
+    public RedisTemplate<String, byte[]> projectCacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        return template;
+    }
+
+    @Bean
+    public ProjectCache projectCache(RedisTemplate<String, byte[]> projectCacheRedisTemplate, ProjectCacheProperties props,
+                                     MeterRegistry meterRegistry) {
+        ProjectCodec codec = new ProjectCodec();
+        RedisProjectStore store = new RedisProjectStore(projectCacheRedisTemplate, codec, props.keyPrefix(),
+                props.invalidationChannel(), props.l2Ttl());
+        return new ProjectCache(store, codec, props, meterRegistry);
+    }
+
+    // Starts without topics, so nothing is subscribed until projectCacheSubscriber adds the listener
+    @Bean
+    public RedisMessageListenerContainer projectCacheInvalidations(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /*
+     * Subscribes to invalidations once the app is up, retrying in the background while Redis is
+     * unreachable; subscribing during startup would abort it. Once subscribed, the container itself
+     * recovers from dropped connections.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> projectCacheSubscriber(
+            RedisMessageListenerContainer projectCacheInvalidations, ProjectCache projectCache,
+            ProjectCacheProperties props) {
+        ChannelTopic channel = new ChannelTopic(props.invalidationChannel());
+        return event -> Thread.ofPlatform().daemon().name("project-cache-subscriber").start(() -> {
+            while (true) {
+                try {
+                    projectCacheInvalidations.addMessageListener(projectCache, channel);
+                    log.info("Subscribed to project cache invalidations on {}", channel.getTopic());
+                    return;
+                } catch (RuntimeException e) {
+                    log.warn("Project cache invalidations not subscribed yet ({}); retrying in {}s", e.getMessage(),
+                            SUBSCRIBE_RETRY.toSeconds());
+                }
+                try {
+                    Thread.sleep(SUBSCRIBE_RETRY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the two-tier project cache ({@code project.cache.*}): a small on-heap L1 in each replica
+ * in front of an L2 in Redis shared by all replicas.
+ *
+ * @param enabled             turn the cache on; needs Redis ({@code spring.data.redis.*})
+ * @param l1MaxSize           projects (and, separately, per-user project lists) kept on-heap
+ * @param l1ExpireAfterWrite  how long an L1 entry lives; also bounds how stale a replica can be while it
+ *                            is not receiving invalidations
+ * @param l2Ttl               how long a Redis entry lives; bounds staleness from writes that bypass
+ *                            organise-project
+ * @param keyPrefix           prefix of every Redis key; bump the version in it when the stored format changes
+ * @param invalidationChannel Redis pub/sub channel carrying invalidations between replicas
+ */
+@ConfigurationProperties(prefix = "project.cache")
+public record ProjectCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") long l1MaxSize,
+        @DefaultValue("30s") Duration l1ExpireAfterWrite,
+        @DefaultValue("10m") Duration l2Ttl,
+        @DefaultValue("spm:project:v1:") String keyPrefix,
+        @DefaultValue("spm:project:invalidations") String invalidationChannel) {
+}
@@ -0,0 +1,225 @@
+package com.spm.spm.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * The replicas of one atomic service and the choice among them.
+ *
+ * Each call goes to the replica with the fewest calls in flight (or the less busy of two random ones,
+ * see {@link LoadBalancerProperties.Strategy}), so a replica that slows down collects a backlog and is
+ * picked less. A replica that keeps failing, or whose average latency drifts far above its peers', is
+ * ejected for {@code ejection-duration} and then comes back with a clean record. No more than
+ * {@code max-ejected-percent} of the replicas are ever out at once, so a fleet-wide problem still
+ * reaches the guard and breaker behind it instead of being hidden here.
+ */
+public class ReplicaPool {
+
+    private static final double LATENCY_WEIGHT = 0.1;
+
+    /* One replica; its counters are only changed under the pool's lock */
+    public static final class Replica {
+
+        private final String authority;
+        private volatile int outstanding;
+        private volatile double latencyNanos;
+        private volatile boolean ejected;
+        private long ejectedUntil;
+        private int samples;
+        private int consecutiveErrors;
+
+        Replica(String authority) {
+            this.authority = authority;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        public int getOutstanding() {
+            return outstanding;
+        }
+
+        // Moving average of the replica's response times
+        public double getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        public boolean isEjected() {
+            return ejected;
+        }
+    }
+
+    /* What update() changed, so the caller can add and drop the replicas' meters */
+    public record Changes(List<Replica> added, List<Replica> removed) {
+    }
+
+    private final String service;
+    private final LoadBalancerProperties props;
+    private final LongSupplier nanoTime;
+    private final RandomGenerator random;
+    private List<Replica> replicas = List.of();
+
+    public ReplicaPool(String service, LoadBalancerProperties props) {
+        this(service, props, System::nanoTime, null);
+    }
+
+    // random null: ThreadLocalRandom of the calling thread
+    ReplicaPool(String service, LoadBalancerProperties props, LongSupplier nanoTime, RandomGenerator random) {
+        this.service = service;
+        this.props = props;
+        this.nanoTime = nanoTime;
+        this.random = random;
+    }
+
+    // Replaces the replica list, keeping the state of replicas still in it. An empty list is ignored
+    public synchronized Changes update(List<String> authorities) {
+        if (authorities.isEmpty()) {
+            return new Changes(List.of(), List.of());
+        }
+        List<Replica> next = new ArrayList<>();
+        List<Replica> added = new ArrayList<>();
+        for (String authority : authorities.stream().distinct().toList()) {
+            Replica replica = replicas.stream().filter(r -> r.authority.equals(authority)).findFirst().orElse(null);
+            if (replica == null) {
+                replica = new Replica(authority);
+                added.add(replica);
+            }
+            next.add(replica);
+        }
+        List<Replica> removed = replicas.stream().filter(r -> !next.contains(r)).toList();
+        replicas = List.copyOf(next);
+        return new Changes(added, removed);
+    }
+
+    // The replica to send the next call to, counted as in flight until release(); null when there are none
+    public synchronized Replica choose() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        long now = nanoTime.getAsLong();
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.ejected && now - replica.ejectedUntil >= 0) {
+                readmit(replica);
+            }
+            if (!replica.ejected) {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = replicas;
+        }
+
+        Replica chosen = props.strategy() == LoadBalancerProperties.Strategy.POWER_OF_TWO
+                ? powerOfTwo(candidates)
+                : leastOutstanding(candidates);
+        chosen.outstanding++;
+        return chosen;
+    }
+
+    private Replica leastOutstanding(List<Replica> candidates) {
+        Replica best = null;
+        int ties = 0;
+        for (Replica replica : candidates) {
+            if (best == null || replica.outstanding < best.outstanding) {
+                best = replica;
+                ties = 1;
+            } else if (replica.outstanding == best.outstanding && random().nextInt(++ties) == 0) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private Replica powerOfTwo(List<Replica> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        int first = random().nextInt(candidates.size());
+        int second = random().nextInt(candidates.size() - 1);
+        Replica a = candidates.get(first);
+        Replica b = candidates.get(second >= first ? second + 1 : second);
+        if (a.outstanding != b.outstanding) {
+            return a.outstanding < b.outstanding ? a : b;
+        }
+        return a.latencyNanos <= b.latencyNanos ? a : b;
+    }
+
+    /**
+     * Records how a call to the replica went once its response (or error) is in. Returns why the replica
+     * was ejected as a result, "errors" or "latency", or null when it wasn't.
+     *
+     * @param failed the call threw or the replica answered 5xx
+     */
+    public synchronized String record(Replica replica, boolean failed, long latencyNanos) {
+        if (replica.ejected) {
+            return null;
+        }
+        if (failed) {
+            return ++replica.consecutiveErrors >= props.consecutiveErrors() && eject(replica) ? "errors" : null;
+        }
+        replica.consecutiveErrors = 0;
+        replica.latencyNanos = replica.samples == 0
+                ? latencyNanos
+                : replica.latencyNanos + LATENCY_WEIGHT * (latencyNanos - replica.latencyNanos);
+        replica.samples++;
+        return isLatencyOutlier(replica) && eject(replica) ? "latency" : null;
+    }
+
+    // The call's response has been closed
+    public synchronized void release(Replica replica) {
+        replica.outstanding--;
+    }
+
+    private boolean isLatencyOutlier(Replica replica) {
+        if (replica.samples < props.minLatencySamples()) {
+            return false;
+        }
+        double[] peers = replicas.stream()
+                .filter(r -> r != replica && !r.ejected && r.samples >= props.minLatencySamples())
+                .mapToDouble(r -> r.latencyNanos)
+                .toArray();
+        if (peers.length == 0) {
+            return false;
+        }
+        Arrays.sort(peers);
+        double median = peers.length % 2 == 1
+                ? peers[peers.length / 2]
+                : (peers[peers.length / 2 - 1] + peers[peers.length / 2]) / 2;
+        return replica.latencyNanos > props.latencyRatio() * median;
+    }
+
+    private boolean eject(Replica replica) {
+        long ejected = replicas.stream().filter(r -> r.ejected).count();
+        if ((ejected + 1) * 100 > (long) props.maxEjectedPercent() * replicas.size()) {
+            return false;
+        }
+        replica.ejected = true;
+        replica.ejectedUntil = nanoTime.getAsLong() + props.ejectionDuration().toNanos();
+        return true;
+    }
+
+    private static void readmit(Replica replica) {
+        replica.ejected = false;
+        replica.samples = 0;
+        replica.consecutiveErrors = 0;
+        replica.latencyNanos = 0;
+    }
+
+    private RandomGenerator random() {
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public synchronized List<Replica> getReplicas() {
+        return replicas;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * The point in time by which an inbound request must be answered. Every downstream call made for the
+ * request gets no more than what is left of it, and the remainder is forwarded in {@link #HEADER} so the
+ * atomic services can give up at the same moment we do.
+ *
+ * It is kept in a thread local opened by DeadlineFilter for the request thread, and carried to pool
+ * threads working for the request by {@link #propagatingDecorator()}.
+ */
+public final class RequestDeadline {
+
+    /** Budget in milliseconds, read from inbound requests and sent with every downstream call. */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public static RequestDeadline open(Duration budget) {
+        RequestDeadline deadline = after(budget);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    // Installs the given deadline (possibly null) on this thread and returns the one it replaced
+    public static RequestDeadline attach(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    // Runs each task under the deadline of the thread that submitted it
+    public static TaskDecorator propagatingDecorator() {
+        return task -> {
+            RequestDeadline deadline = current();
+            return () -> {
+                RequestDeadline previous = attach(deadline);
+                try {
+                    task.run();
+                } finally {
+                    attach(previous);
+                }
+            };
+        };
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean expired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+}
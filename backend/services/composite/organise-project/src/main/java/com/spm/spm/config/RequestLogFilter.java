@@ -11,11 +11,27 @@ import java.io.IOException;
 
 @Component
 public class RequestLogFilter extends OncePerRequestFilter {
+
+    private final AccessLog accessLog;
+
+    public RequestLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
             throws ServletException, IOException {
-        System.out.println("[INCOMING] " + req.getMethod() + " " + req.getRequestURI());
-        chain.doFilter(req, res);
-        System.out.println("[OUTGOING] " + res.getStatus() + " for " + req.getMethod() + " " + req.getRequestURI());
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            chain.doFilter(req, res);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : res.getStatus();
+            accessLog.record(AccessLog.INBOUND, req.getMethod(), req.getRequestURI(), status,
+                    System.nanoTime() - start, failure);
+        }
     }
 }
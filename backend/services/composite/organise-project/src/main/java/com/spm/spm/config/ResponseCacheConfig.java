@@ -0,0 +1,34 @@
+package com.spm.spm.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.spm.cache.ProjectCache;
+import com.spm.spm.cache.ResponseCache;
+import com.spm.spm.controller.ProjectController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "response.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    // Serializes with the application's ObjectMapper, so cached bodies are byte for byte what Spring MVC writes
+    @Bean
+    public ResponseCache responseCache(ObjectMapper objectMapper, ResponseCacheProperties props,
+                                       MeterRegistry meterRegistry, ObjectProvider<ProjectCache> projectCache) {
+        ResponseCache responseCache = new ResponseCache(objectMapper, props, meterRegistry);
+        // With the project cache on, project writes made through any replica reach this one as its Redis
+        // invalidations; drop the responses built from those projects along with the L1 entries
+        projectCache.ifAvailable(cache -> cache.addInvalidationListener(invalidation -> {
+            responseCache.invalidate(ProjectController.ALL_PROJECTS);
+            invalidation.projectIds().forEach(id -> responseCache.invalidate(ProjectController.projectKey(id)));
+        }));
+        return responseCache;
+    }
+}
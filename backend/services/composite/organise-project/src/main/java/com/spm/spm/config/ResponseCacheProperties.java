@@ -0,0 +1,24 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the cache of serialized responses ({@code response.cache.*}) behind GET /projects/all
+ * and GET /projects/{id}.
+ *
+ * @param enabled          turn the cache on
+ * @param maxBytes         bytes of cached bodies kept on-heap, plain and gzip together
+ * @param expireAfterWrite how long a response lives; bounds how stale a replica can be after a write
+ *                         made through another replica or directly on the project service
+ * @param minGzipBytes     bodies smaller than this are only kept, and sent, uncompressed
+ */
+@ConfigurationProperties(prefix = "response.cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("67108864") long maxBytes,
+        @DefaultValue("30s") Duration expireAfterWrite,
+        @DefaultValue("1024") int minGzipBytes) {
+}
@@ -0,0 +1,39 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Retries and hedged requests for idempotent downstream reads ({@code downstream.retry.*}).
+ *
+ * @param enabled       turn retries and hedging off entirely
+ * @param routes        calls that may be retried or hedged, as "METHOD route" with ids written {id} (see
+ *                      DownstreamObservationConvention); anything else is sent exactly once
+ * @param maxAttempts   attempts per call, the first one included
+ * @param backoff       base of the exponential backoff; each wait is random between 0 and base * 2^retry
+ * @param maxBackoff    cap on a single wait
+ * @param budgetRatio   retries and hedges allowed per call made, e.g. 0.1 for at most 10% extra load
+ * @param budgetBurst   retries and hedges that can be saved up for a burst of failures
+ * @param hedge         send a second copy of a call still unanswered after the route's observed latency
+ *                      percentile, and use whichever answers first
+ * @param hedgePercentile latency percentile after which a call is hedged
+ * @param hedgeMinSamples calls a route must have seen before its percentile is trusted
+ * @param hedgeThreads  threads that make hedged calls; when all are busy calls are made without hedging
+ */
+@ConfigurationProperties(prefix = "downstream.retry")
+public record RetryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("GET /project/{id}") List<String> routes,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("50ms") Duration backoff,
+        @DefaultValue("1s") Duration maxBackoff,
+        @DefaultValue("0.1") double budgetRatio,
+        @DefaultValue("10") int budgetBurst,
+        @DefaultValue("false") boolean hedge,
+        @DefaultValue("0.95") double hedgePercentile,
+        @DefaultValue("50") int hedgeMinSamples,
+        @DefaultValue("32") int hedgeThreads) {
+}
@@ -0,0 +1,106 @@
+package com.spm.spm.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks replicas up as DNS SRV records, e.g. a Kubernetes headless service's
+ * {@code _http._tcp.project.spm.svc.cluster.local}, and falls back to a fixed list for services without an
+ * SRV name. Only the records of the best (lowest) priority are used; weights are ignored, since the
+ * balancer spreads calls by load instead.
+ */
+public class SrvEndpointResolver implements EndpointResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(SrvEndpointResolver.class);
+
+    private final Map<String, String> srvNames;
+    private final EndpointResolver fallback;
+
+    public SrvEndpointResolver(Map<String, String> srvNames, EndpointResolver fallback) {
+        this.srvNames = srvNames;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Set<String> services() {
+        Set<String> services = new HashSet<>(fallback.services());
+        services.addAll(srvNames.keySet());
+        return services;
+    }
+
+    @Override
+    public List<String> resolve(String service) {
+        String name = srvNames.get(service);
+        if (name == null) {
+            return fallback.resolve(service);
+        }
+        try {
+            return lookup(name);
+        } catch (NamingException e) {
+            log.warn("SRV lookup of {} for {} failed; keeping its current replicas", name, service, e);
+            return List.of();
+        }
+    }
+
+    // "priority weight port target." records, best priority first; malformed ones are skipped
+    static List<String> parse(List<String> records) {
+        int best = Integer.MAX_VALUE;
+        List<String> endpoints = new ArrayList<>();
+        for (String record : records) {
+            String[] fields = record.trim().split("\\s+");
+            if (fields.length != 4) {
+                continue;
+            }
+            int priority;
+            try {
+                priority = Integer.parseInt(fields[0]);
+                Integer.parseInt(fields[2]);
+            } catch (NumberFormatException e) {
+                log.warn("Skipping malformed SRV record '{}'", record);
+                continue;
+            }
+            String host = fields[3].endsWith(".") ? fields[3].substring(0, fields[3].length() - 1) : fields[3];
+            if (priority < best) {
+                best = priority;
+                endpoints.clear();
+            }
+            if (priority == best) {
+                endpoints.add(host + ":" + fields[2]);
+            }
+        }
+        return endpoints;
+    }
+
+    private static List<String> lookup(String name) throws NamingException {
+        Hashtable<String, String> env = new Hashtable<>();
+        env.put(DirContext.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        DirContext context = new InitialDirContext(env);
+        try {
+            Attribute attribute = context.getAttributes(name, new String[] {"SRV"}).get("SRV");
+            if (attribute == null) {
+                return List.of();
+            }
+            List<String> records = new ArrayList<>();
+            NamingEnumeration<?> values = attribute.getAll();
+            while (values.hasMore()) {
+                records.add(values.next().toString());
+            }
+            return parse(records);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.spm.spm.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Watches JFR's jdk.VirtualThreadPinned events while virtual threads are enabled.
+ *
+ * A virtual thread that blocks inside a synchronized block (or a native frame) holds on to its carrier
+ * thread, which quietly brings back the platform-thread ceiling. Each pin longer than the threshold is
+ * logged with the offending frames so it can be fixed at the source.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) return;
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream == null) return;
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), describeStack(event));
+    }
+
+    private static String describeStack(RecordedEvent event) {
+        if (event.getStackTrace() == null) return "";
+        StringBuilder sb = new StringBuilder();
+        int shown = 0;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (shown++ == MAX_FRAMES) break;
+            sb.append("\n\tat ")
+              .append(frame.getMethod().getType().getName()).append('.')
+              .append(frame.getMethod().getName())
+              .append(':').append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
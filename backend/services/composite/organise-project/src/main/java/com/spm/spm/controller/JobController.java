@@ -0,0 +1,128 @@
+package com.spm.spm.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.spm.jobs.Job;
+import com.spm.jobs.JobService;
+import com.spm.spm.dto.JobRequest;
+
+@RestController
+@RequestMapping("/projects")
+public class JobController {
+
+    private static final String PATH = "/projects/jobs/";
+
+    // How long one events stream stays open; clients reconnect for longer jobs
+    private static final Duration EVENTS_TIMEOUT = Duration.ofMinutes(30);
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Delete a project together with all its tasks, in the background.
+     * Answers 202 at once with the job; its status URL is in Location.
+     * DELETE /api/v1/projects/{id}?with_tasks=true
+     */
+    @DeleteMapping(value = "/{id}", params = "with_tasks=true")
+    public ResponseEntity<?> deleteProjectWithTasks(@PathVariable UUID id) {
+        return submit("delete-project", Map.of("project_id", id.toString()));
+    }
+
+    /**
+     * Submit a job; 202 at once with the job, and its status URL in Location
+     * POST /api/v1/projects/jobs
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitJob(@RequestBody JobRequest request) {
+        return submit(request.getType(), request.getParams() == null ? Map.of() : request.getParams());
+    }
+
+    /**
+     * All jobs still kept, newest first
+     * GET /api/v1/projects/jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<Job>> getJobs() {
+        return ResponseEntity.ok(jobService.list());
+    }
+
+    /**
+     * A job's status and progress
+     * GET /api/v1/projects/jobs/{jobId}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Job> getJob(@PathVariable String jobId) {
+        Job job = jobService.get(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    /**
+     * A job's status as server-sent events: the current state, then every change until it finishes
+     * GET /api/v1/projects/jobs/{jobId}/events
+     */
+    @GetMapping("/jobs/{jobId}/events")
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        if (jobService.get(jobId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT.toMillis());
+        Runnable unsubscribe = jobService.subscribe(jobId, job -> send(emitter, job));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        send(emitter, jobService.get(jobId));
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Cancel a job; it stops at its next item
+     * DELETE /api/v1/projects/jobs/{jobId}
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<Job> cancelJob(@PathVariable String jobId) {
+        Job job = jobService.cancel(jobId);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
+    private ResponseEntity<?> submit(String type, Map<String, String> params) {
+        try {
+            Job job = jobService.submit(type, params);
+            return ResponseEntity.accepted().location(URI.create(PATH + job.id())).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(Map.of("error", "Too many jobs waiting, try again later"));
+        }
+    }
+
+    private static void send(SseEmitter emitter, Job job) {
+        try {
+            emitter.send(SseEmitter.event().name("job").id(Integer.toString(job.processed())).data(job));
+            if (job.finished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client has gone or the stream is already complete
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -4,32 +4,54 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.spm.spm.cache.ResponseCache;
 import com.spm.spm.dto.ChangeOwnerRequest;
+import com.spm.spm.dto.CursorPage;
 import com.spm.spm.dto.NewProjectRequest;
+import com.spm.spm.dto.ProjectDashboardDto;
 import com.spm.spm.dto.ProjectDto;
 import com.spm.spm.dto.UpdateCollaboratorsRequest;
 import com.spm.spm.dto.UpdateProjectRequest;
+import com.spm.spm.service.ProjectDashboardService;
 import com.spm.spm.service.ProjectService;
 
 @RestController
 @RequestMapping("/projects")
 public class ProjectController {
 
+    // Keys in the response cache; DeleteProjectJob drops them too
+    public static final String ALL_PROJECTS = "projects/all";
+
+    public static String projectKey(UUID id) {
+        return "projects/" + id;
+    }
+
     private final ProjectService projectService;
+    private final ProjectDashboardService projectDashboardService;
 
-    public ProjectController(ProjectService projectService) {
+    // Absent with response.cache.enabled=false; every write below drops the responses it can change
+    private final ResponseCache responseCache;
+
+    public ProjectController(ProjectService projectService, ProjectDashboardService projectDashboardService,
+                             @Nullable ResponseCache responseCache) {
         this.projectService = projectService;
+        this.projectDashboardService = projectDashboardService;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -43,13 +65,33 @@ public class ProjectController {
     }
 
     /**
-     * Get all projects
-     * GET /api/v1/projects
+     * Get all projects, or one keyset page of them when limit and/or after is given.
+     * The cursor for the next page is returned in the X-Next-Cursor header.
+     * The full list is served from the response cache, with an ETag.
+     * GET /api/v1/projects/all?limit=&after=
      */
     @GetMapping("/all")
-    public ResponseEntity<List<ProjectDto>> getAllProjects() {
-        List<ProjectDto> projects = projectService.getAll();
-        return ResponseEntity.ok(projects);
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String after,
+                                            @RequestHeader HttpHeaders headers) {
+        if (limit == null && after == null) {
+            if (responseCache != null) {
+                return responseCache.respond(ALL_PROJECTS, headers, projectService::getAll);
+            }
+            List<ProjectDto> projects = projectService.getAll();
+            return ResponseEntity.ok(projects);
+        }
+
+        try {
+            CursorPage<ProjectDto> page = projectService.getPage(limit == null ? CursorPage.DEFAULT_LIMIT : limit, after);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -63,11 +105,16 @@ public class ProjectController {
     }
 
     /**
-     * Get a specific project by ID (with collaborators)
+     * Get a specific project by ID (with collaborators), from the response cache, with an ETag
      * GET /api/v1/projects/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDto> getProjectById(@PathVariable UUID id) {
+    public ResponseEntity<?> getProjectById(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        if (responseCache != null) {
+            ResponseEntity<byte[]> response = responseCache.respond(projectKey(id), headers,
+                    () -> projectService.getProjectById(id));
+            return response != null ? response : ResponseEntity.notFound().build();
+        }
         ProjectDto project = projectService.getProjectById(id);
         if (project == null) {
             return ResponseEntity.notFound().build();
@@ -75,6 +122,19 @@ public class ProjectController {
         return ResponseEntity.ok(project);
     }
 
+    /**
+     * Get a project with its tasks, task counts per status and the owner's and collaborators' profiles
+     * GET /api/v1/projects/{id}/dashboard
+     */
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<ProjectDashboardDto> getProjectDashboard(@PathVariable UUID id) {
+        ProjectDashboardDto dashboard = projectDashboardService.getDashboard(id);
+        if (dashboard == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+
     /**
      * Create a new project
      * POST /api/v1/projects
@@ -82,6 +142,7 @@ public class ProjectController {
     @PostMapping
     public ResponseEntity<Map<String, Object>> createProject(@RequestBody NewProjectRequest request) {
         Map<String, Object> result = projectService.create(request);
+        invalidate(null);
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
@@ -94,6 +155,7 @@ public class ProjectController {
             @PathVariable UUID id,
             @RequestBody UpdateProjectRequest request) {
         Map<String, Object> result = projectService.updateProject(id, request);
+        invalidate(id);
         return ResponseEntity.ok(result);
     }
 
@@ -106,6 +168,7 @@ public class ProjectController {
             @PathVariable UUID id,
             @RequestBody UpdateCollaboratorsRequest request) {
         Map<String, Object> result = projectService.updateCollaborators(id, request);
+        invalidate(id);
         return ResponseEntity.ok(result);
     }
 
@@ -114,6 +177,7 @@ public class ProjectController {
             @PathVariable UUID id,
             @RequestBody ChangeOwnerRequest request) {
         Map<String, Object> result = projectService.changeOwner(id, request);
+        invalidate(id);
         return ResponseEntity.ok(result);
     }
 
@@ -124,6 +188,19 @@ public class ProjectController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Object>> deleteProject(@PathVariable UUID id) {
         Map<String, Object> result = projectService.deleteProject(id);
+        invalidate(id);
         return ResponseEntity.ok(result);
     }
+
+    // Drops the project list and, for a write to an existing project, that project
+    private void invalidate(UUID id) {
+        if (responseCache == null) {
+            return;
+        }
+        if (id == null) {
+            responseCache.invalidate(ALL_PROJECTS);
+        } else {
+            responseCache.invalidate(ALL_PROJECTS, projectKey(id));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.spm.spm.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class JobRequest {
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("params")
+    private Map<String, String> params;
+
+    public JobRequest() {}
+
+    public JobRequest(String type, Map<String, String> params) {
+        this.type = type;
+        this.params = params;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    public void setParams(Map<String, String> params) {
+        this.params = params;
+    }
+}
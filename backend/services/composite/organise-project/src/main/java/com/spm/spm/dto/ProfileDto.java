@@ -0,0 +1,72 @@
+package com.spm.spm.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ProfileDto {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("display_name")
+    private String displayName;
+
+    @JsonProperty("role")
+    private String role;
+
+    @JsonProperty("department_name")
+    private String departmentName;
+
+    @JsonProperty("team_name")
+    private String teamName;
+
+    // Constructors
+    public ProfileDto() {}
+
+    public ProfileDto(String id, String displayName, String role, String departmentName, String teamName) {
+        this.id = id;
+        this.displayName = displayName;
+        this.role = role;
+        this.departmentName = departmentName;
+        this.teamName = teamName;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public void setTeamName(String teamName) {
+        this.teamName = teamName;
+    }
+}
@@ -0,0 +1,81 @@
+package com.spm.spm.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Everything the project page shows, from GET /projects/{id}/dashboard. Sections that failed or missed
+// the deadline are left empty and named in "errors" so the page can still render the rest.
+public class ProjectDashboardDto {
+    @JsonProperty("project")
+    private ProjectDto project;
+
+    @JsonProperty("owner")
+    private ProfileDto owner;
+
+    @JsonProperty("collaborators")
+    private List<ProfileDto> collaborators;
+
+    @JsonProperty("tasks")
+    private List<ProjectTaskDto> tasks;
+
+    // Tasks per status, e.g. {"Ongoing": 3, "Completed": 5}
+    @JsonProperty("task_counts")
+    private Map<String, Integer> taskCounts;
+
+    @JsonProperty("errors")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public ProjectDto getProject() {
+        return project;
+    }
+
+    public void setProject(ProjectDto project) {
+        this.project = project;
+    }
+
+    public ProfileDto getOwner() {
+        return owner;
+    }
+
+    public void setOwner(ProfileDto owner) {
+        this.owner = owner;
+    }
+
+    public List<ProfileDto> getCollaborators() {
+        return collaborators;
+    }
+
+    public void setCollaborators(List<ProfileDto> collaborators) {
+        this.collaborators = collaborators;
+    }
+
+    public List<ProjectTaskDto> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<ProjectTaskDto> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Map<String, Integer> getTaskCounts() {
+        return taskCounts;
+    }
+
+    public void setTaskCounts(Map<String, Integer> taskCounts) {
+        this.taskCounts = taskCounts;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void addError(String section, String reason) {
+        errors.put(section, reason);
+    }
+}
@@ -0,0 +1,95 @@
+package com.spm.spm.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// A task of a project as task:3031 returns it, reduced to what the dashboard shows
+public class ProjectTaskDto {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("deadline")
+    private String deadline;
+
+    @JsonProperty("priority")
+    private Integer priority;
+
+    @JsonProperty("parent_task_id")
+    private String parentTaskId;
+
+    @JsonProperty("participants")
+    private List<CollaboratorDto> participants;
+
+    // Constructors
+    public ProjectTaskDto() {}
+
+    public ProjectTaskDto(String id, String title, String status) {
+        this.id = id;
+        this.title = title;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(String deadline) {
+        this.deadline = deadline;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public String getParentTaskId() {
+        return parentTaskId;
+    }
+
+    public void setParentTaskId(String parentTaskId) {
+        this.parentTaskId = parentTaskId;
+    }
+
+    public List<CollaboratorDto> getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(List<CollaboratorDto> participants) {
+        this.participants = participants;
+    }
+}
@@ -0,0 +1,108 @@
+package com.spm.spm.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.spm.jobs.JobHandler;
+import com.spm.spm.cache.ResponseCache;
+import com.spm.spm.controller.ProjectController;
+
+/**
+ * Job "delete-project": deletes every task of {@code project_id}, then the project itself. Tasks are listed
+ * on task:3031 but deleted through manage-task, which drops them from its read model and caches; deleting
+ * them on task:3031 directly would leave them listed there until its next snapshot.
+ * The project is kept when any task could not be deleted, so the job can simply be submitted again.
+ * A task already gone, e.g. deleted before a restart, counts as deleted. Tasks created in the project while
+ * the job runs are deleted before the project, in up to {@link #MAX_SWEEPS} more passes; if some still
+ * remain after that the job fails and the project is kept.
+ */
+@Component
+public class DeleteProjectJob implements JobHandler {
+
+    static final String PROJECT_ID = "project_id";
+    static final int MAX_SWEEPS = 3;
+
+    private final RestTemplate restTemplate;
+    private final String taskUrl;
+    private final String manageTaskUrl;
+    private final ProjectService projectService;
+    private final ResponseCache responseCache;
+
+    public DeleteProjectJob(RestTemplate restTemplate,
+                            @Value("${task.base.url:http://task:3031}") String taskBaseUrl,
+                            @Value("${manage-task.base.url:http://manage-task:8091}") String manageTaskBaseUrl,
+                            ProjectService projectService,
+                            @Nullable ResponseCache responseCache) {
+        this.restTemplate = restTemplate;
+        this.taskUrl = taskBaseUrl + "/task";
+        this.manageTaskUrl = manageTaskBaseUrl + "/api/task";
+        this.projectService = projectService;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public String type() {
+        return "delete-project";
+    }
+
+    @Override
+    public void validate(Map<String, String> params) {
+        try {
+            UUID.fromString(Objects.requireNonNull(params.get(PROJECT_ID)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException(PROJECT_ID + " must be a project id");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List<String> items(Map<String, String> params) {
+        Map[] tasks = restTemplate.getForObject(taskUrl + "/project/" + params.get(PROJECT_ID), Map[].class);
+        if (tasks == null) {
+            return List.of();
+        }
+        return Arrays.stream(tasks)
+                .map(task -> String.valueOf(task.get("id")))
+                .toList();
+    }
+
+    @Override
+    public void process(Map<String, String> params, String taskId) {
+        try {
+            restTemplate.delete(manageTaskUrl + "/" + taskId);
+        } catch (HttpClientErrorException.NotFound e) {
+            // already deleted
+        }
+    }
+
+    @Override
+    public void complete(Map<String, String> params) {
+        UUID projectId = UUID.fromString(params.get(PROJECT_ID));
+        // The items were listed when the job started; tasks may have been added to the project since
+        for (int sweep = 0; ; sweep++) {
+            List<String> remaining = items(params);
+            if (remaining.isEmpty()) {
+                break;
+            }
+            if (sweep == MAX_SWEEPS) {
+                throw new IllegalStateException(remaining.size() + " tasks are still in project " + projectId
+                        + "; it was not deleted");
+            }
+            remaining.forEach(taskId -> process(params, taskId));
+        }
+        projectService.deleteProject(projectId);
+        // The DELETE that submitted the job returned long ago, so its controller couldn't do this
+        if (responseCache != null) {
+            responseCache.invalidate(ProjectController.ALL_PROJECTS, ProjectController.projectKey(projectId));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.spm.spm.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spm.spm.config.FanOutProperties;
+import com.spm.spm.config.RequestDeadline;
+import com.spm.spm.dto.ProfileDto;
+import com.spm.spm.dto.ProjectDashboardDto;
+import com.spm.spm.dto.ProjectDto;
+import com.spm.spm.dto.ProjectTaskDto;
+
+/**
+ * Builds the project page in one call. The project and its tasks are fetched at the same time; as soon
+ * as the project arrives, its owner and collaborators are resolved with one POST /user/bulk to the
+ * profile service while the tasks may still be loading. The page costs the slower of the two branches
+ * rather than the sum of every call.
+ *
+ * The project is required: when it is missing the dashboard is null, and its failure fails the request.
+ * Tasks and profiles are best effort: if one fails or is still running at the deadline it is left empty
+ * and reported under "errors". A project that isn't loaded by the deadline answers 504.
+ *
+ * Cancelling a future doesn't stop the RestTemplate call behind it, so each branch runs under a
+ * {@link RequestDeadline} set to the dashboard's own: the calls are sent with that budget and their
+ * response timeout is cut to it, and nothing is left running long after the page has been answered.
+ */
+@Service
+public class ProjectDashboardService {
+
+    static final String TASKS = "tasks";
+    static final String PROFILES = "profiles";
+    static final String NO_STATUS = "Unknown";
+
+    private final ProjectService projectService;
+    private final RestTemplate restTemplate;
+    private final String taskUrl;
+    private final String profileUrl;
+    private final Executor fanOutExecutor;
+    private final long deadlineNanos;
+
+    public ProjectDashboardService(ProjectService projectService,
+                                   RestTemplate restTemplate,
+                                   @Value("${task.base.url:http://task:3031}") String taskBaseUrl,
+                                   @Value("${profile.base.url:http://profile:3030}") String profileBaseUrl,
+                                   @Qualifier("fanOutExecutor") Executor fanOutExecutor,
+                                   FanOutProperties props) {
+        this.projectService = projectService;
+        this.restTemplate = restTemplate;
+        this.taskUrl = taskBaseUrl + "/task";
+        this.profileUrl = profileBaseUrl + "/user";
+        this.fanOutExecutor = fanOutExecutor;
+        this.deadlineNanos = props.deadline().toNanos();
+    }
+
+    public ProjectDashboardDto getDashboard(UUID projectId) {
+        // The fan-out deadline, or the request's own if that comes first
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        long budget = requestDeadline == null
+                ? deadlineNanos
+                : Math.min(deadlineNanos, requestDeadline.remaining().toNanos());
+        long deadline = System.nanoTime() + budget;
+        RequestDeadline calls = RequestDeadline.after(Duration.ofNanos(budget));
+
+        CompletableFuture<ProjectDto> project = CompletableFuture.supplyAsync(
+                bounded(calls, () -> projectService.getProjectById(projectId)), fanOutExecutor);
+        CompletableFuture<List<ProjectTaskDto>> tasks = CompletableFuture.supplyAsync(
+                bounded(calls, () -> getTasks(projectId)), fanOutExecutor);
+        CompletableFuture<Map<String, ProfileDto>> profiles = project.thenApplyAsync(
+                p -> bounded(calls, () -> getProfiles(p)).get(), fanOutExecutor);
+
+        ProjectDashboardDto dashboard = new ProjectDashboardDto();
+        try {
+            dashboard.setProject(await(project, deadline));
+        } catch (TimeoutException e) {
+            cancelAll(tasks, profiles);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Timed out loading project: " + projectId);
+        } catch (RuntimeException e) {
+            cancelAll(tasks, profiles);
+            throw e;
+        }
+        if (dashboard.getProject() == null) {
+            cancelAll(tasks, profiles);
+            return null;
+        }
+
+        List<ProjectTaskDto> taskList = optional(TASKS, tasks, deadline, dashboard);
+        if (taskList != null) {
+            dashboard.setTasks(taskList);
+            dashboard.setTaskCounts(countByStatus(taskList));
+        }
+        Map<String, ProfileDto> profileMap = optional(PROFILES, profiles, deadline, dashboard);
+        if (profileMap != null) {
+            ProjectDto p = dashboard.getProject();
+            dashboard.setOwner(p.getOwner() == null ? null : profileMap.get(p.getOwner().toString()));
+            List<ProfileDto> collaborators = new ArrayList<>();
+            if (p.getCollaborators() != null) {
+                for (UUID id : p.getCollaborators()) {
+                    ProfileDto profile = profileMap.get(id.toString());
+                    if (profile != null) {
+                        collaborators.add(profile);
+                    }
+                }
+            }
+            dashboard.setCollaborators(collaborators);
+        }
+        return dashboard;
+    }
+
+    private List<ProjectTaskDto> getTasks(UUID projectId) {
+        ProjectTaskDto[] rows = restTemplate.getForObject(taskUrl + "/project/" + projectId, ProjectTaskDto[].class);
+        return rows == null ? List.of() : Arrays.asList(rows);
+    }
+
+    // Owner and collaborators in one bulk lookup; ids the profile service doesn't know are left out
+    private Map<String, ProfileDto> getProfiles(ProjectDto project) {
+        if (project == null) {
+            return Map.of();
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        if (project.getOwner() != null) {
+            ids.add(project.getOwner().toString());
+        }
+        if (project.getCollaborators() != null) {
+            project.getCollaborators().forEach(id -> ids.add(id.toString()));
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        ProfileDto[] users = restTemplate.postForObject(profileUrl + "/bulk", Map.of("ids", List.copyOf(ids)),
+                ProfileDto[].class);
+        if (users == null) {
+            return Map.of();
+        }
+        return Arrays.stream(users)
+                .filter(user -> user != null && user.getId() != null)
+                .collect(Collectors.toMap(ProfileDto::getId, Function.identity(), (a, b) -> a));
+    }
+
+    static Map<String, Integer> countByStatus(List<ProjectTaskDto> tasks) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (ProjectTaskDto task : tasks) {
+            String status = task.getStatus() == null || task.getStatus().isBlank() ? NO_STATUS : task.getStatus();
+            counts.merge(status, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    // Runs the branch under the dashboard's deadline in place of whatever the pool thread carried
+    private static <T> Supplier<T> bounded(RequestDeadline deadline, Supplier<T> branch) {
+        return () -> {
+            RequestDeadline previous = RequestDeadline.attach(deadline);
+            try {
+                return branch.get();
+            } finally {
+                RequestDeadline.attach(previous);
+            }
+        };
+    }
+
+    private <T> T optional(String section, CompletableFuture<T> future, long deadline, ProjectDashboardDto dashboard) {
+        try {
+            return await(future, deadline);
+        } catch (TimeoutException e) {
+            // Only abandons the result; the call itself gives up at the same deadline
+            future.cancel(true);
+            dashboard.addError(section, "timed out");
+        } catch (RuntimeException e) {
+            dashboard.addError(section, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+        return null;
+    }
+
+    // Waits only for what is left of the budget, so the sections share one deadline
+    private static <T> T await(CompletableFuture<T> future, long deadline) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading project dashboard", e);
+        }
+    }
+
+    private static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
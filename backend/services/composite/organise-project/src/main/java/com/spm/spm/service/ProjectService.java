@@ -5,17 +5,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.spm.spm.cache.ProjectCache;
 import com.spm.spm.dto.ChangeOwnerRequest;
 import com.spm.spm.dto.CollaboratorDto;
+import com.spm.spm.dto.CursorPage;
 import com.spm.spm.dto.NewProjectRequest;
 import com.spm.spm.dto.ProjectDto;
 import com.spm.spm.dto.UpdateCollaboratorsRequest;
@@ -26,18 +32,29 @@ import jakarta.annotation.PostConstruct;
 @Service
 public class ProjectService {
 
+    private static final Logger log = LoggerFactory.getLogger(ProjectService.class);
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    // Present only with project.cache.enabled=true
+    private final ProjectCache projectCache;
+
+    public ProjectService(RestTemplate restTemplate, String baseUrl) {
+        this(restTemplate, baseUrl, null);
+    }
 
+    @Autowired
     public ProjectService(RestTemplate restTemplate,
-                          @Value("${project.base.url}") String baseUrl) {
+                          @Value("${project.base.url}") String baseUrl,
+                          @Nullable ProjectCache projectCache) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
+        this.projectCache = projectCache;
     }
 
     @PostConstruct
     public void logBase() {
-        System.out.println("[ProjectService] baseUrl = " + baseUrl);
+        log.info("Project service base URL: {}", baseUrl);
     }
 
     /* Health check for the project atomic service */
@@ -56,9 +73,36 @@ public class ProjectService {
         return body == null ? List.of() : Arrays.asList(body);
     }
 
+    /* Get one keyset page of projects; asks for one extra row to learn whether another page follows */
+    public CursorPage<ProjectDto> getPage(int limit, String cursor) {
+        CursorPage.checkLimit(limit);
+        String after = CursorPage.decodeCursor(cursor);
+
+        ResponseEntity<ProjectDto[]> resp = restTemplate.getForEntity(
+                baseUrl + "/project/all?limit={limit}&after={after}",
+                ProjectDto[].class,
+                limit + 1,
+                after == null ? "" : after);
+        ProjectDto[] body = resp.getBody();
+        List<ProjectDto> rows = body == null ? List.of() : Arrays.asList(body);
+
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ProjectDto> page = rows.subList(0, limit);
+        return new CursorPage<>(page, CursorPage.encodeCursor(page.get(limit - 1).getId().toString()));
+    }
+
     /* Get all projects for a user (owner or collaborator) */
     public List<ProjectDto> getProjectsByUser(UUID userId) {
-        System.out.println("[ProjectService] Fetching projects for user: " + userId);
+        if (projectCache != null) {
+            return projectCache.getUserProjects(userId, () -> fetchProjectsByUser(userId));
+        }
+        return fetchProjectsByUser(userId);
+    }
+
+    private List<ProjectDto> fetchProjectsByUser(UUID userId) {
+        log.debug("Fetching projects for user: {}", userId);
 
         // Fetch the projects for the user (collaborators are already UUIDs)
         ResponseEntity<ProjectDto[]> resp = restTemplate.getForEntity(
@@ -66,11 +110,11 @@ public class ProjectService {
         ProjectDto[] projects = resp.getBody();
 
         if (projects == null || projects.length == 0) {
-            System.out.println("[ProjectService] No projects found for user: " + userId);
+            log.debug("No projects found for user: {}", userId);
             return List.of(); // Return an empty list if no projects are found
         }
 
-        System.out.println("[ProjectService] Projects fetched successfully for user: " + userId);
+        log.debug("Fetched {} projects for user: {}", projects.length, userId);
         return Arrays.asList(projects);
     }
 
@@ -84,22 +128,32 @@ public class ProjectService {
         @SuppressWarnings("rawtypes")
         ResponseEntity<Map> resp =
                 restTemplate.postForEntity(baseUrl + "/project/", entity, Map.class);
+        if (projectCache != null) {
+            projectCache.afterCreate(req.getOwnerId(), req.getCollaborators());
+        }
         return (Map<String, Object>) resp.getBody();
     }
 
     /* Get project by ID (with collaborators and owner) */
     public ProjectDto getProjectById(UUID projectId) {
+        if (projectCache != null) {
+            return projectCache.getProject(projectId, () -> fetchProjectById(projectId));
+        }
+        return fetchProjectById(projectId);
+    }
+
+    private ProjectDto fetchProjectById(UUID projectId) {
         // Fetch the project (collaborators are already UUIDs)
         ResponseEntity<ProjectDto> resp =
                 restTemplate.getForEntity(baseUrl + "/project/" + projectId.toString(), ProjectDto.class);
         ProjectDto project = resp.getBody();
 
         if (project == null) {
-            System.out.println("[ProjectService] Project not found: " + projectId);
+            log.debug("Project not found: {}", projectId);
             return null;
         }
 
-        System.out.println("[ProjectService] Project fetched successfully: " + project);
+        log.debug("Project fetched: {}", projectId);
         return project;
     }
 
@@ -117,6 +171,9 @@ public class ProjectService {
                 entity,
                 Map.class
         );
+        if (projectCache != null) {
+            projectCache.afterUpdate(projectId);
+        }
         return (Map<String, Object>) resp.getBody();
     }
 
@@ -134,6 +191,9 @@ public class ProjectService {
                 entity,
                 Map.class
         );
+        if (projectCache != null) {
+            projectCache.afterCollaboratorsChange(projectId, req.getCollaborators());
+        }
         return (Map<String, Object>) resp.getBody();
     }
 
@@ -144,9 +204,7 @@ public class ProjectService {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<ChangeOwnerRequest> entity = new HttpEntity<>(req, headers);
         
-        // Add logging
-        System.out.println("[ProjectService] Changing owner for project: " + projectId);
-        System.out.println("[ProjectService] New owner ID: " + req.getNewOwnerId());
+        log.debug("Changing owner for project {} to {}", projectId, req.getNewOwnerId());
         
         @SuppressWarnings("rawtypes")
         ResponseEntity<Map> resp = restTemplate.exchange(
@@ -155,6 +213,9 @@ public class ProjectService {
                 entity,
                 Map.class
         );
+        if (projectCache != null) {
+            projectCache.afterOwnerChange(projectId, req.getNewOwnerId());
+        }
         return (Map<String, Object>) resp.getBody();
     }
 
@@ -168,6 +229,9 @@ public class ProjectService {
                 null,
                 Map.class
         );
+        if (projectCache != null) {
+            projectCache.afterDelete(projectId);
+        }
         return (Map<String, Object>) resp.getBody();
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.spm.spm;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * What Prometheus scrapes from /actuator/prometheus after one request has gone through the app.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DirtiesContext
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private static boolean hasSample(String scrape, String metric, String... labels) {
+        return scrape.lines().anyMatch(line -> {
+            if (!line.startsWith(metric + "{")) return false;
+            for (String label : labels) {
+                if (!line.contains(label)) return false;
+            }
+            return true;
+        });
+    }
+
+    @Test
+    void prometheus_ExposesEndpointDownstreamPoolAndJvmMetrics() throws Exception {
+        UUID id = UUID.randomUUID();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://localhost:3040/project/" + id)).andRespond(withSuccess(
+                "{\"id\":\"" + id + "\",\"title\":\"Metrics\",\"collaborators\":[]}", MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/projects/" + id)).andExpect(status().isOk());
+        server.verify();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(hasSample(scrape, "http_server_requests_seconds_bucket", "uri=\"/projects/{id}\""))
+                .as("endpoint histogram").isTrue();
+        assertThat(hasSample(scrape, "http_client_requests_seconds_bucket", "uri=\"/project/{id}\"", "status=\"200\""))
+                .as("project:3040 client timer").isTrue();
+        assertThat(hasSample(scrape, "httpcomponents_httpclient_pool_total_max", "httpclient=\"atomic-services\""))
+                .as("connection pool").isTrue();
+        assertThat(hasSample(scrape, "access_log_events_total", "outcome=\"dropped\"")).as("access log drops").isTrue();
+        assertThat(hasSample(scrape, "jvm_memory_used_bytes")).as("JVM").isTrue();
+    }
+}
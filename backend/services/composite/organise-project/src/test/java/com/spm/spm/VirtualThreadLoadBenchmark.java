@@ -0,0 +1,148 @@
+package com.spm.spm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.spm.spm.config.VirtualThreadPinningMonitor;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Concurrent in-flight requests through ProjectController with and without virtual threads.
+ *
+ * Tomcat is capped at {@value #TOMCAT_THREADS} threads in both runs and the stand-in project:3040
+ * answers after {@value #DOWNSTREAM_LATENCY_MS} ms. On platform threads the stand-in never sees more
+ * than the Tomcat cap at once; on virtual threads every client request is in flight together.
+ *
+ * Excluded from the normal build; run with {@code mvn test -Dtest=VirtualThreadLoadBenchmark}.
+ */
+class VirtualThreadLoadBenchmark {
+
+    private static final int TOMCAT_THREADS = 50;
+    private static final int CONCURRENT_CLIENTS = 1000;
+    private static final long DOWNSTREAM_LATENCY_MS = 200;
+
+    private HttpServer standIn;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        standIn.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        standIn.createContext("/project/", exchange -> {
+            int now = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            String id = exchange.getRequestURI().getPath().substring("/project/".length());
+            byte[] body = ("{\"id\":\"" + id + "\",\"title\":\"Load test\",\"collaborators\":[]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        standIn.start();
+    }
+
+    @AfterEach
+    void stopStandIn() {
+        standIn.stop(0);
+    }
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        Run platform = run(false);
+        Run virtual = run(true);
+
+        assertThat(platform.peak()).isLessThanOrEqualTo(TOMCAT_THREADS);
+        assertThat(virtual.peak()).isGreaterThan(TOMCAT_THREADS * 4);
+        assertThat(virtual.pinned()).as("pinned virtual threads on the request path").isZero();
+    }
+
+    private Run run(boolean virtualThreads) throws Exception {
+        peakInFlight.set(0);
+        // Passed as command-line args: SpringApplicationBuilder.properties() would lose to application.properties
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(SpmApplication.class).run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--server.tomcat.accept-count=" + CONCURRENT_CLIENTS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--virtual-threads.pinning.threshold=0ms",
+                        "--http.client.max-total=" + CONCURRENT_CLIENTS * 2,
+                        "--http.client.max-per-route=" + CONCURRENT_CLIENTS * 2,
+                        "--http.client.pool-acquire-timeout=30s",
+                        "--downstream.guard.initial-limit=" + CONCURRENT_CLIENTS * 2,
+                        "--downstream.guard.max-limit=" + CONCURRENT_CLIENTS * 2,
+                        "--project.base.url=http://127.0.0.1:" + standIn.getAddress().getPort(),
+                        "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+                        "--logging.level.root=WARN");
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            fire(client, port);  // warm-up: connection setup, JIT, first-request init
+            peakInFlight.set(0);
+
+            long start = System.nanoTime();
+            long ok = fire(client, port);
+            Duration took = Duration.ofNanos(System.nanoTime() - start);
+
+            long pinned = virtualThreads ? app.getBean(VirtualThreadPinningMonitor.class).getPinnedCount() : 0;
+            Run result = new Run(peakInFlight.get(), ok, took, pinned);
+            System.out.printf("%-16s ok=%d/%d  peak-in-flight=%d  wall=%d ms  ~%.0f req/s  pinned=%d%n",
+                    virtualThreads ? "virtual threads" : "platform threads", ok, CONCURRENT_CLIENTS,
+                    result.peak(), took.toMillis(), ok / (took.toMillis() / 1000.0), pinned);
+            return result;
+        } finally {
+            app.close();
+        }
+    }
+
+    private long fire(HttpClient client, int port) throws Exception {
+        List<CompletableFuture<HttpResponse<Void>>> calls = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://127.0.0.1:" + port + "/projects/" + UUID.randomUUID())).build();
+            calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        long ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> call : calls) {
+            if (call.get().statusCode() == 200) ok++;
+        }
+        return ok;
+    }
+
+    private record Run(int peak, long ok, Duration took, long pinned) {
+    }
+}
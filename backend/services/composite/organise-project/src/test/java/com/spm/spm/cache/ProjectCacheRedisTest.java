@@ -0,0 +1,159 @@
+package com.spm.spm.cache;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.spm.spm.config.ProjectCacheConfig;
+import com.spm.spm.config.ProjectCacheProperties;
+import com.spm.spm.dto.ProjectDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import redis.embedded.RedisServer;
+
+/**
+ * Two replicas' caches sharing a real Redis: what one loads the other reads from L2, and what one
+ * invalidates reaches the other over pub/sub.
+ */
+class ProjectCacheRedisTest {
+
+    private static final ProjectCacheProperties PROPS = new ProjectCacheProperties(true, 100, Duration.ofSeconds(30),
+            Duration.ofMinutes(10), "test:project:", "test:project:invalidations");
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, byte[]> redis;
+
+    private RedisMessageListenerContainer container;
+    private ProjectCache replicaA;
+    private ProjectCache replicaB;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new ProjectCacheConfig().projectCacheRedisTemplate(connectionFactory);
+        redis.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.getConnectionFactory().getConnection().serverCommands().flushAll();
+        replicaA = replica();
+        replicaB = replica();
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        container.addMessageListener(replicaB, new ChannelTopic(PROPS.invalidationChannel()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        container.destroy();
+    }
+
+    private static ProjectCache replica() {
+        ProjectCodec codec = new ProjectCodec();
+        RedisProjectStore store = new RedisProjectStore(redis, codec, PROPS.keyPrefix(), PROPS.invalidationChannel(),
+                PROPS.l2Ttl());
+        return new ProjectCache(store, codec, PROPS, new SimpleMeterRegistry());
+    }
+
+    private static ProjectDto project(UUID owner) {
+        ProjectDto project = new ProjectDto();
+        project.setId(UUID.randomUUID());
+        project.setTitle("Shared");
+        project.setOwner(owner);
+        project.setCollaborators(List.of());
+        return project;
+    }
+
+    @Test
+    void userProjects_LoadedByOneReplica_ServedToAnotherFromRedis() {
+        UUID owner = UUID.randomUUID();
+        ProjectDto first = project(owner);
+        ProjectDto second = project(owner);
+        replicaA.getUserProjects(owner, () -> List.of(first, second));
+
+        List<ProjectDto> result = replicaB.getUserProjects(owner, () -> {
+            throw new AssertionError("should be served from Redis");
+        });
+
+        assertThat(result).extracting(ProjectDto::getId).containsExactly(first.getId(), second.getId());
+        assertThat(redis.getExpire(PROPS.keyPrefix() + "user:" + owner)).isPositive();
+    }
+
+    @Test
+    void ownerChange_OnOneReplica_DropsEntriesInRedisAndOtherReplica() throws InterruptedException {
+        UUID owner = UUID.randomUUID();
+        ProjectDto project = project(owner);
+        replicaA.getUserProjects(owner, () -> List.of(project));
+        replicaB.getProject(project.getId(), () -> project);
+
+        replicaA.afterOwnerChange(project.getId(), UUID.randomUUID());
+
+        assertThat(redis.hasKey(PROPS.keyPrefix() + project.getId())).isFalse();
+        assertThat(redis.hasKey(PROPS.keyPrefix() + "user:" + owner)).isFalse();
+        AtomicInteger loads = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (loads.get() == 0 && System.nanoTime() < deadline) {
+            replicaB.getProject(project.getId(), () -> {
+                loads.incrementAndGet();
+                return project;
+            });
+            Thread.sleep(20);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void collaboratorRemovedAfterAnUpdate_NoLongerSeesTheProjectOnAnyReplica() {
+        UUID owner = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        ProjectDto project = project(owner);
+        project.setCollaborators(List.of(removed));
+        replicaA.getUserProjects(removed, () -> List.of(project));
+
+        // The edit dialog saves the title first, then the collaborators
+        replicaA.afterUpdate(project.getId());
+        replicaB.afterCollaboratorsChange(project.getId(), List.of());
+        replicaB.getProject(project.getId(), () -> project);
+
+        assertThat(redis.hasKey(PROPS.keyPrefix() + "user:" + removed)).isFalse();
+        AtomicInteger loads = new AtomicInteger();
+        List<ProjectDto> result = replica().getUserProjects(removed, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertThat(result).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+}
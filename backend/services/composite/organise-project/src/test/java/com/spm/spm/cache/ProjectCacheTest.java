@@ -0,0 +1,219 @@
+package com.spm.spm.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import com.spm.spm.config.ProjectCacheProperties;
+import com.spm.spm.dto.ProjectDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProjectCacheTest {
+
+    private static final UUID OWNER = UUID.randomUUID();
+    private static final UUID COLLABORATOR = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ProjectCodec codec = new ProjectCodec();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RedisProjectStore l2;
+    private ProjectCache cache;
+
+    private final ProjectDto alpha = project("Alpha");
+    private final ProjectDto beta = project("Beta");
+
+    @BeforeEach
+    void setUp() {
+        l2 = mock(RedisProjectStore.class);
+        // Mockito would answer with an empty list, i.e. a cached "no projects"
+        when(l2.getUserProjectIds(any())).thenReturn(null);
+        ProjectCacheProperties props = new ProjectCacheProperties(true, 100, Duration.ofSeconds(30),
+                Duration.ofMinutes(10), "test:", "test:invalidations");
+        cache = new ProjectCache(l2, codec, props, registry, nanos::get);
+    }
+
+    private static ProjectDto project(String title) {
+        ProjectDto project = new ProjectDto();
+        project.setId(UUID.randomUUID());
+        project.setTitle(title);
+        project.setOwner(OWNER);
+        project.setCollaborators(List.of(COLLABORATOR));
+        return project;
+    }
+
+    private static <T> Supplier<T> counting(AtomicInteger loads, T value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    @Test
+    void getProject_L1Hit_NoRedisOrLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+
+        cache.getProject(alpha.getId(), counting(loads, alpha));
+        ProjectDto result = cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        assertThat(result).isSameAs(alpha);
+        assertThat(loads).hasValue(1);
+        verify(l2).putProject(alpha);
+    }
+
+    @Test
+    void getProject_L2Hit_NoLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of(alpha.getId(), alpha));
+
+        ProjectDto result = cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        assertThat(result).isSameAs(alpha);
+        assertThat(loads).hasValue(0);
+        verify(l2, never()).putProject(any());
+        assertThat(registry.get("project.cache.l2").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getProject_RedisDown_LoadsAndCountsError() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(any())).thenThrow(new RedisConnectionFailureException("down"));
+        doThrow(new RedisConnectionFailureException("down")).when(l2).putProject(any());
+
+        ProjectDto result = cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        assertThat(result).isSameAs(alpha);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("project.cache.l2").tag("result", "error").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void getUserProjects_Miss_LoadsAndWritesBothTiers() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getUserProjects(OWNER, counting(loads, List.of(alpha, beta)));
+        List<ProjectDto> result = cache.getUserProjects(OWNER, counting(loads, List.of()));
+
+        assertThat(result).containsExactly(alpha, beta);
+        assertThat(loads).hasValue(1);
+        verify(l2).putUserProjects(OWNER, List.of(alpha, beta));
+    }
+
+    @Test
+    void getUserProjects_ListInRedis_MissingProjectsFetchedInOneMultiGet() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of(alpha.getId(), alpha));
+        cache.getProject(alpha.getId(), counting(loads, alpha));
+        when(l2.getUserProjectIds(OWNER)).thenReturn(List.of(alpha.getId(), beta.getId()));
+        when(l2.getProjects(List.of(beta.getId()))).thenReturn(Map.of(beta.getId(), beta));
+
+        List<ProjectDto> result = cache.getUserProjects(OWNER, counting(loads, List.of()));
+
+        assertThat(result).containsExactly(alpha, beta);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void getUserProjects_ProjectMissingFromBothTiers_Reloads() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getUserProjectIds(OWNER)).thenReturn(List.of(alpha.getId()));
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+
+        List<ProjectDto> result = cache.getUserProjects(OWNER, counting(loads, List.of(alpha)));
+
+        assertThat(result).containsExactly(alpha);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void afterUpdate_DropsProjectButNotLists() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getUserProjects(OWNER, counting(loads, List.of(alpha)));
+
+        cache.afterUpdate(alpha.getId());
+
+        ArgumentCaptor<ProjectInvalidation> sent = ArgumentCaptor.forClass(ProjectInvalidation.class);
+        verify(l2).invalidate(sent.capture());
+        assertThat(sent.getValue()).isEqualTo(new ProjectInvalidation(Set.of(alpha.getId()), Set.of(), false));
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+        cache.getUserProjects(OWNER, counting(loads, List.of(alpha)));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void afterCollaboratorsChange_CachedProject_DropsOldAndNewMembersLists() {
+        UUID newcomer = UUID.randomUUID();
+        cache.getUserProjects(OWNER, () -> List.of(alpha));
+
+        cache.afterCollaboratorsChange(alpha.getId(), List.of(newcomer));
+
+        ArgumentCaptor<ProjectInvalidation> sent = ArgumentCaptor.forClass(ProjectInvalidation.class);
+        verify(l2).invalidate(sent.capture());
+        assertThat(sent.getValue().projectIds()).containsExactly(alpha.getId());
+        assertThat(sent.getValue().userIds()).containsExactlyInAnyOrder(newcomer, OWNER, COLLABORATOR);
+        assertThat(sent.getValue().allUsers()).isFalse();
+    }
+
+    @Test
+    void afterDelete_UnknownProject_DropsAllLocalLists() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getUserProjects(COLLABORATOR, counting(loads, List.of(beta)));
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+
+        cache.afterDelete(alpha.getId());
+
+        ArgumentCaptor<ProjectInvalidation> sent = ArgumentCaptor.forClass(ProjectInvalidation.class);
+        verify(l2).invalidate(sent.capture());
+        assertThat(sent.getValue().allUsers()).isTrue();
+        cache.getUserProjects(COLLABORATOR, counting(loads, List.of(beta)));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onMessage_InvalidationFromAnotherReplica_DropsL1Entry() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+        cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        byte[] body = codec.encodeInvalidation(new ProjectInvalidation(Set.of(alpha.getId()), Set.of(), false));
+        cache.onMessage(new DefaultMessage("test:invalidations".getBytes(), body), null);
+        cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getProject_InvalidationDuringLoad_ResultNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        when(l2.getProjects(List.of(alpha.getId()))).thenReturn(Map.of());
+
+        cache.getProject(alpha.getId(), () -> {
+            loads.incrementAndGet();
+            cache.afterUpdate(alpha.getId());
+            return alpha;
+        });
+        cache.getProject(alpha.getId(), counting(loads, alpha));
+
+        assertThat(loads).hasValue(2);
+        verify(l2).putProject(alpha);
+    }
+}
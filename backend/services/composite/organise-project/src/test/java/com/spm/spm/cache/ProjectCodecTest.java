@@ -0,0 +1,53 @@
+package com.spm.spm.cache;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spm.spm.dto.ProjectDto;
+
+class ProjectCodecTest {
+
+    private final ProjectCodec codec = new ProjectCodec();
+
+    private static ProjectDto project() {
+        OffsetDateTime created = OffsetDateTime.of(2025, 9, 1, 8, 30, 0, 0, ZoneOffset.UTC);
+        return new ProjectDto(UUID.randomUUID(), "Roadmap", "Q4 planning", created, created.plusDays(3),
+                UUID.randomUUID(), List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+    }
+
+    @Test
+    void project_RoundTrips() {
+        ProjectDto project = project();
+
+        ProjectDto decoded = codec.decodeProject(codec.encodeProject(project));
+
+        assertThat(decoded).usingRecursiveComparison()
+                .withComparatorForType(OffsetDateTime::compareTo, OffsetDateTime.class)
+                .isEqualTo(project);
+    }
+
+    @Test
+    void project_IsSmallerThanJson() throws Exception {
+        ProjectDto project = project();
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(project);
+
+        assertThat(codec.encodeProject(project).length).isLessThan(json.length * 2 / 3);
+    }
+
+    @Test
+    void idsAndInvalidation_RoundTrip() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        ProjectInvalidation invalidation = new ProjectInvalidation(Set.of(ids.get(0)), Set.of(ids.get(1)), true);
+
+        assertThat(codec.decodeIds(codec.encodeIds(ids))).isEqualTo(ids);
+        assertThat(codec.decodeInvalidation(codec.encodeInvalidation(invalidation))).isEqualTo(invalidation);
+    }
+}
@@ -0,0 +1,157 @@
+package com.spm.spm.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.spm.config.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResponseCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(objectMapper,
+            new ResponseCacheProperties(true, 1 << 20, Duration.ofSeconds(30), 64), registry, nanos::get);
+
+    // Large enough to be gzipped
+    private final List<Map<String, String>> body = List.of(
+            Map.of("title", "Alpha", "description", "x".repeat(200)),
+            Map.of("title", "Beta", "description", "y".repeat(200)));
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+    @Test
+    void hitsSendTheStoredBytesWithoutLoadingOrSerializingAgain() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseEntity<byte[]> first = cache.respond("projects/all", new HttpHeaders(), () -> {
+            loads.incrementAndGet();
+            return body;
+        });
+        ResponseEntity<byte[]> second = cache.respond("projects/all", new HttpHeaders(), () -> {
+            loads.incrementAndGet();
+            return body;
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(objectMapper.readValue(second.getBody(), List.class)).isEqualTo(body);
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag()).startsWith("\"");
+        assertThat(second.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(second.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void gzipIsSentToClientsThatAcceptIt() throws IOException {
+        ResponseEntity<byte[]> plain = cache.respond("projects/all", new HttpHeaders(), () -> body);
+
+        ResponseEntity<byte[]> gzipped = cache.respond("projects/all",
+                headers(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"), () -> body);
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        assertThat(gzipped.getBody().length).isLessThan(plain.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getBody());
+        }
+    }
+
+    @Test
+    void smallBodiesAreOnlySentUncompressed() {
+        ResponseEntity<byte[]> response = cache.respond("projects/1",
+                headers(HttpHeaders.ACCEPT_ENCODING, "gzip"), () -> Map.of("title", "Alpha"));
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(cache.get("projects/1").gzip()).isNull();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutBody() {
+        String etag = cache.respond("projects/all", new HttpHeaders(), () -> body).getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = cache.respond("projects/all",
+                headers(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag), () -> body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(registry.get("response.cache.not.modified").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sameBodyAfterInvalidationKeepsItsEtag() {
+        String etag = cache.respond("projects/all", new HttpHeaders(), () -> body).getHeaders().getETag();
+        cache.invalidate("projects/all");
+
+        ResponseEntity<byte[]> response = cache.respond("projects/all",
+                headers(HttpHeaders.IF_NONE_MATCH, etag), () -> body);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void missingBodyIsNotCached() {
+        assertThat(cache.respond("projects/1", new HttpHeaders(), () -> null)).isNull();
+        assertThat(cache.get("projects/1")).isNull();
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsReturnedButNotCached() {
+        ResponseEntity<byte[]> response = cache.respond("projects/all", new HttpHeaders(), () -> {
+            cache.invalidate("projects/all");
+            return body;
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cache.get("projects/all")).isNull();
+    }
+
+    @Test
+    void invalidateTaggedDropsOnlyTaggedEntries() {
+        cache.respond("a", new HttpHeaders(), () -> body, "task:1");
+        cache.respond("b", new HttpHeaders(), () -> body, "task:2");
+
+        cache.invalidateTagged("task:1");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+    }
+
+    @Test
+    void entriesExpire() {
+        cache.respond("projects/all", new HttpHeaders(), () -> body);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThat(cache.get("projects/all")).isNull();
+    }
+
+    @Test
+    void acceptEncodingIsParsed() {
+        assertThat(ResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(ResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseCache.acceptsGzip("br, deflate")).isFalse();
+        assertThat(ResponseCache.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,145 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AccessLogTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StringWriter out = new StringWriter();
+    private AccessLog accessLog;
+
+    @AfterEach
+    void tearDown() {
+        if (accessLog != null) accessLog.stop();
+    }
+
+    private AccessLog accessLog(int capacity, double sampleRate, Writer sink) {
+        accessLog = new AccessLog(new AccessLogProperties(true, capacity, sampleRate, Duration.ofMillis(500)), sink);
+        return accessLog;
+    }
+
+    private List<JsonNode> lines() {
+        return out.toString().lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new AssertionError("Not a JSON line: " + line, e);
+            }
+        }).toList();
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() {
+        AccessLog log = accessLog(16, 1.0, out);
+        log.start();
+
+        log.record(AccessLog.INBOUND, "GET", "/projects/1", 200, FAST, null);
+        log.record(AccessLog.OUTBOUND, "GET", "http://project:3040/project/1", 0, FAST, new IOException("refused"));
+        log.stop();
+
+        List<JsonNode> lines = lines();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("kind").asText()).isEqualTo("inbound");
+        assertThat(lines.get(0).get("uri").asText()).isEqualTo("/projects/1");
+        assertThat(lines.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(lines.get(0).get("durationMs").asDouble()).isEqualTo(5.0);
+        assertThat(lines.get(0).get("reason").asText()).isEqualTo("sampled");
+        assertThat(lines.get(0).has("error")).isFalse();
+        assertThat(lines.get(0).get("ts").asText()).endsWith("Z");
+        assertThat(lines.get(1).get("error").asText()).isEqualTo("java.io.IOException");
+        assertThat(lines.get(1).get("reason").asText()).isEqualTo("error");
+        assertThat(log.getWritten()).isEqualTo(2);
+    }
+
+    @Test
+    void errorsAndSlowRequestsBypassSampling() {
+        AccessLog log = accessLog(16, 0.0, out);
+        log.start();
+
+        log.record(AccessLog.INBOUND, "GET", "/projects/all", 200, FAST, null);
+        log.record(AccessLog.INBOUND, "GET", "/projects/slow", 200, SLOW, null);
+        log.record(AccessLog.INBOUND, "GET", "/projects/broken", 503, FAST, null);
+        log.stop();
+
+        assertThat(lines()).extracting(line -> line.get("reason").asText()).containsExactly("slow", "error");
+        assertThat(log.getSampledOut()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueDropsAndCountsInsteadOfBlocking() {
+        AccessLog log = accessLog(2, 1.0, out);
+
+        // Writer not started yet, so nothing drains the queue
+        for (int i = 0; i < 5; i++) {
+            log.record(AccessLog.INBOUND, "GET", "/projects/" + i, 200, FAST, null);
+        }
+        assertThat(log.getDropped()).isEqualTo(3);
+
+        log.start();
+        log.stop();
+        assertThat(lines()).hasSize(2);
+    }
+
+    @Test
+    void slowSinkDoesNotHoldUpCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Writer stuckSink = new Writer() {
+            @Override
+            public void write(char[] buf, int off, int len) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        AccessLog log = accessLog(100, 1.0, stuckSink);
+        log.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            log.record(AccessLog.INBOUND, "GET", "/projects/" + i, 200, FAST, null);
+        }
+        long elapsed = System.nanoTime() - start;
+        release.countDown();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(elapsed)).isLessThan(1000);
+        assertThat(log.getDropped()).isGreaterThan(0);
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        accessLog = new AccessLog(new AccessLogProperties(false, 16, 1.0, Duration.ofMillis(500)), out);
+        accessLog.start();
+
+        accessLog.record(AccessLog.INBOUND, "GET", "/projects", 500, SLOW, null);
+        accessLog.stop();
+
+        assertThat(out.toString()).isEmpty();
+        assertThat(accessLog.getDropped() + accessLog.getSampledOut() + accessLog.getWritten()).isZero();
+    }
+}
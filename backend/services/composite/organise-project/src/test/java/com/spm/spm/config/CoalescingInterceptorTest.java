@@ -0,0 +1,203 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingInterceptorTest {
+
+    private static final URI PROJECT_URI = URI.create("http://project:3040/project/user/7");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CoalescingInterceptor interceptor = new CoalescingInterceptor(registry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    // A GET made under its own request deadline, on a caller thread
+    private Future<ClientHttpResponse> getWithin(Duration budget, ClientHttpRequestExecution execution) {
+        return callers.submit(() -> {
+            RequestDeadline.open(budget);
+            try {
+                return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI), new byte[0],
+                        execution);
+            } finally {
+                RequestDeadline.close();
+            }
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double coalesced() {
+        return registry.find("downstream.coalesced").counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    // Holds every downstream call until released and counts them
+    private static final class GatedExecution implements ClientHttpRequestExecution {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final IOException failure;
+
+        GatedExecution(IOException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (failure != null) throw failure;
+            return new MockClientHttpResponse("[{\"title\":\"Alpha\"}]".getBytes(), HttpStatus.OK);
+        }
+    }
+
+    private List<Future<ClientHttpResponse>> concurrentGets(GatedExecution execution, int count)
+            throws InterruptedException {
+        List<Future<ClientHttpResponse>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(callers.submit(() -> interceptor.intercept(
+                    new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI), new byte[0], execution)));
+        }
+        // Once every caller but the leader is counted as coalesced, all of them share the call
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < count - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        execution.release.countDown();
+        return results;
+    }
+
+    @Test
+    void identicalConcurrentGets_ShareOneDownstreamCall() throws Exception {
+        GatedExecution execution = new GatedExecution(null);
+
+        List<Future<ClientHttpResponse>> results = concurrentGets(execution, 4);
+
+        for (Future<ClientHttpResponse> result : results) {
+            ClientHttpResponse response = result.get(5, TimeUnit.SECONDS);
+            assertThat(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8))
+                    .isEqualTo("[{\"title\":\"Alpha\"}]");
+        }
+        assertThat(execution.calls).hasValue(1);
+        assertThat(registry.get("downstream.fan.in").tag("uri", "/project/user/{id}").summary().max())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    void leaderFails_EveryCallerSeesTheFailure() throws Exception {
+        GatedExecution execution = new GatedExecution(new ConnectException("Connection refused"));
+
+        List<Future<ClientHttpResponse>> results = concurrentGets(execution, 3);
+
+        for (Future<ClientHttpResponse> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ConnectException.class);
+        }
+        assertThat(execution.calls).hasValue(1);
+    }
+
+    @Test
+    void leaderTimesOutAtItsShortDeadline_FollowerWithTimeLeftCallsAgain() throws Exception {
+        // The leader's call times out once the leader's own 100ms are up, after the follower has joined it
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch joined = new CountDownLatch(1);
+        ClientHttpRequestExecution execution = (request, body) -> {
+            if (calls.incrementAndGet() > 1) {
+                return new MockClientHttpResponse("[]".getBytes(), HttpStatus.OK);
+            }
+            try {
+                joined.await(5, TimeUnit.SECONDS);
+                while (!RequestDeadline.current().expired()) {
+                    Thread.sleep(5);
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            throw new SocketTimeoutException("Read timed out");
+        };
+
+        Future<ClientHttpResponse> leader = getWithin(Duration.ofMillis(100), execution);
+        await(() -> calls.get() == 1);
+        Future<ClientHttpResponse> follower = getWithin(Duration.ofSeconds(5), execution);
+        await(() -> coalesced() == 1);
+        joined.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(follower.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void followerWaitsNoLongerThanItsOwnDeadline() throws Exception {
+        GatedExecution execution = new GatedExecution(null);
+        Future<ClientHttpResponse> leader = callers.submit(() -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI), new byte[0], execution));
+        await(() -> execution.calls.get() == 1);
+
+        Future<ClientHttpResponse> follower = getWithin(Duration.ofMillis(50), execution);
+
+        assertThatThrownBy(() -> follower.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+        execution.release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void writesAndSkippedGets_NotCoalesced() throws IOException {
+        GatedExecution execution = new GatedExecution(null);
+        execution.release.countDown();
+        MockClientHttpRequest skipped = new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI);
+        skipped.getAttributes().put(CoalescingInterceptor.SKIP, true);
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, PROJECT_URI), new byte[0], execution);
+        interceptor.intercept(skipped, new byte[0], execution);
+
+        assertThat(execution.calls).hasValue(2);
+        assertThat(registry.find("downstream.fan.in").summary()).isNull();
+    }
+}
@@ -0,0 +1,73 @@
+package com.spm.spm.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class DeadlineInterceptorTest {
+
+    private static final URI PROJECT_URI = URI.create("http://project:3040/project/user/7");
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor();
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.close();
+    }
+
+    private MockClientHttpRequest call() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI);
+        interceptor.intercept(request, new byte[0], (req, body) -> {
+            sent.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+        return request;
+    }
+
+    @Test
+    void remainingBudgetForwardedAndUsedAsResponseTimeout() throws Exception {
+        RequestDeadline.open(Duration.ofSeconds(2));
+        HttpClientProperties props = new HttpClientProperties(200, 50, Duration.ofSeconds(2), Duration.ofSeconds(10),
+                Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(4),
+                Duration.ofMinutes(5), true);
+
+        MockClientHttpRequest request = call();
+        HttpClientContext context = (HttpClientContext) PooledHttpClientFactory.deadlineContext(props);
+
+        assertThat(Long.parseLong(request.getHeaders().getFirst(RequestDeadline.HEADER))).isBetween(1000L, 2000L);
+        assertThat(context.getRequestConfig().getResponseTimeout().toMilliseconds()).isBetween(1000L, 2000L);
+        assertThat(context.getRequestConfig().getConnectionRequestTimeout().toMilliseconds()).isEqualTo(1000L);
+    }
+
+    @Test
+    void callsPastTheDeadlineAreNotSent() {
+        RequestDeadline.open(Duration.ZERO);
+
+        assertThatThrownBy(this::call).isInstanceOf(DeadlineExceededException.class);
+        assertThat(sent).hasValue(0);
+    }
+
+    @Test
+    void budgetFromHeaderClampedToMinAndMaxOtherwiseFromRoute() {
+        DeadlineProperties props = new DeadlineProperties(Duration.ofSeconds(10), Duration.ofMillis(100),
+                Duration.ofSeconds(30), Map.of("/projects/all", Duration.ZERO));
+
+        assertThat(props.budget("/projects/7", "250")).isEqualTo(Duration.ofMillis(250));
+        assertThat(props.budget("/projects/7", "999999")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(props.budget("/projects/7", "1")).isEqualTo(Duration.ofMillis(100));
+        assertThat(props.budget("/projects/7", null)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(props.budget("/projects/all", null)).isNull();
+    }
+}
@@ -0,0 +1,116 @@
+package com.spm.spm.config;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import com.spm.spm.config.DownstreamGuard.Permit;
+import com.spm.spm.config.DownstreamGuard.State;
+import com.spm.spm.config.DownstreamRejectedException.Reason;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamGuardTest {
+
+    private static final URI PROJECT_URI = URI.create("http://project:3040/project/user/7");
+
+    // initial limit 2 (min 1, max 4), breaker over the last 10 calls once 4 are in, open for 10s, 1 probe
+    private static final DownstreamGuardProperties PROPS = new DownstreamGuardProperties(true, 2, 1, 4, 0.5,
+            Duration.ofSeconds(1), 50, 10, 4, Duration.ofSeconds(10), 1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.close();
+    }
+
+    @Test
+    void limitReachedRejectsWithoutWaiting() throws Exception {
+        DownstreamGuard guard = new DownstreamGuard("project:3040", PROPS, now::get);
+        Permit first = guard.acquire();
+        guard.acquire();
+
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(DownstreamRejectedException.class)
+                .extracting(e -> ((DownstreamRejectedException) e).getReason())
+                .isEqualTo(Reason.LIMIT);
+
+        guard.release(first, false);
+        assertThat(guard.acquire()).isNotNull();
+    }
+
+    @Test
+    void failuresOpenTheCircuitUntilAProbeSucceeds() throws Exception {
+        DownstreamGuard guard = new DownstreamGuard("project:3040", PROPS, now::get);
+        for (int i = 0; i < 4; i++) {
+            guard.release(guard.acquire(), i % 2 == 0);
+        }
+
+        assertThat(guard.getState()).isEqualTo(State.OPEN);
+        assertThatThrownBy(guard::acquire).isInstanceOf(DownstreamRejectedException.class);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        Permit probe = guard.acquire();
+        assertThat(guard.getState()).isEqualTo(State.HALF_OPEN);
+        assertThatThrownBy(guard::acquire).isInstanceOf(DownstreamRejectedException.class);
+        guard.release(probe, false);
+
+        assertThat(guard.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void interceptorCountsServerErrorsAndNeverSendsRefusedCalls() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DownstreamGuardInterceptor interceptor = new DownstreamGuardInterceptor(PROPS, registry);
+        AtomicInteger sent = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI), new byte[0], (request, body) -> {
+                sent.incrementAndGet();
+                return new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY);
+            });
+        }
+
+        assertThatThrownBy(() -> interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI),
+                new byte[0], (request, body) -> {
+                    sent.incrementAndGet();
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }))
+                .isInstanceOf(DownstreamRejectedException.class)
+                .hasMessageContaining("project:3040");
+        assertThat(sent).hasValue(4);
+        assertThat(registry.get("downstream.guard.rejected")
+                .tags("downstream", "project:3040", "reason", "circuit_open").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void interceptorDoesNotCountTimeoutsAtTheCallersOwnDeadline() {
+        DownstreamGuardInterceptor interceptor = new DownstreamGuardInterceptor(PROPS, new SimpleMeterRegistry());
+        RequestDeadline.open(Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI),
+                    new byte[0], (request, body) -> {
+                        throw new SocketTimeoutException("Read timed out");
+                    }))
+                    .isInstanceOf(SocketTimeoutException.class);
+        }
+
+        DownstreamGuard guard = interceptor.guard(PROJECT_URI);
+        assertThat(guard.getState()).isEqualTo(State.CLOSED);
+        assertThat(guard.getLimit()).isGreaterThanOrEqualTo(2);
+        assertThat(guard.getInFlight()).isZero();
+    }
+}
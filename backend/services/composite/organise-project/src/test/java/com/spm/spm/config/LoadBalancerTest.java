@@ -0,0 +1,108 @@
+package com.spm.spm.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoadBalancerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static LoadBalancerProperties props(LoadBalancerProperties.Strategy strategy) {
+        return new LoadBalancerProperties(true, strategy, Map.of(), Map.of(), Duration.ofSeconds(30), 3, 3.0, 5,
+                Duration.ofSeconds(10), 50);
+    }
+
+    @Test
+    void powerOfTwoAvoidsTheBusierReplica() {
+        ReplicaPool pool = new ReplicaPool("project:3040", props(LoadBalancerProperties.Strategy.POWER_OF_TWO),
+                now::get, new Random(3));
+        pool.update(List.of("project-1:3040", "project-2:3040"));
+        ReplicaPool.Replica busy = pool.choose();
+
+        List<ReplicaPool.Replica> chosen = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ReplicaPool.Replica replica = pool.choose();
+            chosen.add(replica);
+            pool.release(replica);
+        }
+
+        assertThat(chosen).hasSize(10).doesNotContain(busy);
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndCallsGoToTheOther() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoadBalancer balancer = new LoadBalancer(props(LoadBalancerProperties.Strategy.LEAST_OUTSTANDING),
+                EndpointResolver.fixed(Map.of("project:3040", List.of("project-1:3040", "project-2:3040"))), registry);
+        balancer.refresh();
+        List<String> sentTo = new ArrayList<>();
+        LoadBalancedRequestFactory factory = new LoadBalancedRequestFactory((uri, method) -> {
+            sentTo.add(uri.getRawAuthority());
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse(new byte[0],
+                    uri.getHost().equals("project-1") ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK));
+            return request;
+        }, balancer);
+
+        for (int i = 0; i < 40; i++) {
+            factory.createRequest(URI.create("http://project:3040/project/7"), HttpMethod.GET).execute().close();
+        }
+
+        assertThat(sentTo.stream().filter("project-1:3040"::equals).count()).isEqualTo(3);
+        assertThat(registry.get("downstream.replica.ejections").tag("replica", "project-1:3040").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("downstream.replica.ejected").tag("replica", "project-1:3040").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void constructionLeavesTheFirstResolveToTheScheduler() {
+        List<String> resolved = new ArrayList<>();
+        EndpointResolver resolver = new EndpointResolver() {
+            @Override
+            public Set<String> services() {
+                return Set.of("project:3040");
+            }
+
+            @Override
+            public List<String> resolve(String service) {
+                resolved.add(service);
+                return List.of("project-1:3040");
+            }
+        };
+
+        LoadBalancer balancer = new LoadBalancer(props(LoadBalancerProperties.Strategy.LEAST_OUTSTANDING), resolver,
+                new SimpleMeterRegistry());
+
+        assertThat(resolved).isEmpty();
+        assertThat(balancer.pool(URI.create("http://project:3040/project"))).isNull();
+        balancer.refresh();
+        assertThat(resolved).containsExactly("project:3040");
+    }
+
+    @Test
+    void malformedSrvRecordsAreSkipped() {
+        List<String> endpoints = SrvEndpointResolver.parse(List.of(
+                "x 5 3040 project-0.project.spm.svc.cluster.local.",
+                "1 5 port project-9.project.spm.svc.cluster.local.",
+                "1 5 3040 project-1.project.spm.svc.cluster.local.",
+                "2 5 3040 project-2.project.spm.svc.cluster.local."));
+
+        assertThat(endpoints).containsExactly("project-1.project.spm.svc.cluster.local:3040");
+    }
+}
@@ -0,0 +1,118 @@
+package com.spm.spm.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RetryInterceptorTest {
+
+    private static final URI PROJECT_URI = URI.create("http://project:3040/project/7");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final RetryInterceptor interceptor = new RetryInterceptor(new RetryProperties(true,
+            List.of("GET /project/{id}"), 3, Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 10, false, 0.95, 50, 2),
+            null, registry);
+    private final ExecutorService hedgeExecutor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.close();
+        hedgeExecutor.shutdownNow();
+    }
+
+    private ClientHttpResponse call(HttpMethod method, HttpStatus... statuses) throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(method, PROJECT_URI), new byte[0], (req, body) -> {
+            int attempt = sent.getAndIncrement();
+            return new MockClientHttpResponse(new byte[0], statuses[Math.min(attempt, statuses.length - 1)]);
+        });
+    }
+
+    @Test
+    void failedReadIsRetriedUntilItSucceeds() throws Exception {
+        ClientHttpResponse response = call(HttpMethod.GET, HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE,
+                HttpStatus.OK);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(sent).hasValue(3);
+        assertThat(registry.get("downstream.retries").tag("uri", "/project/{id}").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void writesAreSentOnce() throws Exception {
+        ClientHttpResponse response = call(HttpMethod.POST, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(sent).hasValue(1);
+    }
+
+    @Test
+    void noRetryOnceTheDeadlineHasPassed() {
+        RequestDeadline.open(Duration.ZERO);
+
+        assertThatThrownBy(() -> interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI),
+                new byte[0], (req, body) -> {
+                    sent.incrementAndGet();
+                    throw new IOException("connection reset");
+                })).isInstanceOf(IOException.class);
+        assertThat(sent).hasValue(1);
+    }
+
+    @Test
+    void slowReadIsAnsweredByItsHedge() throws Exception {
+        RetryInterceptor hedging = new RetryInterceptor(new RetryProperties(true, List.of("GET /project/{id}"), 3,
+                Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 10, true, 0.5, 1, 2), hedgeExecutor, registry);
+        // A 50ms sample, so the first attempt has surely started before the hedge is sent
+        hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI), new byte[0], (req, body) -> {
+            sleep(50);
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        ClientHttpResponse response = hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, PROJECT_URI),
+                new byte[0], (req, body) -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR);
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+        release.countDown();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(attempts).hasValue(2);
+        assertThat(registry.get("downstream.hedges").tag("uri", "/project/{id}").counter().count()).isEqualTo(1);
+        assertThat(registry.get("downstream.hedge.wins").tag("uri", "/project/{id}").counter().count()).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
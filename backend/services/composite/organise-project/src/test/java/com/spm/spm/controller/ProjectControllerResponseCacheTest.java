@@ -0,0 +1,183 @@
+package com.spm.spm.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.spm.spm.cache.ProjectCache;
+import com.spm.spm.cache.ProjectCodec;
+import com.spm.spm.cache.ProjectInvalidation;
+import com.spm.spm.cache.RedisProjectStore;
+import com.spm.spm.cache.ResponseCache;
+import com.spm.spm.config.AccessLog;
+import com.spm.spm.config.ProjectCacheProperties;
+import com.spm.spm.config.ResponseCacheConfig;
+import com.spm.spm.dto.ProjectDto;
+import com.spm.spm.dto.UpdateProjectRequest;
+import com.spm.spm.service.ProjectDashboardService;
+import com.spm.spm.service.ProjectService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(ProjectController.class)
+@Import({ResponseCacheConfig.class, ProjectControllerResponseCacheTest.Metrics.class})
+class ProjectControllerResponseCacheTest {
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ProjectCache projectCache(MeterRegistry meterRegistry) {
+            return new ProjectCache(mock(RedisProjectStore.class), new ProjectCodec(), new ProjectCacheProperties(true,
+                    100, Duration.ofSeconds(30), Duration.ofMinutes(10), "test:", "test:invalidations"), meterRegistry);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ProjectCache projectCache;
+
+    @MockBean
+    private ProjectService projectService;
+
+    @MockBean
+    private ProjectDashboardService projectDashboardService;
+
+    @MockBean
+    private AccessLog accessLog;
+
+    private final UUID projectId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // The context, and with it the cache, is shared by the tests
+        responseCache.invalidate(ProjectController.ALL_PROJECTS);
+
+        ProjectDto project = new ProjectDto();
+        project.setId(projectId);
+        project.setTitle("Test Project");
+        when(projectService.getProjectById(projectId)).thenReturn(project);
+    }
+
+    @Test
+    void getProjectById_ShouldBeServedFromCache_WithEtag() throws Exception {
+        String etag = mockMvc.perform(get("/projects/{id}", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(projectId.toString()))
+                .andExpect(jsonPath("$.title").value("Test Project"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/projects/{id}", projectId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.title").value("Test Project"));
+
+        verify(projectService, times(1)).getProjectById(projectId);
+    }
+
+    @Test
+    void getProjectById_ShouldReturn304_WhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/projects/{id}", projectId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/projects/{id}", projectId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void getProjectById_ShouldReturn404_WhenProjectNotFound() throws Exception {
+        UUID missing = UUID.randomUUID();
+
+        mockMvc.perform(get("/projects/{id}", missing))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/projects/{id}", missing))
+                .andExpect(status().isNotFound());
+
+        verify(projectService, times(2)).getProjectById(missing);
+    }
+
+    @Test
+    void getAllProjects_ShouldSendGzip_WhenAccepted() throws Exception {
+        ProjectDto project = new ProjectDto();
+        project.setDescription("x".repeat(2000));
+        when(projectService.getAll()).thenReturn(List.of(project));
+
+        mockMvc.perform(get("/projects/all").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void updateProject_ShouldDropTheCachedProject() throws Exception {
+        when(projectService.updateProject(eq(projectId), any(UpdateProjectRequest.class)))
+                .thenReturn(Map.of("status", "updated"));
+        mockMvc.perform(get("/projects/{id}", projectId));
+
+        mockMvc.perform(put("/projects/{id}", projectId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/projects/{id}", projectId))
+                .andExpect(status().isOk());
+
+        verify(projectService, times(2)).getProjectById(projectId);
+    }
+
+    @Test
+    void projectCacheInvalidationFromAnotherReplica_ShouldDropTheCachedResponses() throws Exception {
+        when(projectService.getAll()).thenReturn(List.of());
+        mockMvc.perform(get("/projects/{id}", projectId));
+        mockMvc.perform(get("/projects/all"));
+
+        ProjectCodec codec = new ProjectCodec();
+        byte[] body = codec.encodeInvalidation(new ProjectInvalidation(Set.of(projectId), Set.of(), false));
+        projectCache.onMessage(new DefaultMessage("test:invalidations".getBytes(), body), null);
+        mockMvc.perform(get("/projects/{id}", projectId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/projects/all"))
+                .andExpect(status().isOk());
+
+        verify(projectService, times(2)).getProjectById(projectId);
+        verify(projectService, times(2)).getAll();
+    }
+}
@@ -1,7 +1,9 @@
 package com.spm.spm.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spm.spm.config.AccessLog;
 import com.spm.spm.dto.*;
+import com.spm.spm.service.ProjectDashboardService;
 import com.spm.spm.service.ProjectService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +29,12 @@ class ProjectControllerTest {
     @MockBean
     private ProjectService projectService;
 
+    @MockBean
+    private ProjectDashboardService projectDashboardService;
+
+    @MockBean
+    private AccessLog accessLog;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -70,6 +78,39 @@ class ProjectControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ==================== GET /api/v1/projects/{id}/dashboard ====================
+
+    @Test
+    void getProjectDashboard_ShouldReturnDashboard() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        ProjectDto project = new ProjectDto();
+        project.setId(projectId);
+        ProjectDashboardDto dashboard = new ProjectDashboardDto();
+        dashboard.setProject(project);
+        dashboard.setTasks(List.of(new ProjectTaskDto("t1", "Task 1", "Ongoing")));
+        dashboard.setTaskCounts(Map.of("Ongoing", 1));
+        dashboard.setOwner(new ProfileDto("u1", "Alice", "Manager", "Engineering", "Platform"));
+
+        when(projectDashboardService.getDashboard(projectId)).thenReturn(dashboard);
+
+        mockMvc.perform(get("/projects/{id}/dashboard", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.id").value(projectId.toString()))
+                .andExpect(jsonPath("$.task_counts.Ongoing").value(1))
+                .andExpect(jsonPath("$.owner.display_name").value("Alice"))
+                .andExpect(jsonPath("$.errors").doesNotExist());
+    }
+
+    @Test
+    void getProjectDashboard_ShouldReturn404_WhenProjectNotFound() throws Exception {
+        UUID projectId = UUID.randomUUID();
+
+        when(projectDashboardService.getDashboard(projectId)).thenReturn(null);
+
+        mockMvc.perform(get("/projects/{id}/dashboard", projectId))
+                .andExpect(status().isNotFound());
+    }
+
     // ==================== GET /api/v1/projects/all ====================
     
     @Test
@@ -94,6 +135,30 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$[1].title").value("Project 2"));
     }
 
+    @Test
+    void getAllProjects_WithLimit_ShouldReturnPageAndNextCursor() throws Exception {
+        ProjectDto project = new ProjectDto();
+        project.setId(UUID.randomUUID());
+        project.setTitle("Project 1");
+
+        when(projectService.getPage(1, null)).thenReturn(new CursorPage<>(List.of(project), "next"));
+
+        mockMvc.perform(get("/projects/all").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void getAllProjects_WithBadCursor_ShouldReturn400() throws Exception {
+        when(projectService.getPage(CursorPage.DEFAULT_LIMIT, "bad"))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/projects/all").param("after", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
     // ==================== GET /api/v1/projects/user/{userId} ====================
     
     @Test
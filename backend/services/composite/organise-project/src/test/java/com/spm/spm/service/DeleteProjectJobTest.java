@@ -0,0 +1,86 @@
+package com.spm.spm.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class DeleteProjectJobTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final Map<String, String> params = Map.of("project_id", projectId.toString());
+
+    private RestTemplate restTemplate;
+    private ProjectService projectService;
+    private DeleteProjectJob job;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        projectService = mock(ProjectService.class);
+        job = new DeleteProjectJob(restTemplate, "http://task:3031", "http://manage-task:8091", projectService, null);
+    }
+
+    @Test
+    void itemsAreTheProjectsTaskIds() {
+        when(restTemplate.getForObject("http://task:3031/task/project/" + projectId, Map[].class))
+                .thenReturn(new Map[] {Map.of("id", "t1"), Map.of("id", "t2")});
+
+        assertThat(job.items(params)).containsExactly("t1", "t2");
+    }
+
+    @Test
+    void taskAlreadyDeletedCountsAsDeleted() {
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0],
+                StandardCharsets.UTF_8)).when(restTemplate).delete("http://manage-task:8091/api/task/t1");
+
+        job.process(params, "t1");
+        job.complete(params);
+
+        verify(projectService).deleteProject(projectId);
+    }
+
+    @Test
+    void tasksAddedWhileTheJobRanAreDeletedBeforeTheProject() {
+        when(restTemplate.getForObject("http://task:3031/task/project/" + projectId, Map[].class))
+                .thenReturn(new Map[] {Map.of("id", "t3")})
+                .thenReturn(new Map[0]);
+
+        job.complete(params);
+
+        verify(restTemplate).delete("http://manage-task:8091/api/task/t3");
+        verify(projectService).deleteProject(projectId);
+    }
+
+    @Test
+    void projectIsKeptWhileTasksKeepAppearing() {
+        when(restTemplate.getForObject("http://task:3031/task/project/" + projectId, Map[].class))
+                .thenReturn(new Map[] {Map.of("id", "t3")});
+
+        assertThatThrownBy(() -> job.complete(params))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("still in project");
+        verify(projectService, never()).deleteProject(projectId);
+    }
+
+    @Test
+    void projectIdMustBeAUuid() {
+        assertThatThrownBy(() -> job.validate(Map.of("project_id", "7")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> job.validate(Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
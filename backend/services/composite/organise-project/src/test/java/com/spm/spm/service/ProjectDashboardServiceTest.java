@@ -0,0 +1,161 @@
+package com.spm.spm.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.spm.spm.config.FanOutProperties;
+import com.spm.spm.config.RequestDeadline;
+import com.spm.spm.dto.ProfileDto;
+import com.spm.spm.dto.ProjectDashboardDto;
+import com.spm.spm.dto.ProjectDto;
+import com.spm.spm.dto.ProjectTaskDto;
+
+class ProjectDashboardServiceTest {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID owner = UUID.randomUUID();
+    private final UUID collaborator = UUID.randomUUID();
+    private final String tasksUrl = "http://task:3031/task/project/" + projectId;
+
+    private RestTemplate restTemplate;
+    private ProjectService projectService;
+    private ExecutorService executor;
+    private ProjectDashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        projectService = mock(ProjectService.class);
+        executor = Executors.newFixedThreadPool(4);
+        dashboardService = new ProjectDashboardService(projectService, restTemplate, "http://task:3031",
+                "http://profile:3030", executor, new FanOutProperties(4, 16, Duration.ofMillis(500)));
+
+        ProjectDto project = new ProjectDto();
+        project.setId(projectId);
+        project.setOwner(owner);
+        project.setCollaborators(List.of(collaborator));
+        when(projectService.getProjectById(projectId)).thenReturn(project);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void profilesAnswer() {
+        when(restTemplate.postForObject(eq("http://profile:3030/user/bulk"), any(), eq(ProfileDto[].class)))
+                .thenReturn(new ProfileDto[] {
+                        new ProfileDto(owner.toString(), "Alice", "Manager", "Engineering", "Platform"),
+                        new ProfileDto(collaborator.toString(), "Bob", "Staff", "Engineering", "Platform")});
+    }
+
+    @Test
+    void dashboardHasTasksCountsAndProfiles() {
+        profilesAnswer();
+        when(restTemplate.getForObject(tasksUrl, ProjectTaskDto[].class)).thenReturn(new ProjectTaskDto[] {
+                new ProjectTaskDto("t1", "One", "Ongoing"),
+                new ProjectTaskDto("t2", "Two", "Completed"),
+                new ProjectTaskDto("t3", "Three", "Ongoing")});
+
+        ProjectDashboardDto dashboard = dashboardService.getDashboard(projectId);
+
+        assertThat(dashboard.getTasks()).hasSize(3);
+        assertThat(dashboard.getTaskCounts()).containsExactly(Map.entry("Completed", 1), Map.entry("Ongoing", 2));
+        assertThat(dashboard.getOwner().getDisplayName()).isEqualTo("Alice");
+        assertThat(dashboard.getCollaborators()).extracting(ProfileDto::getDisplayName).containsExactly("Bob");
+        assertThat(dashboard.getErrors()).isEmpty();
+        verify(restTemplate).postForObject(eq("http://profile:3030/user/bulk"),
+                eq(Map.of("ids", List.of(owner.toString(), collaborator.toString()))), eq(ProfileDto[].class));
+    }
+
+    @Test
+    void profilesAreFetchedWhileTasksAreStillLoading() throws Exception {
+        CountDownLatch profilesFetched = new CountDownLatch(1);
+        when(restTemplate.postForObject(eq("http://profile:3030/user/bulk"), any(), eq(ProfileDto[].class)))
+                .thenAnswer(invocation -> {
+                    profilesFetched.countDown();
+                    return new ProfileDto[0];
+                });
+        when(restTemplate.getForObject(tasksUrl, ProjectTaskDto[].class)).thenAnswer(invocation -> {
+            // Answers only once the profiles have been fetched, so the two must run at the same time
+            assertThat(profilesFetched.await(1, TimeUnit.SECONDS)).isTrue();
+            return new ProjectTaskDto[0];
+        });
+
+        ProjectDashboardDto dashboard = dashboardService.getDashboard(projectId);
+
+        assertThat(dashboard.getErrors()).isEmpty();
+        assertThat(dashboard.getTasks()).isEmpty();
+    }
+
+    @Test
+    void failedTasksAreReportedAndTheRestIsReturned() {
+        profilesAnswer();
+        when(restTemplate.getForObject(tasksUrl, ProjectTaskDto[].class))
+                .thenThrow(new ResourceAccessException("task:3031 unreachable"));
+
+        ProjectDashboardDto dashboard = dashboardService.getDashboard(projectId);
+
+        assertThat(dashboard.getTasks()).isNull();
+        assertThat(dashboard.getTaskCounts()).isNull();
+        assertThat(dashboard.getErrors()).containsEntry("tasks", "task:3031 unreachable");
+        assertThat(dashboard.getOwner().getDisplayName()).isEqualTo("Alice");
+    }
+
+    @Test
+    void missingProjectHasNoDashboard() {
+        when(projectService.getProjectById(projectId)).thenReturn(null);
+
+        assertThat(dashboardService.getDashboard(projectId)).isNull();
+    }
+
+    @Test
+    void projectMissingTheDeadlineAnswers504() {
+        when(projectService.getProjectById(projectId)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return null;
+        });
+
+        assertThatThrownBy(() -> dashboardService.getDashboard(projectId))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void downstreamCallsAreBoundByTheDashboardDeadline() {
+        profilesAnswer();
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+        when(restTemplate.getForObject(tasksUrl, ProjectTaskDto[].class)).thenAnswer(invocation -> {
+            seen.set(RequestDeadline.current());
+            return new ProjectTaskDto[0];
+        });
+
+        dashboardService.getDashboard(projectId);
+
+        assertThat(seen.get()).isNotNull();
+        assertThat(seen.get().remaining()).isLessThanOrEqualTo(Duration.ofMillis(500));
+    }
+}
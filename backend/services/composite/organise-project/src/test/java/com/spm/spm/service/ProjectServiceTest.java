@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -13,6 +14,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.http.HttpEntity;
@@ -21,8 +23,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.spm.spm.cache.ProjectCache;
 import com.spm.spm.dto.ChangeOwnerRequest;
 import com.spm.spm.dto.CollaboratorDto;
+import com.spm.spm.dto.CursorPage;
 import com.spm.spm.dto.NewProjectRequest;
 import com.spm.spm.dto.ProjectDto;
 import com.spm.spm.dto.UpdateCollaboratorsRequest;
@@ -79,6 +83,46 @@ class ProjectServiceTest {
         verify(restTemplate).getForEntity(eq(baseUrl + "/project/all"), eq(ProjectDto[].class));
     }
 
+    private static ProjectDto projectWithId(UUID id) {
+        ProjectDto project = new ProjectDto();
+        project.setId(id);
+        project.setTitle("Project " + id);
+        return project;
+    }
+
+    @Test
+    void testGetPage_FetchesOneExtraRowAndReturnsCursor() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID extra = UUID.randomUUID();
+        when(restTemplate.getForEntity(eq(baseUrl + "/project/all?limit={limit}&after={after}"), eq(ProjectDto[].class), eq(3), eq("")))
+                .thenReturn(ResponseEntity.ok(new ProjectDto[]{projectWithId(first), projectWithId(second), projectWithId(extra)}));
+
+        CursorPage<ProjectDto> page = projectService.getPage(2, null);
+
+        assertThat(page.items()).extracting(ProjectDto::getId).containsExactly(first, second);
+        assertThat(CursorPage.decodeCursor(page.nextCursor())).isEqualTo(second.toString());
+    }
+
+    @Test
+    void testGetPage_LastPageHasNoCursor() {
+        UUID last = UUID.randomUUID();
+        String cursor = CursorPage.encodeCursor("previous-id");
+        when(restTemplate.getForEntity(eq(baseUrl + "/project/all?limit={limit}&after={after}"), eq(ProjectDto[].class), eq(3), eq("previous-id")))
+                .thenReturn(ResponseEntity.ok(new ProjectDto[]{projectWithId(last)}));
+
+        CursorPage<ProjectDto> page = projectService.getPage(2, cursor);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void testGetPage_RejectsMalformedCursor() {
+        assertThatThrownBy(() -> projectService.getPage(2, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void testGetProjectsByUser() {
         UUID userId = UUID.randomUUID();
@@ -321,4 +365,38 @@ class ProjectServiceTest {
                 eq(Map.class)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetProjectById_WithCache_LoadsThroughCache() {
+        ProjectCache projectCache = mock(ProjectCache.class);
+        projectService = new ProjectService(restTemplate, baseUrl, projectCache);
+        UUID projectId = UUID.randomUUID();
+        ProjectDto cached = new ProjectDto();
+        cached.setId(projectId);
+        when(projectCache.getProject(eq(projectId), any())).thenReturn(cached);
+
+        ProjectDto result = projectService.getProjectById(projectId);
+
+        assertThat(result).isSameAs(cached);
+        verify(restTemplate, never()).getForEntity(any(String.class), eq(ProjectDto.class));
+    }
+
+    @Test
+    void testChangeOwner_WithCache_InvalidatesAfterWrite() {
+        ProjectCache projectCache = mock(ProjectCache.class);
+        projectService = new ProjectService(restTemplate, baseUrl, projectCache);
+        UUID projectId = UUID.randomUUID();
+        UUID newOwnerId = UUID.randomUUID();
+        ChangeOwnerRequest request = new ChangeOwnerRequest(newOwnerId);
+        when(restTemplate.exchange(
+                eq(baseUrl + "/project/" + projectId + "/owner"),
+                eq(HttpMethod.PUT),
+                any(HttpEntity.class),
+                eq(Map.class)
+        )).thenReturn(ResponseEntity.ok(Map.of("success", true)));
+
+        projectService.changeOwner(projectId, request);
+
+        verify(projectCache).afterOwnerChange(projectId, newOwnerId);
+    }
+}
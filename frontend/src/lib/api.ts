@@ -186,6 +186,15 @@ export interface RecurrenceDto {
   end_date?: string | null; // Null if no end date
 }
 
+// GET api/task/{taskId}/full; sections that failed or timed out are empty and named in `errors`
+export type TaskDetail = {
+  task: TaskDTO & { ownerName: string; ownerDepartment: string };
+  subtasks: TaskDTO[];
+  recurrences: RecurrenceDto[];
+  reminder: TaskDeadlineReminder | null;
+  errors: Record<string, string>;
+};
+
 export interface RecurrencePostRequestDto {
   task_id?: string;
   frequency: "Day" | "Week" | "Month";
@@ -309,6 +318,12 @@ export const TaskApi = {
     return data;
   },
 
+  getTaskDetail: async (taskId: string, userId?: string): Promise<TaskDetail> => {
+    const url = `${KONG_BASE_URL}/manage-task/api/task/${taskId}/full`;
+    const { data } = await api.get<TaskDetail>(url, { params: userId ? { userId } : undefined });
+    return data;
+  },
+
   getSubTaskOfTask: async (taskId: string): Promise<TaskDTO[]> => {
     const url = `${KONG_BASE_URL}/manage-task/api/task/subtask/${taskId}`;
     const { data } = await api.get<TaskDTO[]>(url);